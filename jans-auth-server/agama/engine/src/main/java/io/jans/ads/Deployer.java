@@ -11,6 +11,7 @@ import io.jans.agama.dsl.TranspilerException;
 import io.jans.agama.dsl.error.SyntaxException;
 import io.jans.agama.engine.misc.FlowUtils;
 import io.jans.agama.engine.service.AgamaPersistenceService;
+import io.jans.agama.engine.service.FlowScriptCache;
 import io.jans.agama.model.Flow;
 import io.jans.agama.model.FlowMetadata;
 import io.jans.orm.PersistenceEntryManager;
@@ -81,6 +82,9 @@ public class Deployer {
     @Inject
     private AgamaPersistenceService aps;
 
+    @Inject
+    private FlowScriptCache scriptCache;
+
     private Base64.Encoder b64Encoder;
     private Base64.Decoder b64Decoder;
     
@@ -296,6 +300,7 @@ public class Deployer {
                 } else {
                     logger.info("Updating flow {}", qname);
                     entryManager.merge(fl);
+                    scriptCache.invalidate(qname);
                 }
                 
             } catch (SyntaxException se) {
@@ -511,6 +516,7 @@ public class Deployer {
                 if (entryManager.contains(dn, Flow.class)) {
                     logger.info("Removing flow {}", flow);
                     entryManager.remove(dn, Flow.class);
+                    scriptCache.invalidate(flow);
                 }
             } catch (Exception e) {
                 logger.error("Error removing flow " + flow, e);
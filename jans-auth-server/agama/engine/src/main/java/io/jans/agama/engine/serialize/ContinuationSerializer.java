@@ -1,6 +1,7 @@
 package io.jans.agama.engine.serialize;
 
 import io.jans.agama.engine.service.ActionService;
+import io.jans.agama.engine.service.FlowScriptCache;
 import io.jans.util.Pair;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -14,28 +15,45 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
+import org.mozilla.javascript.Context;
 import org.mozilla.javascript.NativeContinuation;
 import org.mozilla.javascript.NativeJavaObject;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.serialize.ScriptableInputStream;
+import org.mozilla.javascript.serialize.ScriptableOutputStream;
 
 @ApplicationScoped
 public class ContinuationSerializer {
+    
+    //Header of data produced by this class. Java serialization streams start with 0xACED,
+    //so data saved by previous versions of the engine can still be told apart
+    private static final byte FORMAT_DEFLATED = 1;
 
     @Inject
     private ActionService actionService;
 
+    @Inject
+    private FlowScriptCache scriptCache;
+
     public byte[] save(Scriptable scope, NativeContinuation continuation) throws IOException {
-        
-        class CustomObjectOutputStream extends ObjectOutputStream {
+
+        Context cx = Context.getCurrentContext();
+        Scriptable sharedScope = scriptCache.getSharedScope(cx);
+
+        //Objects of the shared scope are written as references (by name) only
+        class CustomObjectOutputStream extends ScriptableOutputStream {
         
             CustomObjectOutputStream(OutputStream out) throws IOException {
-                super(out);
-                enableReplaceObject(true);
+                super(out, sharedScope);
+                scriptCache.getSharedNames(cx).forEach(this::addOptionalExcludedName);
             }
 
             @Override
-            protected Object replaceObject​(Object obj) throws IOException {
+            protected Object replaceObject(Object obj) throws IOException {
 
                 if (NativeJavaObject.class.isInstance(obj)) {
                     return new NativeJavaBox((NativeJavaObject) obj);
@@ -46,32 +64,37 @@ public class ContinuationSerializer {
             
         }
         
-        try (   ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ObjectOutputStream sos = new CustomObjectOutputStream(baos)) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(FORMAT_DEFLATED);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
 
+        try (ObjectOutputStream sos = new CustomObjectOutputStream(new DeflaterOutputStream(baos, deflater))) {
             //Pair is not serialization-friendly, use a 2-length array
             sos.writeObject(new Object[] { scope, continuation });
-            return baos.toByteArray();
+        } finally {
+            deflater.end();
         }
+        return baos.toByteArray();
         
     }
 
     public Pair<Scriptable, NativeContinuation> restore(byte[] data) throws IOException {
 
-        class CustomObjectInputStream extends ObjectInputStream {
+        Scriptable sharedScope = scriptCache.getSharedScope(Context.getCurrentContext());
+
+        class CustomObjectInputStream extends ScriptableInputStream {
 
             public CustomObjectInputStream(InputStream in) throws IOException {
-                super(in);
-                enableResolveObject(true);
+                super(in, sharedScope);
             }        
 
             @Override
-            public Class<?> resolveClass​(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
                 return actionService.classFromName(desc.getName());
             }
 
             @Override
-            protected Object resolveObject​(Object obj) throws IOException {
+            protected Object resolveObject(Object obj) throws IOException {
 
                 if (obj != null && obj.getClass().equals(NativeJavaBox.class)) {
                     return ((NativeJavaBox) obj).getRaw();
@@ -82,8 +105,13 @@ public class ContinuationSerializer {
 
         }
         
-        try (   ByteArrayInputStream bais = new ByteArrayInputStream(data);
-                ObjectInputStream sis = new CustomObjectInputStream(bais)) {
+        InputStream in = new ByteArrayInputStream(data);
+        if (data.length > 0 && data[0] == FORMAT_DEFLATED) {
+            in.skip(1);
+            in = new InflaterInputStream(in);
+        }
+
+        try (ObjectInputStream sis = new CustomObjectInputStream(in)) {
             
             Object[] arr = (Object[]) sis.readObject();            
             return new Pair<>((Scriptable) arr[0], (NativeContinuation) arr[1]);
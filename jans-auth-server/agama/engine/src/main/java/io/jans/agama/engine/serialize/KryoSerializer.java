@@ -3,7 +3,6 @@ package io.jans.agama.engine.serialize;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
-import com.esotericsoftware.minlog.Log;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -11,8 +10,23 @@ import jakarta.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
 
+import io.jans.agama.engine.model.FlowResult;
 import io.jans.agama.engine.service.ActionService;
+import io.jans.util.Pair;
+
+import org.mozilla.javascript.ConsString;
+import org.mozilla.javascript.NativeArray;
+import org.mozilla.javascript.NativeObject;
 
 import org.slf4j.Logger;
 
@@ -25,6 +39,15 @@ public class KryoSerializer {
     @Inject
     private ActionService actionService;
     
+    //Registered classes are written as a small id instead of their full name. Registration
+    //is not required so any other class can still be serialized. Append new classes at the
+    //end only: ids depend on the order of this list
+    private static final List<Class<?>> REGISTERED_CLASSES = List.of(
+            Object[].class, String[].class, byte[].class, int[].class, long[].class,
+            ArrayList.class, LinkedList.class, HashMap.class, LinkedHashMap.class, TreeMap.class,
+            HashSet.class, LinkedHashSet.class, Date.class,
+            Pair.class, FlowResult.class, NativeObject.class, NativeArray.class, ConsString.class);
+
     private ThreadLocal<Kryo> kryos;
 
     public Object deserialize(InputStream in) {
@@ -48,7 +71,6 @@ public class KryoSerializer {
     @PostConstruct
     private void init() {
         
-        Log.DEBUG();
         kryos = new ThreadLocal<Kryo>() {
 
             @Override
@@ -58,6 +80,7 @@ public class KryoSerializer {
                 kryo.setReferences(true);
                 kryo.setClassLoader(actionService.getClassLoader());
                 kryo.setOptimizedGenerics(false);
+                REGISTERED_CLASSES.forEach(kryo::register);
                 return kryo;
             }
             
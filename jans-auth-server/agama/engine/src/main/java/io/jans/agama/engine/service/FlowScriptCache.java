@@ -0,0 +1,187 @@
+package io.jans.agama.engine.service;
+
+import io.jans.agama.dsl.Transpiler;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.NativeJavaPackage;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.slf4j.Logger;
+
+/**
+ * Keeps compiled (interpreted-mode) scripts of flows and a sealed scope holding the
+ * standard objects plus util.js. Every flow run gets a fresh scope whose prototype is
+ * the shared one, so neither the util script nor the flow code is re-parsed per run
+ */
+@ApplicationScoped
+public class FlowScriptCache {
+
+    private static final String SCRIPT_SUFFIX = ".js";
+
+    @Inject
+    private Logger logger;
+
+    private final Map<String, CachedScript> scripts = new ConcurrentHashMap<>();
+
+    private volatile ScriptableObject sharedScope;
+    private List<String> sharedNames;
+
+    public Scriptable newFlowScope(Context ctx) {
+
+        Scriptable scope = ctx.newObject(getSharedScope(ctx));
+        scope.setPrototype(sharedScope);
+        scope.setParentScope(null);
+        return scope;
+
+    }
+
+    /**
+     * Returns the compiled script of the given flow code. Compilation only takes place
+     * if the code differs from the cached one
+     * @param verifiedHash Hash of the code if its integrity was checked by the caller, null otherwise
+     */
+    public Script getScript(Context ctx, String qname, String code, String verifiedHash) {
+
+        CachedScript cached = scripts.get(qname);
+        if (cached != null && cached.code.equals(code)) {
+            if (verifiedHash != null && cached.verifiedHash == null) {
+                scripts.put(qname, new CachedScript(code, verifiedHash, cached.script));
+            }
+            return cached.script;
+        }
+
+        logger.debug("Compiling code of flow {}", qname);
+        Script script = ctx.compileString(code, qname + SCRIPT_SUFFIX, 1, null);
+        scripts.put(qname, new CachedScript(code, verifiedHash, script));
+        return script;
+
+    }
+
+    /**
+     * Determines if the code of this flow was already checked against the hash given
+     */
+    public boolean isVerified(String qname, String hash, String code) {
+        CachedScript cached = scripts.get(qname);
+        return cached != null && hash.equals(cached.verifiedHash) && cached.code.equals(code);
+    }
+
+    public void invalidate(String qname) {
+        if (scripts.remove(qname) != null) {
+            logger.debug("Compiled script of flow {} was evicted", qname);
+        }
+    }
+
+    /**
+     * Drops the scripts of flows not in the set passed
+     */
+    public void retainAll(Set<String> qnames) {
+        scripts.keySet().retainAll(qnames);
+    }
+
+    /**
+     * Names of the objects living in the shared scope (standard objects, util.js
+     * functions and their prototypes). These are immutable, so serialized continuations
+     * can refer to them by name instead of carrying a copy
+     */
+    public List<String> getSharedNames(Context ctx) {
+        getSharedScope(ctx);
+        return sharedNames;
+    }
+
+    public ScriptableObject getSharedScope(Context ctx) {
+
+        ScriptableObject scope = sharedScope;
+        if (scope == null) {
+            synchronized (this) {
+                scope = sharedScope;
+                if (scope == null) {
+                    logger.info("Initializing Agama shared scope");
+                    //Standard objects are sealed only after util.js ran, see sealObjects
+                    scope = ctx.initStandardObjects(null, false);
+                    ctx.evaluateString(scope, Transpiler.UTIL_SCRIPT_CONTENTS,
+                            Transpiler.UTIL_SCRIPT_NAME, 1, null);
+                    sealObjects(scope);
+                    scope.sealObject();
+                    sharedNames = collectNames(scope);
+                    sharedScope = scope;
+                }
+            }
+        }
+        return scope;
+
+    }
+
+    /*
+     * Seals the objects of the scope and their prototypes. Java packages are left
+     * untouched: they add subpackages and classes to themselves the first time these
+     * are referenced (eg. Packages.java.util inside a util.js function or flow code)
+     */
+    private static void sealObjects(ScriptableObject scope) {
+
+        for (Object id : scope.getAllIds()) {
+            if (id instanceof String) {
+                //get also initializes lazily loaded standard objects
+                Object value = scope.get((String) id, scope);
+
+                if (value instanceof ScriptableObject && !(value instanceof NativeJavaPackage)) {
+                    ScriptableObject obj = (ScriptableObject) value;
+                    Object prototype = obj.get("prototype", obj);
+
+                    if (prototype instanceof ScriptableObject) {
+                        ((ScriptableObject) prototype).sealObject();
+                    }
+                    obj.sealObject();
+                }
+            }
+        }
+
+    }
+
+    private static List<String> collectNames(ScriptableObject scope) {
+
+        List<String> names = new ArrayList<>();
+        for (Object id : scope.getAllIds()) {
+            if (id instanceof String) {
+                String name = (String) id;
+                Object value = scope.get(name, scope);
+
+                if (value instanceof Scriptable) {
+                    names.add(name);
+                    //Lookups on a Java package would add a "prototype" subpackage to it
+                    if (!(value instanceof NativeJavaPackage) &&
+                            ((Scriptable) value).get("prototype", (Scriptable) value) instanceof Scriptable) {
+                        names.add(name + ".prototype");
+                    }
+                }
+            }
+        }
+        return Collections.unmodifiableList(names);
+
+    }
+
+    private static class CachedScript {
+
+        private final String code;
+        private final String verifiedHash;
+        private final Script script;
+
+        private CachedScript(String code, String verifiedHash, Script script) {
+            this.code = code;
+            this.verifiedHash = verifiedHash;
+            this.script = script;
+        }
+
+    }
+
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.jans.agama.dsl.Transpiler;
 import io.jans.agama.engine.continuation.PendingException;
 import io.jans.agama.engine.continuation.PendingRedirectException;
 import io.jans.agama.engine.continuation.PendingRenderException;
@@ -49,7 +48,6 @@ import org.slf4j.Logger;
 public class FlowService {
 
     private static final String SESSION_ID_COOKIE = "session_id";
-    private static final String SCRIPT_SUFFIX = ".js";
     
     private static final int TIMEOUT_SKEW = 8000; //millisecons
     
@@ -67,6 +65,9 @@ public class FlowService {
     
     @Inject
     private EngineConfig engineConfig;
+
+    @Inject
+    private FlowScriptCache scriptCache;
     
     @Inject
     private HttpServletRequest request;
@@ -96,16 +97,15 @@ public class FlowService {
             FlowMetadata fl = flow.getMetadata();
             String funcName = fl.getFuncName();
 
-            verifyCode(flow);
+            String verifiedHash = verifyCode(flow);
             logger.info("Evaluating flow code");
             
             try {
-                globalScope = initContext(scriptCtx);
-                scriptCtx.evaluateString(globalScope, Transpiler.UTIL_SCRIPT_CONTENTS,
-                        Transpiler.UTIL_SCRIPT_NAME, 1, null);
-                flowUtils.printScopeIds(globalScope);
+                initContext(scriptCtx);
+                globalScope = scriptCache.newFlowScope(scriptCtx);
                 
-                scriptCtx.evaluateString(globalScope, flow.getTranspiled(), flowName + SCRIPT_SUFFIX, 1, null);
+                scriptCache.getScript(scriptCtx, flowName, flow.getTranspiled(), verifiedHash)
+                        .exec(scriptCtx, globalScope);
                 flowUtils.printScopeIds(globalScope);
 
                 logger.info("Executing function {}", funcName);
@@ -184,11 +184,11 @@ public class FlowService {
         FlowMetadata fl = flow.getMetadata();
         String funcName = fl.getFuncName();
 
-        String flowCodeFileName = subflowName + SCRIPT_SUFFIX;
         //strangely, scriptCtx is a bit messed at this point so initialization is required again...
         initContext(scriptCtx);
 
-        scriptCtx.evaluateString(globalScope, flow.getTranspiled(), flowCodeFileName, 1, null);
+        scriptCache.getScript(scriptCtx, subflowName, flow.getTranspiled(), null)
+                .exec(scriptCtx, globalScope);
         flowUtils.printScopeIds(globalScope);
 
         logger.info("Appending function {} to scope", funcName);
@@ -232,7 +232,11 @@ public class FlowService {
 
     }
     
-    private void verifyCode(Flow fl) throws IOException {
+    /**
+     * Checks the transpiled code was not altered
+     * @return The hash the code was checked against, or null if no check took place
+     */
+    private String verifyCode(Flow fl) throws IOException {
     
         String code = fl.getTranspiled();
         if (code == null) {
@@ -245,10 +249,15 @@ public class FlowService {
 
             String hash = fl.getTransHash();
             //null hash means the code is being regenerated in this moment
-            if (hash != null && !flowUtils.hash(code).equals(hash))
+            if (hash == null) return null;
+            
+            //code already checked needs not be hashed again
+            if (!scriptCache.isVerified(fl.getQname(), hash, code) && !flowUtils.hash(code).equals(hash))
                 throw new IOException("Transpiled code seems to have been altered. " +
                         "Restore the code by increasing this flow's jansRevision attribute");
+            return hash;
         }
+        return null;
         
     }
 
@@ -388,10 +397,10 @@ public class FlowService {
         return mapper.convertValue(result, FlowResult.class);
     }
 
-    private Scriptable initContext(Context ctx) {
+    private void initContext(Context ctx) {
+        //continuations are only supported in interpreted mode
         ctx.setLanguageVersion(Context.VERSION_ES6);
         ctx.setOptimizationLevel(-1);
-        return ctx.initStandardObjects();
     }
     
     @PostConstruct
@@ -9,6 +9,7 @@ import io.jans.agama.dsl.TranspilerException;
 import io.jans.agama.dsl.error.SyntaxException;
 import io.jans.agama.engine.misc.FlowUtils;
 import io.jans.agama.engine.service.AgamaPersistenceService;
+import io.jans.agama.engine.service.FlowScriptCache;
 import io.jans.agama.model.Flow;
 import io.jans.agama.model.Flow.ATTR_NAMES;
 import io.jans.agama.model.FlowMetadata;
@@ -57,6 +58,9 @@ public class Transpilation {
     @Inject
     private FlowUtils futils;
 
+    @Inject
+    private FlowScriptCache scriptCache;
+
     private AtomicBoolean isActive;
     
     private Map<String, Integer> traces;
@@ -102,6 +106,8 @@ public class Transpilation {
 
         Map<String, ProtoFlow> map = flows.stream().collect(
                 Collectors.toMap(ProtoFlow::getQname, Function.identity()));
+        //compiled scripts of flows disabled/removed are no longer needed
+        scriptCache.retainAll(map.keySet());
 
         if (traces == null) {
             traces = map.entrySet().stream().collect(Collectors.toMap(
@@ -174,6 +180,7 @@ public class Transpilation {
                 
                 logger.debug("Persisting changes...");
                 entryManager.merge(fl);
+                scriptCache.invalidate(qname);
                 
             } catch (SyntaxException se) {
                 try {
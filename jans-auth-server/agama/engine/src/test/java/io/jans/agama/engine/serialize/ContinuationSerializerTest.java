@@ -0,0 +1,135 @@
+package io.jans.agama.engine.serialize;
+
+import groovy.lang.GroovyClassLoader;
+
+import io.jans.agama.engine.service.ActionService;
+import io.jans.agama.engine.service.FlowScriptCache;
+import io.jans.util.Pair;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+
+import org.mozilla.javascript.BaseFunction;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContinuationPending;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.NativeContinuation;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class ContinuationSerializerTest {
+
+    private static final String CODE = "function run(a) {"
+            + " var items = [a, { b: 'c' }];"
+            + " items.push(pause());"
+            + " return items.length + ':' + items[0] + items[1].b + items[2];"
+            + "}";
+
+    private FlowScriptCache scriptCache;
+    private ContinuationSerializer serializer;
+    private Context ctx;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        scriptCache = new FlowScriptCache();
+        setField(scriptCache, "logger", LoggerFactory.getLogger(FlowScriptCache.class));
+
+        ActionService actionService = new ActionService();
+        setField(actionService, "loader", new GroovyClassLoader(getClass().getClassLoader()));
+
+        serializer = new ContinuationSerializer();
+        setField(serializer, "actionService", actionService);
+        setField(serializer, "scriptCache", scriptCache);
+
+        ctx = Context.enter();
+        ctx.setLanguageVersion(Context.VERSION_ES6);
+        ctx.setOptimizationLevel(-1);
+
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        Context.exit();
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+
+        Scriptable scope = scriptCache.newFlowScope(ctx);
+        Pair<Scriptable, NativeContinuation> pair = start(scope);
+
+        byte[] data = serializer.save(pair.getFirst(), pair.getSecond());
+        assertEquals(data[0], 1);
+
+        Pair<Scriptable, NativeContinuation> restored = serializer.restore(data);
+        Object result = ctx.resumeContinuation(restored.getSecond(), restored.getFirst(), "d");
+        assertEquals(Context.toString(result), "3:acd");
+
+        //Shared objects are bound again instead of being copied
+        assertSame(restored.getFirst().getPrototype(), scriptCache.getSharedScope(ctx));
+
+    }
+
+    @Test
+    public void restoreLegacyFormat() throws Exception {
+
+        Scriptable scope = ctx.initStandardObjects();
+        Pair<Scriptable, NativeContinuation> pair = start(scope);
+
+        //Data saved before the format byte was introduced is a plain Java serialization stream
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(new Object[] { pair.getFirst(), pair.getSecond() });
+        }
+
+        Pair<Scriptable, NativeContinuation> restored = serializer.restore(baos.toByteArray());
+        Object result = ctx.resumeContinuation(restored.getSecond(), restored.getFirst(), "d");
+        assertEquals(Context.toString(result), "3:acd");
+
+    }
+
+    private Pair<Scriptable, NativeContinuation> start(Scriptable scope) {
+
+        ScriptableObject.putProperty(scope, "pause", new Pause());
+        ctx.evaluateString(scope, CODE, "serializer-test", 1, null);
+        Function run = (Function) ScriptableObject.getProperty(scope, "run");
+
+        try {
+            ctx.callFunctionWithContinuations(run, scope, new Object[] { "a" });
+        } catch (ContinuationPending e) {
+            return new Pair<>(scope, (NativeContinuation) e.getContinuation());
+        }
+        fail("Flow did not pause");
+        return null;
+
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+
+    }
+
+    //Not an anonymous class, it has to be serializable
+    private static class Pause extends BaseFunction {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Object call(Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
+            throw cx.captureContinuation();
+        }
+
+    }
+
+}
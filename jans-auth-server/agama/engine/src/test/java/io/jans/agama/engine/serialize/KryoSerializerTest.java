@@ -0,0 +1,81 @@
+package io.jans.agama.engine.serialize;
+
+import groovy.lang.GroovyClassLoader;
+
+import io.jans.agama.engine.model.FlowResult;
+import io.jans.agama.engine.service.ActionService;
+import io.jans.util.Pair;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class KryoSerializerTest {
+
+    private KryoSerializer serializer;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        ActionService actionService = new ActionService();
+        setField(actionService, "loader", new GroovyClassLoader(getClass().getClassLoader()));
+
+        serializer = new KryoSerializer();
+        setField(serializer, "logger", LoggerFactory.getLogger(KryoSerializer.class));
+        setField(serializer, "actionService", actionService);
+
+        Method init = KryoSerializer.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(serializer);
+
+    }
+
+    @Test
+    public void roundTrip() throws Exception {
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("count", 2);
+        data.put("names", new ArrayList<>(List.of("a", "b")));
+
+        FlowResult result = new FlowResult();
+        result.setSuccess(true);
+        result.setData(data);
+
+        Pair<String, FlowResult> pair = new Pair<>("done", result);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serializer.serialize(pair, baos);
+        byte[] bytes = baos.toByteArray();
+
+        //Registered classes are written as ids, not names
+        assertFalse(new String(bytes, "ISO-8859-1").contains(FlowResult.class.getName()));
+
+        Pair<?, ?> copy = (Pair<?, ?>) serializer.deserialize(new ByteArrayInputStream(bytes));
+        assertEquals(copy.getFirst(), "done");
+
+        FlowResult copyResult = (FlowResult) copy.getSecond();
+        assertTrue(copyResult.isSuccess());
+        assertEquals(copyResult.getData(), data);
+
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+
+    }
+
+}
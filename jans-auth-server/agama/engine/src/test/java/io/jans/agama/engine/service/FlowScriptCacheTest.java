@@ -0,0 +1,96 @@
+package io.jans.agama.engine.service;
+
+import java.lang.reflect.Field;
+
+import org.mozilla.javascript.BaseFunction;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.ContinuationPending;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+public class FlowScriptCacheTest {
+
+    private static final String QNAME = "io.jans.agama.test.sealed";
+
+    // Java packages are first referenced after the shared scope was sealed
+    private static final String CODE = "function run(a) {"
+            + " var list = new Packages.java.util.ArrayList();"
+            + " list.add(a);"
+            + " list.add(pause());"
+            + " var count = new java.util.concurrent.atomic.AtomicInteger(list.size());"
+            + " return _isList(list, true) + ':' + list + ':' + count.get();"
+            + "}";
+
+    private FlowScriptCache cache;
+    private Context ctx;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        cache = new FlowScriptCache();
+        Field field = FlowScriptCache.class.getDeclaredField("logger");
+        field.setAccessible(true);
+        field.set(cache, LoggerFactory.getLogger(FlowScriptCache.class));
+
+        ctx = Context.enter();
+        ctx.setLanguageVersion(Context.VERSION_ES6);
+        ctx.setOptimizationLevel(-1);
+
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        Context.exit();
+    }
+
+    @Test
+    public void startAndResumeAgainstSealedScope() {
+
+        Scriptable scope = cache.newFlowScope(ctx);
+        ScriptableObject.putProperty(scope, "pause", new BaseFunction() {
+            @Override
+            public Object call(Context cx, Scriptable scope, Scriptable thisObj, Object[] args) {
+                throw cx.captureContinuation();
+            }
+        });
+        cache.getScript(ctx, QNAME, CODE, null).exec(ctx, scope);
+        Function run = (Function) ScriptableObject.getProperty(scope, "run");
+
+        ContinuationPending pending = null;
+        try {
+            ctx.callFunctionWithContinuations(run, scope, new Object[] { "a" });
+        } catch (ContinuationPending e) {
+            pending = e;
+        }
+        assertNotNull(pending, "Flow did not pause");
+
+        Object result = ctx.resumeContinuation(pending.getContinuation(), scope, "b");
+        assertEquals(Context.toString(result), "true:[a, b]:2");
+
+    }
+
+    @Test
+    public void sharedScopeIsSealed() {
+
+        ScriptableObject shared = cache.getSharedScope(ctx);
+        assertTrue(shared.isSealed());
+
+        ScriptableObject object = (ScriptableObject) shared.get("Object", shared);
+        assertTrue(object.isSealed());
+        assertTrue(((ScriptableObject) object.get("prototype", object)).isSealed());
+        assertTrue(((ScriptableObject) shared.get("_isList", shared)).isSealed());
+
+        Scriptable scope = cache.newFlowScope(ctx);
+        assertThrows(Exception.class,
+                () -> ctx.evaluateString(scope, "Object.prototype.injected = 1", QNAME, 1, null));
+
+    }
+
+}
@@ -6,6 +6,7 @@
 
 package io.jans.as.common.service.common;
 
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.SimpleCustomProperty;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
@@ -33,7 +34,9 @@ public class ExternalIdGeneratorService extends ExternalScriptService {
             log.debug("Executing python 'generateId' method");
             IdGeneratorType externalType = (IdGeneratorType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            return externalType.generateId(appId, idType, idPrefix, configurationAttributes);
+            return invoke(customScriptConfiguration, "generateId", () -> externalType.generateId(appId, idType, idPrefix, configurationAttributes), appId, idType, idPrefix, configurationAttributes);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -56,6 +56,12 @@ public abstract class RegistrationPersistenceService {
     public void update(Fido2RegistrationEntry registrationEntry) {
         prepareBranch(registrationEntry.getUserInum());
 
+        markUpdated(registrationEntry);
+
+        persistenceEntryManager.merge(registrationEntry);
+    }
+
+    protected void markUpdated(Fido2RegistrationEntry registrationEntry) {
         Date now = new GregorianCalendar(TimeZone.getTimeZone("UTC")).getTime();
 
         Fido2RegistrationData registrationData = registrationEntry.getRegistrationData();
@@ -63,8 +69,6 @@ public abstract class RegistrationPersistenceService {
         registrationData.setUpdatedBy(registrationData.getUsername());
 
         registrationEntry.setRegistrationStatus(registrationData.getStatus());
-
-        persistenceEntryManager.merge(registrationEntry);
     }
 
     public void addBranch(final String baseDn) {
@@ -2,7 +2,6 @@ package io.jans.as.common.util;
 
 import com.google.common.base.Strings;
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.model.util.JwtUtil;
 import org.json.JSONObject;
 
 /**
@@ -14,8 +13,15 @@ public class CommonUtils {
     }
 
     public static JSONObject getJwks(Client client) {
+        return getJwks(client, null);
+    }
+
+    /**
+     * Returns cached client JWKS. If keyId is not found in cached jwks_uri content it's re-fetched.
+     */
+    public static JSONObject getJwks(Client client, String keyId) {
         return Strings.isNullOrEmpty(client.getJwks())
-                ? JwtUtil.getJSONWebKeys(client.getJwksUri())
-                : new JSONObject(client.getJwks());
+                ? JwksCache.instance().getRemoteJwks(client.getJwksUri(), keyId)
+                : JwksCache.instance().getInlineJwks(client.getJwks());
     }
 }
@@ -0,0 +1,272 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.common.util;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang.StringUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jans.as.model.jwk.JWKParameter;
+import io.jans.as.model.util.JwtUtil;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Shared cache of client JWKS.
+ *
+ * Remote JWKS are cached by jwks_uri for the lifetime announced in HTTP cache headers
+ * and refreshed in background before they expire. Unknown kid forces refetch.
+ * Concurrent loads of the same jwks_uri are collapsed into one request.
+ *
+ * Every call returns new JSONObject, so callers can't modify cached jwks. Decoded public keys
+ * are cached by key content in AbstractCryptoProvider, hence they are reused for copies too.
+ */
+public class JwksCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksCache.class);
+
+    private static final JwksCache INSTANCE = new JwksCache();
+
+    private static final long DEFAULT_LIFETIME_MILLIS = 5 * 60 * 1000L;
+    private static final long MIN_LIFETIME_MILLIS = 30 * 1000L;
+    private static final long MAX_LIFETIME_MILLIS = 24 * 60 * 60 * 1000L;
+
+    // Protects jwks_uri from being flooded by requests with random kid
+    private static final long KID_MISS_MIN_INTERVAL_MILLIS = 10 * 1000L;
+
+    private static final int CONNECT_TIMEOUT_SECONDS = 5;
+    private static final int READ_TIMEOUT_SECONDS = 10;
+
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age\\s*=\\s*(\\d+)");
+
+    private final ConcurrentHashMap<String, RemoteEntry> remoteJwks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<RemoteEntry>> loadsInProgress = new ConcurrentHashMap<>();
+
+    private final ExecutorService refreshExecutor;
+
+    private volatile Client httpClient;
+
+    JwksCache() {
+        this.refreshExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "jwks-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static JwksCache instance() {
+        return INSTANCE;
+    }
+
+    public JSONObject getInlineJwks(String jwks) {
+        if (StringUtils.isBlank(jwks)) {
+            return null;
+        }
+
+        // Parsing of inline jwks costs the same as copy of cached one
+        return new JSONObject(jwks);
+    }
+
+    public JSONObject getRemoteJwks(String jwksUri) {
+        return getRemoteJwks(jwksUri, null);
+    }
+
+    public JSONObject getRemoteJwks(String jwksUri, String keyId) {
+        if (StringUtils.isBlank(jwksUri)) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        RemoteEntry entry = remoteJwks.get(jwksUri);
+        if (entry == null) {
+            entry = load(jwksUri);
+        } else if (now >= entry.expiresAt) {
+            RemoteEntry loaded = load(jwksUri);
+            // Serve stale keys if jwks_uri is temporary unavailable
+            if (loaded != null) {
+                entry = loaded;
+            }
+        } else if (StringUtils.isNotBlank(keyId) && !entry.keyIds.contains(keyId)
+                && (now - entry.loadedAt >= KID_MISS_MIN_INTERVAL_MILLIS)) {
+            log.debug("Key '{}' is not in cached jwks of '{}', refetching", keyId, jwksUri);
+            RemoteEntry loaded = load(jwksUri);
+            if (loaded != null) {
+                entry = loaded;
+            }
+        } else if (now >= entry.refreshAt) {
+            refreshAsync(jwksUri);
+        }
+
+        return entry == null ? null : new JSONObject(entry.jwks);
+    }
+
+    public void invalidate(String jwksUri) {
+        remoteJwks.remove(jwksUri);
+    }
+
+    public void clear() {
+        remoteJwks.clear();
+    }
+
+    private RemoteEntry load(String jwksUri) {
+        CompletableFuture<RemoteEntry> future = new CompletableFuture<>();
+        CompletableFuture<RemoteEntry> inProgress = loadsInProgress.putIfAbsent(jwksUri, future);
+        if (inProgress != null) {
+            // Another thread loads same jwks_uri
+            return inProgress.join();
+        }
+
+        RemoteEntry entry = null;
+        try {
+            entry = fetch(jwksUri);
+            if (entry != null) {
+                remoteJwks.put(jwksUri, entry);
+            }
+        } finally {
+            loadsInProgress.remove(jwksUri);
+            future.complete(entry);
+        }
+
+        return entry;
+    }
+
+    private void refreshAsync(String jwksUri) {
+        if (loadsInProgress.containsKey(jwksUri)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> load(jwksUri));
+        } catch (Exception ex) {
+            log.debug("Failed to schedule jwks refresh: {}", ex.getMessage());
+        }
+    }
+
+    RemoteEntry fetch(String jwksUri) {
+        log.debug("Retrieving jwks {}...", jwksUri);
+
+        try {
+            Response clientResponse = getHttpClient().target(jwksUri).request().buildGet().invoke();
+            try {
+                int status = clientResponse.getStatus();
+                log.debug("Status: {}", status);
+
+                if (status != 200) {
+                    return null;
+                }
+
+                JSONObject jwks = JwtUtil.fromJson(clientResponse.readEntity(String.class));
+                long now = System.currentTimeMillis();
+                long lifetime = getLifetime(clientResponse.getHeaderString(HttpHeaders.CACHE_CONTROL),
+                        clientResponse.getHeaderString(HttpHeaders.EXPIRES), now);
+
+                return new RemoteEntry(jwks, now, lifetime);
+            } finally {
+                clientResponse.close();
+            }
+        } catch (Exception ex) {
+            log.error(String.format("Failed to retrieve jwks '%s'", jwksUri), ex);
+        }
+
+        return null;
+    }
+
+    static long getLifetime(String cacheControl, String expires, long now) {
+        long lifetime = DEFAULT_LIFETIME_MILLIS;
+
+        if (StringUtils.isNotBlank(cacheControl)) {
+            Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+            if (matcher.find()) {
+                lifetime = Long.parseLong(matcher.group(1)) * 1000L;
+            } else if (cacheControl.contains("no-cache") || cacheControl.contains("no-store")) {
+                lifetime = MIN_LIFETIME_MILLIS;
+            }
+        } else if (StringUtils.isNotBlank(expires)) {
+            try {
+                lifetime = ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() - now;
+            } catch (DateTimeParseException ex) {
+                log.trace("Failed to parse Expires header: {}", expires);
+            }
+        }
+
+        return Math.max(MIN_LIFETIME_MILLIS, Math.min(MAX_LIFETIME_MILLIS, lifetime));
+    }
+
+    private Client getHttpClient() {
+        Client client = httpClient;
+        if (client == null) {
+            synchronized (this) {
+                client = httpClient;
+                if (client == null) {
+                    // Slow jwks_uri should not hold request threads which wait for single-flight load
+                    client = ClientBuilder.newBuilder()
+                            .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                            .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                            .build();
+                    httpClient = client;
+                }
+            }
+        }
+
+        return client;
+    }
+
+    static final class RemoteEntry {
+
+        // Callers get JSONObject parsed from it, so cached jwks can't be modified
+        private final String jwks;
+        private final Set<String> keyIds;
+        private final long loadedAt;
+        private final long refreshAt;
+        private final long expiresAt;
+
+        RemoteEntry(JSONObject jwks, long loadedAt, long lifetime) {
+            this.jwks = jwks.toString();
+            this.keyIds = collectKeyIds(jwks);
+            this.loadedAt = loadedAt;
+            // Refresh in background when 80% of lifetime passed
+            this.refreshAt = loadedAt + lifetime * 4 / 5;
+            this.expiresAt = loadedAt + lifetime;
+        }
+
+        private static Set<String> collectKeyIds(JSONObject jwks) {
+            JSONArray keys = jwks.optJSONArray(JWKParameter.JSON_WEB_KEY_SET);
+            if (keys == null) {
+                return Collections.emptySet();
+            }
+
+            Set<String> keyIds = new HashSet<>();
+            for (int i = 0; i < keys.length(); i++) {
+                JSONObject key = keys.optJSONObject(i);
+                if ((key != null) && key.has(JWKParameter.KEY_ID)) {
+                    keyIds.add(key.optString(JWKParameter.KEY_ID));
+                }
+            }
+
+            return keyIds;
+        }
+    }
+
+}
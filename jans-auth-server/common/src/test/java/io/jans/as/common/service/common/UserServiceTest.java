@@ -171,7 +171,7 @@ public class UserServiceTest {
     private void addDefaultUser_withUidEmptyPersonCustomObject_user() {
         String uid = UUID.randomUUID().toString();
         User user = getBasicUser(uid, "dn123");
-        doNothing().when(persistenceEntryManager).persist(any());
+        doNothing().when(persistenceEntryManager).persist(any(User.class));
         when(dataSourceTypeService.isSpanner(anyString())).thenReturn(true);
         when(persistenceEntryManager.findEntries(anyString(), any(), any(), any())).thenReturn(getListBasicOneUser(user));
         when(inumService.generatePeopleInum()).thenReturn(uid);
@@ -187,7 +187,7 @@ public class UserServiceTest {
         String uid = UUID.randomUUID().toString();
         User user = getBasicUser(uid, "dn123");
         user.setCustomObjectClasses(TestUserService.DEFAULT_PERSON_CUSTOM_OBJECT_CLASS_LIST);
-        doNothing().when(persistenceEntryManager).persist(any());
+        doNothing().when(persistenceEntryManager).persist(any(User.class));
         when(dataSourceTypeService.isSpanner(anyString())).thenReturn(true);
         when(persistenceEntryManager.findEntries(anyString(), any(), any(), any())).thenReturn(getListBasicOneUser(user));
         when(inumService.generatePeopleInum()).thenReturn(uid);
@@ -204,7 +204,7 @@ public class UserServiceTest {
     @Test
     private void addUser_noEmptyPersonCustomObject_user() {
         User user = getBasicUser("123", "dn123");
-        doNothing().when(persistenceEntryManager).persist(any());
+        doNothing().when(persistenceEntryManager).persist(any(User.class));
         when(persistenceEntryManager.find(anyString(), any(), any())).thenReturn(user);
         when(inumService.generatePeopleInum()).thenReturn(UUID.randomUUID().toString());
         when(dataSourceTypeService.isLDAP(anyString())).thenReturn(true);
@@ -484,7 +484,7 @@ public class UserServiceTest {
         when(dataSourceTypeService.isSpanner(anyString())).thenReturn(true);
         when(persistenceEntryManager.findEntries(anyString(), any(), any(), any())).thenReturn(getListBasicOneUser(user));
         when(persistenceEntryManager.find(anyString(), any(), any())).thenReturn(user);
-        doNothing().when(persistenceEntryManager).merge(any());
+        doNothing().when(persistenceEntryManager).merge(any(User.class));
 
         User resultUser = userService.removeUserAttributeValue(userId, "attribute1", "value1");
         assertNotNull(resultUser);
@@ -508,7 +508,7 @@ public class UserServiceTest {
         when(dataSourceTypeService.isSpanner(anyString())).thenReturn(true);
         when(persistenceEntryManager.findEntries(anyString(), any(), any(), any())).thenReturn(getListBasicOneUser(user));
         when(persistenceEntryManager.find(anyString(), any(), any())).thenReturn(user);
-        doNothing().when(persistenceEntryManager).merge(any());
+        doNothing().when(persistenceEntryManager).merge(any(User.class));
 
         User resultUser = userService.replaceUserAttribute(userId, "attribute1", "value1", "newValue1");
         assertNotNull(resultUser);
@@ -0,0 +1,168 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.common.util;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class JwksCacheTest {
+
+    private static final String JWKS_URI = "https://rp.example.com/jwks";
+
+    @Test
+    public void getLifetime_whenMaxAgeIsSet_shouldUseIt() {
+        assertEquals(JwksCache.getLifetime("public, max-age=600", null, 0), 600 * 1000L);
+        // Cache-Control wins over Expires
+        assertEquals(JwksCache.getLifetime("max-age = 120", "Thu, 01 Jan 1970 10:00:00 GMT", 0), 120 * 1000L);
+    }
+
+    @Test
+    public void getLifetime_shouldBeBounded() {
+        assertEquals(JwksCache.getLifetime("max-age=1", null, 0), 30 * 1000L);
+        assertEquals(JwksCache.getLifetime("no-cache", null, 0), 30 * 1000L);
+        assertEquals(JwksCache.getLifetime("max-age=31536000", null, 0), 24 * 60 * 60 * 1000L);
+    }
+
+    @Test
+    public void getLifetime_whenExpiresIsSet_shouldUseIt() {
+        long now = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+        String expires = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.of(2024, 1, 1, 0, 10, 0, 0, ZoneOffset.UTC));
+
+        assertEquals(JwksCache.getLifetime(null, expires, now), 10 * 60 * 1000L);
+    }
+
+    @Test
+    public void getLifetime_whenHeadersAreMissingOrInvalid_shouldUseDefault() {
+        assertEquals(JwksCache.getLifetime(null, null, 0), 5 * 60 * 1000L);
+        assertEquals(JwksCache.getLifetime("private", null, 0), 5 * 60 * 1000L);
+        assertEquals(JwksCache.getLifetime(null, "tomorrow", 0), 5 * 60 * 1000L);
+    }
+
+    @Test
+    public void getRemoteJwks_shouldReturnCopies() {
+        TestJwksCache cache = new TestJwksCache(0);
+
+        JSONObject jwks = cache.getRemoteJwks(JWKS_URI);
+        jwks.getJSONArray("keys").getJSONObject(0).put("kid", "modified");
+
+        assertEquals(cache.getRemoteJwks(JWKS_URI).getJSONArray("keys").getJSONObject(0).getString("kid"), "key1");
+        assertEquals(cache.fetchCount.get(), 1);
+    }
+
+    @Test
+    public void getRemoteJwks_whenKidIsUnknown_shouldRefetchNotMoreOftenThanMinInterval() {
+        TestJwksCache cache = new TestJwksCache(0);
+
+        assertNotNull(cache.getRemoteJwks(JWKS_URI, "key1"));
+        cache.getRemoteJwks(JWKS_URI, "unknown");
+        cache.getRemoteJwks(JWKS_URI, "unknown");
+        assertEquals(cache.fetchCount.get(), 1);
+
+        // Cached jwks was loaded long enough ago
+        cache.loadedAtShift = 11 * 1000L;
+        cache.invalidate(JWKS_URI);
+        cache.getRemoteJwks(JWKS_URI, "key1");
+        assertEquals(cache.fetchCount.get(), 2);
+
+        cache.getRemoteJwks(JWKS_URI, "unknown");
+        assertEquals(cache.fetchCount.get(), 3);
+    }
+
+    @Test
+    public void getRemoteJwks_whenCalledConcurrently_shouldFetchOnce() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch fetchRelease = new CountDownLatch(1);
+        TestJwksCache cache = new TestJwksCache(0) {
+            @Override
+            RemoteEntry fetch(String jwksUri) {
+                fetchStarted.countDown();
+                try {
+                    fetchRelease.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.fetch(jwksUri);
+            }
+        };
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<JSONObject>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.getRemoteJwks(JWKS_URI, "key1")));
+            }
+
+            assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            fetchRelease.countDown();
+
+            for (Future<JSONObject> result : results) {
+                assertNotNull(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(cache.fetchCount.get(), 1);
+    }
+
+    @Test
+    public void getInlineJwks_shouldReturnNewObjectEveryTime() {
+        JwksCache cache = new JwksCache();
+        String jwks = jwks().toString();
+
+        JSONObject first = cache.getInlineJwks(jwks);
+        first.remove("keys");
+
+        assertTrue(cache.getInlineJwks(jwks).has("keys"));
+    }
+
+    private static JSONObject jwks() {
+        JSONObject key = new JSONObject();
+        key.put("kid", "key1");
+        key.put("kty", "RSA");
+
+        JSONObject jwks = new JSONObject();
+        jwks.put("keys", new JSONArray().put(key));
+        return jwks;
+    }
+
+    private static class TestJwksCache extends JwksCache {
+
+        private final AtomicInteger fetchCount = new AtomicInteger();
+        private volatile long loadedAtShift;
+
+        private TestJwksCache(long loadedAtShift) {
+            this.loadedAtShift = loadedAtShift;
+        }
+
+        @Override
+        RemoteEntry fetch(String jwksUri) {
+            fetchCount.incrementAndGet();
+            return new RemoteEntry(jwks(), System.currentTimeMillis() - loadedAtShift, 60 * 60 * 1000L);
+        }
+    }
+}
@@ -42,6 +42,8 @@ public class AppConfiguration implements Configuration {
     public static final int DEFAULT_STATUS_LIST_RESPONSE_JWT_LIFETIME = 600; // 10min
     public static final int DEFAULT_STATUS_LIST_BIT_SIZE = 2;
     public static final int DEFAULT_STATUS_LIST_INDEX_ALLOCATION_BLOCK_SIZE = 100;
+    public static final int DEFAULT_STATUS_LIST_RESPONSE_RESIGN_INTERVAL = 300; // 5min
+    public static final String DEFAULT_STATUS_LIST_MESSAGE_CHANNEL = "jans_status_list";
     public static final XFrameOptions DEFAULT_X_FRAME_ORIGINS_VALUE = XFrameOptions.SAMEORIGIN;
 
     @DocProperty(description = "URL using the https scheme that OP asserts as Issuer identifier")
@@ -218,6 +220,12 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Specifies how many status list indexes AS can reserve at once within pool (when status_list feature flag is enabled). Defaults to 100.")
     private int statusListIndexAllocationBlockSize = DEFAULT_STATUS_LIST_INDEX_ALLOCATION_BLOCK_SIZE;
 
+    @DocProperty(description = "Specifies interval in seconds after which cached status list response JWT is signed again and status list snapshot is reloaded from persistence. It is capped by half of statusListResponseJwtLifetime. Defaults to 300.")
+    private int statusListResponseResignInterval = DEFAULT_STATUS_LIST_RESPONSE_RESIGN_INTERVAL;
+
+    @DocProperty(description = "Message channel which is used to notify other AS nodes about status list pool updates. Defaults to jans_status_list.")
+    private String statusListMessageChannel = DEFAULT_STATUS_LIST_MESSAGE_CHANNEL;
+
     @DocProperty(description = "Specifies which attribute is used for the subject identifier claim")
     private String openidSubAttribute;
 
@@ -392,6 +400,9 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Boolean value specifying whether to save access_token, id_token and refresh_token in cache and skip persistence in DB at the same time (with cacheKey=sha256Hex(token_code))")
     private Boolean saveTokensInCacheAndDontSaveInPersistence;
 
+    @DocProperty(description = "Lifetime in seconds of token entity cache used by token lookups (introspection, userinfo, revocation). Cache entry holds token together with its owner. Entry is removed when token is updated or removed by this server, other changes of token and owner are visible only after cache entry expiration. Value 0 disables cache", defaultValue = "60")
+    private int tokenEntityCacheLifetime = 60;
+
     @DocProperty(description = "The lifetime of the short lived Access Token")
     private int accessTokenLifetime;
 
@@ -524,6 +535,9 @@ public class AppConfiguration implements Configuration {
     @DocProperty(description = "Boolean value specifying whether to persist session_id in cache", defaultValue = "false")
     private Boolean sessionIdPersistInCache = false;
 
+    @DocProperty(description = "Interval in seconds during which session_id last used time updates are coalesced and written in background. 0 or negative value turns it off and updates are written synchronously", defaultValue = "0")
+    private int sessionIdLastUsedAtUpdateInterval = 0;
+
     @DocProperty(description = "Boolean value specifying whether to include sessionId in response", defaultValue = "false")
     private Boolean includeSidInResponse = false;
 
@@ -1351,6 +1365,14 @@ public class AppConfiguration implements Configuration {
         this.sessionIdPersistInCache = sessionIdPersistInCache;
     }
 
+    public int getSessionIdLastUsedAtUpdateInterval() {
+        return sessionIdLastUsedAtUpdateInterval;
+    }
+
+    public void setSessionIdLastUsedAtUpdateInterval(int sessionIdLastUsedAtUpdateInterval) {
+        this.sessionIdLastUsedAtUpdateInterval = sessionIdLastUsedAtUpdateInterval;
+    }
+
     public Boolean getChangeSessionIdOnAuthentication() {
         if (changeSessionIdOnAuthentication == null) changeSessionIdOnAuthentication = true;
         return changeSessionIdOnAuthentication;
@@ -2406,6 +2428,14 @@ public class AppConfiguration implements Configuration {
         this.saveTokensInCacheAndDontSaveInPersistence = saveTokensInCacheAndDontSaveInPersistence;
     }
 
+    public int getTokenEntityCacheLifetime() {
+        return tokenEntityCacheLifetime;
+    }
+
+    public void setTokenEntityCacheLifetime(int tokenEntityCacheLifetime) {
+        this.tokenEntityCacheLifetime = tokenEntityCacheLifetime;
+    }
+
     public int getUmaRptLifetime() {
         return umaRptLifetime;
     }
@@ -2487,6 +2517,22 @@ public class AppConfiguration implements Configuration {
         this.statusListIndexAllocationBlockSize = statusListIndexAllocationBlockSize;
     }
 
+    public int getStatusListResponseResignInterval() {
+        return statusListResponseResignInterval;
+    }
+
+    public void setStatusListResponseResignInterval(int statusListResponseResignInterval) {
+        this.statusListResponseResignInterval = statusListResponseResignInterval;
+    }
+
+    public String getStatusListMessageChannel() {
+        return statusListMessageChannel;
+    }
+
+    public void setStatusListMessageChannel(String statusListMessageChannel) {
+        this.statusListMessageChannel = statusListMessageChannel;
+    }
+
     public int getCleanServiceInterval() {
         return cleanServiceInterval;
     }
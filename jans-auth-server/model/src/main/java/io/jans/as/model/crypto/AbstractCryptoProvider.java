@@ -6,6 +6,8 @@
 
 package io.jans.as.model.crypto;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.crypto.signature.AlgorithmFamily;
@@ -41,6 +43,13 @@ public abstract class AbstractCryptoProvider {
     private static final String DEF_TODAYSDATE = "\n\tToday's Date: ";
     private static final String DEF_DAYS = " days";
 
+    private static final int MAX_DECODED_PUBLIC_KEYS = 10000;
+
+    // Keyed by key content, so copies of the same jwks reuse decoded key
+    private static final Cache<String, PublicKey> DECODED_PUBLIC_KEYS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_DECODED_PUBLIC_KEYS)
+            .build();
+
     private int keyRegenerationIntervalInDays = -1;
 
     public abstract JSONObject generateKey(Algorithm algorithm, Long expirationTime) throws CryptoProviderException;
@@ -162,6 +171,31 @@ public abstract class AbstractCryptoProvider {
             throw new InvalidParameterException("Wrong key (JSONObject): doesn't contain 'alg' and 'kty' properties");
         }
 
+        final String decodedKeyId = decodedPublicKeyId(algorithmFamily, key);
+        publicKey = DECODED_PUBLIC_KEYS.getIfPresent(decodedKeyId);
+        if (publicKey == null) {
+            publicKey = decodePublicKey(algorithmFamily, key);
+            DECODED_PUBLIC_KEYS.put(decodedKeyId, publicKey);
+        }
+
+        if (key.has(JWKParameter.EXPIRATION_TIME)) {
+            checkKeyExpiration(alias, key.getLong(JWKParameter.EXPIRATION_TIME));
+        }
+
+        return publicKey;
+    }
+
+    /*
+     * Contains all values used to decode public key
+     */
+    static String decodedPublicKeyId(AlgorithmFamily algorithmFamily, JSONObject key) {
+        return algorithmFamily + "|" + key.optString(JWKParameter.ALGORITHM) + "|" + key.optString(JWKParameter.CURVE)
+                + "|" + key.optString(JWKParameter.MODULUS) + "|" + key.optString(JWKParameter.EXPONENT)
+                + "|" + key.optString(JWKParameter.X) + "|" + key.optString(JWKParameter.Y);
+    }
+
+    private PublicKey decodePublicKey(AlgorithmFamily algorithmFamily, JSONObject key) throws NoSuchAlgorithmException, InvalidKeySpecException, InvalidParameterSpecException, InvalidParameterException {
+        PublicKey publicKey;
         switch (algorithmFamily) {
             case RSA: {
                 KeyFactory keyFactory = KeyFactory.getInstance("RSA");
@@ -195,10 +229,6 @@ public abstract class AbstractCryptoProvider {
             }
         }
 
-        if (key.has(JWKParameter.EXPIRATION_TIME)) {
-            checkKeyExpiration(alias, key.getLong(JWKParameter.EXPIRATION_TIME));
-        }
-
         return publicKey;
     }
 
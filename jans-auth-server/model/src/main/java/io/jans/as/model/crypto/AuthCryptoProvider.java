@@ -74,8 +74,11 @@ import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -95,6 +98,14 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     private final boolean rejectNoneAlg;
     private final KeySelectionStrategy keySelectionStrategy;
 
+    // Unlocked keys by alias. Reading key from PKCS12/BCFKS keystore requires PBE decryption
+    private final Map<String, PrivateKey> privateKeys = new ConcurrentHashMap<>();
+    private final Map<String, X509Certificate> certificates = new ConcurrentHashMap<>();
+
+    // Signature and Mac engines are not thread safe, they are reused per thread and algorithm
+    private static final ThreadLocal<Map<String, Signature>> SIGNATURES = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<String, Mac>> MACS = ThreadLocal.withInitial(HashMap::new);
+
     public AuthCryptoProvider() throws KeyStoreException {
         this(null, null, null);
     }
@@ -156,11 +167,17 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     public void load() throws IOException, NoSuchAlgorithmException, CertificateException {
         try (InputStream is = new FileInputStream(keyStoreFile)) {
             keyStore.load(is, keyStoreSecret.toCharArray());
+            clearKeysCache();
             LOG.debug("Loaded keys from JKS.");
             LOG.trace("Loaded keys:" + getKeys());
         }
     }
 
+    public void clearKeysCache() {
+        privateKeys.clear();
+        certificates.clear();
+    }
+
     public String getKeyStoreFile() {
         return keyStoreFile;
     }
@@ -242,7 +259,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                 return "";
             } else if (AlgorithmFamily.HMAC.equals(signatureAlgorithm.getFamily())) {
                 SecretKey secretKey = new SecretKeySpec(sharedSecret.getBytes(StandardCharsets.UTF_8), signatureAlgorithm.getAlgorithm());
-                Mac mac = Mac.getInstance(signatureAlgorithm.getAlgorithm());
+                Mac mac = getMac(signatureAlgorithm.getAlgorithm());
                 mac.init(secretKey);
                 byte[] sig = mac.doFinal(signingInput.getBytes());
                 return Base64Util.base64urlencode(sig);
@@ -256,7 +273,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
                     throw new IllegalStateException(error);
                 }
 
-                Signature signer = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+                Signature signer = getSignature(signatureAlgorithm.getAlgorithm());
                 signer.initSign(privateKey);
                 signer.update(signingInput.getBytes());
 
@@ -294,6 +311,8 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
     public boolean deleteKey(String alias) throws CryptoProviderException {
         try {
             keyStore.deleteEntry(alias);
+            privateKeys.remove(alias);
+            certificates.remove(alias);
         } catch (KeyStoreException e) {
             throw new CryptoProviderException(e);
         }
@@ -311,11 +330,11 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             return null;
         }
         try {
-            java.security.cert.Certificate certificate = keyStore.getCertificate(alias);
+            X509Certificate certificate = getCertificate(alias);
             if (certificate == null) {
                 return null;
             }
-            checkKeyExpiration(alias);
+            checkKeyExpiration(alias, certificate.getNotAfter().getTime());
             return certificate.getPublicKey();
         } catch (KeyStoreException e) {
             throw new CryptoProviderException(e);
@@ -369,12 +388,16 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
             return null;
         }
         try {
-            Key key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
-            if (key == null) {
-                return null;
-            }
+            PrivateKey privateKey = privateKeys.get(alias);
+            if (privateKey == null) {
+                Key key = keyStore.getKey(alias, keyStoreSecret.toCharArray());
+                if (key == null) {
+                    return null;
+                }
 
-            PrivateKey privateKey = (PrivateKey) key;
+                privateKey = (PrivateKey) key;
+                privateKeys.put(alias, privateKey);
+            }
 
             checkKeyExpiration(alias);
 
@@ -439,13 +462,47 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
 
     private void checkKeyExpiration(String alias) {
         try {
-            Date expirationDate = ((X509Certificate) keyStore.getCertificate(alias)).getNotAfter();
+            Date expirationDate = getCertificate(alias).getNotAfter();
             checkKeyExpiration(alias, expirationDate.getTime());
         } catch (KeyStoreException e) {
             e.printStackTrace();
         }
     }
 
+    private X509Certificate getCertificate(String alias) throws KeyStoreException {
+        X509Certificate certificate = certificates.get(alias);
+        if (certificate == null) {
+            certificate = (X509Certificate) keyStore.getCertificate(alias);
+            if (certificate != null) {
+                certificates.put(alias, certificate);
+            }
+        }
+
+        return certificate;
+    }
+
+    private static Signature getSignature(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, Signature> signatures = SIGNATURES.get();
+        Signature signature = signatures.get(algorithm);
+        if (signature == null) {
+            signature = Signature.getInstance(algorithm, SecurityProviderUtility.getBCProvider());
+            signatures.put(algorithm, signature);
+        }
+
+        return signature;
+    }
+
+    private static Mac getMac(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, Mac> macs = MACS.get();
+        Mac mac = macs.get(algorithm);
+        if (mac == null) {
+            mac = Mac.getInstance(algorithm);
+            macs.put(algorithm, mac);
+        }
+
+        return mac;
+    }
+
     public KeyStore getKeyStore() {
         return keyStore;
     }
@@ -542,6 +599,8 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         final String oldAliasByAlgorithm = getAliasByAlgorithmForDeletion(algorithm, alias, keyOpsType);
         if (StringUtils.isNotBlank(oldAliasByAlgorithm)) {
             keyStore.deleteEntry(oldAliasByAlgorithm);
+            privateKeys.remove(oldAliasByAlgorithm);
+            certificates.remove(oldAliasByAlgorithm);
             LOG.trace("New key: " + alias + ", deleted key: " + oldAliasByAlgorithm);
         }
 
@@ -615,7 +674,7 @@ public class AuthCryptoProvider extends AbstractCryptoProvider {
         if (AlgorithmFamily.EC.equals(signatureAlgorithm.getFamily())) {
             signatureDer = ECDSA.transcodeSignatureToDER(signatureDer);
         }
-        Signature verifier = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+        Signature verifier = getSignature(signatureAlgorithm.getAlgorithm());
         verifier.initVerify(publicKey);
         verifier.update(signingInput.getBytes());
         try {
@@ -0,0 +1,184 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.uma;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jans.as.model.util.Util;
+
+import javax.script.ScriptException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonLogic rule compiled into tree of boolean expressions over scope results.
+ * <p>
+ * Supported operators: and, or, !, !!, if, ==, ===, !=, !==, var (by index) and boolean literals.
+ * Rules with other operators or values are evaluated by {@link JsonLogic}.
+ */
+public class CompiledJsonLogic {
+
+    private final String rule;
+    private final Expression expression;
+    private final int dataSize;
+
+    private CompiledJsonLogic(String rule, Expression expression, int dataSize) {
+        this.rule = rule;
+        this.expression = expression;
+        this.dataSize = dataSize;
+    }
+
+    public static CompiledJsonLogic compile(JsonNode rule) {
+        int[] maxVarIndex = {-1};
+        return new CompiledJsonLogic(rule.toString(), compileNode(rule, maxVarIndex), maxVarIndex[0] + 1);
+    }
+
+    public boolean isCompiled() {
+        return expression != null;
+    }
+
+    public boolean apply(List<Boolean> data) throws ScriptException {
+        // Missing values are null in JsonLogic, not false
+        if (expression != null && (dataSize == 0 || (data != null && data.size() >= dataSize))) {
+            return expression.evaluate(data);
+        }
+
+        if (data == null || data.isEmpty()) {
+            return JsonLogic.apply(rule);
+        }
+        return JsonLogic.apply(rule, Util.asJsonSilently(data));
+    }
+
+    /*
+     * Returns null if node can't be compiled
+     */
+    private static Expression compileNode(JsonNode node, int[] maxVarIndex) {
+        if (node == null) {
+            return null;
+        }
+        if (node.isBoolean()) {
+            final boolean value = node.booleanValue();
+            return data -> value;
+        }
+        if (!node.isObject() || node.size() != 1) {
+            return null;
+        }
+
+        Map.Entry<String, JsonNode> operation = node.fields().next();
+        if ("var".equals(operation.getKey())) {
+            return compileVar(operation.getValue(), maxVarIndex);
+        }
+
+        List<Expression> args = compileArgs(operation.getValue(), maxVarIndex);
+        if (args == null) {
+            return null;
+        }
+
+        switch (operation.getKey()) {
+            case "and":
+                return args.isEmpty() ? null : data -> {
+                    for (Expression arg : args) {
+                        if (!arg.evaluate(data)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+            case "or":
+                return args.isEmpty() ? null : data -> {
+                    for (Expression arg : args) {
+                        if (arg.evaluate(data)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                };
+            case "!":
+                return args.size() != 1 ? null : data -> !args.get(0).evaluate(data);
+            case "!!":
+                return args.size() != 1 ? null : args.get(0);
+            case "==":
+            case "===":
+                return args.size() != 2 ? null : data -> args.get(0).evaluate(data) == args.get(1).evaluate(data);
+            case "!=":
+            case "!==":
+                return args.size() != 2 ? null : data -> args.get(0).evaluate(data) != args.get(1).evaluate(data);
+            case "if":
+                return compileIf(args);
+            default:
+                return null;
+        }
+    }
+
+    /*
+     * Single argument may be specified without array
+     */
+    private static List<Expression> compileArgs(JsonNode value, int[] maxVarIndex) {
+        List<Expression> args = new ArrayList<>();
+        Iterator<JsonNode> it = value.isArray() ? value.elements() : Collections.singletonList(value).iterator();
+        while (it.hasNext()) {
+            Expression expression = compileNode(it.next(), maxVarIndex);
+            if (expression == null) {
+                return null;
+            }
+            args.add(expression);
+        }
+        return args;
+    }
+
+    /*
+     * {"var": 0}, {"var": "0"} or {"var": [0]}
+     */
+    private static Expression compileVar(JsonNode value, int[] maxVarIndex) {
+        JsonNode index = value.isArray() && value.size() == 1 ? value.get(0) : value;
+        final int position;
+        if (index.isInt() && index.intValue() >= 0) {
+            position = index.intValue();
+        } else if (index.isTextual() && index.textValue().matches("\\d{1,9}")) {
+            position = Integer.parseInt(index.textValue());
+        } else {
+            return null;
+        }
+        maxVarIndex[0] = Math.max(maxVarIndex[0], position);
+
+        return data -> Boolean.TRUE.equals(data.get(position));
+    }
+
+    /*
+     * {"if": [cond1, value1, cond2, value2, ..., else]}
+     */
+    private static Expression compileIf(List<Expression> args) {
+        if (args.size() < 3 || args.size() % 2 == 0) {
+            return null;
+        }
+
+        return data -> {
+            int i = 0;
+            for (; i < args.size() - 1; i += 2) {
+                if (args.get(i).evaluate(data)) {
+                    return args.get(i + 1).evaluate(data);
+                }
+            }
+            return args.get(i).evaluate(data);
+        };
+    }
+
+    @FunctionalInterface
+    private interface Expression {
+        boolean evaluate(List<Boolean> data);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledJsonLogic{" +
+                "rule=" + rule +
+                ", compiled=" + isCompiled() +
+                '}';
+    }
+}
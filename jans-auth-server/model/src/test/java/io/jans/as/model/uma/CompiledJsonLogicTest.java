@@ -0,0 +1,69 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.model.uma;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jans.as.model.util.Util;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class CompiledJsonLogicTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static JsonNode rule(String rule) throws Exception {
+        return MAPPER.readTree(rule);
+    }
+
+    private static void assertSameAsJsonLogic(String rule, int dataSize) throws Exception {
+        CompiledJsonLogic compiled = CompiledJsonLogic.compile(rule(rule));
+        assertTrue(compiled.isCompiled(), rule);
+
+        for (int mask = 0; mask < (1 << dataSize); mask++) {
+            List<Boolean> data = new ArrayList<>();
+            for (int i = 0; i < dataSize; i++) {
+                data.add((mask & (1 << i)) != 0);
+            }
+            assertEquals(compiled.apply(data), JsonLogic.apply(rule, Util.asJsonSilently(data)), rule + " " + data);
+        }
+    }
+
+    @Test
+    public void compiledRule_shouldMatchJsonLogic() throws Exception {
+        assertSameAsJsonLogic("{\"and\": [{\"or\": [{\"var\": 0}, {\"var\": 1}]}, {\"var\": 2}]}", 3);
+        assertSameAsJsonLogic("{\"or\": [{\"and\": [{\"var\": 0}, {\"!\": {\"var\": 1}}]}, {\"!\": [{\"var\": 2}]}]}", 3);
+        assertSameAsJsonLogic("{\"if\": [{\"var\": \"0\"}, {\"var\": 1}, {\"!!\": [{\"var\": [2]}]}]}", 3);
+        assertSameAsJsonLogic("{\"==\": [{\"var\": 0}, {\"!=\": [{\"var\": 1}, true]}]}", 2);
+        assertSameAsJsonLogic("{\"and\": [{\"var\": 0}, {\"or\": [{\"var\": 1}, {\"and\": [{\"var\": 2}, {\"!\": {\"var\": 3}}]}]}]}", 4);
+    }
+
+    @Test
+    public void unsupportedRule_shouldFallbackToJsonLogic() throws Exception {
+        CompiledJsonLogic compiled = CompiledJsonLogic.compile(rule("{\"and\": [{\">\": [3, 1]}, {\"var\": 0}]}"));
+
+        assertFalse(compiled.isCompiled());
+        assertTrue(compiled.apply(List.of(true)));
+        assertFalse(compiled.apply(List.of(false)));
+    }
+
+    @Test
+    public void missingData_shouldFallbackToJsonLogic() throws Exception {
+        CompiledJsonLogic compiled = CompiledJsonLogic.compile(rule("{\"==\": [{\"var\": 1}, false]}"));
+
+        assertTrue(compiled.isCompiled());
+        assertTrue(compiled.apply(List.of(true, false)));
+        // null == false in JsonLogic
+        assertFalse(compiled.apply(List.of(true)));
+    }
+}
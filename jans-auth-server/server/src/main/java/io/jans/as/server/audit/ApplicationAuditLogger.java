@@ -6,18 +6,19 @@
 
 package io.jans.as.server.audit;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.base.Objects;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.server.model.audit.OAuth2AuditLog;
 import io.jans.as.server.util.ServerUtil;
-import io.jans.service.cdi.async.Asynchronous;
 import io.jans.service.cdi.event.ConfigurationUpdate;
 import io.jans.util.StringHelper;
 import org.apache.activemq.ActiveMQConnectionFactory;
-import org.apache.activemq.pool.PooledConnectionFactory;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.BooleanUtils;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
@@ -30,14 +31,30 @@ import javax.jms.MessageProducer;
 import javax.jms.QueueConnection;
 import javax.jms.QueueSession;
 import javax.jms.Session;
-import javax.jms.TextMessage;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.ReentrantLock;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit events are put into bounded queue and sent by dedicated thread in transacted batches
+ * over one JMS connection. Batches which can't be delivered to broker are written to journal
+ * file and resent in small chunks between live batches when broker becomes available.
+ *
+ * Injected logger writes audit events only, sender state is logged by separate logger.
+ */
 @Named
 @ApplicationScoped
 @DependsOn("appInitializer")
@@ -45,27 +62,64 @@ public class ApplicationAuditLogger {
 
     private static final String BROKER_URL_PREFIX = "failover:(";
     private static final String BROKER_URL_SUFFIX = ")?timeout=5000&jms.useAsyncSend=true";
-    private static final int ACK_MODE = Session.AUTO_ACKNOWLEDGE;
     private static final String CLIENT_QUEUE_NAME = "oauth2.audit.logging";
-    private static final boolean TRANSACTED = false;
 
-    private final ReentrantLock lock = new ReentrantLock();
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final int BATCH_SIZE = 100;
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_INTERVAL_MILLIS = 5000;
+    private static final int REPLAY_BATCHES_PER_ROUND = 5;
+    private static final long METRICS_LOG_INTERVAL_MILLIS = 60000;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private static final String JOURNAL_FILE_NAME = "oauth2-audit-journal.log";
+    private static final String JOURNAL_REPLAY_SUFFIX = ".replay";
+    private static final long JOURNAL_MAX_SIZE = 50L * 1024 * 1024;
+
+    private static final Logger statusLog = LoggerFactory.getLogger("io.jans.as.server.audit.sender");
 
     @Inject
     private Logger log;
     @Inject
     private AppConfiguration appConfiguration;
 
-    private final AtomicReference<PooledConnectionFactory> pooledConnectionFactory = new AtomicReference<>();
+    private final BlockingQueue<OAuth2AuditLog> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final AtomicLong sentBatchCount = new AtomicLong();
+    private final AtomicLong sendTimeNanos = new AtomicLong();
+
+    private final ObjectMapper jsonMapper = ServerUtil.createJsonMapper().configure(SerializationFeature.WRAP_ROOT_VALUE, false);
+
     private Set<String> jmsBrokerURISet;
     private String jmsUserName;
     private String jmsPassword;
-    private boolean enabled;
-    private boolean sendAuditJms;
+    private volatile boolean enabled;
+    private volatile boolean sendAuditJms;
+    private volatile boolean reconnect;
+
+    private volatile boolean running;
+    private Thread senderThread;
+
+    // Used by sender thread only
+    private QueueConnection connection;
+    private QueueSession session;
+    private MessageProducer producer;
+    private long nextConnectAttempt;
+    private Path journalFile;
+    private BufferedReader replayReader;
+    private List<String> replayBatch;
 
     @PostConstruct
     public void init() {
         updateConfiguration(appConfiguration);
+
+        this.running = true;
+        this.senderThread = new Thread(this::processQueue, "audit-log-sender");
+        this.senderThread.setDaemon(true);
+        this.senderThread.start();
     }
 
     public void updateConfiguration(@Observes @ConfigurationUpdate AppConfiguration appConfiguration) {
@@ -79,54 +133,149 @@ public class ApplicationAuditLogger {
                 || !Objects.equal(this.jmsBrokerURISet, appConfiguration.getJmsBrokerURISet());
 
         if (configChanged) {
-            destroy();
+            // Sender thread reopens connection before next batch
+            this.reconnect = true;
         }
     }
 
-    @Asynchronous
+    /**
+     * Puts audit event into send queue. Event is dropped if queue is full.
+     */
     public void sendMessage(OAuth2AuditLog oAuth2AuditLog) {
         if (!enabled) {
             return;
         }
 
-        boolean messageDelivered = false;
-        if (sendAuditJms && tryToEstablishJMSConnection()) {
-            messageDelivered = loggingThroughJMS(oAuth2AuditLog);
-        }
-
-        if (!messageDelivered) {
-            loggingThroughFile(oAuth2AuditLog);
+        if (!queue.offer(oAuth2AuditLog)) {
+            droppedCount.incrementAndGet();
         }
     }
 
     @PreDestroy
     public void destroy() {
-        if (this.pooledConnectionFactory.get() == null) {
+        this.running = false;
+        if (this.senderThread == null) {
             return;
         }
 
-        this.pooledConnectionFactory.getAndSet(null).clear();
+        try {
+            this.senderThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    private boolean tryToEstablishJMSConnection() {
-        if (this.pooledConnectionFactory.get() != null) {
-            return true;
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    public long getAverageSendLatencyMillis() {
+        long batches = sentBatchCount.get();
+        return batches == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(sendTimeNanos.get() / batches);
+    }
+
+    private void processQueue() {
+        List<OAuth2AuditLog> batch = new ArrayList<>(BATCH_SIZE);
+        long nextMetricsLog = System.currentTimeMillis() + METRICS_LOG_INTERVAL_MILLIS;
+        long lastProcessedCount = 0;
+
+        while (running || !queue.isEmpty()) {
+            try {
+                OAuth2AuditLog first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    processBatch(toJson(batch));
+                    batch.clear();
+                }
+
+                if (sendAuditJms && running) {
+                    replayJournal();
+                }
+
+                long now = System.currentTimeMillis();
+                if (now >= nextMetricsLog) {
+                    long processedCount = sentCount.get() + droppedCount.get() + spilledCount.get();
+                    if (processedCount != lastProcessedCount) {
+                        logMetrics();
+                        lastProcessedCount = processedCount;
+                    }
+                    nextMetricsLog = now + METRICS_LOG_INTERVAL_MILLIS;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                statusLog.error("Failed to process audit log batch", e);
+                batch.clear();
+            }
         }
 
-        lock.lock();
-        try {
-            // Check if another thread initialized JMS pool already
-            if (this.pooledConnectionFactory.get() == null) {
-                return tryToEstablishJMSConnectionImpl();
+        closeReplay();
+        closeConnection();
+        logMetrics();
+    }
+
+    private List<String> toJson(List<OAuth2AuditLog> batch) {
+        List<String> messages = new ArrayList<>(batch.size());
+        for (OAuth2AuditLog oAuth2AuditLog : batch) {
+            try {
+                messages.add(jsonMapper.writeValueAsString(oAuth2AuditLog));
+            } catch (IOException e) {
+                statusLog.error("Can't serialize the audit log", e);
             }
+        }
+        return messages;
+    }
+
+    private void processBatch(List<String> messages) {
+        if (!sendAuditJms) {
+            loggingThroughFile(messages);
+            return;
+        }
+
+        if (!loggingThroughJMS(messages)) {
+            spillToJournal(messages);
+        }
+    }
+
+    private boolean tryToEstablishJMSConnection() {
+        if (reconnect) {
+            reconnect = false;
+            closeConnection();
+        }
 
+        if (producer != null) {
             return true;
-        } finally {
-            lock.unlock();
+        }
+
+        if (System.currentTimeMillis() < nextConnectAttempt) {
+            return false;
+        }
+
+        try {
+            return tryToEstablishJMSConnectionImpl();
+        } catch (Exception e) {
+            statusLog.error("Can't connect to JMS broker, please check your activeMQ configuration.", e);
+            closeConnection();
+            nextConnectAttempt = System.currentTimeMillis() + RECONNECT_INTERVAL_MILLIS;
+            return false;
         }
     }
 
-    private boolean tryToEstablishJMSConnectionImpl() {
+    private boolean tryToEstablishJMSConnectionImpl() throws Exception {
         Set<String> uriSet = appConfiguration.getJmsBrokerURISet();
         if (!enabled || CollectionUtils.isEmpty(uriSet)) {
             return false;
@@ -152,41 +301,196 @@ public class ApplicationAuditLogger {
 
         ActiveMQConnectionFactory connectionFactory = new ActiveMQConnectionFactory(this.jmsUserName, this.jmsPassword, brokerUrl);
 
-        final PooledConnectionFactory pool = new PooledConnectionFactory(connectionFactory);
-        pool.setIdleTimeout(5000);
-        pool.setMaxConnections(10);
-        pool.start();
+        this.connection = connectionFactory.createQueueConnection();
+        this.connection.start();
+        this.session = connection.createQueueSession(true, Session.SESSION_TRANSACTED);
+        this.producer = session.createProducer(session.createQueue(CLIENT_QUEUE_NAME));
 
-        this.pooledConnectionFactory.set(pool);
+        statusLog.debug("Established JMS connection for audit logging");
         return true;
     }
 
-    private boolean loggingThroughJMS(OAuth2AuditLog oAuth2AuditLog) {
-        try (QueueConnection connection = pooledConnectionFactory.get().createQueueConnection()) {
-            connection.start();
+    private void closeConnection() {
+        try {
+            if (connection != null) {
+                // Closes session and producer too
+                connection.close();
+            }
+        } catch (Exception e) {
+            statusLog.debug("Failed to close JMS connection", e);
+        } finally {
+            this.connection = null;
+            this.session = null;
+            this.producer = null;
+        }
+    }
 
-            try (QueueSession session = connection.createQueueSession(TRANSACTED, ACK_MODE);
-                 MessageProducer producer = session.createProducer(session.createQueue(CLIENT_QUEUE_NAME))) {
-                TextMessage txtMessage = session.createTextMessage();
-                txtMessage.setText(ServerUtil.asPrettyJson(oAuth2AuditLog));
-                producer.send(txtMessage);
+    private boolean loggingThroughJMS(List<String> messages) {
+        if (messages.isEmpty()) {
+            return true;
+        }
+
+        if (!tryToEstablishJMSConnection()) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            for (String message : messages) {
+                producer.send(session.createTextMessage(message));
             }
+            session.commit();
 
+            sendTimeNanos.addAndGet(System.nanoTime() - start);
+            sentBatchCount.incrementAndGet();
+            sentCount.addAndGet(messages.size());
             return true;
         } catch (Exception e) {
-            log.error("Can't send message, please check your activeMQ configuration.", e);
+            statusLog.error("Can't send message, please check your activeMQ configuration.", e);
+            closeConnection();
+            nextConnectAttempt = System.currentTimeMillis() + RECONNECT_INTERVAL_MILLIS;
         }
         return false;
     }
 
-    private void loggingThroughFile(OAuth2AuditLog oAuth2AuditLog) {
+    private void loggingThroughFile(List<String> messages) {
+        if (log.isInfoEnabled()) {
+            for (String message : messages) {
+                log.info(message);
+            }
+        }
+        sentCount.addAndGet(messages.size());
+    }
+
+    private void spillToJournal(List<String> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Path journal = getJournalFile();
         try {
-            if (log.isInfoEnabled()) {
-                log.info(ServerUtil.asPrettyJson(oAuth2AuditLog));
+            if (Files.exists(journal) && Files.size(journal) >= JOURNAL_MAX_SIZE) {
+                statusLog.error("Audit log journal '{}' is full, dropping {} messages", journal, messages.size());
+                droppedCount.addAndGet(messages.size());
+                return;
+            }
+
+            Files.createDirectories(journal.getParent());
+            Files.write(journal, messages, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            spilledCount.addAndGet(messages.size());
+        } catch (IOException e) {
+            statusLog.error("Failed to write audit log journal '{}', dropping {} messages", journal, messages.size(), e);
+            droppedCount.addAndGet(messages.size());
+        }
+    }
+
+    /*
+     * Journal is renamed before replay, so new failed batches go to new journal file.
+     * Each call sends at most few batches, so live events are not delayed by big journal.
+     */
+    private void replayJournal() throws IOException {
+        if (replayReader == null && !openReplay()) {
+            return;
+        }
+
+        for (int i = 0; i < REPLAY_BATCHES_PER_ROUND; i++) {
+            if (replayBatch.isEmpty()) {
+                readReplayBatch(replayBatch);
+                if (replayBatch.isEmpty()) {
+                    finishReplay();
+                    return;
+                }
+            }
+
+            if (!loggingThroughJMS(replayBatch)) {
+                // Batch is kept and resent on next round
+                return;
+            }
+            replayBatch.clear();
+        }
+    }
+
+    private boolean openReplay() throws IOException {
+        Path journal = getJournalFile();
+        Path replay = getReplayFile();
+        if (!Files.exists(replay) && !Files.exists(journal)) {
+            return false;
+        }
+
+        if (!tryToEstablishJMSConnection()) {
+            return false;
+        }
+
+        if (!Files.exists(replay)) {
+            Files.move(journal, replay);
+        }
+
+        statusLog.info("Resending audit log messages from journal '{}'", replay);
+        this.replayReader = Files.newBufferedReader(replay, StandardCharsets.UTF_8);
+        this.replayBatch = new ArrayList<>(BATCH_SIZE);
+        return true;
+    }
+
+    private void readReplayBatch(List<String> batch) throws IOException {
+        String line;
+        while ((batch.size() < BATCH_SIZE) && ((line = replayReader.readLine()) != null)) {
+            if (StringHelper.isNotEmpty(line)) {
+                batch.add(line);
             }
+        }
+    }
+
+    private void finishReplay() throws IOException {
+        replayReader.close();
+        this.replayReader = null;
+        this.replayBatch = null;
+
+        Files.delete(getReplayFile());
+        statusLog.info("Audit log journal is processed");
+    }
+
+    /*
+     * Messages which were not resent yet are moved back to journal, so they are not sent twice after restart
+     */
+    private void closeReplay() {
+        if (replayReader == null) {
+            return;
+        }
+
+        try {
+            List<String> batch = replayBatch;
+            do {
+                spillToJournal(batch);
+                batch.clear();
+                readReplayBatch(batch);
+            } while (!batch.isEmpty());
+
+            replayReader.close();
+            Files.delete(getReplayFile());
         } catch (IOException e) {
-            log.error("Can't serialize the audit log", e);
+            statusLog.error("Failed to move not sent messages back to audit log journal", e);
+        } finally {
+            this.replayReader = null;
+            this.replayBatch = null;
         }
     }
 
+    private Path getReplayFile() {
+        return getJournalFile().resolveSibling(JOURNAL_FILE_NAME + JOURNAL_REPLAY_SUFFIX);
+    }
+
+    private Path getJournalFile() {
+        if (journalFile == null) {
+            // Same folder as audit log file
+            String baseDir = System.getProperty("log.base", System.getProperty("java.io.tmpdir"));
+            journalFile = Paths.get(baseDir, "logs", JOURNAL_FILE_NAME);
+        }
+        return journalFile;
+    }
+
+    private void logMetrics() {
+        statusLog.info("Audit log metrics - sent: {}, dropped: {}, spilled to journal: {}, backlog: {}, average batch send latency: {} ms",
+                getSentCount(), getDroppedCount(), getSpilledCount(), getBacklog(), getAverageSendLatencyMillis());
+    }
+
 }
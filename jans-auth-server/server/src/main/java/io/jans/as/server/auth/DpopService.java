@@ -150,7 +150,6 @@ public class DpopService {
         String htu = dpop.getClaims().getClaimAsString(DPoPJwtPayloadParam.HTU);
         String nonce = dpop.getClaims().getClaimAsString(DPoPJwtPayloadParam.NONCE);
         String cacheKey = "dpop_jti_" + jti;
-        DPoPJti dPoPJti = (DPoPJti) cacheService.get(cacheKey);
 
         // Validate the token was issued within an acceptable timeframe.
         int seconds = appConfiguration.getDpopTimeframe();
@@ -159,10 +158,9 @@ public class DpopService {
             throw new InvalidJwtException("The DPoP token has expired.");
         }
 
-        if (dPoPJti == null) {
-            dPoPJti = new DPoPJti(jti, iat, htu);
-            cacheService.put(appConfiguration.getDpopJtiCacheTime(), cacheKey, dPoPJti);
-        } else {
+        // Atomic check, concurrent proofs with same jti can't both pass
+        DPoPJti dPoPJti = new DPoPJti(jti, iat, htu);
+        if (!cacheService.putIfAbsent(appConfiguration.getDpopJtiCacheTime(), cacheKey, dPoPJti)) {
             throw new InvalidJwtException("Invalid DPoP Proof. The jti param has been used before.");
         }
 
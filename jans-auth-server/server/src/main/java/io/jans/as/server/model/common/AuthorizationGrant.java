@@ -52,6 +52,7 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Supplier;
@@ -113,6 +114,9 @@ public abstract class AuthorizationGrant extends AbstractAuthorizationGrant {
 
     private boolean isCachedWithNoPersistence = false;
 
+    // Tokens of this grant collected by execution context and not persisted yet
+    private final List<TokenEntity> pendingTokens = new ArrayList<>();
+
     protected AuthorizationGrant() {
     }
 
@@ -181,15 +185,19 @@ public abstract class AuthorizationGrant extends AbstractAuthorizationGrant {
     }
 
     private void saveImpl() {
+        for (TokenEntity t : pendingTokens) {
+            initTokenFromGrant(t);
+        }
+
         String grantId = getGrantId();
         if (StringUtils.isNotBlank(grantId)) {
             final List<TokenEntity> grants = grantService.getGrantsByGrantId(grantId);
             if (grants != null && !grants.isEmpty()) {
                 for (TokenEntity t : grants) {
                     initTokenFromGrant(t);
-                    log.debug("Saving grant: {}, code_challenge: {}", grantId, getCodeChallenge());
-                    grantService.mergeSilently(t);
                 }
+                log.debug("Saving grant: {}, code_challenge: {}, tokens: {}", grantId, getCodeChallenge(), grants.size());
+                grantService.mergeSilently(grants);
             }
         }
     }
@@ -265,7 +273,7 @@ public abstract class AuthorizationGrant extends AbstractAuthorizationGrant {
             final TokenEntity tokenEntity = asToken(accessToken);
             context.setAccessTokenEntity(tokenEntity);
 
-            persist(tokenEntity);
+            persist(tokenEntity, context);
             statService.reportAccessToken(getGrantType());
             metricService.incCounter(MetricType.TOKEN_ACCESS_TOKEN_COUNT);
 
@@ -371,7 +379,7 @@ public abstract class AuthorizationGrant extends AbstractAuthorizationGrant {
                     entity.getAttributes().setOnlineAccess(true);
                 }
 
-                persist(entity);
+                persist(entity, executionContext);
                 statService.reportRefreshToken(getGrantType());
                 metricService.incCounter(MetricType.TOKEN_REFRESH_TOKEN_COUNT);
 
@@ -440,7 +448,7 @@ public abstract class AuthorizationGrant extends AbstractAuthorizationGrant {
                 final TokenEntity tokenEntity = asToken(idToken);
                 tokenEntity.setAuthMode(acrValues);
                 tokenEntity.setSessionDn(sessionDn);
-                persist(tokenEntity);
+                persist(tokenEntity, executionContext);
             }
 
             setAcrValues(acrValues);
@@ -462,6 +470,25 @@ public abstract class AuthorizationGrant extends AbstractAuthorizationGrant {
         grantService.persist(token);
     }
 
+    /*
+     * Token is persisted later together with other tokens of request if context collects tokens
+     */
+    private void persist(TokenEntity token, ExecutionContext executionContext) {
+        if (executionContext != null && executionContext.isTokenBatchStarted()) {
+            executionContext.addPendingToken(this, token);
+            pendingTokens.add(token);
+        } else {
+            persist(token);
+        }
+    }
+
+    /*
+     * Called when execution context hands collected tokens over for persistence
+     */
+    public void clearPendingTokens() {
+        pendingTokens.clear();
+    }
+
     public void persist(AuthorizationCode code) {
         persist(asToken(code));
     }
@@ -8,7 +8,6 @@ package io.jans.as.server.model.common;
 
 import io.jans.as.common.model.common.User;
 import io.jans.as.common.model.registration.Client;
-import io.jans.as.common.service.common.UserService;
 import io.jans.as.model.authzdetails.AuthzDetails;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.crypto.AbstractCryptoProvider;
@@ -22,7 +21,6 @@ import io.jans.model.metric.MetricType;
 import io.jans.model.token.TokenEntity;
 import io.jans.model.token.TokenType;
 import io.jans.service.CacheService;
-import io.jans.util.StringHelper;
 import jakarta.enterprise.context.Dependent;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
@@ -55,9 +53,6 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
     @Inject
     private GrantService grantService;
 
-    @Inject
-    private UserService userService;
-
     @Inject
     private ClientService clientService;
 
@@ -245,12 +240,16 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
 
     @Override
     public AuthorizationGrant getAuthorizationGrantByAccessToken(String accessToken) {
-        final TokenEntity tokenEntity = grantService.getGrantByCode(accessToken);
-        if (tokenEntity != null && (
-                tokenEntity.getTokenTypeEnum() == TokenType.ACCESS_TOKEN ||
-                        tokenEntity.getTokenTypeEnum() == TokenType.LONG_LIVED_ACCESS_TOKEN ||
-                        tokenEntity.getTokenTypeEnum() == TokenType.TX_TOKEN)) {
-            return asGrant(tokenEntity);
+        final CachedTokenEntity cached = grantService.getGrantWithOwnerByCode(accessToken);
+        if (cached == null) {
+            return null;
+        }
+
+        final TokenEntity tokenEntity = cached.getTokenEntity();
+        if (tokenEntity.getTokenTypeEnum() == TokenType.ACCESS_TOKEN ||
+                tokenEntity.getTokenTypeEnum() == TokenType.LONG_LIVED_ACCESS_TOKEN ||
+                tokenEntity.getTokenTypeEnum() == TokenType.TX_TOKEN) {
+            return asGrant(tokenEntity, cached.getOwner());
         }
         return null;
     }
@@ -280,14 +279,16 @@ public class AuthorizationGrantList implements IAuthorizationGrantList {
     }
 
     public AuthorizationGrant asGrant(TokenEntity tokenEntity) {
+        if (tokenEntity != null && AuthorizationGrantType.fromString(tokenEntity.getGrantType()) != null) {
+            return asGrant(tokenEntity, grantService.getTokenOwner(tokenEntity));
+        }
+        return null;
+    }
+
+    public AuthorizationGrant asGrant(TokenEntity tokenEntity, User user) {
         if (tokenEntity != null) {
             final AuthorizationGrantType grantType = AuthorizationGrantType.fromString(tokenEntity.getGrantType());
             if (grantType != null) {
-            	String userId = tokenEntity.getUserId();
-            	User user = null;
-            	if (StringHelper.isNotEmpty(userId)) {
-                    user = userService.getUser(userId);
-            	}
                 final Client client = clientService.getClient(tokenEntity.getClientId());
                 final Date authenticationTime = tokenEntity.getAuthenticationTime();
                 final String nonce = tokenEntity.getNonce();
@@ -0,0 +1,45 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.model.common;
+
+import io.jans.as.common.model.common.User;
+import io.jans.model.token.TokenEntity;
+import org.apache.commons.lang.SerializationUtils;
+
+import java.io.Serializable;
+
+/**
+ * Token entity together with its owner resolved at load time. It is put into token entity cache,
+ * so grant can be built without loading token and user from persistence.
+ */
+public class CachedTokenEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final TokenEntity tokenEntity;
+    private final User owner;
+
+    public CachedTokenEntity(TokenEntity tokenEntity, User owner) {
+        this.tokenEntity = tokenEntity;
+        this.owner = owner;
+    }
+
+    public TokenEntity getTokenEntity() {
+        return tokenEntity;
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    /**
+     * In-memory cache returns the cached instance, so callers get a copy which they can modify
+     */
+    public CachedTokenEntity copy() {
+        return (CachedTokenEntity) SerializationUtils.clone(this);
+    }
+}
@@ -42,6 +42,12 @@ public class DeviceCodeGrant extends AuthorizationGrant {
 
     @Override
     public void save() {
+        // Consumed device code must not be put back to cache
+        if (!isCachedWithNoPersistence()) {
+            super.save();
+            return;
+        }
+
         CacheGrant cachedGrant = new CacheGrant(this, appConfiguration);
         String cacheKey = StringUtils.isNotBlank(cachedGrant.getDeviceCode()) ? cachedGrant.getDeviceCode() : cachedGrant.getGrantId();
         cacheService.put(cachedGrant.getExpiresIn(), cacheKey, cachedGrant);
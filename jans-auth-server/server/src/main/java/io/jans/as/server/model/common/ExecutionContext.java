@@ -78,6 +78,8 @@ public class ExecutionContext {
     private String claimsAsString;
     private List<SessionId> userSessions;
     private OAuth2AuditLog auditLog;
+    private List<TokenEntity> pendingTokens;
+    private Set<AuthorizationGrant> pendingTokenGrants;
 
     @NotNull
     private final Map<String, String> attributes = new HashMap<>();
@@ -154,6 +156,8 @@ public class ExecutionContext {
         executionContext.claimsAsString = context.claimsAsString;
         executionContext.userSessions = context.userSessions;
         executionContext.auditLog = context.auditLog;
+        executionContext.pendingTokens = context.pendingTokens;
+        executionContext.pendingTokenGrants = context.pendingTokenGrants;
 
         executionContext.attributes.clear();
         executionContext.attributes.putAll(context.attributes);
@@ -186,6 +190,36 @@ public class ExecutionContext {
         return of(this);
     }
 
+    /*
+     * Tokens created after this call are collected instead of persisting one by one. Copies of context share collected tokens
+     */
+    public void startTokenBatch() {
+        pendingTokens = new ArrayList<>();
+        pendingTokenGrants = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    public boolean isTokenBatchStarted() {
+        return pendingTokens != null;
+    }
+
+    public void addPendingToken(AuthorizationGrant grant, TokenEntity token) {
+        pendingTokens.add(token);
+        pendingTokenGrants.add(grant);
+    }
+
+    /*
+     * Returns tokens collected since startTokenBatch. Grants which created them don't keep references to these tokens anymore
+     */
+    public List<TokenEntity> finishTokenBatch() {
+        final List<TokenEntity> tokens = pendingTokens != null ? pendingTokens : new ArrayList<>();
+        if (pendingTokenGrants != null) {
+            pendingTokenGrants.forEach(AuthorizationGrant::clearPendingTokens);
+        }
+        pendingTokens = null;
+        pendingTokenGrants = null;
+        return tokens;
+    }
+
     public AuthzDetails getAuthzDetails() {
         return authzDetails;
     }
@@ -35,6 +35,7 @@ import io.jans.as.server.service.logger.LoggerService;
 import io.jans.as.server.service.stat.StatService;
 import io.jans.as.server.service.stat.StatTimer;
 import io.jans.as.server.service.status.ldap.LdapStatusTimer;
+import io.jans.as.server.service.token.StatusListService;
 import io.jans.config.GluuConfiguration;
 import io.jans.config.IDPAuthConf;
 import io.jans.exception.ConfigurationException;
@@ -63,6 +64,7 @@ import io.jans.service.custom.script.CustomScriptActivator;
 import io.jans.service.custom.script.CustomScriptManager;
 import io.jans.service.document.store.manager.DocumentStoreManager;
 import io.jans.service.external.ExternalPersistenceExtensionService;
+import io.jans.service.message.cache.NearCacheInvalidationService;
 import io.jans.service.metric.inject.ReportMetric;
 import io.jans.service.timer.QuartzSchedulerManager;
 import io.jans.service.timer.event.TimerEvent;
@@ -170,6 +172,9 @@ public class AppInitializer {
     @Inject
     private ClientLastUpdateAtTimer clientLastUpdateAtTimer;
 
+    @Inject
+    private SessionLastUsedAtTimer sessionLastUsedAtTimer;
+
     @Inject
     private KeyGeneratorTimer keyGeneratorTimer;
 
@@ -203,6 +208,12 @@ public class AppInitializer {
     @Inject
     private StatService statService;
 
+    @Inject
+    private NearCacheInvalidationService nearCacheInvalidationService;
+
+    @Inject
+    private StatusListService statusListService;
+
     @Inject
     private DocumentStoreManager documentStoreManager;
 
@@ -257,6 +268,12 @@ public class AppInitializer {
 
         statService.init();
 
+        // Receive near cache invalidations from other nodes
+        nearCacheInvalidationService.subscribe();
+
+        // Receive status list pool updates from other nodes
+        statusListService.subscribe();
+
         // Start timer
         initSchedulerService();
 
@@ -268,6 +285,7 @@ public class AppInitializer {
         ldapStatusTimer.initTimer();
         cleanerTimer.initTimer();
         clientLastUpdateAtTimer.initTimer();
+        sessionLastUsedAtTimer.initTimer();
         customScriptManager.initTimer(supportedCustomScriptTypes);
         keyGeneratorTimer.initTimer();
         statTimer.initTimer();
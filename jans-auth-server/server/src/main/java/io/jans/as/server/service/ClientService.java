@@ -28,9 +28,9 @@ import io.jans.as.server.model.token.HandleTokenFactory;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.model.base.CustomObjectAttribute;
 import io.jans.service.BaseCacheService;
-import io.jans.service.CacheService;
 import io.jans.service.EncryptionService;
 import io.jans.service.LocalCacheService;
+import io.jans.service.NearCacheService;
 import io.jans.util.StringHelper;
 import io.jans.util.security.StringEncrypter;
 import io.jans.util.security.StringEncrypter.EncryptionException;
@@ -54,7 +54,7 @@ public class ClientService {
     private PersistenceEntryManager persistenceEntryManager;
 
     @Inject
-    private CacheService cacheService;
+    private NearCacheService nearCacheService;
 
     @Inject
     private LocalCacheService localCacheService;
@@ -354,6 +354,6 @@ public class ClientService {
             return localCacheService;
         }
 
-        return cacheService;
+        return nearCacheService;
     }
 }
\ No newline at end of file
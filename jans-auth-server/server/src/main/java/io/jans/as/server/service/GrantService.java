@@ -7,11 +7,13 @@
 package io.jans.as.server.service;
 
 import com.google.common.collect.Lists;
+import io.jans.as.common.model.common.User;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.configuration.LockMessageConfig;
 import io.jans.as.server.model.common.AuthorizationGrant;
 import io.jans.as.server.model.common.CacheGrant;
+import io.jans.as.server.model.common.CachedTokenEntity;
 import io.jans.as.server.service.token.StatusListIndexService;
 import io.jans.as.server.util.TokenHashUtil;
 import io.jans.model.token.TokenEntity;
@@ -44,6 +46,9 @@ import static org.apache.commons.lang.BooleanUtils.isTrue;
 @ApplicationScoped
 public class GrantService {
 
+    private static final String CIBA_TOKENS_DELIVERED_KEY_PREFIX = "ciba_delivered_";
+    private static final String TOKEN_ENTITY_CACHE_KEY_PREFIX = "tkn_entity_";
+
     private static final ExecutorService statusListPool = Executors.newFixedThreadPool(5, runnable -> {
         Thread thread = new Thread(runnable);
         thread.setName("grant_service_status_list_pool");
@@ -59,6 +64,9 @@ public class GrantService {
 
     @Inject
     private ClientService clientService;
+
+    @Inject
+    private UserService userService;
     
     @Inject
     private MessageService messageService;
@@ -89,16 +97,33 @@ public class GrantService {
 
     public void merge(TokenEntity token) {
         persistenceEntryManager.merge(token);
+        updateInCache(token);
     }
 
     public void mergeSilently(TokenEntity token) {
         try {
             persistenceEntryManager.merge(token);
+            updateInCache(token);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    public void mergeSilently(List<TokenEntity> tokens) {
+        try {
+            persistenceEntryManager.merge(tokens);
+            for (TokenEntity token : tokens) {
+                updateInCache(token);
+            }
+        } catch (Exception e) {
+            // Batch is applied in one transaction, so fall back to merge tokens one by one to not lose valid updates
+            log.warn("Failed to merge batch of {} tokens, merging them one by one", tokens.size(), e);
+            for (TokenEntity token : tokens) {
+                mergeSilently(token);
+            }
+        }
+    }
+
     public boolean shouldPersist() {
         if (isTrue(appConfiguration.getSaveTokensInCacheAndDontSaveInPersistence())) {
             return false;
@@ -124,16 +149,58 @@ public class GrantService {
         }
     }
 
+    public void persist(List<TokenEntity> tokens) {
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        if (shouldPersist()) {
+            persistenceEntryManager.persist(tokens);
+        }
+
+        for (TokenEntity token : tokens) {
+            if (shouldSaveInCache()) {
+                saveInCache(token);
+            }
+
+            if (TokenType.ACCESS_TOKEN.getValue().equals(token.getTokenType())) {
+                publishIdTokenLockMessage(token, "add");
+            }
+        }
+    }
+
+    // Token code is sha256Hex of the token, so it's used as cache key as is
     private void saveInCache(TokenEntity token) {
         long lifeTimeAsMillis = token.getExpirationDate().getTime() - System.currentTimeMillis();
         int lifetimeInSeconds = (int) (lifeTimeAsMillis / 1000);
-        cacheService.put(lifetimeInSeconds, TokenHashUtil.hash(token.getTokenCode()), token.getTokenCode());
+        if (lifetimeInSeconds > 0) {
+            cacheService.put(lifetimeInSeconds, token.getTokenCode(), token);
+        }
+    }
+
+    private void updateInCache(TokenEntity token) {
+        if (shouldSaveInCache()) {
+            saveInCache(token);
+        } else if (isTokenEntityCacheEnabled()) {
+            cacheService.remove(TOKEN_ENTITY_CACHE_KEY_PREFIX + token.getTokenCode());
+        }
+    }
+
+    private boolean isTokenEntityCacheEnabled() {
+        return appConfiguration.getTokenEntityCacheLifetime() > 0;
     }
 
     public void remove(TokenEntity token) {
         persistenceEntryManager.remove(token);
         log.trace("Removed token from LDAP, code: {}", token.getTokenCode());
 
+        if (shouldSaveInCache()) {
+            cacheService.remove(token.getTokenCode());
+        }
+        if (isTokenEntityCacheEnabled()) {
+            cacheService.remove(TOKEN_ENTITY_CACHE_KEY_PREFIX + token.getTokenCode());
+        }
+
         if (TokenType.ACCESS_TOKEN == token.getTokenTypeEnum()) {
         	publishIdTokenLockMessage(token, "del");
         }
@@ -158,9 +225,6 @@ public class GrantService {
             if (StringUtils.isNotBlank(token.getAuthorizationCode())) {
                 cacheService.remove(CacheGrant.cacheKey(token.getAuthorizationCode(), token.getGrantId()));
             }
-            if (shouldSaveInCache()) {
-                cacheService.remove(token.getTokenCode());
-            }
 
             statusListPool.execute(() -> {
                 final Integer index = token.getAttributes().getStatusListIndex();
@@ -195,9 +259,6 @@ public class GrantService {
                     if (StringUtils.isNotBlank(t.getAuthorizationCode())) {
                         cacheService.remove(CacheGrant.cacheKey(t.getAuthorizationCode(), t.getGrantId()));
                     }
-                    if (shouldSaveInCache()) {
-                        cacheService.remove(t.getTokenCode());
-                    }
 
                     final Integer index = t.getAttributes().getStatusListIndex();
                     if (index != null && index >= 0) {
@@ -235,12 +296,49 @@ public class GrantService {
     }
 
     public TokenEntity getGrantByCode(String code) {
-        Object grant = cacheService.get(TokenHashUtil.hash(code));
+        final String hashedCode = TokenHashUtil.hash(code);
+        if (shouldSaveInCache() || !isTokenEntityCacheEnabled()) {
+            return getGrantByHashedCode(hashedCode);
+        }
+
+        final CachedTokenEntity cached = getCachedTokenEntity(hashedCode);
+        return cached == null ? null : cached.getTokenEntity();
+    }
+
+    /**
+     * Returns token entity together with its owner. If token entity cache is enabled both are loaded
+     * from persistence only on cache miss.
+     */
+    public CachedTokenEntity getGrantWithOwnerByCode(String code) {
+        final String hashedCode = TokenHashUtil.hash(code);
+        if (shouldSaveInCache() || !isTokenEntityCacheEnabled()) {
+            final TokenEntity grant = getGrantByHashedCode(hashedCode);
+            return grant == null ? null : new CachedTokenEntity(grant, getTokenOwner(grant));
+        }
+
+        return getCachedTokenEntity(hashedCode);
+    }
+
+    private TokenEntity getGrantByHashedCode(String hashedCode) {
+        Object grant = cacheService.get(hashedCode);
         if (grant instanceof TokenEntity) {
             return (TokenEntity) grant;
-        } else {
-            return load(buildDn(TokenHashUtil.hash(code)));
         }
+        return load(buildDn(hashedCode));
+    }
+
+    // Read-through cache. Entry is removed on token merge and removal
+    private CachedTokenEntity getCachedTokenEntity(String hashedCode) {
+        final CachedTokenEntity cached = cacheService.getWithPut(TOKEN_ENTITY_CACHE_KEY_PREFIX + hashedCode, () -> {
+            final TokenEntity grant = load(buildDn(hashedCode));
+            return grant == null ? null : new CachedTokenEntity(grant, getTokenOwner(grant));
+        }, appConfiguration.getTokenEntityCacheLifetime());
+        return cached == null ? null : cached.copy();
+    }
+
+    public User getTokenOwner(TokenEntity tokenEntity) {
+        final String userId = tokenEntity.getUserId();
+        return StringHelper.isNotEmpty(userId) ? userService.getUser(userId) : null;
     }
 
     public TokenEntity getGrantByReferenceId(String referenceId) {
@@ -366,6 +464,24 @@ public class GrantService {
         cacheService.remove(CacheGrant.cacheKey(code, null));
     }
 
+    /**
+     * Atomically removes cached grant of authorization or device code.
+     * Only one of concurrent token requests with same code gets true.
+     *
+     * @param code authorization code or device code
+     * @return true if grant was removed by this call
+     */
+    public boolean consumeCode(String code) {
+        return cacheService.getAndRemove(CacheGrant.cacheKey(code, null)) != null;
+    }
+
+    /**
+     * Marks CIBA tokens as delivered. Only one of concurrent token requests with same auth_req_id gets true.
+     */
+    public boolean markCibaTokensDelivered(String authReqId, int expiresIn) {
+        return cacheService.putIfAbsent(expiresIn, CIBA_TOKENS_DELIVERED_KEY_PREFIX + authReqId, Boolean.TRUE);
+    }
+
     public void removeAllByAuthorizationCode(String authorizationCode) {
         removeSilently(getGrantsByAuthorizationCode(authorizationCode));
     }
@@ -11,8 +11,14 @@ import io.jans.as.common.service.common.ConfigurationService;
 import io.jans.as.model.common.FeatureFlagType;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.audit.ApplicationAuditLogger;
 import io.jans.model.ApplicationType;
+import io.jans.model.metric.MetricType;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.CacheProviderType;
+import io.jans.service.cache.InMemoryCacheProvider;
+import io.jans.service.custom.script.ScriptInvocationMetrics;
 import io.jans.service.metric.inject.ReportMetric;
 import io.jans.service.net.NetworkService;
 
@@ -56,8 +62,34 @@ public class MetricService extends io.jans.service.metric.MetricService {
     @ReportMetric
     private PersistenceEntryManager ldapEntryManager;
 
+    @Inject
+    private CacheConfiguration cacheConfiguration;
+
+    @Inject
+    private InMemoryCacheProvider inMemoryCacheProvider;
+
+    @Inject
+    private ApplicationAuditLogger applicationAuditLogger;
+
     public void initTimer() {
         initTimer(this.appConfiguration.getMetricReporterInterval(), this.appConfiguration.getMetricReporterKeepDataDays());
+
+        if (CacheProviderType.IN_MEMORY == cacheConfiguration.getCacheProviderType()) {
+            registerCounter(MetricType.CACHE_IN_MEMORY_HIT_COUNT, () -> inMemoryCacheProvider.getDelegate().getHitCount());
+            registerCounter(MetricType.CACHE_IN_MEMORY_MISS_COUNT, () -> inMemoryCacheProvider.getDelegate().getMissCount());
+            registerCounter(MetricType.CACHE_IN_MEMORY_EVICTION_COUNT, () -> inMemoryCacheProvider.getDelegate().getEvictionCount());
+        }
+
+        ScriptInvocationMetrics scriptInvocationMetrics = ScriptInvocationMetrics.getInstance();
+        registerCounter(MetricType.SCRIPT_INVOCATION_COUNT, scriptInvocationMetrics::getInvocationCount);
+        registerCounter(MetricType.SCRIPT_INVOCATION_ERROR_COUNT, scriptInvocationMetrics::getErrorCount);
+        registerCounter(MetricType.SCRIPT_INVOCATION_TIMEOUT_COUNT, scriptInvocationMetrics::getTimeoutCount);
+        registerCounter(MetricType.SCRIPT_INVOCATION_SLOW_COUNT, scriptInvocationMetrics::getSlowInvocationCount);
+
+        registerCounter(MetricType.AUDIT_LOG_SENT_COUNT, applicationAuditLogger::getSentCount);
+        registerCounter(MetricType.AUDIT_LOG_DROPPED_COUNT, applicationAuditLogger::getDroppedCount);
+        registerCounter(MetricType.AUDIT_LOG_SPILLED_COUNT, applicationAuditLogger::getSpilledCount);
+        registerGauge(MetricType.AUDIT_LOG_QUEUE_SIZE, applicationAuditLogger::getBacklog);
     }
 
     @Override
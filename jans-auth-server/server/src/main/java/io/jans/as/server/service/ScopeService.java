@@ -30,8 +30,8 @@ import io.jans.model.attribute.AttributeDataType;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.search.filter.Filter;
 import io.jans.service.BaseCacheService;
-import io.jans.service.CacheService;
 import io.jans.service.LocalCacheService;
+import io.jans.service.NearCacheService;
 import io.jans.util.StringHelper;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -50,7 +50,7 @@ public class ScopeService {
     private AppConfiguration appConfiguration;
 
     @Inject
-    private CacheService cacheService;
+    private NearCacheService nearCacheService;
 
     @Inject
     private LocalCacheService localCacheService;
@@ -244,7 +244,7 @@ public class ScopeService {
             return localCacheService;
         }
 
-        return cacheService;
+        return nearCacheService;
     }
 
     public Map<String, Object> getClaims(User user, Scope scope) throws InvalidClaimException {
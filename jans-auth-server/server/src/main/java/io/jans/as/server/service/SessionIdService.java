@@ -127,6 +127,9 @@ public class SessionIdService {
     @Inject
     private StatService statService;
 
+    @Inject
+    private SessionLastUsedAtTimer sessionLastUsedAtTimer;
+
     private String buildDn(String sessionId) {
         return String.format("jansId=%s,%s", sessionId, staticConfiguration.getBaseDn().getSessions());
     }
@@ -609,6 +612,7 @@ public class SessionIdService {
             final int unusedLifetime = appConfiguration.getSessionIdUnusedLifetime();
             if ((unusedLifetime > 0 && isPersisted(prompts)) || forceUpdate) {
                 boolean update = modified;
+                boolean lastUsedAtUpdate = false;
 
                 if (updateLastUsedAt) {
                     Date lastUsedAt = new Date();
@@ -622,7 +626,7 @@ public class SessionIdService {
                         }
 
                         if (diff > 500) { // update only if diff is more than 500ms
-                            update = true;
+                            lastUsedAtUpdate = true;
                             sessionId.setLastUsedAt(lastUsedAt);
                         }
                     } else {
@@ -640,10 +644,13 @@ public class SessionIdService {
                     log.debug("Session id expired: {} by lifetime property, remove it.", sessionId.getId());
                     remove(sessionId); // expired
                     update = false;
+                    lastUsedAtUpdate = false;
                 }
 
                 if (update) {
                     mergeWithRetry(sessionId);
+                } else if (lastUsedAtUpdate) {
+                    touchLastUsedAt(sessionId);
                 }
             }
         } catch (Exception e) {
@@ -691,7 +698,21 @@ public class SessionIdService {
         return new Pair<>(calendar.getTime(), expirationInSeconds);
     }
 
+    private void touchLastUsedAt(final SessionId sessionId) {
+        if (isTrue(appConfiguration.getSessionIdPersistInCache()) || !sessionLastUsedAtTimer.isEnabled()) {
+            mergeWithRetry(sessionId);
+            return;
+        }
+
+        // Only last used time is changed, write it in background
+        sessionLastUsedAtTimer.addLastUsedAt(sessionId.getDn(), sessionId.getLastUsedAt());
+        localCacheService.put(DEFAULT_LOCAL_CACHE_EXPIRATION, sessionId.getDn(), sessionId);
+        externalEvent(new SessionEvent(SessionEventType.UPDATED, sessionId));
+    }
+
     private void mergeWithRetry(final SessionId sessionId) {
+        sessionLastUsedAtTimer.cancel(sessionId.getDn());
+
         final Pair<Date, Integer> expiration = expirationDate(sessionId.getCreationDate(), sessionId.getState());
         sessionId.setExpirationDate(expiration.getFirst());
         sessionId.setTtl(expiration.getSecond());
@@ -848,6 +869,7 @@ public class SessionIdService {
 
     public boolean remove(SessionId sessionId) {
         try {
+            sessionLastUsedAtTimer.cancel(sessionId.getDn());
             if (isTrue(appConfiguration.getSessionIdPersistInCache())) {
                 cacheService.remove(sessionId.getDn());
             } else {
@@ -0,0 +1,170 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.service;
+
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.cdi.event.SessionLastUsedAtUpdateEvent;
+import io.jans.model.metric.MetricType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.base.CustomAttribute;
+import io.jans.orm.model.base.CustomEntry;
+import io.jans.service.cdi.async.Asynchronous;
+import io.jans.service.cdi.event.Scheduled;
+import io.jans.service.timer.event.TimerEvent;
+import io.jans.service.timer.schedule.TimerSchedule;
+import jakarta.ejb.DependsOn;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind of session_id last used time. Touches of the same session are coalesced
+ * and only jansLastAccessTime attribute is written, so state changing updates which are
+ * written synchronously are never overwritten.
+ */
+@ApplicationScoped
+@DependsOn("appInitializer")
+@Named
+public class SessionLastUsedAtTimer {
+
+    private static final String[] SESSION_OBJECT_CLASSES = new String[]{"jansSessId"};
+
+    private static final int INTERVAL_IN_SECONDS = 1;
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private Event<TimerEvent> timerEvent;
+
+    @Inject
+    private PersistenceEntryManager entryManager;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private MetricService metricService;
+
+    private AtomicBoolean isActive;
+
+    private long lastFinishedTime;
+
+    private final ConcurrentMap<String, Date> lastUsedAtDebounceMap = new ConcurrentHashMap<>();
+
+    public void initTimer() {
+        log.debug("Initializing Session Last Used At Update Timer");
+        this.isActive = new AtomicBoolean(false);
+
+        timerEvent.fire(
+                new TimerEvent(new TimerSchedule(INTERVAL_IN_SECONDS, INTERVAL_IN_SECONDS), new SessionLastUsedAtUpdateEvent(), Scheduled.Literal.INSTANCE));
+
+        metricService.registerGauge(MetricType.SESSION_LAST_USED_AT_QUEUE_SIZE, lastUsedAtDebounceMap::size);
+
+        this.lastFinishedTime = System.currentTimeMillis();
+    }
+
+    public boolean isEnabled() {
+        return isActive != null && appConfiguration.getSessionIdLastUsedAtUpdateInterval() > 0;
+    }
+
+    private boolean isStartProcess() {
+        long intervalInMillis = appConfiguration.getSessionIdLastUsedAtUpdateInterval() * 1000L;
+        long timeDifference = System.currentTimeMillis() - this.lastFinishedTime;
+
+        // If write-behind was turned off queued updates are flushed on next run
+        return timeDifference >= intervalInMillis;
+    }
+
+    @Asynchronous
+    public void process(@Observes @Scheduled SessionLastUsedAtUpdateEvent event) {
+        if (this.isActive.get()) {
+            return;
+        }
+
+        if (!this.isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (lastUsedAtDebounceMap.isEmpty() || !isStartProcess()) {
+                return;
+            }
+
+            processImpl();
+        } finally {
+            this.isActive.set(false);
+            this.lastFinishedTime = System.currentTimeMillis();
+        }
+    }
+
+    private void processImpl() {
+        final com.codahale.metrics.Timer.Context timerContext = metricService.getTimer(MetricType.SESSION_LAST_USED_AT_FLUSH_RATE).time();
+        try {
+            final List<String> dns = new ArrayList<>(lastUsedAtDebounceMap.keySet());
+            for (String dn : dns) {
+                final Date lastUsedAt = lastUsedAtDebounceMap.remove(dn);
+                if (lastUsedAt != null) {
+                    updateLastUsedAt(dn, lastUsedAt);
+                }
+            }
+
+            log.trace("Flushed {} session last used at updates", dns.size());
+        } finally {
+            timerContext.stop();
+        }
+    }
+
+    /**
+     * Queues last used time update of session. Newer time wins if session is touched several times within interval.
+     *
+     * @param dn session dn
+     * @param lastUsedAt last used time
+     */
+    public void addLastUsedAt(String dn, Date lastUsedAt) {
+        lastUsedAtDebounceMap.merge(dn, lastUsedAt, (oldDate, newDate) -> newDate.after(oldDate) ? newDate : oldDate);
+    }
+
+    /**
+     * Drops queued update. It should be called when session is written synchronously or removed.
+     *
+     * @param dn session dn
+     */
+    public void cancel(String dn) {
+        if (dn != null) {
+            lastUsedAtDebounceMap.remove(dn);
+        }
+    }
+
+    private void updateLastUsedAt(String dn, Date lastUsedAt) {
+        CustomEntry customEntry = new CustomEntry();
+        customEntry.setDn(dn);
+        customEntry.setCustomObjectClasses(SESSION_OBJECT_CLASSES);
+
+        String lastUsedAtDateString = entryManager.encodeTime(dn, lastUsedAt);
+        customEntry.getCustomAttributes().add(new CustomAttribute("jansLastAccessTime", lastUsedAtDateString));
+
+        try {
+            entryManager.merge(customEntry);
+        } catch (EntryPersistenceException epe) {
+            // Session might be removed already
+            log.debug("Failed to update jansLastAccessTime of session '{}'", dn);
+            log.trace("Failed to update session:", epe);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package io.jans.as.server.service.cdi.event;
+
+public class SessionLastUsedAtUpdateEvent {
+}
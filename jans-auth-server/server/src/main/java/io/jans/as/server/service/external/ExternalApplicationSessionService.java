@@ -9,6 +9,7 @@ package io.jans.as.server.service.external;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.common.model.session.SessionId;
 import io.jans.as.server.service.external.session.SessionEvent;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.SimpleCustomProperty;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
@@ -44,7 +45,9 @@ public class ExternalApplicationSessionService extends ExternalScriptService {
             log.trace("Executing python 'startSession' method");
             ApplicationSessionType applicationSessionType = (ApplicationSessionType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            return applicationSessionType.startSession(httpRequest, sessionId, configurationAttributes);
+            return invoke(customScriptConfiguration, "startSession", () -> applicationSessionType.startSession(httpRequest, sessionId, configurationAttributes), httpRequest, sessionId, configurationAttributes);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -72,7 +75,9 @@ public class ExternalApplicationSessionService extends ExternalScriptService {
             log.trace("Executing python 'endSession' method");
             ApplicationSessionType applicationSessionType = (ApplicationSessionType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            return applicationSessionType.endSession(httpRequest, sessionId, configurationAttributes);
+            return invoke(customScriptConfiguration, "endSession", () -> applicationSessionType.endSession(httpRequest, sessionId, configurationAttributes), httpRequest, sessionId, configurationAttributes);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -108,7 +113,12 @@ public class ExternalApplicationSessionService extends ExternalScriptService {
             log.trace("Executing python 'onEvent' method of script: {}, event: {}", scriptConfiguration.getName(), event);
             event.setScriptConfiguration(scriptConfiguration);
             ApplicationSessionType applicationSessionType = (ApplicationSessionType) scriptConfiguration.getExternalType();
-            applicationSessionType.onEvent(event);
+            invoke(scriptConfiguration, "onEvent", () -> {
+                applicationSessionType.onEvent(event);
+                return null;
+            }, event);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -133,9 +143,11 @@ public class ExternalApplicationSessionService extends ExternalScriptService {
             log.trace("Executing python 'modifyActiveSessionsResponse' method, context: {}, jsonArray: {}", context, jsonArray);
             context.setScript(script);
             ApplicationSessionType sessionType = (ApplicationSessionType) script.getExternalType();
-            final boolean result = sessionType.modifyActiveSessionsResponse(jsonArray, context);
+            final boolean result = invoke(script, "modifyActiveSessionsResponse", () -> sessionType.modifyActiveSessionsResponse(jsonArray, context), jsonArray, context);
             log.trace("Finished 'modifyActiveSessionsResponse' method, result: {}, context: {}, jsonArray: {}", result, context, jsonArray);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
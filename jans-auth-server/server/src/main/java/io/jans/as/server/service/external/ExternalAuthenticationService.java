@@ -14,6 +14,7 @@ import io.jans.as.server.service.AcrService;
 import io.jans.as.server.service.LocalResponseCache;
 import io.jans.as.server.service.cdi.event.ReloadAuthScript;
 import io.jans.as.server.service.external.internal.InternalDefaultPersonAuthenticationType;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.AuthenticationScriptUsageType;
 import io.jans.model.SimpleCustomProperty;
 import io.jans.model.custom.script.CustomScriptType;
@@ -181,9 +182,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.debug("Executing python 'isValidAuthenticationMethod' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final boolean result = externalAuthenticator.isValidAuthenticationMethod(usageType, configurationAttributes);
+            final boolean result = invoke(customScriptConfiguration, "isValidAuthenticationMethod", () -> externalAuthenticator.isValidAuthenticationMethod(usageType, configurationAttributes), usageType, configurationAttributes);
             log.debug("Executed python 'isValidAuthenticationMethod' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -197,9 +200,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'getAlternativeAuthenticationMethod' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final String result = externalAuthenticator.getAlternativeAuthenticationMethod(usageType, configurationAttributes);
+            final String result = invoke(customScriptConfiguration, "getAlternativeAuthenticationMethod", () -> externalAuthenticator.getAlternativeAuthenticationMethod(usageType, configurationAttributes), usageType, configurationAttributes);
             log.trace("Executed python 'getAlternativeAuthenticationMethod' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -213,9 +218,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'getCountAuthenticationSteps' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final int result = externalAuthenticator.getCountAuthenticationSteps(configurationAttributes);
+            final int result = invoke(customScriptConfiguration, "getCountAuthenticationSteps", () -> externalAuthenticator.getCountAuthenticationSteps(configurationAttributes), configurationAttributes);
             log.trace("Executed python 'getCountAuthenticationSteps' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -229,9 +236,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'authenticate' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final boolean result = externalAuthenticator.authenticate(configurationAttributes, requestParameters, step);
+            final boolean result = invoke(customScriptConfiguration, "authenticate", () -> externalAuthenticator.authenticate(configurationAttributes, requestParameters, step), configurationAttributes, requestParameters, step);
             log.trace("Executed python 'authenticate' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -245,9 +254,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'getNextStep' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final int result = externalAuthenticator.getNextStep(configurationAttributes, requestParameters, step);
+            final int result = invoke(customScriptConfiguration, "getNextStep", () -> externalAuthenticator.getNextStep(configurationAttributes, requestParameters, step), configurationAttributes, requestParameters, step);
             log.trace("Executed python 'getNextStep' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -261,9 +272,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'logout' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final boolean result = externalAuthenticator.logout(configurationAttributes, requestParameters);
+            final boolean result = invoke(customScriptConfiguration, "logout", () -> externalAuthenticator.logout(configurationAttributes, requestParameters), configurationAttributes, requestParameters);
             log.trace("Executed python 'logout' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -277,9 +290,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'getLogouExternalUrl' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final String result = externalAuthenticator.getLogoutExternalUrl(configurationAttributes, requestParameters);
+            final String result = invoke(customScriptConfiguration, "getLogoutExternalUrl", () -> externalAuthenticator.getLogoutExternalUrl(configurationAttributes, requestParameters), configurationAttributes, requestParameters);
             log.trace("Executed python 'getLogouExternalUrl' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -293,9 +308,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'prepareForStep' authn");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final boolean result = externalAuthenticator.prepareForStep(configurationAttributes, requestParameters, step);
+            final boolean result = invoke(customScriptConfiguration, "prepareForStep", () -> externalAuthenticator.prepareForStep(configurationAttributes, requestParameters, step), configurationAttributes, requestParameters, step);
             log.trace("Executed python 'prepareForStep' authn, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -309,9 +326,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'getExtraParametersForStep' authn");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final List<String> result = externalAuthenticator.getExtraParametersForStep(configurationAttributes, step);
+            final List<String> result = invoke(customScriptConfiguration, "getExtraParametersForStep", () -> externalAuthenticator.getExtraParametersForStep(configurationAttributes, step), configurationAttributes, step);
             log.trace("Executed python 'getExtraParametersForStep' authn, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -325,9 +344,11 @@ public class ExternalAuthenticationService extends ExternalScriptService {
             log.trace("Executing python 'getPageForStep' authenticator method");
             PersonAuthenticationType externalAuthenticator = (PersonAuthenticationType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            final String result = externalAuthenticator.getPageForStep(configurationAttributes, step);
+            final String result = invoke(customScriptConfiguration, "getPageForStep", () -> externalAuthenticator.getPageForStep(configurationAttributes, step), configurationAttributes, step);
             log.trace("Executed python 'getPageForStep' authenticator method, result: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
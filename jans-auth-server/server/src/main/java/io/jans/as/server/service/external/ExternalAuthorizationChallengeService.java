@@ -5,6 +5,7 @@ import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.model.error.ErrorResponseFactory;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.server.service.external.context.ExternalScriptContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.authzchallenge.AuthorizationChallengeType;
@@ -54,9 +55,11 @@ public class ExternalAuthorizationChallengeService extends ExternalScriptService
         try {
             AuthorizationChallengeType authorizationChallengeType = (AuthorizationChallengeType) script.getExternalType();
             final ExternalScriptContext scriptContext = new ExternalScriptContext(executionContext);
-            result = authorizationChallengeType.getAuthenticationMethodClaims(scriptContext);
+            result = invoke(script, "getAuthenticationMethodClaims", () -> authorizationChallengeType.getAuthenticationMethodClaims(scriptContext), scriptContext);
 
             scriptContext.throwWebApplicationExceptionIfSet();
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
                 log.trace("WebApplicationException from script", e);
@@ -93,9 +96,11 @@ public class ExternalAuthorizationChallengeService extends ExternalScriptService
         try {
             AuthorizationChallengeType authorizationChallengeType = (AuthorizationChallengeType) script.getExternalType();
             final ExternalScriptContext scriptContext = new ExternalScriptContext(executionContext);
-            result = authorizationChallengeType.authorize(scriptContext);
+            result = invoke(script, "authorize", () -> authorizationChallengeType.authorize(scriptContext), scriptContext);
 
             scriptContext.throwWebApplicationExceptionIfSet();
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
                 log.trace("WebApplicationException from script", e);
@@ -6,6 +6,7 @@ import io.jans.as.model.authorize.AuthorizeErrorResponseType;
 import io.jans.as.server.authorize.ws.rs.AuthzRequest;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.server.service.external.context.ExternalScriptContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.authzdetails.AuthzDetailType;
@@ -68,9 +69,11 @@ public class ExternalAuthzDetailTypeService extends ExternalScriptService {
         try {
             AuthzDetailType authzDetailType = (AuthzDetailType) script.getExternalType();
             final ExternalScriptContext scriptContext = new ExternalScriptContext(executionContext);
-            result = authzDetailType.validateDetail(scriptContext);
+            result = invoke(script, "validateDetail", () -> authzDetailType.validateDetail(scriptContext), scriptContext);
 
             scriptContext.throwWebApplicationExceptionIfSet();
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
                 log.trace("WebApplicationException from script", e);
@@ -113,9 +116,11 @@ public class ExternalAuthzDetailTypeService extends ExternalScriptService {
         try {
             AuthzDetailType authzDetailType = (AuthzDetailType) script.getExternalType();
             final ExternalScriptContext scriptContext = new ExternalScriptContext(executionContext);
-            result = authzDetailType.getUiRepresentation(scriptContext);
+            result = invoke(script, "getUiRepresentation", () -> authzDetailType.getUiRepresentation(scriptContext), scriptContext);
 
             scriptContext.throwWebApplicationExceptionIfSet();
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
                 log.trace("WebApplicationException from script", e);
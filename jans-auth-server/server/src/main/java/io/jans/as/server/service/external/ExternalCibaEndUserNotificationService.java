@@ -7,6 +7,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.service.external.context.ExternalCibaEndUserNotificationContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.ciba.EndUserNotificationType;
@@ -52,10 +53,12 @@ public class ExternalCibaEndUserNotificationService extends ExternalScriptServic
                     customScriptConfiguration.getName(), context);
 
             EndUserNotificationType script = (EndUserNotificationType) customScriptConfiguration.getExternalType();
-            final boolean result = script.notifyEndUser(context);
+            final boolean result = invoke(customScriptConfiguration, "notifyEndUser", () -> script.notifyEndUser(context), context);
             log.trace("Finished external 'executeExternalNotifyEndUser' method, script name: {}, context: {}, result: {}",
                     customScriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
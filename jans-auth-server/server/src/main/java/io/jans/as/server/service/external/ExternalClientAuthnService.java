@@ -3,6 +3,7 @@ package io.jans.as.server.service.external;
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.server.auth.Authenticator;
 import io.jans.as.server.service.external.context.ExternalClientAuthnContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.client.ClientAuthnType;
@@ -62,10 +63,12 @@ public class ExternalClientAuthnService extends ExternalScriptService {
         Client client = null;
 
         try {
-            client = (Client) script.authenticateClient(context);
+            client = (Client) invoke(customScript, "authenticateClient", () -> script.authenticateClient(context), context);
             if (client != null) {
                 authenticator.configureSessionClient(client);
             }
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to run external 'authenticateClient' method of script " + customScript.getName(), e);
             client = null;
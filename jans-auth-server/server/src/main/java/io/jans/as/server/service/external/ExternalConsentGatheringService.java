@@ -7,6 +7,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.service.external.context.ConsentGatheringContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.authz.ConsentGatheringType;
@@ -77,9 +78,11 @@ public class ExternalConsentGatheringService extends ExternalScriptService {
     public boolean authorize(CustomScriptConfiguration script, int step, ConsentGatheringContext context) {
         try {
             log.trace("Executing python 'authorize' method, script: " + script.getName());
-            boolean result = consentScript(script).authorize(step, context);
+            boolean result = invoke(script, "authorize", () -> consentScript(script).authorize(step, context), step, context);
             log.trace("python 'authorize' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'authorize' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -90,9 +93,11 @@ public class ExternalConsentGatheringService extends ExternalScriptService {
     public int getNextStep(CustomScriptConfiguration script, int step, ConsentGatheringContext context) {
         try {
             log.trace("Executing python 'getNextStep' method, script: " + script.getName());
-            int result = consentScript(script).getNextStep(step, context);
+            int result = invoke(script, "getNextStep", () -> consentScript(script).getNextStep(step, context), step, context);
             log.trace("python 'getNextStep' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getNextStep' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -103,9 +108,11 @@ public class ExternalConsentGatheringService extends ExternalScriptService {
     public boolean prepareForStep(CustomScriptConfiguration script, int step, ConsentGatheringContext context) {
         try {
             log.trace("Executing python 'prepareForStep' method, script: " + script.getName());
-            boolean result = consentScript(script).prepareForStep(step, context);
+            boolean result = invoke(script, "prepareForStep", () -> consentScript(script).prepareForStep(step, context), step, context);
             log.trace("python 'prepareForStep' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'prepareForStep' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -116,9 +123,11 @@ public class ExternalConsentGatheringService extends ExternalScriptService {
     public int getStepsCount(CustomScriptConfiguration script, ConsentGatheringContext context) {
         try {
             log.trace("Executing python 'getStepsCount' method, script: " + script.getName());
-            int result = consentScript(script).getStepsCount(context);
+            int result = invoke(script, "getStepsCount", () -> consentScript(script).getStepsCount(context), context);
             log.trace("python 'getStepsCount' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getStepsCount' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -129,9 +138,11 @@ public class ExternalConsentGatheringService extends ExternalScriptService {
     public String getPageForStep(CustomScriptConfiguration script, int step, ConsentGatheringContext context) {
         try {
             log.trace("Executing python 'getPageForStep' method, script: " + script.getName());
-            String result = consentScript(script).getPageForStep(step, context);
+            String result = invoke(script, "getPageForStep", () -> consentScript(script).getPageForStep(step, context), step, context);
             log.trace("python 'getPageForStep' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getPageForStep' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
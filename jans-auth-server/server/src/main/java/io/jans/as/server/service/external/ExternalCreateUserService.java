@@ -3,6 +3,7 @@ package io.jans.as.server.service.external;
 import com.google.common.collect.Sets;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.server.service.external.context.ExternalScriptContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.createuser.CreateUserType;
@@ -53,10 +54,12 @@ public class ExternalCreateUserService extends ExternalScriptService {
             context.setScript(scriptConfiguration);
 
             final ExternalScriptContext scriptContext = new ExternalScriptContext(context);
-            final boolean result = script.createUser(scriptContext);
+            final boolean result = invoke(scriptConfiguration, "createUser", () -> script.createUser(scriptContext), scriptContext);
 
             log.trace("Finished external 'createUser' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -91,10 +94,12 @@ public class ExternalCreateUserService extends ExternalScriptService {
             context.setScript(scriptConfiguration);
 
             final ExternalScriptContext scriptContext = new ExternalScriptContext(context);
-            final String result = script.getCreateUserPage(scriptContext);
+            final String result = invoke(scriptConfiguration, "getCreateUserPage", () -> script.getCreateUserPage(scriptContext), scriptContext);
 
             log.trace("Finished external 'externalGetCreateUserPage' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -129,10 +134,12 @@ public class ExternalCreateUserService extends ExternalScriptService {
             context.setScript(scriptConfiguration);
 
             final ExternalScriptContext scriptContext = new ExternalScriptContext(context);
-            final boolean result = script.prepare(scriptContext);
+            final boolean result = invoke(scriptConfiguration, "prepare", () -> script.prepare(scriptContext), scriptContext);
 
             log.trace("Finished external 'externalPrepare' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -167,10 +174,12 @@ public class ExternalCreateUserService extends ExternalScriptService {
             context.setScript(scriptConfiguration);
 
             final ExternalScriptContext scriptContext = new ExternalScriptContext(context);
-            final String result = script.buildPostAuthorizeUrl(scriptContext);
+            final String result = invoke(scriptConfiguration, "buildPostAuthorizeUrl", () -> script.buildPostAuthorizeUrl(scriptContext), scriptContext);
 
             log.trace("Finished external 'buildPostAuthorizeUrl' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
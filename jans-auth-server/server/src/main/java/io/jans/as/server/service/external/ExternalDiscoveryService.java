@@ -1,6 +1,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.model.common.ExecutionContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.discovery.DiscoveryType;
@@ -31,10 +32,12 @@ public class ExternalDiscoveryService extends ExternalScriptService {
             context.setScript(script);
 
             DiscoveryType discoveryType = (DiscoveryType) script.getExternalType();
-            final boolean result = discoveryType.modifyResponse(jsonObject, context);
+            final boolean result = invoke(script, "modifyResponse", () -> discoveryType.modifyResponse(jsonObject, context), jsonObject, context);
             log.trace("Finished 'modifyDiscovery' method, script name: {}, jsonWebResponse: {}, context: {}, result: {}", script.getName(), jsonObject, context, result);
 
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             saveScriptError(script.getCustomScript(), e);
@@ -13,6 +13,7 @@ import io.jans.as.model.jwt.Jwt;
 import io.jans.as.model.util.CertUtils;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.server.service.external.context.DynamicClientRegistrationContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.client.ClientRegistrationType;
@@ -65,9 +66,11 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
                 log.trace("Cert is not set for client registration. X-ClientCert header has no value.");
             }
 
-            final boolean result = externalClientRegistrationType.createClient(context);
+            final boolean result = invoke(customScriptConfiguration, "createClient", () -> externalClientRegistrationType.createClient(context), context);
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -103,9 +106,11 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setEvidence(Jwt.parseSilently(registerRequest.getEvidence()));
             context.setErrorResponseFactory(errorResponseFactory);
 
-            final boolean result = externalClientRegistrationType.updateClient(context);
+            final boolean result = invoke(script, "updateClient", () -> externalClientRegistrationType.updateClient(context), context);
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -141,10 +146,12 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setErrorResponseFactory(errorResponseFactory);
 
             ClientRegistrationType externalType = (ClientRegistrationType) defaultExternalCustomScript.getExternalType();
-            final String result = externalType.getSoftwareStatementJwks(context);
+            final String result = invoke(defaultExternalCustomScript, "getSoftwareStatementJwks", () -> externalType.getSoftwareStatementJwks(context), context);
             context.throwWebApplicationExceptionIfSet();
             log.info("Result of python 'getSoftwareStatementJwks' method: {}", result);
             return new JSONObject(result);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -167,10 +174,12 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setErrorResponseFactory(errorResponseFactory);
 
             ClientRegistrationType externalType = (ClientRegistrationType) defaultExternalCustomScript.getExternalType();
-            final String result = externalType.getSoftwareStatementHmacSecret(context);
+            final String result = invoke(defaultExternalCustomScript, "getSoftwareStatementHmacSecret", () -> externalType.getSoftwareStatementHmacSecret(context), context);
             context.throwWebApplicationExceptionIfSet();
             log.trace("Result of python 'getSoftwareStatementHmacSecret' method: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -193,10 +202,12 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setErrorResponseFactory(errorResponseFactory);
 
             ClientRegistrationType externalType = (ClientRegistrationType) defaultExternalCustomScript.getExternalType();
-            final String result = externalType.getDcrJwks(context);
+            final String result = invoke(defaultExternalCustomScript, "getDcrJwks", () -> externalType.getDcrJwks(context), context);
             context.throwWebApplicationExceptionIfSet();
             log.trace("Result of python 'getDcrJwks' method: {}", result);
             return new JSONObject(result);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -219,10 +230,12 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setErrorResponseFactory(errorResponseFactory);
 
             ClientRegistrationType externalType = (ClientRegistrationType) defaultExternalCustomScript.getExternalType();
-            final String result = externalType.getDcrHmacSecret(context);
+            final String result = invoke(defaultExternalCustomScript, "getDcrHmacSecret", () -> externalType.getDcrHmacSecret(context), context);
             context.throwWebApplicationExceptionIfSet();
             log.trace("Result of python 'getDcrHmacSecret' method: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -242,10 +255,12 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setScript(defaultExternalCustomScript);
             context.setErrorResponseFactory(errorResponseFactory);
             ClientRegistrationType externalType = (ClientRegistrationType) defaultExternalCustomScript.getExternalType();
-            final boolean result = externalType.isCertValidForClient(cert, context);
+            final boolean result = invoke(defaultExternalCustomScript, "isCertValidForClient", () -> externalType.isCertValidForClient(cert, context), cert, context);
             context.throwWebApplicationExceptionIfSet();
             log.trace("Result of python 'isCertValidForClient' method: {}", result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -269,12 +284,14 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setScript(script);
 
             ClientRegistrationType type = (ClientRegistrationType) script.getExternalType();
-            final boolean result = type.modifyPostResponse(responseAsJsonObject, context);
+            final boolean result = invoke(script, "modifyPostResponse", () -> type.modifyPostResponse(responseAsJsonObject, context), responseAsJsonObject, context);
             if (log.isTraceEnabled()) {
                 log.trace("Finished 'modifyPostResponse' method, script name: {}, context: {}, result: {}, response: {}", script.getName(), context, result, responseAsJsonObject.toString());
             }
 
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -296,12 +313,14 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setScript(script);
 
             ClientRegistrationType type = (ClientRegistrationType) script.getExternalType();
-            final boolean result = type.modifyPutResponse(responseAsJsonObject, context);
+            final boolean result = invoke(script, "modifyPutResponse", () -> type.modifyPutResponse(responseAsJsonObject, context), responseAsJsonObject, context);
             if (log.isTraceEnabled()) {
                 log.trace("Finished 'modifyPutResponse' method, script name: {}, context: {}, result: {}, response: {}", script.getName(), context, result, responseAsJsonObject.toString());
             }
 
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -323,12 +342,14 @@ public class ExternalDynamicClientRegistrationService extends ExternalScriptServ
             context.setScript(script);
 
             ClientRegistrationType type = (ClientRegistrationType) script.getExternalType();
-            final boolean result = type.modifyReadResponse(responseAsJsonObject, context);
+            final boolean result = invoke(script, "modifyReadResponse", () -> type.modifyReadResponse(responseAsJsonObject, context), responseAsJsonObject, context);
             if (log.isTraceEnabled()) {
                 log.trace("Finished 'modifyReadResponse' method, script name: {}, context: {}, result: {}, response: {}", script.getName(), context, result, responseAsJsonObject.toString());
             }
 
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
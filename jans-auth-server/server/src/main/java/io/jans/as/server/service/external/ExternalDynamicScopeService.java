@@ -9,6 +9,7 @@ package io.jans.as.server.service.external;
 import com.google.common.collect.Sets;
 import io.jans.as.persistence.model.Scope;
 import io.jans.as.server.service.external.context.DynamicScopeExternalContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.SimpleCustomProperty;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
@@ -45,7 +46,9 @@ public class ExternalDynamicScopeService extends ExternalScriptService {
             log.trace("Executing python 'update' method");
             DynamicScopeType dynamicScopeType = (DynamicScopeType) customScriptConfiguration.getExternalType();
             Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-            return dynamicScopeType.update(dynamicScopeContext, configurationAttributes);
+            return invoke(customScriptConfiguration, "update", () -> dynamicScopeType.update(dynamicScopeContext, configurationAttributes), dynamicScopeContext, configurationAttributes);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
@@ -62,7 +65,9 @@ public class ExternalDynamicScopeService extends ExternalScriptService {
                 log.trace("Executing python 'get supported claims' method");
                 DynamicScopeType dynamicScopeType = (DynamicScopeType) customScriptConfiguration.getExternalType();
                 Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
-                return dynamicScopeType.getSupportedClaims(configurationAttributes);
+                return invoke(customScriptConfiguration, "getSupportedClaims", () -> dynamicScopeType.getSupportedClaims(configurationAttributes), configurationAttributes);
+            } catch (ScriptInvocationTimeoutException e) {
+                throw e;
             } catch (Exception ex) {
                 log.error(ex.getMessage(), ex);
                 saveScriptError(customScriptConfiguration.getCustomScript(), ex);
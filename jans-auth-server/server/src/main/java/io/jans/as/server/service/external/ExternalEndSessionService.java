@@ -7,6 +7,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.service.external.context.EndSessionContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.logout.EndSessionType;
@@ -51,10 +52,12 @@ public class ExternalEndSessionService extends ExternalScriptService {
             EndSessionType script = (EndSessionType) scriptConf.getExternalType();
             context.setScript(scriptConf);
 
-            final String html = script.getFrontchannelHtml(context);
+            final String html = invoke(scriptConf, "getFrontchannelHtml", () -> script.getFrontchannelHtml(context), context);
             log.trace("Finished external 'getFrontchannelHtml' method, script name: {}, context {}, html: {}", scriptConf.getName(), context, html);
 
             return html;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConf.getCustomScript(), ex);
@@ -3,6 +3,7 @@ package io.jans.as.server.service.external;
 import com.google.common.collect.Sets;
 import io.jans.as.server.model.common.ExecutionContext;
 import io.jans.as.server.service.external.context.ExternalScriptContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.health.HealthCheckType;
@@ -53,10 +54,12 @@ public class ExternalHealthCheckService extends ExternalScriptService {
             context.setScript(scriptConfiguration);
 
             final ExternalScriptContext scriptContext = new ExternalScriptContext(context);
-            final String result = script.healthCheck(scriptContext);
+            final String result = invoke(scriptConfiguration, "healthCheck", () -> script.healthCheck(scriptContext), scriptContext);
 
             log.trace("Finished external 'healthCheck' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
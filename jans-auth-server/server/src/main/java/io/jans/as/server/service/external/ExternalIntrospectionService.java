@@ -9,6 +9,7 @@ package io.jans.as.server.service.external;
 import com.google.common.collect.Lists;
 import io.jans.as.model.configuration.AppConfiguration;
 import io.jans.as.server.service.external.context.ExternalIntrospectionContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.introspection.IntrospectionType;
@@ -91,11 +92,13 @@ public class ExternalIntrospectionService extends ExternalScriptService {
 
             IntrospectionType script = (IntrospectionType) scriptConf.getExternalType();
             context.setScript(scriptConf);
-            final boolean result = script.modifyResponse(responseAsJsonObject, context);
+            final boolean result = invoke(scriptConf, "modifyResponse", () -> script.modifyResponse(responseAsJsonObject, context), responseAsJsonObject, context);
             log.trace("Finished external 'executeExternalModifyResponse' method, script name: {}, responseAsJsonObject: {} , context: {}, result: {}",
                     scriptConf.getName(), responseAsJsonObject, context, result);
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -8,6 +8,7 @@ package io.jans.as.server.service.external;
 
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.server.service.external.context.ExternalPostAuthnContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.postauthn.PostAuthnType;
@@ -71,10 +72,12 @@ public class ExternalPostAuthnService extends ExternalScriptService {
 
             PostAuthnType script = (PostAuthnType) scriptConfiguration.getExternalType();
             context.setScript(scriptConfiguration);
-            final boolean result = script.forceReAuthentication(context);
+            final boolean result = invoke(scriptConfiguration, "forceReAuthentication", () -> script.forceReAuthentication(context), context);
 
             log.trace("Finished external 'externalForceReAuthentication' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -88,10 +91,12 @@ public class ExternalPostAuthnService extends ExternalScriptService {
 
             PostAuthnType script = (PostAuthnType) scriptConfiguration.getExternalType();
             context.setScript(scriptConfiguration);
-            final boolean result = script.forceAuthorization(context);
+            final boolean result = invoke(scriptConfiguration, "forceAuthorization", () -> script.forceAuthorization(context), context);
 
             log.trace("Finished external 'externalForceAuthorization' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
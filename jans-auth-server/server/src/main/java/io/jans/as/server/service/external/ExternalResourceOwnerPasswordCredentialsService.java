@@ -8,6 +8,7 @@ package io.jans.as.server.service.external;
 
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.server.service.external.context.ExternalResourceOwnerPasswordCredentialsContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.owner.ResourceOwnerPasswordCredentialsType;
@@ -63,11 +64,13 @@ public class ExternalResourceOwnerPasswordCredentialsService extends ExternalScr
                 return false;
             }
 
-            final boolean result = script.authenticate(context);
+            final boolean result = invoke(customScriptConfiguration, "authenticate", () -> script.authenticate(context), context);
 
             log.debug("Finished external 'executeExternalAuthenticate' method, script name: {}, context: {}, result: {}",
                     customScriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(customScriptConfiguration.getCustomScript(), ex);
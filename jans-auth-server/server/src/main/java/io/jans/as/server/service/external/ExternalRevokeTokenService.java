@@ -1,6 +1,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.model.common.ExecutionContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.revoke.RevokeTokenType;
@@ -27,9 +28,11 @@ public class ExternalRevokeTokenService extends ExternalScriptService {
             log.trace("Executing python 'revokeToken' method, context: {}", context);
             context.setScript(script);
             RevokeTokenType revokeTokenType = (RevokeTokenType) script.getExternalType();
-            final boolean result = revokeTokenType.revoke(context);
+            final boolean result = invoke(script, "revoke", () -> revokeTokenType.revoke(context), context);
             log.trace("Finished 'revokeToken' method, result: {}, context: {}", result, context);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -2,6 +2,7 @@ package io.jans.as.server.service.external;
 
 import com.google.common.collect.Sets;
 import io.jans.as.server.model.common.ExecutionContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.selectaccount.SelectAccountType;
@@ -51,10 +52,12 @@ public class ExternalSelectAccountService extends ExternalScriptService {
 
             SelectAccountType script = (SelectAccountType) scriptConfiguration.getExternalType();
             context.setScript(scriptConfiguration);
-            final String result = script.getAccountDisplayName(context);
+            final String result = invoke(scriptConfiguration, "getAccountDisplayName", () -> script.getAccountDisplayName(context), context);
 
             log.trace("Finished external 'externalGetAccountDisplayName' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -88,10 +91,12 @@ public class ExternalSelectAccountService extends ExternalScriptService {
 
             SelectAccountType script = (SelectAccountType) scriptConfiguration.getExternalType();
             context.setScript(scriptConfiguration);
-            final boolean result = script.prepare(context);
+            final boolean result = invoke(scriptConfiguration, "prepare", () -> script.prepare(context), context);
 
             log.trace("Finished external 'externalPrepare' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -124,10 +129,12 @@ public class ExternalSelectAccountService extends ExternalScriptService {
 
             SelectAccountType script = (SelectAccountType) scriptConfiguration.getExternalType();
             context.setScript(scriptConfiguration);
-            final boolean result = script.onSelect(context);
+            final boolean result = invoke(scriptConfiguration, "onSelect", () -> script.onSelect(context), context);
 
             log.trace("Finished external 'externalOnSelect' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -160,10 +167,12 @@ public class ExternalSelectAccountService extends ExternalScriptService {
 
             SelectAccountType script = (SelectAccountType) scriptConfiguration.getExternalType();
             context.setScript(scriptConfiguration);
-            final String result = script.getSelectAccountPage(context);
+            final String result = invoke(scriptConfiguration, "getSelectAccountPage", () -> script.getSelectAccountPage(context), context);
 
             log.trace("Finished external 'externalGetSelectAccountPage' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -9,6 +9,7 @@ package io.jans.as.server.service.external;
 import com.google.common.collect.Sets;
 import io.jans.as.common.model.registration.Client;
 import io.jans.as.server.service.external.context.SpontaneousScopeExternalContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.spontaneous.SpontaneousScopeType;
@@ -44,9 +45,14 @@ public class ExternalSpontaneousScopeService extends ExternalScriptService {
 
             SpontaneousScopeType script = (SpontaneousScopeType) scriptConfiguration.getExternalType();
 
-            script.manipulateScopes(context);
+            invoke(scriptConfiguration, "manipulateScopes", () -> {
+                script.manipulateScopes(context);
+                return null;
+            }, context);
             log.debug("Finished external 'executeExternalManipulateScope' method, script name: {}, grantedScopes: {} , context: {}",
                     scriptConfiguration.getName(), context.getGrantedScopes(), context);
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
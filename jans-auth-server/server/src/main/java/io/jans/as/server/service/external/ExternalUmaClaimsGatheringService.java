@@ -7,6 +7,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.uma.authorization.UmaGatherContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.uma.UmaClaimsGatheringType;
@@ -113,9 +114,11 @@ public class ExternalUmaClaimsGatheringService extends ExternalScriptService {
     public boolean gather(CustomScriptConfiguration script, int step, UmaGatherContext context) {
         try {
             log.debug("Executing python 'gather' method, script: " + script.getName());
-            boolean result = gatherScript(script).gather(step, context);
+            boolean result = invoke(script, "gather", () -> gatherScript(script).gather(step, context), step, context);
             log.debug("python 'gather' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'gather' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -126,9 +129,11 @@ public class ExternalUmaClaimsGatheringService extends ExternalScriptService {
     public int getNextStep(CustomScriptConfiguration script, int step, UmaGatherContext context) {
         try {
             log.debug("Executing python 'getNextStep' method, script: " + script.getName());
-            int result = gatherScript(script).getNextStep(step, context);
+            int result = invoke(script, "getNextStep", () -> gatherScript(script).getNextStep(step, context), step, context);
             log.debug("python 'getNextStep' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getNextStep' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -139,9 +144,11 @@ public class ExternalUmaClaimsGatheringService extends ExternalScriptService {
     public boolean prepareForStep(CustomScriptConfiguration script, int step, UmaGatherContext context) {
         try {
             log.debug("Executing python 'prepareForStep' method, script: " + script.getName());
-            boolean result = gatherScript(script).prepareForStep(step, context);
+            boolean result = invoke(script, "prepareForStep", () -> gatherScript(script).prepareForStep(step, context), step, context);
             log.debug("python 'prepareForStep' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'prepareForStep' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -152,9 +159,11 @@ public class ExternalUmaClaimsGatheringService extends ExternalScriptService {
     public int getStepsCount(CustomScriptConfiguration script, UmaGatherContext context) {
         try {
             log.debug("Executing python 'getStepsCount' method, script: " + script.getName());
-            int result = gatherScript(script).getStepsCount(context);
+            int result = invoke(script, "getStepsCount", () -> gatherScript(script).getStepsCount(context), context);
             log.debug("python 'getStepsCount' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getStepsCount' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -165,9 +174,11 @@ public class ExternalUmaClaimsGatheringService extends ExternalScriptService {
     public String getPageForStep(CustomScriptConfiguration script, int step, UmaGatherContext context) {
         try {
             log.debug("Executing python 'getPageForStep' method, script: " + script.getName());
-            String result = gatherScript(script).getPageForStep(step, context);
+            String result = invoke(script, "getPageForStep", () -> gatherScript(script).getPageForStep(step, context), step, context);
             log.debug("python 'getPageForStep' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getPageForStep' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
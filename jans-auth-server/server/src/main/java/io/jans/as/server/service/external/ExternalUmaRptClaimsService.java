@@ -7,6 +7,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.service.external.context.ExternalUmaRptClaimsContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.uma.UmaRptClaimsType;
@@ -53,10 +54,12 @@ public class ExternalUmaRptClaimsService extends ExternalScriptService {
 
             UmaRptClaimsType script = (UmaRptClaimsType) scriptConfiguration.getExternalType();
             context.setScript(scriptConfiguration);
-            final boolean result = script.modify(rptAsJson, context);
+            final boolean result = invoke(scriptConfiguration, "modify", () -> script.modify(rptAsJson, context), rptAsJson, context);
 
             log.trace("Finished external 'externalModify' method, script name: {}, context: {}, result: {}", scriptConfiguration.getName(), context, result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(scriptConfiguration.getCustomScript(), ex);
@@ -7,6 +7,7 @@
 package io.jans.as.server.service.external;
 
 import io.jans.as.server.uma.authorization.UmaAuthorizationContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.uma.UmaRptPolicyType;
@@ -93,9 +94,11 @@ public class ExternalUmaRptPolicyService extends ExternalScriptService {
     public boolean authorize(CustomScriptConfiguration script, UmaAuthorizationContext context) {
         try {
             log.debug("Executing python 'authorize' method, script: " + script.getName());
-            boolean result = policyScript(script).authorize(context);
+            boolean result = invoke(script, "authorize", () -> policyScript(script).authorize(context), context);
             log.debug("python 'authorize' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'authorize' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -106,9 +109,11 @@ public class ExternalUmaRptPolicyService extends ExternalScriptService {
     public List<ClaimDefinition> getRequiredClaims(CustomScriptConfiguration script, UmaAuthorizationContext context) {
         try {
             log.debug("Executing python 'getRequiredClaims' method, script: " + script.getName());
-            List<ClaimDefinition> result = policyScript(script).getRequiredClaims(context);
+            List<ClaimDefinition> result = invoke(script, "getRequiredClaims", () -> policyScript(script).getRequiredClaims(context), context);
             log.debug("python 'getRequiredClaims' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getRequiredClaims' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -119,9 +124,11 @@ public class ExternalUmaRptPolicyService extends ExternalScriptService {
     public String getClaimsGatheringScriptName(CustomScriptConfiguration script, UmaAuthorizationContext context) {
         try {
             log.debug("Executing python 'getClaimsGatheringScriptName' method, script: " + script.getName());
-            String result = policyScript(script).getClaimsGatheringScriptName(context);
+            String result = invoke(script, "getClaimsGatheringScriptName", () -> policyScript(script).getClaimsGatheringScriptName(context), context);
             log.debug("python 'getClaimsGatheringScriptName' result: " + result);
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error("Failed to execute python 'getClaimsGatheringScriptName' method, script: " + script.getName() + ", message: " + ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
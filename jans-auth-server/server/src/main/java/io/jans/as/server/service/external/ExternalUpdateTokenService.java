@@ -11,6 +11,7 @@ import io.jans.as.model.token.JsonWebResponse;
 import io.jans.as.server.model.common.AccessToken;
 import io.jans.as.server.model.common.RefreshToken;
 import io.jans.as.server.service.external.context.ExternalUpdateTokenContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.token.UpdateTokenType;
@@ -40,11 +41,13 @@ public class ExternalUpdateTokenService extends ExternalScriptService {
             context.setScript(script);
 
             UpdateTokenType updateTokenType = (UpdateTokenType) script.getExternalType();
-            final boolean result = updateTokenType.modifyIdToken(jsonWebResponse, context);
+            final boolean result = invoke(script, "modifyIdToken", () -> updateTokenType.modifyIdToken(jsonWebResponse, context), jsonWebResponse, context);
             log.trace("Finished 'updateToken' method, script name: {}, jsonWebResponse: {}, context: {}, result: {}", script.getName(), jsonWebResponse, context, result);
 
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -85,11 +88,13 @@ public class ExternalUpdateTokenService extends ExternalScriptService {
             context.setScript(script);
 
             UpdateTokenType updateTokenType = (UpdateTokenType) script.getExternalType();
-            final int result = updateTokenType.getRefreshTokenLifetimeInSeconds(context);
+            final int result = invoke(script, "getRefreshTokenLifetimeInSeconds", () -> updateTokenType.getRefreshTokenLifetimeInSeconds(context), context);
             log.trace("Finished 'getRefreshTokenLifetimeInSeconds' method, script name: {}, context: {}, result: {}", script.getName(), context, result);
 
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -138,11 +143,13 @@ public class ExternalUpdateTokenService extends ExternalScriptService {
             context.setScript(script);
 
             UpdateTokenType updateTokenType = (UpdateTokenType) script.getExternalType();
-            final boolean result = updateTokenType.modifyRefreshToken(refreshToken, context);
+            final boolean result = invoke(script, "modifyRefreshToken", () -> updateTokenType.modifyRefreshToken(refreshToken, context), refreshToken, context);
             log.trace("Finished 'modifyRefreshToken' method, script name: {}, context: {}, result: {}", script.getName(), context, result);
 
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -175,11 +182,13 @@ public class ExternalUpdateTokenService extends ExternalScriptService {
             context.setScript(script);
 
             UpdateTokenType updateTokenType = (UpdateTokenType) script.getExternalType();
-            final boolean result = updateTokenType.modifyAccessToken(accessToken, context);
+            final boolean result = invoke(script, "modifyAccessToken", () -> updateTokenType.modifyAccessToken(accessToken, context), accessToken, context);
             log.trace("Finished 'modifyAccessToken' method, script name: {}, context: {}, result: {}", script.getName(), context, result);
 
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -219,11 +228,13 @@ public class ExternalUpdateTokenService extends ExternalScriptService {
             context.setScript(script);
 
             UpdateTokenType updateTokenType = (UpdateTokenType) script.getExternalType();
-            final int result = updateTokenType.getAccessTokenLifetimeInSeconds(context);
+            final int result = invoke(script, "getAccessTokenLifetimeInSeconds", () -> updateTokenType.getAccessTokenLifetimeInSeconds(context), context);
             log.trace("Finished 'getAccessTokenLifetimeInSeconds' method, script name: {}, context: {}, result: {}", script.getName(), context, result);
 
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -256,11 +267,13 @@ public class ExternalUpdateTokenService extends ExternalScriptService {
             context.setScript(script);
 
             UpdateTokenType updateTokenType = (UpdateTokenType) script.getExternalType();
-            final int result = updateTokenType.getIdTokenLifetimeInSeconds(context);
+            final int result = invoke(script, "getIdTokenLifetimeInSeconds", () -> updateTokenType.getIdTokenLifetimeInSeconds(context), context);
             log.trace("Finished 'getIdTokenLifetimeInSeconds' method, script name: {}, context: {}, result: {}", script.getName(), context, result);
 
             context.throwWebApplicationExceptionIfSet();
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (WebApplicationException e) {
             throw e;
         } catch (Exception ex) {
@@ -9,6 +9,7 @@ package io.jans.as.server.service.external;
 import io.jans.as.common.model.ssa.Ssa;
 import io.jans.as.model.token.JsonWebResponse;
 import io.jans.as.server.service.external.context.ModifySsaResponseContext;
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.type.ssa.ModifySsaResponseType;
@@ -35,10 +36,12 @@ public class ModifySsaResponseService extends ExternalScriptService {
             context.setScript(script);
 
             ModifySsaResponseType modifySsaResponseType = (ModifySsaResponseType) script.getExternalType();
-            final boolean result = modifySsaResponseType.create(jsonWebResponse, context);
+            final boolean result = invoke(script, "create", () -> modifySsaResponseType.create(jsonWebResponse, context), jsonWebResponse, context);
             log.trace("Finished modify-ssa-response method create, script name: {}, jwt: {}, context: {}, result: {}", script.getName(), jsonWebResponse, context, result);
 
             return result;
+        } catch (ScriptInvocationTimeoutException e) {
+            throw e;
         } catch (Exception ex) {
             log.error(ex.getMessage(), ex);
             saveScriptError(script.getCustomScript(), ex);
@@ -75,7 +78,9 @@ public class ModifySsaResponseService extends ExternalScriptService {
             ModifySsaResponseType modifySsaResponseType = (ModifySsaResponseType) script.getExternalType();
             boolean result = false;
             try {
-                result = modifySsaResponseType.get(jsonArray, context);
+                result = invoke(script, "get", () -> modifySsaResponseType.get(jsonArray, context), jsonArray, context);
+            } catch (ScriptInvocationTimeoutException e) {
+                throw e;
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
                 saveScriptError(script.getCustomScript(), e);
@@ -100,7 +105,9 @@ public class ModifySsaResponseService extends ExternalScriptService {
             ModifySsaResponseType modifySsaResponseType = (ModifySsaResponseType) script.getExternalType();
             boolean result = false;
             try {
-                result = modifySsaResponseType.revoke(ssaList, context);
+                result = invoke(script, "revoke", () -> modifySsaResponseType.revoke(ssaList, context), ssaList, context);
+            } catch (ScriptInvocationTimeoutException e) {
+                throw e;
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
                 saveScriptError(script.getCustomScript(), e);
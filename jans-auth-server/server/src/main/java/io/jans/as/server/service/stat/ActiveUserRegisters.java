@@ -0,0 +1,75 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.service.stat;
+
+import net.agkn.hll.HLL;
+import net.agkn.hll.HLLType;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free HLL register array which accumulates active users reported by this node.
+ * <p>
+ * Registers are computed exactly as {@link HLL#addRaw(long)} does for FULL representation,
+ * so {@link #toHll()} produces the same HLL as adding all reported values to it directly.
+ */
+class ActiveUserRegisters {
+
+    private final int log2m;
+    private final int regwidth;
+    private final long mBitsMask;
+    private final long pwMaxMask;
+    private final AtomicIntegerArray registers;
+
+    ActiveUserRegisters(int log2m, int regwidth) {
+        this.log2m = log2m;
+        this.regwidth = regwidth;
+        this.mBitsMask = (1L << log2m) - 1;
+        // Limits register value to the max value which fits into regwidth bits
+        this.pwMaxMask = ~((1L << ((1 << regwidth) - 2)) - 1);
+        this.registers = new AtomicIntegerArray(1 << log2m);
+    }
+
+    public void addRaw(long rawValue) {
+        final long substreamValue = rawValue >>> log2m;
+        if (substreamValue == 0L) {
+            return;
+        }
+
+        final int value = 1 + Long.numberOfTrailingZeros(substreamValue | pwMaxMask);
+        final int index = (int) (rawValue & mBitsMask);
+
+        int current = registers.get(index);
+        while (current < value && !registers.compareAndSet(index, current, value)) {
+            current = registers.get(index);
+        }
+    }
+
+    public boolean isEmpty() {
+        for (int i = 0; i < registers.length(); i++) {
+            if (registers.get(i) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds FULL HLL with the registers snapshot. Concurrent updates may or may not be included.
+     */
+    public HLL toHll() {
+        final HLL result = new HLL(log2m, regwidth, 0, false, HLLType.FULL);
+        for (int i = 0; i < registers.length(); i++) {
+            final int value = registers.get(i);
+            if (value > 0) {
+                // Raw value which sets register i to value
+                result.addRaw(i | (1L << (log2m + value - 1)));
+            }
+        }
+        return result;
+    }
+}
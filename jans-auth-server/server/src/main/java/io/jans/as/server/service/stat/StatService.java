@@ -23,6 +23,7 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -55,9 +56,11 @@ public class StatService {
 
     private String nodeId;
     private String monthlyDn;
-    private StatEntry currentEntry;
-    private HLL hll;
-    private ConcurrentMap<String, Map<String, Long>> tokenCounters;
+    private volatile StatEntry currentEntry;
+    private volatile long currentMonthEndsAt;
+    private volatile HLL hll;
+    private volatile ActiveUserRegisters activeUsers;
+    private volatile ConcurrentMap<String, ConcurrentMap<String, LongAdder>> tokenCounters;
     private final SimpleDateFormat periodDateFormat = new SimpleDateFormat("yyyyMM");
 
     private boolean initialized = false;
@@ -114,18 +117,21 @@ public class StatService {
         setupCurrentEntry(now);
 
         final Stat stat = currentEntry.getStat();
-        stat.setTokenCountPerGrantType(tokenCounters);
+        stat.setTokenCountPerGrantType(sumTokenCounters(tokenCounters));
         stat.setLastUpdatedAt(now.getTime());
 
-        synchronized (hll) {
-            currentEntry.setUserHllData(Base64.getEncoder().encodeToString(hll.toBytes()));
-        }
+        currentEntry.setUserHllData(Base64.getEncoder().encodeToString(mergeHll(hll, activeUsers).toBytes()));
         entryManager.merge(currentEntry);
 
         log.trace("Finished updateStat.");
     }
 
     private void setupCurrentEntry() {
+        // Fast path for hot callers: entry is for current month already
+        if (currentEntry != null && System.currentTimeMillis() < currentMonthEndsAt) {
+            return;
+        }
+
         setupCurrentEntry(new Date());
     }
 
@@ -143,13 +149,15 @@ public class StatService {
             StatEntry entryFromPersistence = entryManager.find(StatEntry.class, dn);
             if (entryFromPersistence != null && month.equals(entryFromPersistence.getStat().getMonth())) {
                 hll = HLL.fromBytes(Base64.getDecoder().decode(entryFromPersistence.getUserHllData()));
-                tokenCounters = new ConcurrentHashMap<>(entryFromPersistence.getStat().getTokenCountPerGrantType());
+                activeUsers = newActiveUserRegisters();
+                tokenCounters = toTokenCounters(entryFromPersistence.getStat().getTokenCountPerGrantType());
                 currentEntry = entryFromPersistence;
                 log.trace("Stat entry loaded.");
 
                 if (StringUtils.isBlank(currentEntry.getMonth()) && currentEntry.getStat() != null) {
                     currentEntry.setMonth(currentEntry.getStat().getMonth());
                 }
+                currentMonthEndsAt = monthEndsAt(now);
                 return;
             }
         } catch (EntryPersistenceException e) {
@@ -158,6 +166,7 @@ public class StatService {
 
         log.trace("Creating stat entry ...");
         hll = newHll();
+        activeUsers = newActiveUserRegisters();
         tokenCounters = new ConcurrentHashMap<>();
         final String monthString = periodDateFormat.format(new Date());
 
@@ -169,6 +178,7 @@ public class StatService {
         currentEntry.getStat().setMonth(monthString);
         currentEntry.setMonth(monthString);
         entryManager.persist(currentEntry);
+        currentMonthEndsAt = monthEndsAt(now);
         log.trace("Created stat entry.");
     }
 
@@ -176,6 +186,67 @@ public class StatService {
         return new HLL(LOG_2_M, REGWIDTH);
     }
 
+    static ActiveUserRegisters newActiveUserRegisters() {
+        return new ActiveUserRegisters(LOG_2_M, REGWIDTH);
+    }
+
+    /**
+     * Merges HLL loaded from persistence with registers which accumulate active users reported by this node.
+     */
+    static HLL mergeHll(HLL baseHll, ActiveUserRegisters registers) {
+        final HLL result = new HLL(LOG_2_M, REGWIDTH);
+        result.union(baseHll);
+        if (!registers.isEmpty()) {
+            result.union(registers.toHll());
+        }
+        return result;
+    }
+
+    static ConcurrentMap<String, ConcurrentMap<String, LongAdder>> toTokenCounters(Map<String, Map<String, Long>> tokenCountPerGrantType) {
+        final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> result = new ConcurrentHashMap<>();
+        if (tokenCountPerGrantType == null) {
+            return result;
+        }
+
+        for (Map.Entry<String, Map<String, Long>> grantEntry : tokenCountPerGrantType.entrySet()) {
+            if (grantEntry.getValue() == null) {
+                continue;
+            }
+
+            final ConcurrentMap<String, LongAdder> tokenMap = result.computeIfAbsent(grantEntry.getKey(), k -> new ConcurrentHashMap<>());
+            for (Map.Entry<String, Long> tokenEntry : grantEntry.getValue().entrySet()) {
+                if (tokenEntry.getValue() != null) {
+                    tokenMap.computeIfAbsent(tokenEntry.getKey(), k -> new LongAdder()).add(tokenEntry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    static Map<String, Map<String, Long>> sumTokenCounters(ConcurrentMap<String, ConcurrentMap<String, LongAdder>> counters) {
+        final Map<String, Map<String, Long>> result = new HashMap<>();
+        for (Map.Entry<String, ConcurrentMap<String, LongAdder>> grantEntry : counters.entrySet()) {
+            final Map<String, Long> tokenMap = new HashMap<>();
+            for (Map.Entry<String, LongAdder> tokenEntry : grantEntry.getValue().entrySet()) {
+                tokenMap.put(tokenEntry.getKey(), tokenEntry.getValue().sum());
+            }
+            result.put(grantEntry.getKey(), tokenMap);
+        }
+        return result;
+    }
+
+    static long monthEndsAt(Date now) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTime(now);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.MONTH, 1);
+        return calendar.getTimeInMillis();
+    }
+
     private void initNodeId(Date now) {
         if (StringUtils.isNotBlank(nodeId)) {
             return;
@@ -253,9 +324,9 @@ public class StatService {
         final int hashCode = id.hashCode();
         try {
             setupCurrentEntry();
-            synchronized (hll) {
-                hll.addRaw(hashCode);
-            }
+
+            // Registers are updated with CAS, callers are not serialized on single HLL
+            activeUsers.addRaw(hashCode);
         } catch (Exception e) {
             log.error("Failed to report active user, id: " + id + ", hash: " + hashCode, e);
         }
@@ -291,17 +362,7 @@ public class StatService {
             return;
         }
 
-        Map<String, Long> tokenMap = tokenCounters.computeIfAbsent(grantType.getValue(), k -> new ConcurrentHashMap<>());
-
-        Long counter = tokenMap.get(tokenKey);
-
-        if (counter == null) {
-            counter = 1L;
-        } else {
-            counter++;
-        }
-
-        tokenMap.put(tokenKey, counter);
-
+        ConcurrentMap<String, LongAdder> tokenMap = tokenCounters.computeIfAbsent(grantType.getValue(), k -> new ConcurrentHashMap<>());
+        tokenMap.computeIfAbsent(tokenKey, k -> new LongAdder()).increment();
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import jakarta.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,6 +39,9 @@ public class StatusListIndexService {
 	@Inject
 	private ClusterNodeManager clusterManager;
 
+    @Inject
+    private StatusListService statusListService;
+
     private final ReentrantLock allocatedLock = new ReentrantLock();
 	
     private StatusIndexPool tokenPool = null;
@@ -72,10 +76,16 @@ public class StatusListIndexService {
                 indexHolder.setData(statusList.getLst());
             }
 
+            List<StatusIndexPool> updatedPools = new ArrayList<>();
             for (StatusIndexPool pool : pools.values()) {
-                updateWithLockSilently(pool);
+                StatusIndexPool updatedPool = updateWithLockSilently(pool);
+                if (updatedPool != null) {
+                    updatedPools.add(updatedPool);
+                }
             }
 
+            statusListService.onPoolsUpdated(updatedPools);
+
             log.debug("Updated status list at index {} with status {} successfully.", indexes, status);
 
         } catch (Exception e) {
@@ -83,11 +93,12 @@ public class StatusListIndexService {
         }
     }
 
-    private void updateWithLockSilently(StatusIndexPool pool) {
+    private StatusIndexPool updateWithLockSilently(StatusIndexPool pool) {
         try {
-            statusTokenPoolService.updateWithLock(pool);
+            return statusTokenPoolService.updateWithLock(pool);
         } catch (Exception e) {
             log.error("Failed to persist status index pool " + pool.getId(), e);
+            return null;
         }
     }
 
@@ -16,27 +16,45 @@ import io.jans.as.server.service.cluster.StatusIndexPoolService;
 import io.jans.model.token.StatusIndexPool;
 import io.jans.model.tokenstatus.StatusList;
 import io.jans.model.tokenstatus.TokenStatus;
+import io.jans.service.MessageService;
+import io.jans.service.message.pubsub.PubSubInterface;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JSON;
 import static io.jans.as.model.config.Constants.CONTENT_TYPE_STATUSLIST_JWT;
 
 /**
+ * Status list endpoint keeps merged status list of all pools in memory. It's updated
+ * incrementally when pools are changed on this node or on other nodes (announced via
+ * message channel). Encoded JSON and signed JWT responses are cached until next change
+ * or until re-sign interval passes.
+ *
  * @author Yuriy Z
  */
 @ApplicationScoped
-public class StatusListService {
+public class StatusListService implements PubSubInterface {
+
+    private static final char MESSAGE_SEPARATOR = ':';
+    private static final String POOL_ID_SEPARATOR = ",";
 
     @Inject
     private Logger log;
@@ -56,25 +74,67 @@ public class StatusListService {
     @Inject
     private WebKeysConfiguration webKeysConfiguration;
 
+    @Inject
+    private MessageService messageService;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private StatusList mergedStatusList;
+    private long mergedStatusListLoadedAt;
+
+    private volatile StatusListSnapshot snapshot;
+
+    private String subscribedChannel;
+
+    public void subscribe() {
+        final String channel = appConfiguration.getStatusListMessageChannel();
+        if (StringUtils.isBlank(channel) || !errorResponseFactory.isFeatureFlagEnabled(FeatureFlagType.STATUS_LIST)) {
+            return;
+        }
+
+        messageService.subscribe(this, channel);
+        subscribedChannel = channel;
+        log.info("Subscribed to status list channel '{}'", channel);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscribedChannel != null) {
+            messageService.unsubscribe(this);
+            subscribedChannel = null;
+        }
+    }
+
     public Response requestStatusList(String acceptHeader) {
-        log.debug("Attempting to request status_list, acceptHeader: {} ...", acceptHeader);
+        return requestStatusList(acceptHeader, null);
+    }
+
+    public Response requestStatusList(String acceptHeader, String ifNoneMatch) {
+        log.debug("Attempting to request status_list, acceptHeader: {}, ifNoneMatch: {} ...", acceptHeader, ifNoneMatch);
 
         errorResponseFactory.validateFeatureEnabled(FeatureFlagType.STATUS_LIST);
 
         try {
-            final List<StatusIndexPool> pools = statusTokenPoolService.getAllPools();
-            final StatusList statusList = join(pools);
+            final StatusListSnapshot currentSnapshot = getSnapshot();
 
             final boolean isJsonRequested = CONTENT_TYPE_STATUSLIST_JSON.equalsIgnoreCase(acceptHeader);
 
-            final String entity = createEntity(isJsonRequested, statusList);
+            final String entity = isJsonRequested ? currentSnapshot.getJson() : currentSnapshot.getJwt();
+            final EntityTag entityTag = new EntityTag(isJsonRequested ? currentSnapshot.getJsonEtag() : currentSnapshot.getJwtEtag());
             final String responseType = isJsonRequested ? CONTENT_TYPE_STATUSLIST_JSON : CONTENT_TYPE_STATUSLIST_JWT;
 
+            if (isMatched(ifNoneMatch, entityTag)) {
+                log.trace("Status list is not modified, etag {}", entityTag);
+                return Response.notModified(entityTag).build();
+            }
+
             if (log.isTraceEnabled()) {
                 log.trace("Response entity {}, responseType {}", entity, responseType);
             }
 
-            return Response.status(Response.Status.OK).entity(entity).type(responseType).build();
+            return Response.status(Response.Status.OK).entity(entity).type(responseType).tag(entityTag).build();
         } catch (WebApplicationException e) {
             if (log.isTraceEnabled()) {
                 log.trace(e.getMessage(), e);
@@ -86,14 +146,175 @@ public class StatusListService {
         }
     }
 
-    private String createEntity(boolean isJsonRequested, StatusList statusList) throws Exception {
-        JSONObject jsonObject = new JSONObject(statusList.encodeAsJSON());
+    private boolean isMatched(String ifNoneMatch, EntityTag entityTag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+
+        for (String value : ifNoneMatch.split(",")) {
+            String tag = value.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+
+            if ("*".equals(tag) || tag.equals('"' + entityTag.getValue() + '"')) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public StatusListSnapshot getSnapshot() throws Exception {
+        final long now = System.currentTimeMillis();
+        final long resignIntervalInMillis = getResignIntervalInMillis();
+
+        StatusListSnapshot currentSnapshot = snapshot;
+        if (currentSnapshot != null && now - currentSnapshot.getCreatedAt() < resignIntervalInMillis) {
+            return currentSnapshot;
+        }
+
+        snapshotLock.lock();
+        try {
+            currentSnapshot = snapshot;
+            if (currentSnapshot != null && now - currentSnapshot.getCreatedAt() < resignIntervalInMillis) {
+                return currentSnapshot;
+            }
+
+            // Reload from persistence periodically to pick up changes which were not announced
+            if (mergedStatusList == null || now - mergedStatusListLoadedAt >= resignIntervalInMillis) {
+                mergedStatusList = join(statusTokenPoolService.getAllPools());
+                mergedStatusListLoadedAt = now;
+                log.debug("Loaded status list snapshot from persistence");
+            }
+
+            final JSONObject jsonObject = new JSONObject(mergedStatusList.encodeAsJSON());
+            final String json = jsonObject.toString();
+            final String jwt = createResponseJwt(jsonObject);
+
+            currentSnapshot = new StatusListSnapshot(json, DigestUtils.sha256Hex(json), jwt, DigestUtils.sha256Hex(jwt), now);
+            snapshot = currentSnapshot;
+
+            return currentSnapshot;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private long getResignIntervalInMillis() {
+        int interval = appConfiguration.getStatusListResponseResignInterval();
 
-        if (isJsonRequested) {
-            return jsonObject.toString();
+        // Signed JWT should not be served when it's close to expiration
+        final int maxInterval = appConfiguration.getStatusListResponseJwtLifetime() / 2;
+        if (interval <= 0 || interval > maxInterval) {
+            interval = maxInterval;
         }
 
-        return createResponseJwt(jsonObject);
+        return TimeUnit.SECONDS.toMillis(Math.max(1, interval));
+    }
+
+    /**
+     * Applies updated pools to in-memory status list and notifies other nodes about update.
+     *
+     * @param pools updated pools
+     */
+    public void onPoolsUpdated(Collection<StatusIndexPool> pools) {
+        if (pools == null || pools.isEmpty()) {
+            return;
+        }
+
+        mergePools(pools);
+
+        final String channel = appConfiguration.getStatusListMessageChannel();
+        if (StringUtils.isBlank(channel)) {
+            return;
+        }
+
+        final List<String> poolIds = new ArrayList<>();
+        for (StatusIndexPool pool : pools) {
+            poolIds.add(String.valueOf(pool.getId()));
+        }
+
+        try {
+            messageService.publish(channel, nodeId + MESSAGE_SEPARATOR + StringUtils.join(poolIds, POOL_ID_SEPARATOR));
+        } catch (Exception e) {
+            log.error("Failed to publish status list pools update", e);
+        }
+    }
+
+    private void mergePools(Collection<StatusIndexPool> pools) {
+        final int bitSize = appConfiguration.getStatusListBitSize();
+
+        snapshotLock.lock();
+        try {
+            if (mergedStatusList == null) {
+                return; // snapshot is not loaded yet, it will be loaded with all changes on first request
+            }
+
+            for (StatusIndexPool pool : pools) {
+                if (pool.getStartIndex() == null || pool.getEndIndex() == null) {
+                    StatusIndexPoolService.setIndexes(pool, appConfiguration.getStatusListIndexAllocationBlockSize());
+                }
+
+                try {
+                    final String data = pool.getData();
+                    final StatusList poolStatusList = StringUtils.isNotBlank(data) ? StatusList.fromEncoded(data, bitSize) : new StatusList(bitSize);
+                    for (int i = pool.getStartIndex(); i <= pool.getEndIndex(); i++) {
+                        mergedStatusList.set(i, poolStatusList.get(i));
+                    }
+                } catch (Exception e) {
+                    String msg = String.format("Failed to merge status list from pool: %s, nodeId: %s", pool.getId(), pool.getNodeId());
+                    log.error(msg, e);
+                }
+            }
+
+            // Force encoding and signing on next request
+            snapshot = null;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void onMessage(String channel, String message) {
+        if (StringUtils.isBlank(message)) {
+            return;
+        }
+
+        final int idx = message.indexOf(MESSAGE_SEPARATOR);
+        if (idx == -1) {
+            log.warn("Get status list message with invalid format: '{}'", message);
+            return;
+        }
+
+        if (nodeId.equals(message.substring(0, idx))) {
+            // Skip own message
+            return;
+        }
+
+        final List<StatusIndexPool> pools = new ArrayList<>();
+        for (String poolId : message.substring(idx + 1).split(POOL_ID_SEPARATOR)) {
+            try {
+                final StatusIndexPool pool = statusTokenPoolService.getPoolById(Integer.parseInt(poolId.trim()));
+                if (pool != null) {
+                    pools.add(pool);
+                }
+            } catch (Exception e) {
+                log.error("Failed to load status list pool: " + poolId, e);
+            }
+        }
+
+        mergePools(pools);
+    }
+
+    @Override
+    public void onSubscribe(String channel, int subscribedChannels) {
+        log.debug("onSubscribe: {}, subscribedChannels: {}", channel, subscribedChannels);
+    }
+
+    @Override
+    public void onUnsubscribe(String channel, int subscribedChannels) {
+        log.debug("onUnsubscribe: {}, subscribedChannels: {}", channel, subscribedChannels);
     }
 
     public StatusList join(List<StatusIndexPool> pools) {
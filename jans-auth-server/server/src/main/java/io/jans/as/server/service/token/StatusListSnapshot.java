@@ -0,0 +1,56 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.service.token;
+
+/**
+ * Immutable encoded status list with entity tags of JSON and JWT representations.
+ */
+public class StatusListSnapshot {
+
+    private final String json;
+    private final String jsonEtag;
+    private final String jwt;
+    private final String jwtEtag;
+    private final long createdAt;
+
+    public StatusListSnapshot(String json, String jsonEtag, String jwt, String jwtEtag, long createdAt) {
+        this.json = json;
+        this.jsonEtag = jsonEtag;
+        this.jwt = jwt;
+        this.jwtEtag = jwtEtag;
+        this.createdAt = createdAt;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    public String getJsonEtag() {
+        return jsonEtag;
+    }
+
+    public String getJwt() {
+        return jwt;
+    }
+
+    public String getJwtEtag() {
+        return jwtEtag;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "StatusListSnapshot{" +
+                "jsonEtag='" + jsonEtag + '\'' +
+                ", jwtEtag='" + jwtEtag + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
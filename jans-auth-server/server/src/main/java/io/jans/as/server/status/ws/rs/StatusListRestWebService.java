@@ -3,6 +3,7 @@ package io.jans.as.server.status.ws.rs;
 import io.jans.as.server.service.token.StatusListService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 
@@ -25,9 +26,9 @@ public class StatusListRestWebService {
     @Path("/status_list")
     @Consumes({CONTENT_TYPE_STATUSLIST_JSON, CONTENT_TYPE_STATUSLIST_JWT})
     @Produces({CONTENT_TYPE_STATUSLIST_JSON, CONTENT_TYPE_STATUSLIST_JWT})
-    public Response requestStatusList(@HeaderParam("Accept") String acceptHeader) {
+    public Response requestStatusList(@HeaderParam("Accept") String acceptHeader, @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            return statusService.requestStatusList(acceptHeader);
+            return statusService.requestStatusList(acceptHeader, ifNoneMatch);
         } catch (WebApplicationException e) {
             log.debug(e.getMessage(), e);
             throw e;
@@ -63,6 +63,7 @@ import org.slf4j.Logger;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
@@ -211,26 +212,17 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
             final AuthzDetails authzDetails = authzDetailsService.validateAuthorizationDetails(authorizationDetails, executionContext);
             executionContext.setAuthzDetails(authzDetails);
 
-            if (gt == GrantType.AUTHORIZATION_CODE) {
-                return processAuthorizationCode(code, scope, codeVerifier, sessionIdObj, executionContext);
-            } else if (gt == GrantType.REFRESH_TOKEN) {
-                return processRefreshTokenGrant(scope, refreshToken, idTokenPreProcessing, executionContext);
-            } else if (gt == GrantType.CLIENT_CREDENTIALS) {
-                return processClientGredentials(scope, request, auditLog, client, idTokenPreProcessing, executionContext);
-            } else if (gt == GrantType.RESOURCE_OWNER_PASSWORD_CREDENTIALS) {
-                return processROPC(username, password, scope, gt, idTokenPreProcessing, executionContext);
-            } else if (gt == GrantType.CIBA) {
-                return processCIBA(scope, authReqId, idTokenPreProcessing, executionContext);
-            } else if (gt == GrantType.DEVICE_CODE) {
-                return processDeviceCodeGrantType(executionContext, deviceCode, scope);
-            } else if (gt == GrantType.TOKEN_EXCHANGE) {
-
-                if (txTokenService.isTxTokenFlow(request)) {
-                    return txTokenService.processTxToken(executionContext);
-                }
+            // Tokens created by grant are persisted together after successful processing
+            executionContext.startTokenBatch();
+            final Response tokenResponse = processGrantType(gt, code, scope, codeVerifier, refreshToken, username, password,
+                    authReqId, deviceCode, sessionIdObj, idTokenPreProcessing, executionContext);
+            final List<TokenEntity> tokens = executionContext.finishTokenBatch();
+            if (!tokens.isEmpty()) {
+                grantService.persist(tokens);
+            }
 
-                final JSONObject responseJson = tokenExchangeService.processTokenExchange(scope, idTokenPreProcessing, executionContext);
-                return response(Response.ok().entity(responseJson.toString()), auditLog);
+            if (tokenResponse != null) {
+                return tokenResponse;
             }
         } catch (WebApplicationException e) {
             throw e;
@@ -242,6 +234,37 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
         throw new WebApplicationException(tokenRestWebServiceValidator.error(400, TokenErrorResponseType.UNSUPPORTED_GRANT_TYPE, "Unsupported Grant Type.").build());
     }
 
+    /*
+     * Returns null if grant type is not supported
+     */
+    private Response processGrantType(GrantType gt, String code, String scope, String codeVerifier, String refreshToken,
+                                      String username, String password, String authReqId, String deviceCode, SessionId sessionIdObj,
+                                      Function<JsonWebResponse, Void> idTokenPreProcessing, ExecutionContext executionContext) throws Exception {
+        if (gt == GrantType.AUTHORIZATION_CODE) {
+            return processAuthorizationCode(code, scope, codeVerifier, sessionIdObj, executionContext);
+        } else if (gt == GrantType.REFRESH_TOKEN) {
+            return processRefreshTokenGrant(scope, refreshToken, idTokenPreProcessing, executionContext);
+        } else if (gt == GrantType.CLIENT_CREDENTIALS) {
+            return processClientGredentials(scope, executionContext.getHttpRequest(), executionContext.getAuditLog(), executionContext.getClient(), idTokenPreProcessing, executionContext);
+        } else if (gt == GrantType.RESOURCE_OWNER_PASSWORD_CREDENTIALS) {
+            return processROPC(username, password, scope, gt, idTokenPreProcessing, executionContext);
+        } else if (gt == GrantType.CIBA) {
+            return processCIBA(scope, authReqId, idTokenPreProcessing, executionContext);
+        } else if (gt == GrantType.DEVICE_CODE) {
+            return processDeviceCodeGrantType(executionContext, deviceCode, scope);
+        } else if (gt == GrantType.TOKEN_EXCHANGE) {
+
+            if (txTokenService.isTxTokenFlow(executionContext.getHttpRequest())) {
+                return txTokenService.processTxToken(executionContext);
+            }
+
+            final JSONObject responseJson = tokenExchangeService.processTokenExchange(scope, idTokenPreProcessing, executionContext);
+            return response(Response.ok().entity(responseJson.toString()), executionContext.getAuditLog());
+        }
+
+        return null;
+    }
+
     private Response processROPC(String username, String password, String scope, GrantType gt, Function<JsonWebResponse, Void> idTokenPreProcessing, ExecutionContext executionContext) throws SearchException {
         boolean authenticated = false;
         User user = null;
@@ -447,6 +470,11 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
         tokenRestWebServiceValidator.validatePKCE(authorizationCodeGrant, codeVerifier, executionContext.getAuditLog());
         dPoPService.validateDpopThumprint(authorizationCodeGrant.getDpopJkt(), executionContext.getDpop());
 
+        // code is one time use, concurrent request with same code may have consumed it already
+        if (!grantService.consumeCode(code)) {
+            tokenRestWebServiceValidator.validateGrant(null, client, code, executionContext.getAuditLog(), grant -> grantService.removeAllByAuthorizationCode(code));
+        }
+
         authorizationCodeGrant.setIsCachedWithNoPersistence(false);
         authorizationCodeGrant.save();
 
@@ -484,8 +512,6 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
 
         executionContext.getAuditLog().updateOAuth2AuditLog(authorizationCodeGrant, true);
 
-        grantService.removeAuthorizationCode(authorizationCodeGrant.getAuthorizationCode().getCode());
-
         JSONObject jsonObj = new JSONObject();
         try {
             fillJsonObject(jsonObj, accToken, accToken.getTokenType(), accToken.getExpiresIn(), reToken, scope, idToken, checkedAuthzDetails);
@@ -552,6 +578,13 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
                 throw new WebApplicationException(response(error(400, TokenErrorResponseType.INVALID_GRANT, REASON_CLIENT_NOT_AUTHORIZED), executionContext.getAuditLog()));
             }
 
+            if (!grantService.consumeCode(deviceCode)) {
+                log.debug("Device code grant is consumed by another request, deviceCode: '{}'", deviceCode);
+                throw new WebApplicationException(response(error(400, TokenErrorResponseType.INVALID_GRANT, "Device code is no longer available."), executionContext.getAuditLog()));
+            }
+            // Grant is saved several times below, it should not bring device code back to cache
+            deviceCodeGrant.setIsCachedWithNoPersistence(false);
+
             RefreshToken refToken = tokenCreatorService.createRefreshToken(executionContext, scope);
 
             AccessToken accessToken = deviceCodeGrant.createAccessToken(executionContext);
@@ -679,7 +712,7 @@ public class TokenRestWebServiceImpl implements TokenRestWebService {
 
             if (cibaGrant.getClient().getBackchannelTokenDeliveryMode() == BackchannelTokenDeliveryMode.PING ||
                     cibaGrant.getClient().getBackchannelTokenDeliveryMode() == BackchannelTokenDeliveryMode.POLL) {
-                if (!cibaGrant.isTokensDelivered()) {
+                if (!cibaGrant.isTokensDelivered() && grantService.markCibaTokensDelivered(authReqId, appConfiguration.getBackchannelAuthenticationResponseExpiresIn())) {
                     RefreshToken refToken = tokenCreatorService.createRefreshToken(executionContext, scope);
                     AccessToken accessToken = cibaGrant.createAccessToken(executionContext);
 
@@ -0,0 +1,112 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.uma.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jans.as.model.uma.CompiledJsonLogic;
+import io.jans.as.model.uma.JsonLogicNode;
+import io.jans.as.model.uma.JsonLogicNodeParser;
+import org.slf4j.Logger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps parsed and compiled scope expressions of UMA resources.
+ * Entry is keyed by resource id and is used only while expression is the same.
+ */
+@ApplicationScoped
+@Named
+public class UmaExpressionCache {
+
+    private static final int MAX_SIZE = 10000;
+    private static final int LIFETIME_IN_MINUTES = 60;
+
+    @Inject
+    private Logger log;
+
+    private final Cache<String, CompiledExpression> expressions = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SIZE).expireAfterAccess(LIFETIME_IN_MINUTES, TimeUnit.MINUTES).build();
+
+    /*
+     * Returns null if expression is invalid
+     */
+    public CompiledExpression get(String resourceId, String scopeExpression) {
+        CompiledExpression compiledExpression = resourceId == null ? null : expressions.getIfPresent(resourceId);
+        if (compiledExpression != null && compiledExpression.getExpressionHash() == scopeExpression.hashCode()
+                && compiledExpression.getExpression().equals(scopeExpression)) {
+            return compiledExpression;
+        }
+
+        JsonLogicNode node = JsonLogicNodeParser.parseNode(scopeExpression);
+        if (node == null || node.getRule() == null) {
+            return null;
+        }
+
+        compiledExpression = new CompiledExpression(scopeExpression, node);
+        if (!compiledExpression.getLogic().isCompiled()) {
+            log.debug("Scope expression of resource '{}' will be evaluated by JsonLogic engine: {}", resourceId, scopeExpression);
+        }
+        if (resourceId != null) {
+            expressions.put(resourceId, compiledExpression);
+        }
+
+        return compiledExpression;
+    }
+
+    public void invalidate(String resourceId) {
+        if (resourceId != null) {
+            expressions.invalidate(resourceId);
+        }
+    }
+
+    public void clear() {
+        expressions.invalidateAll();
+    }
+
+    public static class CompiledExpression {
+
+        private final String expression;
+        private final int expressionHash;
+        private final JsonLogicNode node;
+        private final List<String> dataScopes;
+        private final CompiledJsonLogic logic;
+
+        public CompiledExpression(String expression, JsonLogicNode node) {
+            this.expression = expression;
+            this.expressionHash = expression.hashCode();
+            this.node = node;
+            this.dataScopes = Collections.unmodifiableList(node.getDataCopy());
+            this.logic = CompiledJsonLogic.compile(node.getRule());
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+
+        public int getExpressionHash() {
+            return expressionHash;
+        }
+
+        public JsonLogicNode getNode() {
+            return node;
+        }
+
+        public List<String> getDataScopes() {
+            return dataScopes;
+        }
+
+        public CompiledJsonLogic getLogic() {
+            return logic;
+        }
+    }
+}
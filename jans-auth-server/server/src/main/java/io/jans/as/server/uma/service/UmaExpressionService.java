@@ -9,8 +9,6 @@ package io.jans.as.server.uma.service;
 import com.google.common.collect.Lists;
 import io.jans.as.model.config.Constants;
 import io.jans.as.model.error.ErrorResponseFactory;
-import io.jans.as.model.uma.JsonLogic;
-import io.jans.as.model.uma.JsonLogicNode;
 import io.jans.as.model.uma.JsonLogicNodeParser;
 import io.jans.as.model.uma.UmaErrorResponseType;
 import io.jans.as.model.uma.persistence.UmaPermission;
@@ -19,6 +17,7 @@ import io.jans.as.model.util.Util;
 import io.jans.as.server.service.external.ExternalUmaRptPolicyService;
 import io.jans.as.server.uma.authorization.UmaAuthorizationContext;
 import io.jans.as.server.uma.authorization.UmaScriptByScope;
+import io.jans.as.server.uma.service.UmaExpressionCache.CompiledExpression;
 import io.jans.util.StringHelper;
 import org.slf4j.Logger;
 
@@ -28,6 +27,8 @@ import jakarta.inject.Named;
 import jakarta.ws.rs.core.Response;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -55,37 +56,58 @@ public class UmaExpressionService {
     @Inject
     private UmaPermissionService permissionService;
 
-    private static Map<String, String> scopeIdToDnMap(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<String> scriptDNs) {
+    @Inject
+    private UmaExpressionCache expressionCache;
+
+    private static Map<String, String> scopeIdToDnMap(Map<String, List<UmaScriptByScope>> scriptsByScopeDn, List<String> scriptDNs) {
         Map<String, String> result = new HashMap<>();
-        for (Map.Entry<UmaScriptByScope, UmaAuthorizationContext> entry : scriptMap.entrySet()) {
-            if (scriptDNs.contains(entry.getKey().getScope().getDn())) {
-                result.put(entry.getKey().getScope().getId(), entry.getKey().getScope().getDn());
+        for (String scopeDn : scriptDNs) {
+            List<UmaScriptByScope> scripts = scriptsByScopeDn.get(scopeDn);
+            if (scripts != null) {
+                result.put(scripts.get(0).getScope().getId(), scopeDn);
             }
         }
         return result;
     }
 
-    private static Map<UmaScriptByScope, UmaAuthorizationContext> filterByScopeDns(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<String> scopeDNs) {
-        Map<UmaScriptByScope, UmaAuthorizationContext> result = new HashMap<>();
-        for (Map.Entry<UmaScriptByScope, UmaAuthorizationContext> entry : scriptMap.entrySet()) {
-            if (scopeDNs.contains(entry.getKey().getScope().getDn())) {
-                result.put(entry.getKey(), entry.getValue());
+    private static List<UmaScriptByScope> filterByScopeDns(Map<String, List<UmaScriptByScope>> scriptsByScopeDn, List<String> scopeDNs) {
+        List<UmaScriptByScope> result = new ArrayList<>();
+        if (scopeDNs == null) {
+            return result;
+        }
+        for (String scopeDn : new LinkedHashSet<>(scopeDNs)) {
+            List<UmaScriptByScope> scripts = scriptsByScopeDn.get(scopeDn);
+            if (scripts != null) {
+                result.addAll(scripts);
             }
         }
         return result;
     }
 
+    /*
+     * Scope DN to scripts index, built once per evaluation instead of per permission
+     */
+    private static Map<String, List<UmaScriptByScope>> groupByScopeDn(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap) {
+        Map<String, List<UmaScriptByScope>> result = new HashMap<>();
+        for (UmaScriptByScope scriptByScope : scriptMap.keySet()) {
+            result.computeIfAbsent(scriptByScope.getScope().getDn(), key -> new ArrayList<>()).add(scriptByScope);
+        }
+        return result;
+    }
+
     public boolean isExpressionValid(String expression) {
         return JsonLogicNodeParser.isNodeValid(expression);
     }
 
     public void evaluate(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, List<UmaPermission> permissions) {
+        // Script results are memoized within single RPT evaluation
+        final ScriptEvaluation evaluation = new ScriptEvaluation(scriptMap);
         for (UmaPermission permission : permissions) {
             UmaResource resource = resourceService.getResourceById(permission.getResourceId());
             if (StringHelper.isNotEmpty(resource.getScopeExpression())) {
-                evaluateScopeExpression(scriptMap, permission, resource);
+                evaluateScopeExpression(evaluation, permission, resource);
             } else {
-                if (!evaluateByScopes(filterByScopeDns(scriptMap, permission.getScopeDns()))) {
+                if (!evaluateByScopes(evaluation, filterByScopeDns(evaluation.scriptsByScopeDn, permission.getScopeDns()))) {
                     log.trace("Regular evaluation returns false, access FORBIDDEN.");
                     throw errorResponseFactory.createWebApplicationException(Response.Status.FORBIDDEN, UmaErrorResponseType.FORBIDDEN_BY_POLICY, "Regular evaluation returns false, access FORBIDDEN.");
                 }
@@ -93,34 +115,40 @@ public class UmaExpressionService {
         }
     }
 
-    private boolean evaluateByScopes(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap) {
-        for (Map.Entry<UmaScriptByScope, UmaAuthorizationContext> entry : scriptMap.entrySet()) {
-            final boolean result = policyService.authorize(entry.getKey().getScript(), entry.getValue());
-            log.trace("Policy script inum: '{}' result: '{}'", entry.getKey().getScript().getInum(), result);
+    private boolean evaluateByScopes(ScriptEvaluation evaluation, List<UmaScriptByScope> scripts) {
+        for (UmaScriptByScope scriptByScope : scripts) {
+            Boolean result = evaluation.results.get(scriptByScope);
+            if (result == null) {
+                result = policyService.authorize(scriptByScope.getScript(), evaluation.scriptMap.get(scriptByScope));
+                evaluation.results.put(scriptByScope, result);
+                log.trace("Policy script inum: '{}' result: '{}'", scriptByScope.getScript().getInum(), result);
+            } else {
+                log.trace("Policy script inum: '{}' memoized result: '{}'", scriptByScope.getScript().getInum(), result);
+            }
             if (!result) {
-                log.trace("Stop authorization scriptMap execution, current script returns false, script inum: {}, scope: {}", entry.getKey().getScript().getInum(), entry.getKey().getScope());
+                log.trace("Stop authorization scriptMap execution, current script returns false, script inum: {}, scope: {}", scriptByScope.getScript().getInum(), scriptByScope.getScope());
                 return false;
             }
         }
         return true;
     }
 
-    private void evaluateScopeExpression(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, UmaPermission permission, UmaResource resource) {
+    private void evaluateScopeExpression(ScriptEvaluation evaluation, UmaPermission permission, UmaResource resource) {
         String scopeExpression = resource.getScopeExpression();
-        JsonLogicNode node = JsonLogicNodeParser.parseNode(scopeExpression);
-        if (node != null) {
+        CompiledExpression expression = expressionCache.get(resource.getId(), scopeExpression);
+        if (expression != null) {
             log.trace("Evaluating scope expression ...");
 
             // validate scopes, all must be present
-            List<String> dataScopes = node.getDataCopy();
-            Map<String, String> scopeIdToDnMap = scopeIdToDnMap(scriptMap, permission.getScopeDns());
+            List<String> dataScopes = expression.getDataScopes();
+            Map<String, String> scopeIdToDnMap = scopeIdToDnMap(evaluation.scriptsByScopeDn, permission.getScopeDns());
             if (dataScopes.size() == scopeIdToDnMap.size()) {
-                if (evaluateScopeExpressionInternal(scriptMap, permission, resource, scopeExpression, node, dataScopes, scopeIdToDnMap)) {
+                if (evaluateScopeExpressionInternal(evaluation, permission, resource, expression, scopeIdToDnMap)) {
                     return; // expression returned true
                 }
             } else {
                 log.error("Scope size in JsonLogic object 'data' and in permission differs which is forbidden. Node data: {}, permissionDns: {}, result scopeIds: {}",
-                        node, permission.getScopeDns(), scopeIdToDnMap);
+                        expression.getNode(), permission.getScopeDns(), scopeIdToDnMap);
                 throw errorResponseFactory.createWebApplicationException(Response.Status.FORBIDDEN, UmaErrorResponseType.FORBIDDEN_BY_POLICY, "Scope size in JsonLogic object 'data' and in permission differs which is forbidden.");
             }
         } else {
@@ -131,26 +159,21 @@ public class UmaExpressionService {
         throw errorResponseFactory.createWebApplicationException(Response.Status.FORBIDDEN, UmaErrorResponseType.FORBIDDEN_BY_POLICY, Constants.UNKNOWN);
     }
 
-    private boolean evaluateScopeExpressionInternal(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap, UmaPermission permission, UmaResource resource, String scopeExpression, JsonLogicNode node, List<String> dataScopes, Map<String, String> scopeIdToDnMap) {
+    private boolean evaluateScopeExpressionInternal(ScriptEvaluation evaluation, UmaPermission permission, UmaResource resource, CompiledExpression expression, Map<String, String> scopeIdToDnMap) {
+        List<String> dataScopes = expression.getDataScopes();
         try {
-            List<Boolean> evaluatedResults = new ArrayList<>();
+            List<Boolean> evaluatedResults = new ArrayList<>(dataScopes.size());
             for (String scopeId : dataScopes) {
                 log.trace("Evaluating scope result for scope: {}...", scopeId);
-                boolean b = evaluateByScopes(filterByScopeDns(scriptMap, Lists.newArrayList(scopeIdToDnMap.get(scopeId))));
+                boolean b = evaluateByScopes(evaluation, filterByScopeDns(evaluation.scriptsByScopeDn, Lists.newArrayList(scopeIdToDnMap.get(scopeId))));
                 log.trace("Evaluated scope result: {}, scope: {}", b, scopeId);
                 evaluatedResults.add(b);
             }
 
-            String rule = node.getRule().toString();
-            final boolean result;
-            if (evaluatedResults.isEmpty()) {
-                result = JsonLogic.apply(rule);
-            } else {
-                result = JsonLogic.apply(rule, Util.asJsonSilently(evaluatedResults));
-            }
+            final boolean result = expression.getLogic().apply(evaluatedResults);
 
             if (log.isTraceEnabled()) {
-                log.trace("JsonLogic evaluation result: {}, rule: {}, data: {}", result, rule, Util.asJsonSilently(evaluatedResults));
+                log.trace("JsonLogic evaluation result: {}, rule: {}, data: {}", result, expression.getLogic(), Util.asJsonSilently(evaluatedResults));
             }
             if (result) {
                 // access granted at this point but we have to remove scopes from permissions for which we got 'false' result
@@ -158,7 +181,7 @@ public class UmaExpressionService {
                 return true;
             }
         } catch (Exception e) {
-            log.error("Failed to evaluate jsonlogic expression. Expression: " + scopeExpression + ", resourceDn: " + resource.getDn(), e);
+            log.error("Failed to evaluate jsonlogic expression. Expression: " + expression.getExpression() + ", resourceDn: " + resource.getDn(), e);
             throw errorResponseFactory.createWebApplicationException(Response.Status.FORBIDDEN, UmaErrorResponseType.FORBIDDEN_BY_POLICY, "Failed to evaluate jsonlogic expression.");
         }
         return false;
@@ -183,4 +206,16 @@ public class UmaExpressionService {
             }
         }
     }
+
+    private static class ScriptEvaluation {
+
+        private final Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap;
+        private final Map<String, List<UmaScriptByScope>> scriptsByScopeDn;
+        private final Map<UmaScriptByScope, Boolean> results = new IdentityHashMap<>();
+
+        private ScriptEvaluation(Map<UmaScriptByScope, UmaAuthorizationContext> scriptMap) {
+            this.scriptMap = scriptMap;
+            this.scriptsByScopeDn = groupByScopeDn(scriptMap);
+        }
+    }
 }
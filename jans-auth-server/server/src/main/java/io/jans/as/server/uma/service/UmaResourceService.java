@@ -57,6 +57,9 @@ public class UmaResourceService {
     @Inject
     private CacheService cacheService;
 
+    @Inject
+    private UmaExpressionCache expressionCache;
+
     public void addBranch() {
         SimpleBranch branch = new SimpleBranch();
         branch.setOrganizationalUnitName("resources");
@@ -96,6 +99,7 @@ public class UmaResourceService {
             validate(resource);
         }
         cacheService.put(resource.getDn(), resource);
+        expressionCache.invalidate(resource.getId());
         resource.resetTtlFromExpirationDate();
         ldapEntryManager.merge(resource);
     }
@@ -106,6 +110,7 @@ public class UmaResourceService {
      * @param resource resource
      */
     public void remove(UmaResource resource) {
+        expressionCache.invalidate(resource.getId());
         ldapEntryManager.remove(resource);
     }
 
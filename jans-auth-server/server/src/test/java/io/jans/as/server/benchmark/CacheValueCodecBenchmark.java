@@ -0,0 +1,179 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.jans.as.common.model.common.User;
+import io.jans.as.common.model.registration.Client;
+import io.jans.as.common.model.session.SessionId;
+import io.jans.as.common.model.session.SessionIdAccessMap;
+import io.jans.as.common.model.session.SessionIdState;
+import io.jans.as.server.model.common.CacheGrant;
+import io.jans.service.cache.AbstractCacheValueCodec;
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.CacheValueCodec;
+import io.jans.service.cache.CacheValueCodecFactory;
+import io.jans.service.cache.CacheValueCodecType;
+
+/**
+ * Compares cache value codecs on session and grant objects.
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.jans.as.server.benchmark.CacheValueCodecBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheValueCodecBenchmark {
+
+	private static final List<String> KRYO_REGISTERED_CLASSES = Arrays.asList(SessionId.class.getName(),
+			SessionIdState.class.getName(), SessionIdAccessMap.class.getName(), CacheGrant.class.getName(),
+			User.class.getName(), "io.jans.orm.model.base.CustomObjectAttribute", Client.class.getName(),
+			"io.jans.as.persistence.model.ClientAttributes", "io.jans.orm.model.base.LocalizedString",
+			"io.jans.as.model.register.ApplicationType", "io.jans.as.model.common.SubjectType",
+			"io.jans.orm.model.base.CustomAttribute");
+
+	@Param({ "JAVA", "KRYO" })
+	private CacheValueCodecType codecType;
+
+	@Param({ "SESSION_ID", "CACHE_GRANT" })
+	private String payload;
+
+	private CacheValueCodec codec;
+	private Object value;
+	private byte[] encoded;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class EncodedSize {
+		public long bytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytes = 0;
+		}
+	}
+
+	@Setup
+	public void setup() {
+		CacheConfiguration cacheConfiguration = new CacheConfiguration();
+		cacheConfiguration.setValueCodecType(codecType);
+		cacheConfiguration.setKryoRegisteredClasses(KRYO_REGISTERED_CLASSES);
+
+		codec = CacheValueCodecFactory.getCodec(cacheConfiguration);
+		value = "SESSION_ID".equals(payload) ? createSessionId() : createCacheGrant();
+		encoded = codec.encode(value);
+
+		if ((CacheValueCodecType.KRYO == codecType) && (encoded[0] != AbstractCacheValueCodec.HEADER_MAGIC)) {
+			// Kryo codec falls back to Java serialization for not registered classes
+			throw new IllegalStateException("Payload has classes which are not registered in Kryo codec, see codec debug log");
+		}
+	}
+
+	@Benchmark
+	public byte[] encode(EncodedSize encodedSize) {
+		byte[] result = codec.encode(value);
+		encodedSize.bytes += result.length;
+
+		return result;
+	}
+
+	@Benchmark
+	public Object decode() {
+		return codec.decode(encoded);
+	}
+
+	private static SessionId createSessionId() {
+		String id = UUID.randomUUID().toString();
+
+		Map<String, String> sessionAttributes = new HashMap<>();
+		sessionAttributes.put("client_id", "1800.b9a8ed23-b1da-4c14-9f5b-c3b0f8e2d5f1");
+		sessionAttributes.put("redirect_uri", "https://rp.example.org/callback");
+		sessionAttributes.put("response_type", "code");
+		sessionAttributes.put("scope", "openid profile email");
+		sessionAttributes.put("state", UUID.randomUUID().toString());
+		sessionAttributes.put("nonce", UUID.randomUUID().toString());
+		sessionAttributes.put("acr_values", "basic");
+		sessionAttributes.put("auth_step", "1");
+		sessionAttributes.put("acr", "basic");
+
+		SessionId sessionId = new SessionId();
+		sessionId.setId(id);
+		sessionId.setDn(String.format("jansId=%s,ou=sessions,o=jans", id));
+		sessionId.setUserDn("inum=b9a8ed23-b1da-4c14-9f5b-c3b0f8e2d5f1,ou=people,o=jans");
+		sessionId.setState(SessionIdState.AUTHENTICATED);
+		sessionId.setAuthenticationTime(new Date());
+		sessionId.setLastUsedAt(new Date());
+		sessionId.setExpirationDate(new Date(System.currentTimeMillis() + 86400000L));
+		sessionId.setPermissionGranted(true);
+		sessionId.setSessionAttributes(sessionAttributes);
+		sessionId.setDeviceSecrets(new ArrayList<>(Arrays.asList(UUID.randomUUID().toString())));
+		sessionId.setTtl(86400);
+
+		return sessionId;
+	}
+
+	private static CacheGrant createCacheGrant() {
+		User user = new User();
+		user.setDn("inum=b9a8ed23-b1da-4c14-9f5b-c3b0f8e2d5f1,ou=people,o=jans");
+		user.setUserId("admin");
+		user.setAttribute("mail", "admin@example.org");
+		user.setAttribute("givenName", "Admin");
+
+		Client client = new Client();
+		client.setDn("inum=1800.b9a8ed23,ou=clients,o=jans");
+		client.setClientId("1800.b9a8ed23-b1da-4c14-9f5b-c3b0f8e2d5f1");
+		client.setClientName("Benchmark RP");
+		client.setRedirectUris(new String[] { "https://rp.example.org/callback" });
+		client.setScopes(new String[] { "inum=F0C4,ou=scopes,o=jans", "inum=43F1,ou=scopes,o=jans" });
+
+		CacheGrant cacheGrant = new CacheGrant();
+		cacheGrant.setAuthorizationCodeString(UUID.randomUUID().toString());
+		cacheGrant.setUser(user);
+		cacheGrant.setClient(client);
+		cacheGrant.setAuthenticationTime(new Date());
+		cacheGrant.setScopes(new HashSet<>(Arrays.asList("openid", "profile", "email")));
+		cacheGrant.setGrantId(UUID.randomUUID().toString());
+		cacheGrant.setNonce(UUID.randomUUID().toString());
+		cacheGrant.setAcrValues("basic");
+		cacheGrant.setSessionDn("jansId=" + UUID.randomUUID() + ",ou=sessions,o=jans");
+
+		return cacheGrant;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CacheValueCodecBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.benchmark;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.nimbusds.jose.crypto.impl.ECDSA;
+
+import io.jans.as.model.crypto.AuthCryptoProvider;
+import io.jans.as.model.crypto.signature.AlgorithmFamily;
+import io.jans.as.model.crypto.signature.SignatureAlgorithm;
+import io.jans.as.model.jwk.Algorithm;
+import io.jans.as.model.jwk.JWKParameter;
+import io.jans.as.model.util.Base64Util;
+import io.jans.util.security.SecurityProviderUtility;
+
+/**
+ * Compares JWT signing and verification with cached keys and reused Signature engines
+ * against loading key from keystore and creating Signature per call.
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.jans.as.server.benchmark.CryptoProviderSignBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CryptoProviderSignBenchmark {
+
+	private static final String KEY_STORE_SECRET = "secret";
+	private static final String DN_NAME = "CN=Jans Auth CA Certificates";
+
+	@Param({ "RS256", "ES256", "PS256", "EdDSA" })
+	private String algorithm;
+
+	private File keyStoreFile;
+	private AuthCryptoProvider cryptoProvider;
+	private SignatureAlgorithm signatureAlgorithm;
+	private String keyId;
+	private String signingInput;
+	private String signature;
+
+	@Setup
+	public void setup() throws Exception {
+		SecurityProviderUtility.installBCProvider();
+
+		keyStoreFile = File.createTempFile("jans-benchmark", ".p12");
+		keyStoreFile.delete();
+
+		cryptoProvider = new AuthCryptoProvider(keyStoreFile.getAbsolutePath(), KEY_STORE_SECRET, DN_NAME);
+		signatureAlgorithm = SignatureAlgorithm.fromString(algorithm);
+
+		JSONObject key = cryptoProvider.generateKey(Algorithm.fromString(algorithm), System.currentTimeMillis() + TimeUnit.DAYS.toMillis(2));
+		keyId = key.getString(JWKParameter.KEY_ID);
+
+		signingInput = "eyJraWQiOiJjb25uZWN0In0.eyJpc3MiOiJodHRwczovL2phbnMuaW8iLCJzdWIiOiJhZG1pbiIsImF1ZCI6ImNsaWVudCJ9";
+		signature = cryptoProvider.sign(signingInput, keyId, null, signatureAlgorithm);
+	}
+
+	@TearDown
+	public void tearDown() {
+		keyStoreFile.delete();
+	}
+
+	@Benchmark
+	public String signCached() throws Exception {
+		return cryptoProvider.sign(signingInput, keyId, null, signatureAlgorithm);
+	}
+
+	@Benchmark
+	public byte[] signUncached() throws Exception {
+		PrivateKey privateKey = (PrivateKey) cryptoProvider.getKeyStore().getKey(keyId, KEY_STORE_SECRET.toCharArray());
+
+		Signature signer = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+		signer.initSign(privateKey);
+		signer.update(signingInput.getBytes(StandardCharsets.UTF_8));
+
+		byte[] result = signer.sign();
+		if (AlgorithmFamily.EC.equals(signatureAlgorithm.getFamily())) {
+			result = ECDSA.transcodeSignatureToConcat(result, ECDSA.getSignatureByteArrayLength(signatureAlgorithm.getJwsAlgorithm()));
+		}
+
+		return result;
+	}
+
+	@Benchmark
+	public boolean verifyCached() throws Exception {
+		return cryptoProvider.verifySignature(signingInput, signature, keyId, null, null, signatureAlgorithm);
+	}
+
+	@Benchmark
+	public boolean verifyUncached() throws Exception {
+		PublicKey publicKey = cryptoProvider.getKeyStore().getCertificate(keyId).getPublicKey();
+
+		byte[] signatureBytes = Base64Util.base64urldecode(signature);
+		if (AlgorithmFamily.EC.equals(signatureAlgorithm.getFamily())) {
+			signatureBytes = ECDSA.transcodeSignatureToDER(signatureBytes);
+		}
+
+		Signature verifier = Signature.getInstance(signatureAlgorithm.getAlgorithm(), SecurityProviderUtility.getBCProvider());
+		verifier.initVerify(publicKey);
+		verifier.update(signingInput.getBytes(StandardCharsets.UTF_8));
+
+		return verifier.verify(signatureBytes);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(CryptoProviderSignBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.as.server.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.jans.as.model.uma.CompiledJsonLogic;
+import io.jans.as.model.uma.JsonLogic;
+import io.jans.as.model.uma.JsonLogicNode;
+import io.jans.as.model.uma.JsonLogicNodeParser;
+import io.jans.as.model.util.Util;
+
+/**
+ * Compares UMA scope expression evaluation: parse and JsonLogic engine on each call (previous behavior)
+ * against expression compiled once.
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.jans.as.server.benchmark.UmaScopeExpressionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UmaScopeExpressionBenchmark {
+
+	private static final String SIMPLE = "{\"rule\": {\"and\": [{\"var\": 0}, {\"var\": 1}]},"
+			+ " \"data\": [\"read\", \"write\"]}";
+
+	private static final String NESTED = "{\"rule\": {\"and\": [{\"or\": [{\"var\": 0}, {\"var\": 1}]},"
+			+ " {\"!\": {\"var\": 2}}, {\"or\": [{\"and\": [{\"var\": 3}, {\"var\": 4}]}, {\"!\": [{\"var\": 5}]}]}]},"
+			+ " \"data\": [\"read\", \"write\", \"blocked\", \"admin\", \"audit\", \"guest\"]}";
+
+	private static final String DEEP = "{\"rule\": {\"or\": [{\"and\": [{\"var\": 0}, {\"or\": [{\"var\": 1},"
+			+ " {\"and\": [{\"var\": 2}, {\"!\": {\"var\": 3}}]}]}]}, {\"if\": [{\"var\": 4}, {\"!=\": [{\"var\": 5}, {\"var\": 6}]},"
+			+ " {\"and\": [{\"!!\": [{\"var\": 7}]}, {\"!\": {\"or\": [{\"var\": 0}, {\"var\": 3}]}}]}]}]},"
+			+ " \"data\": [\"s0\", \"s1\", \"s2\", \"s3\", \"s4\", \"s5\", \"s6\", \"s7\"]}";
+
+	@Param({ "SIMPLE", "NESTED", "DEEP" })
+	private String expressionType;
+
+	private String scopeExpression;
+	private CompiledJsonLogic compiled;
+	private List<Boolean> data;
+
+	@Setup
+	public void setup() {
+		if ("SIMPLE".equals(expressionType)) {
+			scopeExpression = SIMPLE;
+		} else if ("NESTED".equals(expressionType)) {
+			scopeExpression = NESTED;
+		} else {
+			scopeExpression = DEEP;
+		}
+
+		JsonLogicNode node = JsonLogicNodeParser.parseNode(scopeExpression);
+		compiled = CompiledJsonLogic.compile(node.getRule());
+
+		data = new ArrayList<>();
+		for (int i = 0; i < node.getData().size(); i++) {
+			data.add(i % 3 != 2);
+		}
+	}
+
+	@Benchmark
+	public boolean parseAndEvaluateEachCall() throws ScriptException {
+		JsonLogicNode node = JsonLogicNodeParser.parseNode(scopeExpression);
+
+		return JsonLogic.apply(node.getRule().toString(), Util.asJsonSilently(data));
+	}
+
+	@Benchmark
+	public boolean evaluateCompiled() throws ScriptException {
+		return compiled.apply(data);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(UmaScopeExpressionBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -1,10 +1,19 @@
 package io.jans.as.server.model.common;
 
 import io.jans.as.server.authorize.ws.rs.AuthzRequest;
+import io.jans.model.token.TokenEntity;
 import jakarta.faces.context.ExternalContext;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 /**
  * @author Yuriy Z
@@ -16,4 +25,21 @@ public class ExecutionContextTest {
         assertNotNull(ExecutionContext.of((ExternalContext) null));
         assertNotNull(ExecutionContext.of((AuthzRequest) null));
     }
+
+    @Test
+    public void finishTokenBatch_shouldReturnTokensAndReleaseThemInGrants() {
+        AuthorizationGrant grant = mock(AuthorizationGrant.class);
+        ExecutionContext executionContext = new ExecutionContext();
+
+        executionContext.startTokenBatch();
+        assertTrue(executionContext.isTokenBatchStarted());
+
+        executionContext.addPendingToken(grant, new TokenEntity());
+        executionContext.addPendingToken(grant, new TokenEntity());
+
+        List<TokenEntity> tokens = executionContext.finishTokenBatch();
+        assertEquals(2, tokens.size());
+        assertFalse(executionContext.isTokenBatchStarted());
+        verify(grant, times(1)).clearPendingTokens();
+    }
 }
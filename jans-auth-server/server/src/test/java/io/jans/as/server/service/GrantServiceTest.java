@@ -1,8 +1,12 @@
 package io.jans.as.server.service;
 
+import io.jans.as.common.model.common.User;
+import io.jans.as.model.config.BaseDnConfiguration;
 import io.jans.as.model.config.StaticConfiguration;
 import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.model.common.CachedTokenEntity;
 import io.jans.as.server.service.token.StatusListIndexService;
+import io.jans.as.server.util.TokenHashUtil;
 import io.jans.model.token.TokenEntity;
 import io.jans.model.token.TokenType;
 import io.jans.orm.PersistenceEntryManager;
@@ -18,6 +22,8 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.testng.Assert.*;
 
 /**
@@ -38,6 +44,9 @@ public class GrantServiceTest {
     @Mock
     private ClientService clientService;
 
+    @Mock
+    private UserService userService;
+
     @Mock
     private CacheService cacheService;
 
@@ -81,6 +90,95 @@ public class GrantServiceTest {
         assertTrue(grantService.shouldSaveInCache());
     }
 
+    @Test
+    public void mergeSilently_whenBatchFails_shouldMergeTokensOneByOne() {
+        TokenEntity valid = new TokenEntity();
+        valid.setTokenCode("valid");
+        TokenEntity invalid = new TokenEntity();
+        invalid.setTokenCode("invalid");
+        final List<TokenEntity> tokens = List.of(valid, invalid);
+
+        Mockito.doThrow(new RuntimeException("batch failed")).when(persistenceEntryManager).merge(tokens);
+        Mockito.doThrow(new RuntimeException("invalid token")).when(persistenceEntryManager).merge(invalid);
+
+        grantService.mergeSilently(tokens);
+        Mockito.verify(persistenceEntryManager).merge(valid);
+        Mockito.verify(persistenceEntryManager).merge(invalid);
+    }
+
+    @Test
+    public void persist_withTokenList_shouldPersistInOneCall() {
+        final List<TokenEntity> tokens = List.of(new TokenEntity(), new TokenEntity());
+
+        grantService.persist(tokens);
+        Mockito.verify(persistenceEntryManager).persist(tokens);
+        Mockito.verify(persistenceEntryManager, Mockito.never()).persist(any(TokenEntity.class));
+    }
+
+    @Test
+    public void getGrantByCode_whenTokenEntityCacheEnabled_shouldReturnCopyOfCachedToken() {
+        Mockito.doReturn(60).when(appConfiguration).getTokenEntityCacheLifetime();
+
+        TokenEntity token = new TokenEntity();
+        token.setTokenCode(TokenHashUtil.hash("code"));
+        token.setScope("openid");
+        Mockito.doReturn(new CachedTokenEntity(token, null)).when(cacheService).getWithPut(eq("tkn_entity_" + TokenHashUtil.hash("code")), any(), eq(60));
+
+        TokenEntity grant = grantService.getGrantByCode("code");
+        assertNotSame(grant, token);
+        assertEquals(grant.getTokenCode(), token.getTokenCode());
+
+        grant.setScope("changed");
+        assertEquals(token.getScope(), "openid");
+        Mockito.verifyNoInteractions(persistenceEntryManager);
+    }
+
+    @Test
+    public void getGrantWithOwnerByCode_whenTokenEntityCacheEnabled_shouldReturnCachedOwner() {
+        Mockito.doReturn(60).when(appConfiguration).getTokenEntityCacheLifetime();
+
+        TokenEntity token = new TokenEntity();
+        token.setTokenCode(TokenHashUtil.hash("code"));
+        token.setUserId("admin");
+        User owner = new User();
+        owner.setUserId("admin");
+        Mockito.doReturn(new CachedTokenEntity(token, owner)).when(cacheService).getWithPut(eq("tkn_entity_" + TokenHashUtil.hash("code")), any(), eq(60));
+
+        CachedTokenEntity grant = grantService.getGrantWithOwnerByCode("code");
+        assertEquals(grant.getTokenEntity().getTokenCode(), token.getTokenCode());
+        assertEquals(grant.getOwner().getUserId(), "admin");
+        Mockito.verifyNoInteractions(persistenceEntryManager, userService);
+    }
+
+    @Test
+    public void getGrantWithOwnerByCode_whenTokenEntityCacheDisabled_shouldLoadOwner() {
+        TokenEntity token = new TokenEntity();
+        token.setUserId("admin");
+        User owner = new User();
+        BaseDnConfiguration baseDnConfiguration = new BaseDnConfiguration();
+        baseDnConfiguration.setTokens("ou=tokens,o=jans");
+        Mockito.doReturn(baseDnConfiguration).when(staticConfiguration).getBaseDn();
+        Mockito.doReturn(token).when(persistenceEntryManager).find(eq(TokenEntity.class), any());
+        Mockito.doReturn(owner).when(userService).getUser("admin");
+
+        CachedTokenEntity grant = grantService.getGrantWithOwnerByCode("code");
+        assertSame(grant.getTokenEntity(), token);
+        assertSame(grant.getOwner(), owner);
+    }
+
+    @Test
+    public void remove_whenTokenEntityCacheEnabled_shouldRemoveFromCache() {
+        Mockito.doReturn(60).when(appConfiguration).getTokenEntityCacheLifetime();
+
+        TokenEntity token = new TokenEntity();
+        token.setTokenCode("hashedCode");
+        token.setTokenTypeEnum(TokenType.REFRESH_TOKEN);
+
+        grantService.remove(token);
+        Mockito.verify(persistenceEntryManager).remove(token);
+        Mockito.verify(cacheService).remove("tkn_entity_hashedCode");
+    }
+
     @Test
     public void filterOutRefreshTokenFromDeletion_forTokenWithoutOnlineAccess_shouldFilterOut() {
         Mockito.doReturn(false).when(appConfiguration).getRemoveRefreshTokensForClientOnLogout();
@@ -9,8 +9,8 @@ import io.jans.as.persistence.model.Scope;
 import io.jans.model.JansAttribute;
 import io.jans.model.attribute.AttributeDataType;
 import io.jans.orm.PersistenceEntryManager;
-import io.jans.service.CacheService;
 import io.jans.service.LocalCacheService;
+import io.jans.service.NearCacheService;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -46,7 +46,7 @@ public class ScopeServiceTest {
     private AppConfiguration appConfiguration;
 
     @Mock
-    private CacheService cacheService;
+    private NearCacheService nearCacheService;
 
     @Mock
     private LocalCacheService localCacheService;
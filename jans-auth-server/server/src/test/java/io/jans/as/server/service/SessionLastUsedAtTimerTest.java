@@ -0,0 +1,120 @@
+package io.jans.as.server.service;
+
+import com.codahale.metrics.Timer;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.server.service.cdi.event.SessionLastUsedAtUpdateEvent;
+import io.jans.model.metric.MetricType;
+import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.base.CustomEntry;
+import io.jans.service.timer.event.TimerEvent;
+import jakarta.enterprise.event.Event;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+@Listeners(MockitoTestNGListener.class)
+public class SessionLastUsedAtTimerTest {
+
+    private static final String SESSION_DN = "jansId=1,ou=sessions,o=jans";
+
+    @InjectMocks
+    private SessionLastUsedAtTimer sessionLastUsedAtTimer;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private Event<TimerEvent> timerEvent;
+
+    @Mock
+    private PersistenceEntryManager entryManager;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private MetricService metricService;
+
+    @BeforeMethod
+    public void setUp() {
+        sessionLastUsedAtTimer.initTimer();
+    }
+
+    @Test
+    public void initTimer_shouldRegisterQueueSizeAsGauge() {
+        verify(metricService).registerGauge(eq(MetricType.SESSION_LAST_USED_AT_QUEUE_SIZE), any());
+        verify(metricService, never()).registerCounter(eq(MetricType.SESSION_LAST_USED_AT_QUEUE_SIZE), any());
+    }
+
+    @Test
+    public void process_whenSessionTouchedSeveralTimes_shouldWriteLatestTimeOnce() {
+        mockFlush();
+        final Date first = new Date(1000);
+        final Date latest = new Date(3000);
+
+        sessionLastUsedAtTimer.addLastUsedAt(SESSION_DN, first);
+        sessionLastUsedAtTimer.addLastUsedAt(SESSION_DN, latest);
+        sessionLastUsedAtTimer.addLastUsedAt(SESSION_DN, new Date(2000));
+
+        sessionLastUsedAtTimer.process(new SessionLastUsedAtUpdateEvent());
+
+        ArgumentCaptor<CustomEntry> entryCaptor = ArgumentCaptor.forClass(CustomEntry.class);
+        verify(entryManager, times(1)).merge(entryCaptor.capture());
+        verify(entryManager).encodeTime(SESSION_DN, latest);
+        assertEquals(entryCaptor.getValue().getDn(), SESSION_DN);
+        assertEquals(entryCaptor.getValue().getCustomAttributeValue("jansLastAccessTime"), "20240101000003Z");
+
+        // Queue is drained, next run writes nothing
+        sessionLastUsedAtTimer.process(new SessionLastUsedAtUpdateEvent());
+        verify(entryManager, times(1)).merge(any(CustomEntry.class));
+    }
+
+    @Test
+    public void process_whenUpdateCancelled_shouldNotWriteSession() {
+        sessionLastUsedAtTimer.addLastUsedAt(SESSION_DN, new Date());
+        sessionLastUsedAtTimer.cancel(SESSION_DN);
+
+        sessionLastUsedAtTimer.process(new SessionLastUsedAtUpdateEvent());
+
+        verify(entryManager, never()).merge(any(CustomEntry.class));
+    }
+
+    @Test
+    public void process_beforeIntervalElapsed_shouldKeepUpdateQueued() {
+        when(appConfiguration.getSessionIdLastUsedAtUpdateInterval()).thenReturn(3600);
+        sessionLastUsedAtTimer.addLastUsedAt(SESSION_DN, new Date());
+
+        sessionLastUsedAtTimer.process(new SessionLastUsedAtUpdateEvent());
+        verify(entryManager, never()).merge(any(CustomEntry.class));
+
+        // Interval turned off, queued update is flushed on next run
+        mockFlush();
+        when(appConfiguration.getSessionIdLastUsedAtUpdateInterval()).thenReturn(0);
+        sessionLastUsedAtTimer.process(new SessionLastUsedAtUpdateEvent());
+        verify(entryManager, times(1)).merge(any(CustomEntry.class));
+    }
+
+    private void mockFlush() {
+        Timer timer = mock(Timer.class);
+        when(timer.time()).thenReturn(mock(Timer.Context.class));
+        when(metricService.getTimer(MetricType.SESSION_LAST_USED_AT_FLUSH_RATE)).thenReturn(timer);
+        when(entryManager.encodeTime(eq(SESSION_DN), any(Date.class))).thenReturn("20240101000003Z");
+    }
+}
@@ -0,0 +1,131 @@
+package io.jans.as.server.service.stat;
+
+import net.agkn.hll.HLL;
+import net.agkn.hll.HLLType;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class StatServiceTest {
+
+    @Test
+    public void activeUserRegisters_shouldProduceSameHllAsDirectAdd() {
+        HLL expected = new HLL(15, 5, 0, false, HLLType.FULL);
+        ActiveUserRegisters registers = StatService.newActiveUserRegisters();
+
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            long value = i % 2 == 0 ? random.nextLong() : ("user" + i).hashCode();
+            expected.addRaw(value);
+            registers.addRaw(value);
+        }
+
+        assertTrue(Arrays.equals(registers.toHll().toBytes(), expected.toBytes()));
+    }
+
+    @Test
+    public void mergeHll_shouldUnionPersistedHllWithReportedUsers() {
+        Random random = new Random(11);
+        long[] users = new long[3000];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = random.nextLong();
+        }
+
+        HLL persisted = new HLL(15, 5);
+        ActiveUserRegisters registers = StatService.newActiveUserRegisters();
+        for (int i = 0; i < 2000; i++) {
+            persisted.addRaw(users[i]);
+        }
+        // Users 1000-1999 are reported again after restart, they must not be counted twice
+        for (int i = 1000; i < users.length; i++) {
+            registers.addRaw(users[i]);
+        }
+
+        long cardinality = StatService.mergeHll(persisted, registers).cardinality();
+        assertTrue(Math.abs(cardinality - users.length) < users.length * 0.03, "cardinality: " + cardinality);
+    }
+
+    @Test
+    public void mergeHll_withoutReportedUsers_shouldKeepPersistedHll() {
+        HLL persisted = new HLL(15, 5);
+        persisted.addRaw(42L);
+
+        HLL merged = StatService.mergeHll(persisted, StatService.newActiveUserRegisters());
+        assertEquals(merged.toBytes(), persisted.toBytes());
+    }
+
+    @Test
+    public void activeUserRegisters_concurrentAdd_shouldNotLoseUsers() throws InterruptedException {
+        ActiveUserRegisters registers = StatService.newActiveUserRegisters();
+        HLL expected = new HLL(15, 5, 0, false, HLLType.FULL);
+        int threads = 8;
+        int perThread = 5000;
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < perThread; i++) {
+                expected.addRaw(random.nextLong());
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            executor.execute(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < perThread; i++) {
+                    registers.addRaw(random.nextLong());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(Arrays.equals(registers.toHll().toBytes(), expected.toBytes()));
+    }
+
+    @Test
+    public void tokenCounters_shouldContinueFromPersistedValues() {
+        Map<String, Map<String, Long>> persisted = new HashMap<>();
+        Map<String, Long> tokens = new HashMap<>();
+        tokens.put(StatService.ACCESS_TOKEN_KEY, 5L);
+        tokens.put(StatService.ID_TOKEN_KEY, null);
+        persisted.put("authorization_code", tokens);
+        persisted.put("implicit", null);
+
+        ConcurrentMap<String, ConcurrentMap<String, LongAdder>> counters = StatService.toTokenCounters(persisted);
+        counters.get("authorization_code").get(StatService.ACCESS_TOKEN_KEY).increment();
+        counters.computeIfAbsent("client_credentials", k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(StatService.ACCESS_TOKEN_KEY, k -> new LongAdder()).increment();
+
+        Map<String, Map<String, Long>> sum = StatService.sumTokenCounters(counters);
+        assertEquals(sum.get("authorization_code").get(StatService.ACCESS_TOKEN_KEY), Long.valueOf(6));
+        assertEquals(sum.get("client_credentials").get(StatService.ACCESS_TOKEN_KEY), Long.valueOf(1));
+        assertEquals(sum.size(), 2);
+    }
+
+    @Test
+    public void monthEndsAt_shouldRollOverToNextYear() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2024, Calendar.DECEMBER, 31, 23, 59, 59);
+
+        Calendar expected = Calendar.getInstance();
+        expected.clear();
+        expected.set(2025, Calendar.JANUARY, 1);
+
+        assertEquals(StatService.monthEndsAt(calendar.getTime()), expected.getTimeInMillis());
+    }
+}
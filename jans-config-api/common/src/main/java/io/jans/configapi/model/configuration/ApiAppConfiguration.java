@@ -103,6 +103,12 @@ public class ApiAppConfiguration implements Configuration {
     @Schema(description = "Asset management configuration details.")
     private AssetMgtConfiguration assetMgtConfiguration;
 
+    @Schema(description = "Maximum number of cached token validation results. Value `0` disables cache. Default value `1000`.")
+    private int tokenCacheMaxSize = 1000;
+
+    @Schema(description = "Maximum lifetime of cached token validation result in seconds. Result is never cached longer than token lifetime. Default value `60`.")
+    private int tokenCacheMaxLifetime = 60;
+
     public String getServiceName() {
         return serviceName;
     }
@@ -354,6 +360,22 @@ public class ApiAppConfiguration implements Configuration {
         this.assetMgtConfiguration = assetMgtConfiguration;
     }
 
+    public int getTokenCacheMaxSize() {
+        return tokenCacheMaxSize;
+    }
+
+    public void setTokenCacheMaxSize(int tokenCacheMaxSize) {
+        this.tokenCacheMaxSize = tokenCacheMaxSize;
+    }
+
+    public int getTokenCacheMaxLifetime() {
+        return tokenCacheMaxLifetime;
+    }
+
+    public void setTokenCacheMaxLifetime(int tokenCacheMaxLifetime) {
+        this.tokenCacheMaxLifetime = tokenCacheMaxLifetime;
+    }
+
     @Override
     public String toString() {
         return "ApiAppConfiguration [serviceName=" + serviceName + ", configOauthEnabled=" + configOauthEnabled
@@ -371,7 +393,8 @@ public class ApiAppConfiguration implements Configuration {
                 + ", userExclusionAttributes=" + userExclusionAttributes + ", userMandatoryAttributes="
                 + userMandatoryAttributes + ", agamaConfiguration=" + agamaConfiguration + ", auditLogConf="
                 + auditLogConf + ", dataFormatConversionConf=" + dataFormatConversionConf + ", plugins=" + plugins
-                + ", assetMgtConfiguration=" + assetMgtConfiguration + "]";
+                + ", assetMgtConfiguration=" + assetMgtConfiguration + ", tokenCacheMaxSize=" + tokenCacheMaxSize
+                + ", tokenCacheMaxLifetime=" + tokenCacheMaxLifetime + "]";
     }    
     
 }
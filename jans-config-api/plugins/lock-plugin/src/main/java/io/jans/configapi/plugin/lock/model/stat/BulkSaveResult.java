@@ -0,0 +1,56 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.configapi.plugin.lock.model.stat;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Result of bulk save. Client should resend only entries listed in failed
+ */
+public class BulkSaveResult implements Serializable {
+
+	private static final long serialVersionUID = 3425374356289573241L;
+
+	@Schema(description = "Number of saved entries")
+	private int saved;
+
+	@Schema(description = "Indexes of entries in request which weren't saved")
+	private List<Integer> failed;
+
+	public BulkSaveResult() {
+	}
+
+	public BulkSaveResult(int saved, List<Integer> failed) {
+		this.saved = saved;
+		this.failed = failed;
+	}
+
+	public int getSaved() {
+		return saved;
+	}
+
+	public void setSaved(int saved) {
+		this.saved = saved;
+	}
+
+	public List<Integer> getFailed() {
+		return failed;
+	}
+
+	public void setFailed(List<Integer> failed) {
+		this.failed = failed;
+	}
+
+	@Override
+	public String toString() {
+		return "BulkSaveResult [saved=" + saved + ", failed=" + failed + "]";
+	}
+
+}
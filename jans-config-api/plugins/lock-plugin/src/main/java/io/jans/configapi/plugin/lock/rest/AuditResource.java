@@ -18,6 +18,7 @@ import io.jans.as.common.service.common.ApplicationFactory;
 import io.jans.configapi.core.model.ApiError;
 import io.jans.configapi.core.rest.BaseResource;
 import io.jans.configapi.core.rest.ProtectedApi;
+import io.jans.configapi.plugin.lock.model.stat.BulkSaveResult;
 import io.jans.configapi.plugin.lock.model.stat.HealthEntry;
 import io.jans.configapi.plugin.lock.model.stat.LogEntry;
 import io.jans.configapi.plugin.lock.model.stat.TelemetryEntry;
@@ -53,6 +54,7 @@ import jakarta.ws.rs.core.Response;
 @Produces(MediaType.APPLICATION_JSON)
 public class AuditResource extends BaseResource {
 
+    private static final int MULTI_STATUS = 207;
     private static final String EVENT_START_DATE_ISO8601 = "eventStartDateIso8601";
     private static final String EVENT_END_DATE_ISO8601 = "eventEndDateIso8601";
     private static final String EVENT_START_DATE_PARSE_ERR = "Can't parse event start date !";
@@ -91,7 +93,8 @@ public class AuditResource extends BaseResource {
 	@Operation(summary = "Bulk save health data", description = "Bulk save health data", operationId = "bulk-save-health-data", tags = {
 			"Lock - Audit" }, security = @SecurityRequirement(name = "oauth2", scopes = {
 					Constants.LOCK_HEALTH_WRITE_ACCESS }))
-	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Ok"),
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Ok", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BulkSaveResult.class))),
+			@ApiResponse(responseCode = "207", description = "Some entries weren't saved", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BulkSaveResult.class))),
 			@ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ApiError.class, description = "BadRequestException"))),
 			@ApiResponse(responseCode = "401", description = "Unauthorized"),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ApiError.class, description = "NotFoundException"))),
@@ -102,11 +105,9 @@ public class AuditResource extends BaseResource {
 	public Response postBulkHealthData(@Valid List<HealthEntry> healthEntries) {
 		logger.debug("Bulk save Health Data - healthEntries:{}", healthEntries);
 
-		for (HealthEntry healthEntry: healthEntries) {
-			auditService.addHealthEntry(healthEntry);
-		}
+		List<Integer> failedIndexes = auditService.addHealthEntries(healthEntries);
 
-		return Response.status(Response.Status.OK).build();
+		return getBulkResponse(healthEntries.size(), failedIndexes);
 	}
 
 	@Operation(summary = "Rerquest health records for specific event range", description = "Rerquest health records for specific event range", operationId = "request-lock-health-records-event-range", tags = {
@@ -162,7 +163,8 @@ public class AuditResource extends BaseResource {
 	@Operation(summary = "Bulk save log data", description = "Bulk save log data", operationId = "bulk-save-log-data", tags = {
 			"Lock - Audit" }, security = @SecurityRequirement(name = "oauth2", scopes = {
 					Constants.LOCK_LOG_WRITE_ACCESS }))
-	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Ok"),
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Ok", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BulkSaveResult.class))),
+			@ApiResponse(responseCode = "207", description = "Some entries weren't saved", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BulkSaveResult.class))),
 			@ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ApiError.class, description = "BadRequestException"))),
 			@ApiResponse(responseCode = "401", description = "Unauthorized"),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ApiError.class, description = "NotFoundException"))),
@@ -173,11 +175,9 @@ public class AuditResource extends BaseResource {
 	public Response postBulkLogData(@Valid List<LogEntry> logEntries) {
 		logger.debug("Bulk save Log Data - logEntries:{}", logEntries);
 
-		for (LogEntry LogEntry : logEntries) {
-			auditService.addLogData(LogEntry);
-		}
+		List<Integer> failedIndexes = auditService.addLogEntries(logEntries);
 
-		return Response.status(Response.Status.OK).build();
+		return getBulkResponse(logEntries.size(), failedIndexes);
 	}
 
 	@Operation(summary = "Rerquest log records for specific event range", description = "Rerquest log records for specific event range", operationId = "request-lock-log-records-event-range", tags = {
@@ -233,7 +233,8 @@ public class AuditResource extends BaseResource {
 	@Operation(summary = "Bulk save telemetry data", description = "Bulk save telemetry data", operationId = "bulk-save-telemetry-data", tags = {
 			"Lock - Audit" }, security = @SecurityRequirement(name = "oauth2", scopes = {
 					Constants.LOCK_TELEMETRY_WRITE_ACCESS }))
-	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Ok"),
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Ok", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BulkSaveResult.class))),
+			@ApiResponse(responseCode = "207", description = "Some entries weren't saved", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BulkSaveResult.class))),
 			@ApiResponse(responseCode = "400", description = "Bad Request", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ApiError.class, description = "BadRequestException"))),
 			@ApiResponse(responseCode = "401", description = "Unauthorized"),
 			@ApiResponse(responseCode = "404", description = "Not Found", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = ApiError.class, description = "NotFoundException"))),
@@ -244,11 +245,9 @@ public class AuditResource extends BaseResource {
 	public Response postBulkTelemetryData(@Valid List<TelemetryEntry> telemetryEntries) {
 		logger.debug("Bulk save Telemetry Data - telemetryEntries:{}", telemetryEntries);
 
-		for (TelemetryEntry telemetryEntry : telemetryEntries) {
-			auditService.addTelemetryData(telemetryEntry);
-		}
+		List<Integer> failedIndexes = auditService.addTelemetryEntries(telemetryEntries);
 
-		return Response.status(Response.Status.OK).build();
+		return getBulkResponse(telemetryEntries.size(), failedIndexes);
 	}
 
 	@Operation(summary = "Request telemetry records for specific event range", description = "Rerquest telemetry records for specific event range", operationId = "request-lock-telemetry-records-event-range", tags = {
@@ -292,5 +291,16 @@ public class AuditResource extends BaseResource {
 		}
 	}
 
+	/*
+	 * Client should resend only entries which weren't saved
+	 */
+	private Response getBulkResponse(int count, List<Integer> failedIndexes) {
+		BulkSaveResult result = new BulkSaveResult(count - failedIndexes.size(), failedIndexes);
+		if (failedIndexes.isEmpty()) {
+			return Response.status(Response.Status.OK).entity(result).build();
+		}
+
+		return Response.status(MULTI_STATUS).entity(result).build();
+	}
 
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import io.jans.configapi.plugin.lock.model.stat.LogEntry;
 import io.jans.configapi.plugin.lock.model.stat.TelemetryEntry;
 import io.jans.model.SearchRequest;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.model.base.BaseEntry;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SortOrder;
 import io.jans.orm.search.filter.Filter;
@@ -66,6 +67,20 @@ public class AuditService {
         return telemetryEntry;
     }
 
+    /**
+     * Persist entries in one batch
+     *
+     * @return indexes of entries which weren't persisted
+     */
+    public List<Integer> addTelemetryEntries(List<TelemetryEntry> telemetryEntries) {
+        for (TelemetryEntry telemetryEntry : telemetryEntries) {
+            String inum = inumService.generateId("telemetry");
+            telemetryEntry.setInum(inum);
+            telemetryEntry.setDn(this.getDnForTelemetryEntry(inum));
+        }
+        return this.persistEntries(telemetryEntries, TelemetryEntry.class);
+    }
+
     public void removeTelemetryEntry(TelemetryEntry telemetryEntry) {
         persistenceEntryManager.removeRecursively(telemetryEntry.getDn(), TelemetryEntry.class);
     }
@@ -197,6 +212,20 @@ public class AuditService {
         return healthEntry;
     }
 
+    /**
+     * Persist entries in one batch
+     *
+     * @return indexes of entries which weren't persisted
+     */
+    public List<Integer> addHealthEntries(List<HealthEntry> healthEntries) {
+        for (HealthEntry healthEntry : healthEntries) {
+            String inum = inumService.generateId("health");
+            healthEntry.setInum(inum);
+            healthEntry.setDn(this.getDnForHealthEntry(inum));
+        }
+        return this.persistEntries(healthEntries, HealthEntry.class);
+    }
+
     public List<HealthEntry> getHealthEntrysByRange(Date eventDateStart, Date eventDateEnd, int sizeLimit) {
         logger.debug("Search HealthEntrys by event range: [{}, {}], sizeLimit:{}", eventDateStart, eventDateEnd, sizeLimit);
 
@@ -246,6 +275,20 @@ public class AuditService {
         return logEntry;
     }
 
+    /**
+     * Persist entries in one batch
+     *
+     * @return indexes of entries which weren't persisted
+     */
+    public List<Integer> addLogEntries(List<LogEntry> logEntries) {
+        for (LogEntry logEntry : logEntries) {
+            String inum = inumService.generateId("log");
+            logEntry.setInum(inum);
+            logEntry.setDn(this.getDnForLogEntry(inum));
+        }
+        return this.persistEntries(logEntries, LogEntry.class);
+    }
+
     public List<LogEntry> getLogEntrysByRange(Date eventDateStart, Date eventDateEnd, int sizeLimit) {
         logger.debug("Search LogEntrys by event range: [{}, {}], sizeLimit:{}", eventDateStart, eventDateEnd, sizeLimit);
 
@@ -293,6 +336,39 @@ public class AuditService {
         } while (persistenceEntryManager.contains(newDn, classObj));
         return newInum;
     }
+
+    /*
+     * Bulk entries always get new generated inums, so there is no need to check existing
+     * entries before persist or to read them back after. If batch fails entries are persisted
+     * one by one, entry which already exists was written by failed batch
+     */
+    private <T extends BaseEntry> List<Integer> persistEntries(List<T> entries, Class<T> entryClass) {
+        logger.debug("Persisting {} audit entries", entries.size());
+        List<Integer> failedIndexes = new ArrayList<>();
+        try {
+            persistenceEntryManager.persist(entries);
+            return failedIndexes;
+        } catch (Exception ex) {
+            logger.warn("Failed to persist batch of {} audit entries, persisting them one by one", entries.size(), ex);
+        }
+
+        for (int i = 0; i < entries.size(); i++) {
+            T entry = entries.get(i);
+            try {
+                if (!persistenceEntryManager.contains(entry.getDn(), entryClass)) {
+                    persistenceEntryManager.persist(entry);
+                }
+            } catch (Exception ex) {
+                failedIndexes.add(i);
+                logger.error("Failed to persist audit entry: {}", entry.getDn(), ex);
+            }
+        }
+        if (!failedIndexes.isEmpty()) {
+            logger.error("Failed to persist {} of {} audit entries", failedIndexes.size(), entries.size());
+        }
+
+        return failedIndexes;
+    }
     
    
 
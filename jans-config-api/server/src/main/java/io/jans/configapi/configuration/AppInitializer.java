@@ -12,6 +12,7 @@ import io.jans.configapi.model.configuration.AssetMgtConfiguration;
 import io.jans.configapi.security.api.ApiProtectionService;
 import io.jans.configapi.security.service.AuthorizationService;
 import io.jans.configapi.security.service.OpenIdAuthorizationService;
+import io.jans.configapi.security.service.TokenValidationCache;
 import io.jans.configapi.service.logger.LoggerService;
 import io.jans.exception.ConfigurationException;
 import io.jans.exception.OxIntializationException;
@@ -90,6 +91,9 @@ public class AppInitializer {
     @Inject
     DocumentStoreManager documentStoreManager;
 
+    @Inject
+    TokenValidationCache tokenValidationCache;
+
     public void onStart(@Observes @Initialized(ApplicationScoped.class) Object init) {
         log.info("=============  STARTING API APPLICATION  ========================");
         log.info("init:{}", init);
@@ -120,6 +124,9 @@ public class AppInitializer {
         // Schedule timer tasks
         configurationFactory.initTimer();
 
+        // Evict cached token validations on token removal
+        tokenValidationCache.subscribe();
+
         // load custom assets
         this.loadCustomAsset(apiAppConfiguration.getServiceName());
 
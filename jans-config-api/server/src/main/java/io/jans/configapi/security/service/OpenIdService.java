@@ -39,6 +39,9 @@ public class OpenIdService implements Serializable {
     @Inject
     transient ConfigurationService configurationService;
 
+    @Inject
+    transient TokenValidationCache tokenValidationCache;
+
     private transient IntrospectionService introspectionService;
 
     public IntrospectionService getIntrospectionService() {
@@ -48,6 +51,12 @@ public class OpenIdService implements Serializable {
     public IntrospectionResponse getIntrospectionResponse(String header, String token, String issuer) throws JsonProcessingException {
         log.debug("oAuth Introspection request , header:{}, token:{}, issuer:{}", header, token, issuer);
 
+        IntrospectionResponse cachedResponse = tokenValidationCache.getIntrospectionResponse(token, issuer);
+        if (cachedResponse != null) {
+            log.debug("oAuth Introspection response taken from cache");
+            return cachedResponse;
+        }
+
         String introspectionUrl = authUtil.getIntrospectionEndpoint();
         if (StringUtils.isNotBlank(issuer)) {
             introspectionUrl = AuthClientFactory.getIntrospectionEndpoint(issuer);
@@ -55,7 +64,10 @@ public class OpenIdService implements Serializable {
         }
 
         log.info("oAuth Final introspectionUrl:{} ", introspectionUrl);
-        return AuthClientFactory.getIntrospectionResponse(introspectionUrl, header, token, false);
+        IntrospectionResponse introspectionResponse = AuthClientFactory.getIntrospectionResponse(introspectionUrl,
+                header, token, false);
+        tokenValidationCache.putIntrospectionResponse(token, issuer, introspectionResponse);
+        return introspectionResponse;
     }
 
     public String requestAccessToken(final String clientId, final List<String> scope) {
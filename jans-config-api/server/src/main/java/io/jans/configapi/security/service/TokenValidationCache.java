@@ -0,0 +1,273 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.configapi.security.service;
+
+import io.jans.as.model.common.IntrospectionResponse;
+import io.jans.as.model.configuration.AppConfiguration;
+import io.jans.as.model.configuration.LockMessageConfig;
+import io.jans.configapi.configuration.ConfigurationFactory;
+import io.jans.configapi.model.configuration.ApiAppConfiguration;
+import io.jans.service.MessageService;
+import io.jans.service.cdi.event.ConfigurationUpdate;
+import io.jans.service.message.pubsub.PubSubInterface;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import net.jodah.expiringmap.ExpirationPolicy;
+import net.jodah.expiringmap.ExpiringMap;
+
+/**
+ * Keeps results of JWT validation and token introspection keyed by token hash.
+ * Entries are evicted on token expiration, after configured max lifetime or when
+ * auth server publishes token removal message.
+ */
+@ApplicationScoped
+public class TokenValidationCache implements PubSubInterface {
+
+    private static final String TOKEN_OPERATION_DELETE = "del";
+
+    @Inject
+    Logger log;
+
+    @Inject
+    ConfigurationFactory configurationFactory;
+
+    @Inject
+    Instance<MessageService> messageServiceInstance;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile ExpiringMap<String, CachedValidation> validations;
+    private volatile int validationsMaxSize;
+
+    private MessageService messageService;
+    private String subscribedChannel;
+
+    public void subscribe() {
+        updateSubscription(configurationFactory.getAppConfiguration());
+    }
+
+    public void updateConfiguration(@Observes @ConfigurationUpdate AppConfiguration appConfiguration) {
+        updateSubscription(appConfiguration);
+    }
+
+    @PreDestroy
+    public synchronized void unsubscribe() {
+        if (messageService != null) {
+            messageService.unsubscribe(this);
+            log.info("Unsubscribed from token messages channel '{}'", subscribedChannel);
+            messageService = null;
+            subscribedChannel = null;
+        }
+    }
+
+    /*
+     * (Re)subscribes only when token messages channel was enabled, disabled or renamed
+     */
+    private synchronized void updateSubscription(AppConfiguration appConfiguration) {
+        LockMessageConfig lockMessageConfig = appConfiguration == null ? null : appConfiguration.getLockMessageConfig();
+        String channel = null;
+        if (lockMessageConfig != null && Boolean.TRUE.equals(lockMessageConfig.getEnableTokenMessages())
+                && StringUtils.isNotBlank(lockMessageConfig.getTokenMessagesChannel())) {
+            channel = lockMessageConfig.getTokenMessagesChannel();
+        }
+
+        if (channel == null) {
+            if (messageService != null) {
+                unsubscribe();
+                log.info("Token messages were disabled, cached token validations expire by lifetime only");
+            } else {
+                log.debug("Token messages are disabled, cached token validations expire by lifetime only");
+            }
+            return;
+        }
+
+        if (messageService != null && channel.equals(subscribedChannel)) {
+            return;
+        }
+
+        unsubscribe();
+
+        if (messageServiceInstance.isUnsatisfied()) {
+            log.warn("Message service is not available, cached token validations expire by lifetime only");
+            return;
+        }
+
+        try {
+            MessageService currentMessageService = messageServiceInstance.get();
+            currentMessageService.subscribe(this, channel);
+            this.messageService = currentMessageService;
+            this.subscribedChannel = channel;
+            log.info("Subscribed to token messages channel '{}'", channel);
+        } catch (Exception ex) {
+            log.error("Failed to subscribe to token messages channel '{}'", channel, ex);
+        }
+    }
+
+    public List<String> getJwtScopes(String token) {
+        CachedValidation cachedValidation = get(token, null);
+        return cachedValidation == null ? null : cachedValidation.scopes;
+    }
+
+    public void putJwtScopes(String token, List<String> scopes, Date expiresAt) {
+        if (expiresAt == null) {
+            return;
+        }
+
+        List<String> cachedScopes = scopes == null ? null : Collections.unmodifiableList(new ArrayList<>(scopes));
+        put(token, new CachedValidation(null, cachedScopes, null), expiresAt.getTime());
+    }
+
+    public IntrospectionResponse getIntrospectionResponse(String token, String issuer) {
+        CachedValidation cachedValidation = get(token, issuer);
+        return cachedValidation == null ? null : cachedValidation.introspectionResponse;
+    }
+
+    public void putIntrospectionResponse(String token, String issuer, IntrospectionResponse introspectionResponse) {
+        // Only positive results are cached
+        if (introspectionResponse == null || !introspectionResponse.isActive()
+                || introspectionResponse.getExpiresAt() == null) {
+            return;
+        }
+
+        put(token, new CachedValidation(issuer, null, introspectionResponse),
+                TimeUnit.SECONDS.toMillis(introspectionResponse.getExpiresAt()));
+    }
+
+    public void invalidate(String tokenHash) {
+        ExpiringMap<String, CachedValidation> currentValidations = validations;
+        if (currentValidations != null && currentValidations.remove(tokenHash) != null) {
+            log.debug("Removed cached validation of token '{}'", tokenHash);
+        }
+    }
+
+    /*
+     * Message: {"tknTyp" : "access_token", "tknId": "<token hash>", "tknOp": "del"}
+     */
+    @Override
+    public void onMessage(String channel, String message) {
+        try {
+            JsonNode messageNode = objectMapper.readTree(message);
+            if (messageNode.hasNonNull("tknId") && messageNode.hasNonNull("tknOp")
+                    && TOKEN_OPERATION_DELETE.equalsIgnoreCase(messageNode.get("tknOp").asText())) {
+                invalidate(messageNode.get("tknId").asText());
+            }
+        } catch (Exception ex) {
+            log.error("Failed to process token message: '{}'", message, ex);
+        }
+    }
+
+    @Override
+    public void onSubscribe(String channel, int subscribedChannels) {
+        log.debug("onSubscribe: {}, subscribedChannels: {}", channel, subscribedChannels);
+    }
+
+    @Override
+    public void onUnsubscribe(String channel, int subscribedChannels) {
+        log.debug("onUnsubscribe: {}, subscribedChannels: {}", channel, subscribedChannels);
+    }
+
+    private CachedValidation get(String token, String issuer) {
+        ExpiringMap<String, CachedValidation> currentValidations = getValidations();
+        if (currentValidations == null || StringUtils.isBlank(token)) {
+            return null;
+        }
+
+        CachedValidation cachedValidation = currentValidations.get(hash(token));
+        if (cachedValidation == null || !Objects.equals(issuer, cachedValidation.issuer)) {
+            return null;
+        }
+
+        log.trace("Using cached validation of token");
+        return cachedValidation;
+    }
+
+    private void put(String token, CachedValidation cachedValidation, long expiresAtMillis) {
+        ExpiringMap<String, CachedValidation> currentValidations = getValidations();
+        if (currentValidations == null || StringUtils.isBlank(token)) {
+            return;
+        }
+
+        long lifetime = Math.min(expiresAtMillis - System.currentTimeMillis(),
+                TimeUnit.SECONDS.toMillis(getApiAppConfiguration().getTokenCacheMaxLifetime()));
+        if (lifetime <= 0) {
+            return;
+        }
+
+        currentValidations.put(hash(token), cachedValidation, ExpirationPolicy.CREATED, lifetime,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Returns null if cache is disabled. Map is recreated when max size is changed
+     */
+    private ExpiringMap<String, CachedValidation> getValidations() {
+        ApiAppConfiguration apiAppConfiguration = getApiAppConfiguration();
+        int maxSize = apiAppConfiguration == null ? 0 : apiAppConfiguration.getTokenCacheMaxSize();
+        if (maxSize <= 0 || apiAppConfiguration.getTokenCacheMaxLifetime() <= 0) {
+            validations = null;
+            return null;
+        }
+
+        ExpiringMap<String, CachedValidation> currentValidations = validations;
+        if (currentValidations == null || validationsMaxSize != maxSize) {
+            synchronized (this) {
+                currentValidations = validations;
+                if (currentValidations == null || validationsMaxSize != maxSize) {
+                    currentValidations = ExpiringMap.builder().maxSize(maxSize)
+                            .expirationPolicy(ExpirationPolicy.CREATED).variableExpiration().build();
+                    validationsMaxSize = maxSize;
+                    validations = currentValidations;
+                }
+            }
+        }
+
+        return currentValidations;
+    }
+
+    private ApiAppConfiguration getApiAppConfiguration() {
+        return configurationFactory.getApiAppConfiguration();
+    }
+
+    private static String hash(String token) {
+        // Auth server publishes token messages with the same hash
+        return DigestUtils.sha256Hex(token);
+    }
+
+    private static class CachedValidation {
+
+        private final String issuer;
+        private final List<String> scopes;
+        private final IntrospectionResponse introspectionResponse;
+
+        private CachedValidation(String issuer, List<String> scopes, IntrospectionResponse introspectionResponse) {
+            this.issuer = issuer;
+            this.scopes = scopes;
+            this.introspectionResponse = introspectionResponse;
+        }
+
+    }
+
+}
@@ -15,6 +15,7 @@ import io.jans.as.model.jws.AbstractJwsSigner;
 import io.jans.as.model.jws.ECDSASigner;
 import io.jans.as.model.jws.RSASigner;
 import io.jans.configapi.security.client.AuthClientFactory;
+import io.jans.configapi.security.service.TokenValidationCache;
 import io.jans.configapi.service.auth.ConfigurationService;
 import io.jans.as.model.crypto.PublicKey;
 import io.jans.as.model.crypto.signature.ECDSAPublicKey;
@@ -43,6 +44,9 @@ public class JwtUtil {
     @Inject
     AuthUtil authUtil;
 
+    @Inject
+    TokenValidationCache tokenValidationCache;
+
     public boolean isJwt(String token) throws Exception {
         log.trace("\n\n JwtUtil::isJwt()  token = " + token);
         boolean isJwt = false;
@@ -72,6 +76,12 @@ public class JwtUtil {
         // 5. Verify the signature used to sign the access token
         // 6. Verify the scopes
 
+        List<String> cachedScopes = tokenValidationCache.getJwtScopes(token);
+        if (cachedScopes != null) {
+            log.debug("JwtUtil::validateToken() - using cached validation result");
+            return cachedScopes;
+        }
+
         try {
             // Parse Token
             Jwt jwt = this.parse(token);
@@ -127,6 +137,7 @@ public class JwtUtil {
                         Response.status(Response.Status.UNAUTHORIZED).build());
             }
 
+            tokenValidationCache.putJwtScopes(token, scopes, expiresAt);
             return scopes;
         } catch (InvalidJwtException exp) {
             log.error("Not a valid Jwt token = " + exp);
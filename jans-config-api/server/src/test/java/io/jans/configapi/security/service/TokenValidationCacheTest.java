@@ -0,0 +1,136 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.configapi.security.service;
+
+import io.jans.as.model.common.IntrospectionResponse;
+import io.jans.configapi.configuration.ConfigurationFactory;
+import io.jans.configapi.model.configuration.ApiAppConfiguration;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenValidationCacheTest {
+
+    private static final String TOKEN = "0ea2ce99-b741-4f5a-8fd7-26f52d057c19";
+    private static final String ISSUER = "https://jans.server";
+
+    private ApiAppConfiguration apiAppConfiguration;
+    private TokenValidationCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        apiAppConfiguration = new ApiAppConfiguration();
+        apiAppConfiguration.setTokenCacheMaxSize(10);
+        apiAppConfiguration.setTokenCacheMaxLifetime(60);
+
+        cache = new TokenValidationCache();
+        cache.log = LoggerFactory.getLogger(TokenValidationCache.class);
+        cache.configurationFactory = new ConfigurationFactory() {
+
+            @Override
+            public ApiAppConfiguration getApiAppConfiguration() {
+                return apiAppConfiguration;
+            }
+
+        };
+    }
+
+    @Test
+    public void lifetimeIsCappedByMaxLifetime() throws InterruptedException {
+        apiAppConfiguration.setTokenCacheMaxLifetime(1);
+        cache.putJwtScopes(TOKEN, List.of("read"), inSeconds(3600));
+        cache.putIntrospectionResponse(TOKEN + "2", ISSUER, activeResponse(3600));
+
+        assertEquals(List.of("read"), cache.getJwtScopes(TOKEN));
+        assertNotNull(cache.getIntrospectionResponse(TOKEN + "2", ISSUER));
+
+        Thread.sleep(1500);
+        assertNull(cache.getJwtScopes(TOKEN));
+        assertNull(cache.getIntrospectionResponse(TOKEN + "2", ISSUER));
+    }
+
+    @Test
+    public void lifetimeIsCappedByTokenExpiration() throws InterruptedException {
+        cache.putJwtScopes(TOKEN, List.of("read"), inSeconds(1));
+        assertNotNull(cache.getJwtScopes(TOKEN));
+
+        Thread.sleep(1500);
+        assertNull(cache.getJwtScopes(TOKEN));
+    }
+
+    @Test
+    public void expiredTokenIsNotCached() {
+        cache.putJwtScopes(TOKEN, List.of("read"), new Date(System.currentTimeMillis() - 1000));
+        assertNull(cache.getJwtScopes(TOKEN));
+    }
+
+    @Test
+    public void inactiveIntrospectionResponseIsNotCached() {
+        IntrospectionResponse inactive = activeResponse(3600);
+        inactive.setActive(false);
+        cache.putIntrospectionResponse(TOKEN, ISSUER, inactive);
+        assertNull(cache.getIntrospectionResponse(TOKEN, ISSUER));
+
+        IntrospectionResponse withoutExpiration = new IntrospectionResponse(true);
+        cache.putIntrospectionResponse(TOKEN, ISSUER, withoutExpiration);
+        assertNull(cache.getIntrospectionResponse(TOKEN, ISSUER));
+    }
+
+    @Test
+    public void introspectionResponseIsCachedPerIssuer() {
+        cache.putIntrospectionResponse(TOKEN, ISSUER, activeResponse(3600));
+
+        assertNotNull(cache.getIntrospectionResponse(TOKEN, ISSUER));
+        assertNull(cache.getIntrospectionResponse(TOKEN, "https://other.server"));
+        assertNull(cache.getJwtScopes(TOKEN));
+    }
+
+    @Test
+    public void cacheIsDisabledWithZeroMaxSize() {
+        apiAppConfiguration.setTokenCacheMaxSize(0);
+        cache.putJwtScopes(TOKEN, List.of("read"), inSeconds(3600));
+        assertNull(cache.getJwtScopes(TOKEN));
+    }
+
+    @Test
+    public void deleteMessageEvictsToken() {
+        cache.putJwtScopes(TOKEN, List.of("read"), inSeconds(3600));
+        cache.putJwtScopes(TOKEN + "2", List.of("write"), inSeconds(3600));
+
+        cache.onMessage("jans_token", "{\"tknTyp\":\"access_token\",\"tknId\":\"" + DigestUtils.sha256Hex(TOKEN)
+                + "\",\"tknOp\":\"add\"}");
+        assertNotNull(cache.getJwtScopes(TOKEN));
+
+        cache.onMessage("jans_token", "{\"tknTyp\":\"access_token\",\"tknId\":\"" + DigestUtils.sha256Hex(TOKEN)
+                + "\",\"tknOp\":\"del\"}");
+        assertNull(cache.getJwtScopes(TOKEN));
+        assertNotNull(cache.getJwtScopes(TOKEN + "2"));
+
+        // Malformed messages are ignored
+        cache.onMessage("jans_token", "{");
+        assertNotNull(cache.getJwtScopes(TOKEN + "2"));
+    }
+
+    private static Date inSeconds(int seconds) {
+        return new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    private static IntrospectionResponse activeResponse(int expiresInSeconds) {
+        IntrospectionResponse response = new IntrospectionResponse(true);
+        response.setExpiresAt((int) (TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + expiresInSeconds));
+        return response;
+    }
+
+}
@@ -9,6 +9,8 @@ package io.jans.service;
 import io.jans.service.cache.CacheInterface;
 import io.jans.service.cache.CacheProvider;
 import io.jans.service.cache.CacheProviderType;
+import io.jans.service.cache.NearCache;
+import io.jans.service.cache.NearCacheInvalidationPublisher;
 import org.slf4j.Logger;
 
 import jakarta.inject.Inject;
@@ -35,10 +37,26 @@ public abstract class BaseCacheService implements CacheInterface {
             return null;
         }
 
+    	NearCache nearCache = getNearCache();
+    	if (nearCache != null) {
+    		Object localValue = nearCache.get(key);
+    		if (localValue != null) {
+    	    	log.trace("Loaded data from near cache, key '{}'", key);
+    			return localValue;
+    		}
+    	}
+
+    	// Taken before load to detect invalidation which arrives during load
+    	long loadStamp = (nearCache == null) ? 0 : nearCache.getLoadStamp(key);
+
     	log.trace("Request data, key '{}'", key);
     	Object value = cacheProvider.get(key);
     	log.trace("Loaded data, key '{}': '{}'", key, value);
 
+    	if ((nearCache != null) && (value != null)) {
+    		nearCache.putLoaded(key, value, loadStamp);
+    	}
+
     	return value;
     }
 
@@ -84,6 +102,53 @@ public abstract class BaseCacheService implements CacheInterface {
 		
     	log.trace("Put data, key '{}': '{}'", key, object);
 		cacheProvider.put(expirationInSeconds, key, object);
+
+    	NearCache nearCache = getNearCache();
+		if (nearCache != null) {
+			nearCache.put(expirationInSeconds, key, object);
+			publishInvalidation(key, expirationInSeconds);
+		}
+	}
+
+	/*
+	 * Atomic operation in cache provider. It's suitable for one time use values (jti, nonce, code) detection
+	 */
+	public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+			return false;
+		}
+
+    	log.trace("Put data if absent, key '{}': '{}'", key, object);
+		boolean result = cacheProvider.putIfAbsent(expirationInSeconds, key, object);
+
+    	NearCache nearCache = getNearCache();
+		if (result && (nearCache != null)) {
+			nearCache.remove(key);
+			publishInvalidation(key, 0);
+		}
+
+		return result;
+	}
+
+	public Object getAndRemove(String key) {
+    	CacheProvider cacheProvider = getCacheProvider();
+    	if (cacheProvider == null) {
+        	log.error("Cache provider is invalid!");
+			return null;
+		}
+
+    	log.trace("Get and remove data, key '{}'", key);
+		Object value = cacheProvider.getAndRemove(key);
+
+    	NearCache nearCache = getNearCache();
+		if (nearCache != null) {
+			nearCache.remove(key);
+			publishInvalidation(key, 0);
+		}
+
+		return value;
 	}
 
 	public void remove(String key) {
@@ -95,6 +160,12 @@ public abstract class BaseCacheService implements CacheInterface {
 		
     	log.trace("Remove data, key '{}'", key);
 		cacheProvider.remove(key);
+
+    	NearCache nearCache = getNearCache();
+		if (nearCache != null) {
+			nearCache.remove(key);
+			publishInvalidation(key, 0);
+		}
 	}
 
 	public void clear() {
@@ -106,6 +177,29 @@ public abstract class BaseCacheService implements CacheInterface {
 
     	log.trace("Clear cache");
 		cacheProvider.clear();
+
+    	NearCache nearCache = getNearCache();
+		if (nearCache != null) {
+			nearCache.clear();
+			publishInvalidation(NearCacheInvalidationPublisher.ALL_KEYS, 0);
+		}
+	}
+
+	/*
+	 * Evict entry from near cache only. It's called when other node changed entry
+	 */
+	public void invalidateLocal(String key, long remoteExpiresAt) {
+    	NearCache nearCache = getNearCache();
+		if (nearCache == null) {
+			return;
+		}
+
+    	log.trace("Invalidate near cache data, key '{}'", key);
+		if (NearCacheInvalidationPublisher.ALL_KEYS.equals(key)) {
+			nearCache.clear();
+		} else {
+			nearCache.invalidate(key, remoteExpiresAt);
+		}
 	}
 
     @Override
@@ -149,4 +243,17 @@ public abstract class BaseCacheService implements CacheInterface {
 
     protected abstract CacheProvider getCacheProvider();
 
+    /*
+     * Local L1 cache in front of cache provider. Near cache is disabled by default
+     */
+    protected NearCache getNearCache() {
+    	return null;
+    }
+
+    /*
+     * Expiration of changed entry in distributed cache. It's 0 if entry was removed
+     */
+    protected void publishInvalidation(String key, int expirationInSeconds) {
+    }
+
 }
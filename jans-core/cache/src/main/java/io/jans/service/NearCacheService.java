@@ -0,0 +1,117 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service;
+
+import org.slf4j.Logger;
+
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.CacheProvider;
+import io.jans.service.cache.CacheProviderType;
+import io.jans.service.cache.CacheValueCodecFactory;
+import io.jans.service.cache.NearCache;
+import io.jans.service.cache.NearCacheConfiguration;
+import io.jans.service.cache.NearCacheInvalidationPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+/**
+ * Provides operations with distributed cache with local L1 cache in front of it.
+ * L1 cache is used only after invalidation publisher connected to message provider.
+ * Until then and if near cache is disabled in cache configuration it works as CacheService.
+ *
+ * Values which are changed often or which callers modify in place (session, tokens) should
+ * not be stored via this service.
+ */
+@ApplicationScoped
+@Named
+public class NearCacheService extends BaseCacheService {
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private CacheProvider cacheProvider;
+
+    @Inject
+    private CacheConfiguration cacheConfiguration;
+
+    private NearCache nearCache;
+
+    private volatile NearCacheInvalidationPublisher invalidationPublisher;
+
+    @PostConstruct
+    public void init() {
+        NearCacheConfiguration nearCacheConfiguration = cacheConfiguration.getNearCacheConfiguration();
+        if ((nearCacheConfiguration == null) || !nearCacheConfiguration.isEnabled()) {
+            return;
+        }
+
+        if (CacheProviderType.IN_MEMORY == cacheConfiguration.getCacheProviderType()) {
+            log.info("Near cache is not needed for IN_MEMORY cache provider");
+            return;
+        }
+
+        this.nearCache = new NearCache(nearCacheConfiguration.getMaxSize(), nearCacheConfiguration.getMaxExpiration(),
+                CacheValueCodecFactory.getCodec(cacheConfiguration));
+        log.info("Near cache is configured, it will be used after subscription to invalidation channel, configuration: {}", nearCacheConfiguration);
+    }
+
+    public boolean isNearCacheConfigured() {
+        return nearCache != null;
+    }
+
+    /*
+     * Near cache is used only while there is connected invalidation publisher
+     */
+    public void setInvalidationPublisher(NearCacheInvalidationPublisher invalidationPublisher) {
+        if (nearCache == null) {
+            return;
+        }
+
+        // Entries could be changed by other nodes while there was no subscription
+        nearCache.clear();
+        this.invalidationPublisher = invalidationPublisher;
+
+        if (invalidationPublisher == null) {
+            log.info("Near cache is disabled");
+        } else {
+            log.info("Near cache is enabled");
+        }
+    }
+
+    @Override
+    protected CacheProvider getCacheProvider() {
+        return cacheProvider;
+    }
+
+    @Override
+    protected NearCache getNearCache() {
+        if (invalidationPublisher == null) {
+            return null;
+        }
+
+        return nearCache;
+    }
+
+    @Override
+    protected void publishInvalidation(String key, int expirationInSeconds) {
+        NearCacheInvalidationPublisher publisher = invalidationPublisher;
+        if (publisher == null) {
+            return;
+        }
+
+        long remoteExpiresAt = expirationInSeconds > 0 ? System.currentTimeMillis() + expirationInSeconds * 1000L : 0;
+        try {
+            publisher.publishInvalidation(key, remoteExpiresAt);
+        } catch (Exception ex) {
+            log.error("Failed to publish near cache invalidation, key: '{}'", key, ex);
+        }
+    }
+
+}
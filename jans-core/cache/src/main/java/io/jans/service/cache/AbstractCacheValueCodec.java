@@ -0,0 +1,98 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base codec which handles data header. Header format: magic byte, format version, codec id.
+ * Data without header is treated as plain Java serialization.
+ *
+ * Important : keep it weld free. It's reused by standalone cache providers
+ */
+public abstract class AbstractCacheValueCodec implements CacheValueCodec {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractCacheValueCodec.class);
+
+	public static final byte HEADER_MAGIC = (byte) 0xCA;
+	public static final byte HEADER_VERSION = 1;
+	public static final int HEADER_LENGTH = 3;
+
+	private static final byte JAVA_STREAM_MAGIC_0 = (byte) 0xAC;
+	private static final byte JAVA_STREAM_MAGIC_1 = (byte) 0xED;
+
+	protected abstract boolean isWriteHeader();
+
+	protected abstract void encodeBody(Object object, OutputStream out) throws IOException;
+
+	protected abstract Object decodeBody(byte[] data, int offset, int length);
+
+	@Override
+	public byte[] encode(Object object) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+		try {
+			if (isWriteHeader()) {
+				out.write(HEADER_MAGIC);
+				out.write(HEADER_VERSION);
+				out.write(getType().getId());
+			}
+			encodeBody(object, out);
+		} catch (IOException ex) {
+			throw new IllegalStateException(String.format("Failed to encode cache value with codec '%s'", getType()), ex);
+		}
+
+		return out.toByteArray();
+	}
+
+	@Override
+	public Object decode(byte[] data) {
+		if ((data == null) || (data.length == 0)) {
+			return null;
+		}
+
+		CacheValueCodecType type;
+		int offset;
+		if ((data.length > 1) && (data[0] == JAVA_STREAM_MAGIC_0) && (data[1] == JAVA_STREAM_MAGIC_1)) {
+			type = CacheValueCodecType.JAVA;
+			offset = 0;
+		} else {
+			if ((data.length < HEADER_LENGTH) || (data[0] != HEADER_MAGIC)) {
+				LOG.warn("Cache value has unknown format, it will be ignored");
+				return null;
+			}
+
+			if (data[1] > HEADER_VERSION) {
+				// Written by newer version of application
+				LOG.debug("Cache value has unsupported format version '{}', it will be ignored", data[1]);
+				return null;
+			}
+
+			type = CacheValueCodecType.fromId(data[2]);
+			if (type == null) {
+				LOG.debug("Cache value has unsupported codec id '{}', it will be ignored", data[2]);
+				return null;
+			}
+			offset = HEADER_LENGTH;
+		}
+
+		// Use own configuration (registered classes) for data written by same codec type
+		AbstractCacheValueCodec codec = (type == getType()) ? this : CacheValueCodecFactory.getCodecImpl(type);
+		try {
+			return codec.decodeBody(data, offset, data.length - offset);
+		} catch (RuntimeException ex) {
+			// Cache value written by incompatible version of class should be treated as cache miss by all codecs
+			LOG.warn("Failed to decode cache value with codec '{}', it will be ignored", type, ex);
+			return null;
+		}
+	}
+
+}
@@ -8,14 +8,21 @@ package io.jans.service.cache;
 
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.util.SafeEncoder;
 
 /**
  * @author yuriyz
  */
 public abstract class AbstractRedisProvider {
 
+	// GETDEL is available since Redis 6.2 only
+	protected static final byte[] GET_AND_REMOVE_SCRIPT = SafeEncoder.encode(
+			"local value = redis.call('GET', KEYS[1]); if value then redis.call('DEL', KEYS[1]) end; return value");
+
 	protected RedisConfiguration redisConfiguration;
 
+	protected CacheValueCodec valueCodec = CacheValueCodecFactory.getCodec(CacheValueCodecType.JAVA);
+
 	public AbstractRedisProvider(RedisConfiguration redisConfiguration) {
 		this.redisConfiguration = redisConfiguration;
         HostAndPort.setLocalhost("127.0.0.1");
@@ -29,6 +36,14 @@ public abstract class AbstractRedisProvider {
         return poolConfig;
     }
 
+	public CacheValueCodec getValueCodec() {
+		return valueCodec;
+	}
+
+	public void setValueCodec(CacheValueCodec valueCodec) {
+		this.valueCodec = valueCodec;
+	}
+
 	public RedisConfiguration getRedisConfiguration() {
 		return redisConfiguration;
 	}
@@ -66,4 +81,16 @@ public abstract class AbstractRedisProvider {
 
 	public abstract void put(String key, Object object);
 
+	public abstract boolean putIfAbsent(int expirationInSeconds, String key, Object object);
+
+	public abstract Object getAndRemove(String key);
+
+	protected Object decodeValue(Object value) {
+		if ((value instanceof byte[]) && (((byte[]) value).length > 0)) {
+			return valueCodec.decode((byte[]) value);
+		}
+
+		return null;
+	}
+
 }
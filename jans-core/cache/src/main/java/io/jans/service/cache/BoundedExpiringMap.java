@@ -0,0 +1,411 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded map with per entry expiration and LRU eviction.
+ *
+ * Keys are spread across independently locked segments. Each segment keeps its
+ * entries in access order for LRU eviction and links them into a hierarchical
+ * timing wheel with one second ticks. Entries with long expiration are placed into
+ * coarse wheel levels and moved to finer levels when their time comes closer, so
+ * every entry is touched only few times before it's purged.
+ */
+public class BoundedExpiringMap {
+
+	private static final int MAX_SEGMENTS_COUNT = 64;
+	private static final int MIN_SEGMENT_SIZE = 16;
+	private static final int WHEEL_BITS = 6;
+	private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+	private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+	// Levels cover 64 seconds, ~68 minutes, ~3 days and ~194 days
+	private static final int WHEEL_LEVELS = 4;
+	private static final long WHEEL_RANGE = 1L << (WHEEL_BITS * WHEEL_LEVELS);
+
+	private final Segment[] segments;
+	private final int segmentMask;
+	private final int maxEntries;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder expirationCount = new LongAdder();
+
+	/**
+	 * @param maxEntries maximum number of entries, 0 or less means unbounded
+	 */
+	public BoundedExpiringMap(int maxEntries) {
+		this.maxEntries = maxEntries;
+
+		int segmentsCount = MAX_SEGMENTS_COUNT;
+		if (maxEntries > 0) {
+			while ((segmentsCount > 1) && (maxEntries / segmentsCount < MIN_SEGMENT_SIZE)) {
+				segmentsCount >>= 1;
+			}
+		}
+
+		int segmentMaxSize = maxEntries > 0 ? Math.max(1, maxEntries / segmentsCount) : Integer.MAX_VALUE;
+		long now = System.currentTimeMillis();
+
+		this.segments = new Segment[segmentsCount];
+		this.segmentMask = segmentsCount - 1;
+		for (int i = 0; i < segmentsCount; i++) {
+			this.segments[i] = new Segment(segmentMaxSize, now);
+		}
+	}
+
+	public Object get(String key) {
+		long now = System.currentTimeMillis();
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Node node = segment.get(key);
+			if ((node != null) && (node.expiresAt <= now)) {
+				segment.removeNode(node);
+				expirationCount.increment();
+				node = null;
+			}
+
+			if (node == null) {
+				missCount.increment();
+				return null;
+			}
+
+			hitCount.increment();
+			return node.value;
+		}
+	}
+
+	public boolean containsKey(String key) {
+		long now = System.currentTimeMillis();
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Node node = segment.get(key);
+			return (node != null) && (node.expiresAt > now);
+		}
+	}
+
+	public void put(String key, Object value, int expirationInSeconds) {
+		long now = System.currentTimeMillis();
+		Node node = new Node(key, value, now + expirationInSeconds * 1000L);
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.expire(now);
+
+			Node oldNode = segment.put(key, node);
+			if (oldNode != null) {
+				segment.unlink(oldNode);
+			}
+			segment.link(node);
+		}
+	}
+
+	/**
+	 * @return true if value was stored, false if there is not expired entry with same key
+	 */
+	public boolean putIfAbsent(String key, Object value, int expirationInSeconds) {
+		long now = System.currentTimeMillis();
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.expire(now);
+
+			Node oldNode = segment.get(key);
+			if (oldNode != null) {
+				if (oldNode.expiresAt > now) {
+					return false;
+				}
+				segment.removeNode(oldNode);
+				expirationCount.increment();
+			}
+
+			Node node = new Node(key, value, now + expirationInSeconds * 1000L);
+			segment.put(key, node);
+			segment.link(node);
+
+			return true;
+		}
+	}
+
+	public Object getAndRemove(String key) {
+		long now = System.currentTimeMillis();
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Node node = segment.get(key);
+			if (node == null) {
+				missCount.increment();
+				return null;
+			}
+
+			segment.removeNode(node);
+			if (node.expiresAt <= now) {
+				expirationCount.increment();
+				missCount.increment();
+				return null;
+			}
+
+			hitCount.increment();
+			return node.value;
+		}
+	}
+
+	public void remove(String key) {
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Node node = segment.get(key);
+			if (node != null) {
+				segment.removeNode(node);
+			}
+		}
+	}
+
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clearAll();
+			}
+		}
+	}
+
+	/**
+	 * Purge expired entries in all segments
+	 */
+	public void cleanUp() {
+		long now = System.currentTimeMillis();
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.expire(now);
+			}
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+
+		return size;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	public long getExpirationCount() {
+		return expirationCount.sum();
+	}
+
+	private Segment segmentFor(String key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+
+		return segments[hash & segmentMask];
+	}
+
+	private static final class Node {
+
+		private final String key;
+		private final Object value;
+		private final long expiresAt;
+
+		private int level;
+		private int slot = -1;
+		private Node prev;
+		private Node next;
+
+		private Node(String key, Object value, long expiresAt) {
+			this.key = key;
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final class Segment extends LinkedHashMap<String, Node> {
+
+		private static final long serialVersionUID = -2893514362491276304L;
+
+		private final int maxSize;
+		private final Node[][] wheel = new Node[WHEEL_LEVELS][WHEEL_SIZE];
+		private long currentTick;
+
+		private Segment(int maxSize, long now) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+			this.currentTick = toTick(now);
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Node> eldest) {
+			if (size() <= maxSize) {
+				return false;
+			}
+
+			unlink(eldest.getValue());
+			evictionCount.increment();
+
+			return true;
+		}
+
+		private void removeNode(Node node) {
+			super.remove(node.key);
+			unlink(node);
+		}
+
+		private void clearAll() {
+			super.clear();
+			for (Node[] levelSlots : wheel) {
+				Arrays.fill(levelSlots, null);
+			}
+		}
+
+		/*
+		 * Place entry into first tick which starts after expiration time. Entry goes to
+		 * the finest level which covers this tick, entries beyond last level wait in last level
+		 */
+		private void link(Node node) {
+			long expireTick = Math.max(toTick(node.expiresAt) + 1, currentTick + 1);
+			long delta = Math.min(expireTick - currentTick, WHEEL_RANGE - 1);
+
+			int level = 0;
+			while ((level < WHEEL_LEVELS - 1) && (delta >= (1L << (WHEEL_BITS * (level + 1))))) {
+				level++;
+			}
+
+			int slot = (int) (((currentTick + delta) >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+			Node head = wheel[level][slot];
+
+			node.level = level;
+			node.slot = slot;
+			node.prev = null;
+			node.next = head;
+			if (head != null) {
+				head.prev = node;
+			}
+			wheel[level][slot] = node;
+		}
+
+		private void unlink(Node node) {
+			if (node.slot < 0) {
+				return;
+			}
+
+			if (node.prev != null) {
+				node.prev.next = node.next;
+			} else {
+				wheel[node.level][node.slot] = node.next;
+			}
+
+			if (node.next != null) {
+				node.next.prev = node.prev;
+			}
+
+			node.slot = -1;
+			node.prev = null;
+			node.next = null;
+		}
+
+		/*
+		 * Advance wheel up to current time. When finer level completes rotation, entries
+		 * from next slot of coarser level are moved closer to their expiration tick
+		 */
+		private void expire(long now) {
+			long nowTick = toTick(now);
+			if (nowTick <= currentTick) {
+				return;
+			}
+
+			if (nowTick - currentTick >= WHEEL_RANGE) {
+				// Wheel was not advanced for very long time
+				currentTick = nowTick;
+				relinkAll(now);
+				return;
+			}
+
+			while (currentTick < nowTick) {
+				currentTick++;
+				for (int level = WHEEL_LEVELS - 1; level > 0; level--) {
+					if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+						cascade(level, (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK), now);
+					}
+				}
+
+				int slot = (int) (currentTick & WHEEL_MASK);
+				Node node = wheel[0][slot];
+				while (node != null) {
+					Node next = node.next;
+					if (node.expiresAt <= now) {
+						removeNode(node);
+						expirationCount.increment();
+					}
+					node = next;
+				}
+			}
+		}
+
+		private void cascade(int level, int slot, long now) {
+			Node node = wheel[level][slot];
+			wheel[level][slot] = null;
+			while (node != null) {
+				Node next = node.next;
+				node.slot = -1;
+				if (node.expiresAt <= now) {
+					super.remove(node.key);
+					expirationCount.increment();
+				} else {
+					link(node);
+				}
+				node = next;
+			}
+		}
+
+		private void relinkAll(long now) {
+			for (Node[] levelSlots : wheel) {
+				Arrays.fill(levelSlots, null);
+			}
+
+			for (Iterator<Node> it = values().iterator(); it.hasNext();) {
+				Node node = it.next();
+				node.slot = -1;
+				if (node.expiresAt <= now) {
+					it.remove();
+					expirationCount.increment();
+				} else {
+					link(node);
+				}
+			}
+		}
+
+		private long toTick(long time) {
+			return time / 1000L;
+		}
+	}
+
+}
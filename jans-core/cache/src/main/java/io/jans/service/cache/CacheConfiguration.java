@@ -7,6 +7,8 @@
 package io.jans.service.cache;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import jakarta.enterprise.inject.Vetoed;
 
@@ -32,6 +34,13 @@ public class CacheConfiguration implements Serializable {
 
     private NativePersistenceConfiguration nativePersistenceConfiguration;
 
+    private CacheValueCodecType valueCodecType = CacheValueCodecType.JAVA;
+
+    // Classes which KRYO codec is allowed to write and read. Order defines registration ids, add new classes to the end
+    private List<String> kryoRegisteredClasses = new ArrayList<>();
+
+    private NearCacheConfiguration nearCacheConfiguration = new NearCacheConfiguration();
+
     public NativePersistenceConfiguration getNativePersistenceConfiguration() {
         return nativePersistenceConfiguration;
     }
@@ -64,6 +73,30 @@ public class CacheConfiguration implements Serializable {
         this.inMemoryConfiguration = inMemoryConfiguration;
     }
 
+    public CacheValueCodecType getValueCodecType() {
+        return valueCodecType;
+    }
+
+    public void setValueCodecType(CacheValueCodecType valueCodecType) {
+        this.valueCodecType = valueCodecType;
+    }
+
+    public List<String> getKryoRegisteredClasses() {
+        return kryoRegisteredClasses;
+    }
+
+    public void setKryoRegisteredClasses(List<String> kryoRegisteredClasses) {
+        this.kryoRegisteredClasses = kryoRegisteredClasses;
+    }
+
+    public NearCacheConfiguration getNearCacheConfiguration() {
+        return nearCacheConfiguration;
+    }
+
+    public void setNearCacheConfiguration(NearCacheConfiguration nearCacheConfiguration) {
+        this.nearCacheConfiguration = nearCacheConfiguration;
+    }
+
     public MemcachedConfiguration getMemcachedConfiguration() {
         return memcachedConfiguration;
     }
@@ -80,6 +113,9 @@ public class CacheConfiguration implements Serializable {
                 ", redisConfiguration=" + redisConfiguration +
                 ", inMemoryConfiguration=" + inMemoryConfiguration +
                 ", nativePersistenceConfiguration=" + nativePersistenceConfiguration +
+                ", valueCodecType=" + valueCodecType +
+                ", kryoRegisteredClasses=" + kryoRegisteredClasses +
+                ", nearCacheConfiguration=" + nearCacheConfiguration +
                 '}';
     }
 }
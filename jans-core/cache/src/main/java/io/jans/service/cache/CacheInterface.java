@@ -17,6 +17,10 @@ public interface CacheInterface {
 
     void put(int expirationInSeconds, String key, Object object);
 
+    boolean putIfAbsent(int expirationInSeconds, String key, Object object);
+
+    Object getAndRemove(String key);
+
    void remove(String key);
 
    void clear();
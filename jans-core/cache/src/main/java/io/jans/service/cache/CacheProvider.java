@@ -31,6 +31,22 @@ public abstract class CacheProvider<T> implements CacheInterface {
 
     public abstract void put(int expirationInSeconds, String key, Object object);
 
+    /**
+     * Atomically puts an object into the cache only if there is no entry with the given key.
+     *
+     * @return - true if object was stored, false if key already exists
+     */
+    public abstract boolean putIfAbsent(int expirationInSeconds, String key, Object object);
+
+    /**
+     * Atomically fetches an object for the given key and removes it from the cache.
+     * Only one of concurrent callers gets the object.
+     *
+     * @param key - a key to identify the object.
+     * @return - the object if found or null if not
+     */
+    public abstract Object getAndRemove(String key);
+
     /**
      * Removes an object from the cache. The object is removed from the specified
      * cache region under the given key.
@@ -0,0 +1,21 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+/**
+ * Converts cache values to bytes and back. Implementations should be thread safe.
+ * Decoding should accept data written by any supported codec to allow rolling upgrades.
+ */
+public interface CacheValueCodec {
+
+	CacheValueCodecType getType();
+
+	byte[] encode(Object object);
+
+	Object decode(byte[] data);
+
+}
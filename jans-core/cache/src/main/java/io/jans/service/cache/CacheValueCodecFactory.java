@@ -0,0 +1,52 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Important : keep it weld free. It's reused by standalone cache providers
+ */
+public final class CacheValueCodecFactory {
+
+	private static final Map<CacheValueCodecType, AbstractCacheValueCodec> CODECS = new EnumMap<>(CacheValueCodecType.class);
+
+	static {
+		CODECS.put(CacheValueCodecType.JAVA, new JavaCacheValueCodec());
+		CODECS.put(CacheValueCodecType.KRYO, new KryoCacheValueCodec());
+	}
+
+	private CacheValueCodecFactory() {
+	}
+
+	public static CacheValueCodec getCodec(CacheConfiguration cacheConfiguration) {
+		if (cacheConfiguration == null) {
+			return getCodec(CacheValueCodecType.JAVA);
+		}
+
+		if ((CacheValueCodecType.KRYO == cacheConfiguration.getValueCodecType())
+				&& (cacheConfiguration.getKryoRegisteredClasses() != null) && !cacheConfiguration.getKryoRegisteredClasses().isEmpty()) {
+			return new KryoCacheValueCodec(cacheConfiguration.getKryoRegisteredClasses());
+		}
+
+		return getCodec(cacheConfiguration.getValueCodecType());
+	}
+
+	public static CacheValueCodec getCodec(CacheValueCodecType type) {
+		return getCodecImpl(type);
+	}
+
+	static AbstractCacheValueCodec getCodecImpl(CacheValueCodecType type) {
+		if (type == null) {
+			return CODECS.get(CacheValueCodecType.JAVA);
+		}
+
+		return CODECS.get(type);
+	}
+
+}
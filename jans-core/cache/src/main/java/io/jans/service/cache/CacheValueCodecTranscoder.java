@@ -0,0 +1,57 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import net.spy.memcached.CachedData;
+import net.spy.memcached.transcoders.SerializingTranscoder;
+import net.spy.memcached.transcoders.Transcoder;
+
+/**
+ * Memcached transcoder which uses cache value codec. Values without codec flag are handled by
+ * default memcached transcoder to keep data written by previous versions readable.
+ */
+public class CacheValueCodecTranscoder implements Transcoder<Object> {
+
+	// Not used by SerializingTranscoder
+	static final int CODEC_FLAG = 0x10;
+
+	private final SerializingTranscoder defaultTranscoder = new SerializingTranscoder();
+	private final CacheValueCodec valueCodec;
+
+	public CacheValueCodecTranscoder(CacheValueCodec valueCodec) {
+		this.valueCodec = valueCodec;
+	}
+
+	@Override
+	public boolean asyncDecode(CachedData data) {
+		return false;
+	}
+
+	@Override
+	public CachedData encode(Object object) {
+		if (CacheValueCodecType.JAVA == valueCodec.getType()) {
+			return defaultTranscoder.encode(object);
+		}
+
+		return new CachedData(CODEC_FLAG, valueCodec.encode(object), getMaxSize());
+	}
+
+	@Override
+	public Object decode(CachedData data) {
+		if ((data.getFlags() & CODEC_FLAG) != 0) {
+			return valueCodec.decode(data.getData());
+		}
+
+		return defaultTranscoder.decode(data);
+	}
+
+	@Override
+	public int getMaxSize() {
+		return defaultTranscoder.getMaxSize();
+	}
+
+}
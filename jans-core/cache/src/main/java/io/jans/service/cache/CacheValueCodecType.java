@@ -0,0 +1,47 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import jakarta.xml.bind.annotation.XmlEnum;
+
+/**
+ * Cache value serialization formats
+ */
+@XmlEnum(String.class)
+public enum CacheValueCodecType {
+
+	/**
+	 * Plain Java serialization without header. It's readable by all versions
+	 */
+	JAVA((byte) 0),
+
+	/**
+	 * Compact binary format with versioned header
+	 */
+	KRYO((byte) 1);
+
+	private final byte id;
+
+	CacheValueCodecType(byte id) {
+		this.id = id;
+	}
+
+	public byte getId() {
+		return id;
+	}
+
+	public static CacheValueCodecType fromId(byte id) {
+		for (CacheValueCodecType type : values()) {
+			if (type.id == id) {
+				return type;
+			}
+		}
+
+		return null;
+	}
+
+}
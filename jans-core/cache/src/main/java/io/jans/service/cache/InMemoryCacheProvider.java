@@ -6,8 +6,8 @@
 
 package io.jans.service.cache;
 
-import net.jodah.expiringmap.ExpirationPolicy;
-import net.jodah.expiringmap.ExpiringMap;
+import java.util.Date;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,14 +15,13 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.util.concurrent.TimeUnit;
 
 /**
  * @author yuriyz on 02/21/2017.
  */
 
 @ApplicationScoped
-public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
+public class InMemoryCacheProvider extends AbstractCacheProvider<BoundedExpiringMap> {
 
     @Inject
     private Logger log;
@@ -30,7 +29,7 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
     @Inject
     private CacheConfiguration cacheConfiguration;
 
-    private ExpiringMap<String, Object> map = ExpiringMap.builder().build();
+    private BoundedExpiringMap map = new BoundedExpiringMap(0);
 
     private InMemoryConfiguration inMemoryConfiguration;
 
@@ -45,7 +44,7 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
     public void create() {
     	log.debug("Starting InMemoryCacheProvider ...");
         try {
-            map = ExpiringMap.builder().expirationPolicy(ExpirationPolicy.CREATED).variableExpiration().build();
+            map = new BoundedExpiringMap(cacheConfiguration.getInMemoryConfiguration().getMaxEntries());
 
             log.debug("InMemoryCacheProvider started.");
         } catch (Exception e) {
@@ -68,7 +67,7 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
     }
 
     @Override
-    public ExpiringMap getDelegate() {
+    public BoundedExpiringMap getDelegate() {
         return map;
     }
 
@@ -84,13 +83,19 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
 
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
-        // if key already exists and hash is the same for value then expiration time is
-        // not updated
-        // net.jodah.expiringmap.ExpiringMap.putInternal()
-        // therefore we first remove entry and then put it
-        map.remove(key);
         expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
-        map.put(key, object, ExpirationPolicy.CREATED, expirationInSeconds, TimeUnit.SECONDS);
+        map.put(key, object, expirationInSeconds);
+    }
+
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        expirationInSeconds = expirationInSeconds >= 0 ? expirationInSeconds : inMemoryConfiguration.getDefaultPutExpiration();
+        return map.putIfAbsent(key, object, expirationInSeconds);
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        return map.getAndRemove(key);
     }
 
     @Override
@@ -103,6 +108,11 @@ public class InMemoryCacheProvider extends AbstractCacheProvider<ExpiringMap> {
         map.clear();
     }
 
+    @Override
+    public void cleanup(final Date now) {
+        map.cleanUp();
+    }
+
     public void setCacheConfiguration(CacheConfiguration cacheConfiguration) {
         this.cacheConfiguration = cacheConfiguration;
     }
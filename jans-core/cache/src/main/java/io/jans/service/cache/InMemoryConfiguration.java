@@ -24,6 +24,9 @@ public class InMemoryConfiguration implements Serializable {
     @XmlElement(name = "defaultPutExpiration")
     private int defaultPutExpiration = 60; // in seconds
 
+    @XmlElement(name = "maxEntries")
+    private int maxEntries = 100000; // 0 or less means unbounded
+
     public int getDefaultPutExpiration() {
         return defaultPutExpiration;
     }
@@ -32,8 +35,16 @@ public class InMemoryConfiguration implements Serializable {
         this.defaultPutExpiration = defaultPutExpiration;
     }
 
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
     @Override
     public String toString() {
-        return "InMemoryConfiguration{" + "defaultPutExpiration=" + defaultPutExpiration + '}';
+        return "InMemoryConfiguration{" + "defaultPutExpiration=" + defaultPutExpiration + ", maxEntries=" + maxEntries + '}';
     }
 }
@@ -0,0 +1,40 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+import org.apache.commons.lang.SerializationUtils;
+
+/**
+ * Java serialization codec. It writes data without header to keep it compatible with previous versions
+ */
+public class JavaCacheValueCodec extends AbstractCacheValueCodec {
+
+	@Override
+	public CacheValueCodecType getType() {
+		return CacheValueCodecType.JAVA;
+	}
+
+	@Override
+	protected boolean isWriteHeader() {
+		return false;
+	}
+
+	@Override
+	protected void encodeBody(Object object, OutputStream out) {
+		SerializationUtils.serialize((Serializable) object, out);
+	}
+
+	@Override
+	protected Object decodeBody(byte[] data, int offset, int length) {
+		return SerializationUtils.deserialize(new ByteArrayInputStream(data, offset, length));
+	}
+
+}
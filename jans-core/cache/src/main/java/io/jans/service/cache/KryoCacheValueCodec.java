@@ -0,0 +1,138 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+
+/**
+ * Compact binary codec. Fields are written with names (CompatibleFieldSerializer) to allow
+ * nodes with different versions of cached classes to read each other data.
+ *
+ * Only registered classes are written and read: common JDK classes and classes from
+ * cache configuration. Values with other classes are written with Java serialization.
+ *
+ * Registration ids of common classes are part of format. New classes should be added only
+ * to the end of list together with format version increment.
+ */
+public class KryoCacheValueCodec extends AbstractCacheValueCodec {
+
+	private static final Logger LOG = LoggerFactory.getLogger(KryoCacheValueCodec.class);
+
+	private static final int OUTPUT_BUFFER_SIZE = 512;
+
+	// Ids of classes from configuration start from this value
+	private static final int FIRST_CONFIGURED_CLASS_ID = 100;
+
+	private final List<String> registeredClasses;
+
+	private final ThreadLocal<Kryo> kryos = ThreadLocal.withInitial(this::createKryo);
+
+	public KryoCacheValueCodec() {
+		this(Collections.emptyList());
+	}
+
+	public KryoCacheValueCodec(List<String> registeredClasses) {
+		this.registeredClasses = new ArrayList<>(registeredClasses);
+	}
+
+	@Override
+	public CacheValueCodecType getType() {
+		return CacheValueCodecType.KRYO;
+	}
+
+	@Override
+	public byte[] encode(Object object) {
+		try {
+			return super.encode(object);
+		} catch (KryoException | IllegalArgumentException ex) {
+			// Object graph has class which is not registered
+			LOG.debug("Failed to encode cache value with Kryo, Java serialization will be used: {}", ex.getMessage());
+			return CacheValueCodecFactory.getCodecImpl(CacheValueCodecType.JAVA).encode(object);
+		}
+	}
+
+	@Override
+	protected boolean isWriteHeader() {
+		return true;
+	}
+
+	@Override
+	protected void encodeBody(Object object, OutputStream out) {
+		Output output = new Output(out, OUTPUT_BUFFER_SIZE);
+		kryos.get().writeClassAndObject(output, object);
+		output.flush();
+	}
+
+	@Override
+	protected Object decodeBody(byte[] data, int offset, int length) {
+		Input input = new Input(data, offset, length);
+		return kryos.get().readClassAndObject(input);
+	}
+
+	private Kryo createKryo() {
+		Kryo kryo = new Kryo();
+		kryo.setRegistrationRequired(true);
+		kryo.setReferences(true);
+		kryo.setDefaultSerializer(CompatibleFieldSerializer.class);
+		kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader != null) {
+			kryo.setClassLoader(classLoader);
+		}
+
+		// Ids below 10 are reserved by Kryo for primitives and String
+		int id = 20;
+		kryo.register(Date.class, id++);
+		kryo.register(ArrayList.class, id++);
+		kryo.register(LinkedList.class, id++);
+		kryo.register(HashMap.class, id++);
+		kryo.register(LinkedHashMap.class, id++);
+		kryo.register(TreeMap.class, id++);
+		kryo.register(ConcurrentHashMap.class, id++);
+		kryo.register(HashSet.class, id++);
+		kryo.register(LinkedHashSet.class, id++);
+		kryo.register(String[].class, id++);
+		kryo.register(byte[].class, id++);
+
+		// Id is reserved for class even if it can't be loaded to keep ids of next classes
+		id = FIRST_CONFIGURED_CLASS_ID;
+		for (String className : registeredClasses) {
+			try {
+				kryo.register(Class.forName(className, false, kryo.getClassLoader()), id);
+			} catch (ClassNotFoundException ex) {
+				LOG.warn("Failed to register class '{}' in Kryo cache value codec", className);
+			}
+			id++;
+		}
+
+		return kryo;
+	}
+
+}
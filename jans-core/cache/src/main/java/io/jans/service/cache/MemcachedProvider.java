@@ -31,6 +31,8 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
 
     private MemcachedConfiguration memcachedConfiguration;
 
+    private CacheValueCodecTranscoder transcoder;
+
     public MemcachedProvider() {
     }
 
@@ -41,6 +43,7 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
     @PostConstruct
     public void init() {
         this.memcachedConfiguration = cacheConfiguration.getMemcachedConfiguration();
+        this.transcoder = new CacheValueCodecTranscoder(CacheValueCodecFactory.getCodec(cacheConfiguration));
     }
 
     private MemcachedClient client;
@@ -115,7 +118,7 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
             if (key == null) {
                 return null;
             }
-            Object o = client.get(key);
+            Object o = client.get(key, transcoder);
             log.trace("get - key: " + key + ", value:" + o);
             return o;
         } catch (Exception e) {
@@ -128,7 +131,7 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
     public void put(int expirationInSeconds, String key, Object object) {
         try {
             int expiration = expirationInSeconds > 0 ? expirationInSeconds : memcachedConfiguration.getDefaultPutExpiration();
-            OperationFuture<Boolean> set = client.set(key, expiration, object);
+            OperationFuture<Boolean> set = client.set(key, expiration, object, transcoder);
             OperationStatus status = set.getStatus(); // block
             log.trace("set - key:" + key + ", expiration: " + expiration + ", status:" + status + ", get:" + get(key));
         } catch (Exception e) {
@@ -136,6 +139,45 @@ public class MemcachedProvider extends AbstractCacheProvider<MemcachedClient> {
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        try {
+            int expiration = expirationInSeconds > 0 ? expirationInSeconds : memcachedConfiguration.getDefaultPutExpiration();
+            OperationFuture<Boolean> add = client.add(key, expiration, object, transcoder);
+            Boolean added = add.get(); // block
+            log.trace("add - key:" + key + ", expiration: " + expiration + ", status:" + add.getStatus());
+
+            return Boolean.TRUE.equals(added);
+        } catch (Exception e) {
+            log.error("Failed to add object in cache, key: " + key, e);
+            return false;
+        }
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        try {
+            if (key == null) {
+                return null;
+            }
+
+            CASValue<Object> casValue = client.gets(key, transcoder);
+            if (casValue == null) {
+                return null;
+            }
+
+            // Delete with CAS fails if another client already consumed or changed entry
+            OperationFuture<Boolean> delete = client.delete(key, casValue.getCas());
+            boolean deleted = Boolean.TRUE.equals(delete.get());
+            log.trace("getAndRemove - key: " + key + ", deleted: " + deleted);
+
+            return deleted ? casValue.getValue() : null;
+        } catch (Exception e) {
+            log.error("Failed to get and remove object from cache, key: " + key, e);
+            return null;
+        }
+    }
+
     @Override
     public void remove(String key) {
         try {
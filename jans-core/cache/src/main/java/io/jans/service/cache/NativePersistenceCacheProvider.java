@@ -14,7 +14,6 @@ import io.jans.orm.model.base.SimpleBranch;
 import io.jans.orm.search.filter.Filter;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,10 +21,6 @@ import org.slf4j.LoggerFactory;
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -49,6 +44,8 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
 
 	private boolean attemptUpdateBeforeInsert;
 
+	private CacheValueCodec valueCodec;
+
     @PostConstruct
     public void init() {
     }
@@ -58,6 +55,7 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
         try {
             baseDn = cacheConfiguration.getNativePersistenceConfiguration().getBaseDn();
             deleteExpiredOnGetRequest = cacheConfiguration.getNativePersistenceConfiguration().isDeleteExpiredOnGetRequest();
+            valueCodec = CacheValueCodecFactory.getCodec(cacheConfiguration);
 
             if (StringUtils.isBlank(baseDn)) {
                 log.error("Failed to create NATIVE_PERSISTENCE cache provider. 'baseDn' in CacheConfiguration is not initialized. It has to be set by client application (e.g. oxAuth has to set it in ApplicationFactory.)");
@@ -166,23 +164,11 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     }
 
 	private void putImpl(String key, Object object, Date creationDate, int expirationInSeconds) {
-        Calendar expirationDate = Calendar.getInstance();
-		expirationDate.setTime(creationDate);
-		expirationDate.add(Calendar.SECOND, expirationInSeconds);
-
-		
 		String originalKey = key;
 
         key = hashKey(key);
 
-        NativePersistenceCacheEntity entity = new NativePersistenceCacheEntity();
-        entity.setTtl(expirationInSeconds);
-        entity.setData(asString(object));
-        entity.setId(key);
-        entity.setDn(createDn(key));
-        entity.setCreationDate(creationDate);
-        entity.setExpirationDate(expirationDate.getTime());
-        entity.setDeletable(true);
+        NativePersistenceCacheEntity entity = createEntity(key, object, creationDate, expirationInSeconds);
 
         try {
         	if (attemptUpdateBeforeInsert) {
@@ -219,6 +205,125 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
         }
 	}
 
+    /*
+     * Insert entry and rely on DB unique key check. Existing expired entry which is not removed by clean up yet is replaced
+     */
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        Date creationDate = new Date();
+
+        expirationInSeconds = expirationInSeconds > 0 ? expirationInSeconds : cacheConfiguration.getNativePersistenceConfiguration().getDefaultPutExpiration();
+
+        String originalKey = key;
+        key = hashKey(key);
+
+        NativePersistenceCacheEntity entity = createEntity(key, object, creationDate, expirationInSeconds);
+        try {
+            entryManager.persist(entity);
+            return true;
+        } catch (Exception e) {
+            if (!isDuplicateEntry(e, entity.getDn())) {
+                log.error("Failed to put entry if absent, key: " + originalKey + ", hashedKey: " + key + ", message: " + e.getMessage(), e);
+                return false;
+            }
+        }
+
+        try {
+            NativePersistenceCacheEntity existing = entryManager.find(NativePersistenceCacheEntity.class, entity.getDn());
+            if (existing == null) {
+                // Entry was removed after insert attempt
+                entryManager.persist(entity);
+                return true;
+            }
+
+            if (isExpired(existing.getExpirationDate()) && existing.isDeletable()) {
+                // Only one of concurrent callers removes expired entry
+                Filter expiredFilter = Filter.createANDFilter(
+                        Filter.createEqualityFilter("uuid", key),
+                        Filter.createLessOrEqualFilter("exp", entryManager.encodeTime(baseDn, new Date())));
+                if (entryManager.remove(baseDn, NativePersistenceCacheEntity.class, expiredFilter, 1) == 1) {
+                    entryManager.persist(entity);
+                    return true;
+                }
+            }
+        } catch (Exception e) {
+            log.trace("Failed to replace expired entry, key: " + originalKey + ", hashedKey: " + key + ", message: " + e.getMessage());
+        }
+
+        return false;
+    }
+
+    /*
+     * Not all backends report duplicate as DuplicateEntryException, so check if entry exists before report error
+     */
+    private boolean isDuplicateEntry(Exception ex, String dn) {
+        if (ex.getCause() instanceof DuplicateEntryException) {
+            return true;
+        }
+
+        try {
+            return entryManager.find(NativePersistenceCacheEntity.class, dn) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /*
+     * Entry is removed by conditional delete and value is returned only to caller which removed it.
+     * Concurrent callers can't both get the value
+     */
+    @Override
+    public Object getAndRemove(String key) {
+        final String originalKey = key;
+        key = hashKey(key);
+
+        NativePersistenceCacheEntity entity;
+        try {
+            entity = entryManager.find(NativePersistenceCacheEntity.class, createDn(key));
+        } catch (Exception e) {
+            // Entry doesn't exist
+            return null;
+        }
+
+        if ((entity == null) || (entity.getData() == null)) {
+            return null;
+        }
+
+        try {
+            int removed = entryManager.remove(baseDn, NativePersistenceCacheEntity.class, Filter.createEqualityFilter("uuid", key), 1);
+            if (removed != 1) {
+                log.trace("Entry was removed by other request, key: " + originalKey);
+                return null;
+            }
+        } catch (Exception e) {
+            log.error("Failed to remove entry, key: " + originalKey + ", hashedKey: " + key + ", message: " + e.getMessage(), e);
+            return null;
+        }
+
+        if (isExpired(entity.getExpirationDate()) && entity.isDeletable()) {
+            return null;
+        }
+
+        return fromString(entity.getData());
+    }
+
+    private NativePersistenceCacheEntity createEntity(String hashedKey, Object object, Date creationDate, int expirationInSeconds) {
+        Calendar expirationDate = Calendar.getInstance();
+		expirationDate.setTime(creationDate);
+		expirationDate.add(Calendar.SECOND, expirationInSeconds);
+
+        NativePersistenceCacheEntity entity = new NativePersistenceCacheEntity();
+        entity.setTtl(expirationInSeconds);
+        entity.setData(asString(object));
+        entity.setId(hashedKey);
+        entity.setDn(createDn(hashedKey));
+        entity.setCreationDate(creationDate);
+        entity.setExpirationDate(expirationDate.getTime());
+        entity.setDeletable(true);
+
+        return entity;
+    }
+
     private boolean silentlyRemoveEntityIfExists(String dn) {
         try {
             if (entryManager.find(NativePersistenceCacheEntity.class, dn) != null) {
@@ -250,14 +355,7 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     private Object fromString(String s) {
         try {
             byte[] data = Base64.decodeBase64(s);
-            ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data));
-            try {
-                Object o = ois.readObject();
-                ois.close();
-                return o;
-            } finally {
-                IOUtils.closeQuietly(ois);
-            }
+            return valueCodec.decode(data);
         } catch (Exception e) {
             log.error("Failed to deserizalize cache entity, data: " + s, e);
             return null;
@@ -265,18 +363,11 @@ public class NativePersistenceCacheProvider extends AbstractCacheProvider<Persis
     }
 
     private String asString(Object o) {
-        ObjectOutputStream oos = null;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            oos = new ObjectOutputStream(baos);
-            oos.writeObject(o);
-            oos.close();
-            return Base64.encodeBase64String(baos.toByteArray());
+            return Base64.encodeBase64String(valueCodec.encode(o));
         } catch (Exception e) {
             log.error("Failed to serizalize cache entity to string, object: " + 0, e);
             return null;
-        } finally {
-            IOUtils.closeQuietly(oos);
         }
     }
 
@@ -0,0 +1,241 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded local cache with LRU eviction and per entry expiration.
+ * Keys are spread across independently locked segments to reduce contention.
+ *
+ * Values are kept encoded, so each get returns new copy and callers can't
+ * change object seen by other threads. Entry never lives longer than entry
+ * in distributed cache. Expiration of distributed cache entry is known after
+ * local put or invalidation message from other node. Values loaded from
+ * distributed cache without known expiration are not kept locally.
+ *
+ * Each change of entry gets new version. Loaded value is kept only if entry
+ * version is the same as before load, so value loaded before invalidation
+ * message arrived is dropped.
+ */
+public class NearCache {
+
+	private static final int SEGMENTS_COUNT = 16;
+
+	private final Segment[] segments;
+	private final int maxExpirationInSeconds;
+	private final CacheValueCodec codec;
+	private final AtomicLong versions = new AtomicLong();
+
+	public NearCache(int maxSize, int maxExpirationInSeconds, CacheValueCodec codec) {
+		this.maxExpirationInSeconds = maxExpirationInSeconds;
+		this.codec = codec;
+
+		int segmentMaxSize = Math.max(1, maxSize / SEGMENTS_COUNT);
+		this.segments = new Segment[SEGMENTS_COUNT];
+		for (int i = 0; i < SEGMENTS_COUNT; i++) {
+			this.segments[i] = new Segment(segmentMaxSize);
+		}
+	}
+
+	public Object get(String key) {
+		byte[] data;
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Entry entry = segment.get(key);
+			if (entry == null) {
+				return null;
+			}
+
+			long now = System.currentTimeMillis();
+			if (entry.remoteExpiresAt < now) {
+				segment.remove(key);
+				return null;
+			}
+
+			if ((entry.value == null) || (entry.expiresAt < now)) {
+				return null;
+			}
+
+			data = entry.value;
+		}
+
+		return codec.decode(data);
+	}
+
+	/*
+	 * Put value which was put into distributed cache with specified expiration
+	 */
+	public void put(int expirationInSeconds, String key, Object value) {
+		if ((key == null) || (expirationInSeconds <= 0)) {
+			return;
+		}
+
+		long remoteExpiresAt = System.currentTimeMillis() + expirationInSeconds * 1000L;
+		byte[] data = encode(value);
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, newEntry(data, remoteExpiresAt));
+		}
+	}
+
+	/*
+	 * Returns stamp which should be passed to putLoaded after load from distributed cache.
+	 * Returns 0 if expiration of distributed cache entry is unknown
+	 */
+	public long getLoadStamp(String key) {
+		if (key == null) {
+			return 0;
+		}
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Entry entry = segment.get(key);
+			if ((entry == null) || (entry.remoteExpiresAt < System.currentTimeMillis())) {
+				return 0;
+			}
+
+			return entry.version;
+		}
+	}
+
+	/*
+	 * Put value loaded from distributed cache. It's kept only if entry wasn't changed since load started
+	 */
+	public void putLoaded(String key, Object value, long loadStamp) {
+		if ((key == null) || (loadStamp == 0)) {
+			return;
+		}
+
+		// Encode outside of lock
+		byte[] data = encode(value);
+		if (data == null) {
+			return;
+		}
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			Entry entry = segment.get(key);
+			if ((entry != null) && (entry.version == loadStamp) && (entry.remoteExpiresAt >= System.currentTimeMillis())) {
+				segment.put(key, newEntry(data, entry.remoteExpiresAt));
+			}
+		}
+	}
+
+	/*
+	 * Drop local value and remember expiration of changed distributed cache entry. Expiration in the past means that entry was removed
+	 */
+	public void invalidate(String key, long remoteExpiresAt) {
+		if (key == null) {
+			return;
+		}
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			if (remoteExpiresAt > System.currentTimeMillis()) {
+				segment.put(key, new Entry(null, 0, remoteExpiresAt, versions.incrementAndGet()));
+			} else {
+				segment.remove(key);
+			}
+		}
+	}
+
+	public void remove(String key) {
+		if (key == null) {
+			return;
+		}
+
+		Segment segment = segmentFor(key);
+		synchronized (segment) {
+			segment.remove(key);
+		}
+	}
+
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+
+		return size;
+	}
+
+	private Entry newEntry(byte[] data, long remoteExpiresAt) {
+		long expiresAt = Math.min(System.currentTimeMillis() + maxExpirationInSeconds * 1000L, remoteExpiresAt);
+
+		return new Entry(data, expiresAt, remoteExpiresAt, versions.incrementAndGet());
+	}
+
+	/*
+	 * Returns null if value can't be encoded. Such values are not kept locally
+	 */
+	private byte[] encode(Object value) {
+		if (value == null) {
+			return null;
+		}
+
+		try {
+			return codec.encode(value);
+		} catch (RuntimeException ex) {
+			return null;
+		}
+	}
+
+	private Segment segmentFor(String key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+
+		return segments[hash & (SEGMENTS_COUNT - 1)];
+	}
+
+	private static final class Entry {
+
+		private final byte[] value;
+		private final long expiresAt;
+		private final long remoteExpiresAt;
+		private final long version;
+
+		private Entry(byte[] value, long expiresAt, long remoteExpiresAt, long version) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+			this.remoteExpiresAt = remoteExpiresAt;
+			this.version = version;
+		}
+	}
+
+	private static final class Segment extends LinkedHashMap<String, Entry> {
+
+		private static final long serialVersionUID = 3418962546183625853L;
+
+		private final int maxSize;
+
+		private Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return size() > maxSize;
+		}
+	}
+
+}
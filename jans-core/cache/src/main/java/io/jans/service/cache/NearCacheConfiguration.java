@@ -0,0 +1,70 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Local L1 cache in front of distributed cache provider
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NearCacheConfiguration implements Serializable {
+
+    private static final long serialVersionUID = -6523217853716466351L;
+
+    private boolean enabled = false;
+
+    private int maxSize = 10000;
+
+    private int maxExpiration = 30; // in seconds
+
+    private String invalidationChannel = "jans_cache_invalidation";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxExpiration() {
+        return maxExpiration;
+    }
+
+    public void setMaxExpiration(int maxExpiration) {
+        this.maxExpiration = maxExpiration;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    public String toString() {
+        return "NearCacheConfiguration{" +
+                "enabled=" + enabled +
+                ", maxSize=" + maxSize +
+                ", maxExpiration=" + maxExpiration +
+                ", invalidationChannel='" + invalidationChannel + '\'' +
+                '}';
+    }
+}
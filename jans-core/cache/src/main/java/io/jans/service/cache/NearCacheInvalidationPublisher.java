@@ -0,0 +1,21 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+/**
+ * Notifies other nodes that near cache entry was changed
+ */
+public interface NearCacheInvalidationPublisher {
+
+	String ALL_KEYS = "*";
+
+	/*
+	 * Expiration time of changed entry in distributed cache in milliseconds. It's 0 if entry was removed
+	 */
+	void publishInvalidation(String key, long remoteExpiresAt);
+
+}
@@ -6,16 +6,15 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.SetParams;
 
 import java.io.IOException;
-import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -99,23 +98,37 @@ public class RedisClusterProvider extends AbstractRedisProvider {
         byte[] value = pool.get(key.getBytes());
         Object deserialized = null;
         if (value != null && value.length > 0) {
-            deserialized = SerializationUtils.deserialize(value);
+            deserialized = valueCodec.decode(value);
         }
         return deserialized;
     }
 
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
-        String status = pool.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+        String status = pool.setex(key.getBytes(), expirationInSeconds, valueCodec.encode(object));
         LOG.trace("put - key: " + key + ", status: " + status);
     }
 
     @Override
     public void put(String key, Object object) {
-        String status = pool.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+        String status = pool.set(key.getBytes(), valueCodec.encode(object));
         LOG.trace("put - key: " + key + ", status: " + status);
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        String status = pool.set(key.getBytes(), valueCodec.encode(object), SetParams.setParams().nx().ex(expirationInSeconds));
+        LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+
+        return status != null;
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        byte[] keyBytes = key.getBytes();
+        return decodeValue(pool.eval(GET_AND_REMOVE_SCRIPT, 1, keyBytes));
+    }
+
     @Override
     public void remove(String key) {
         Long entriesRemoved = pool.del(key.getBytes());
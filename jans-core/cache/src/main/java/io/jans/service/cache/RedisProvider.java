@@ -51,6 +51,7 @@ public class RedisProvider extends AbstractCacheProvider<AbstractRedisProvider>
             defaultPutExpiration = redisConfiguration.getDefaultPutExpiration() > 0 ? redisConfiguration.getDefaultPutExpiration()
                     : DEFAULT_PUT_EXPIRATION_IN_SECONDS;
             redisProvider = RedisProviderFactory.create(cacheConfiguration.getRedisConfiguration());
+            redisProvider.setValueCodec(CacheValueCodecFactory.getCodec(cacheConfiguration));
             redisProvider.create();
             log.debug("RedisProvider started.");
         } catch (Exception e) {
@@ -120,6 +121,19 @@ public class RedisProvider extends AbstractCacheProvider<AbstractRedisProvider>
         redisProvider.put(expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration, key, object);
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        return redisProvider.putIfAbsent(expirationInSeconds > 0 ? expirationInSeconds : defaultPutExpiration, key, object);
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        if (key == null) {
+            return null;
+        }
+        return redisProvider.getAndRemove(key);
+    }
+
     @Override
     public void remove(String key) {
         redisProvider.remove(key);
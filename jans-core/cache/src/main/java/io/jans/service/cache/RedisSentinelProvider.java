@@ -6,12 +6,11 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import redis.clients.jedis.*;
+import redis.clients.jedis.params.SetParams;
 
-import java.io.Serializable;
 
 import static io.jans.service.cache.RedisClusterProvider.hosts;
 
@@ -89,7 +88,7 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
             byte[] value = resource.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueCodec.decode(value);
             }
             return deserialized;
         }
@@ -98,7 +97,7 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
     @Override
     public void put(int expirationInSeconds, String key, Object object) {
         try (final Jedis resource = pool.getResource()) {
-            String status = resource.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = resource.setex(key.getBytes(), expirationInSeconds, valueCodec.encode(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         }
     }
@@ -106,11 +105,28 @@ public class RedisSentinelProvider extends AbstractRedisProvider {
     @Override
     public void put(String key, Object object) {
         try (final Jedis resource = pool.getResource()) {
-            String status = resource.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = resource.set(key.getBytes(), valueCodec.encode(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        try (final Jedis resource = pool.getResource()) {
+            String status = resource.set(key.getBytes(), valueCodec.encode(object), SetParams.setParams().nx().ex(expirationInSeconds));
+            LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+
+            return status != null;
+        }
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        try (final Jedis resource = pool.getResource()) {
+            return decodeValue(resource.eval(GET_AND_REMOVE_SCRIPT, 1, key.getBytes()));
+        }
+    }
+
     @Override
     public void remove(String key) {
         try (final Jedis resource = pool.getResource()) {
@@ -6,7 +6,6 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
@@ -15,9 +14,9 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.JedisShardInfo;
 import redis.clients.jedis.ShardedJedis;
 import redis.clients.jedis.ShardedJedisPool;
+import redis.clients.jedis.params.SetParams;
 
 import javax.net.ssl.SSLParameters;
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -120,7 +119,7 @@ public class RedisShardedProvider extends AbstractRedisProvider {
             byte[] value = jedis.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueCodec.decode(value);
             }
             return deserialized;
         } finally {
@@ -132,7 +131,7 @@ public class RedisShardedProvider extends AbstractRedisProvider {
     public void put(int expirationInSeconds, String key, Object object) {
         ShardedJedis jedis = pool.getResource();
         try {
-            String status = jedis.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = jedis.setex(key.getBytes(), expirationInSeconds, valueCodec.encode(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -143,13 +142,37 @@ public class RedisShardedProvider extends AbstractRedisProvider {
     public void put(String key, Object object) {
         ShardedJedis jedis = pool.getResource();
         try {
-            String status = jedis.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = jedis.set(key.getBytes(), valueCodec.encode(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        ShardedJedis jedis = pool.getResource();
+        try {
+            String status = jedis.set(key.getBytes(), valueCodec.encode(object), SetParams.setParams().nx().ex(expirationInSeconds));
+            LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+
+            return status != null;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        ShardedJedis jedis = pool.getResource();
+        try {
+            byte[] keyBytes = key.getBytes();
+            return decodeValue(jedis.getShard(keyBytes).eval(GET_AND_REMOVE_SCRIPT, 1, keyBytes));
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void remove(String key) {
         ShardedJedis jedis = pool.getResource();
@@ -6,7 +6,6 @@
 
 package io.jans.service.cache;
 
-import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.slf4j.Logger;
@@ -15,11 +14,11 @@ import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.SetParams;
 
 import jakarta.annotation.PreDestroy;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
-import java.io.Serializable;
 
 /**
  * Important : keep it weld free. It's reused by oxd !
@@ -95,7 +94,7 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
             byte[] value = jedis.get(key.getBytes());
             Object deserialized = null;
             if (value != null && value.length > 0) {
-                deserialized = SerializationUtils.deserialize(value);
+                deserialized = valueCodec.decode(value);
             }
             return deserialized;
         } finally {
@@ -108,7 +107,7 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         Jedis jedis = pool.getResource();
 
         try {
-            String status = jedis.setex(key.getBytes(), expirationInSeconds, SerializationUtils.serialize((Serializable) object));
+            String status = jedis.setex(key.getBytes(), expirationInSeconds, valueCodec.encode(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
@@ -120,13 +119,38 @@ public class RedisStandaloneProvider extends AbstractRedisProvider {
         Jedis jedis = pool.getResource();
 
         try {
-            String status = jedis.set(key.getBytes(), SerializationUtils.serialize((Serializable) object));
+            String status = jedis.set(key.getBytes(), valueCodec.encode(object));
             LOG.trace("put - key: " + key + ", status: " + status);
         } finally {
             jedis.close();
         }
     }
 
+    @Override
+    public boolean putIfAbsent(int expirationInSeconds, String key, Object object) {
+        Jedis jedis = pool.getResource();
+
+        try {
+            String status = jedis.set(key.getBytes(), valueCodec.encode(object), SetParams.setParams().nx().ex(expirationInSeconds));
+            LOG.trace("putIfAbsent - key: " + key + ", status: " + status);
+
+            return status != null;
+        } finally {
+            jedis.close();
+        }
+    }
+
+    @Override
+    public Object getAndRemove(String key) {
+        Jedis jedis = pool.getResource();
+
+        try {
+            return decodeValue(jedis.eval(GET_AND_REMOVE_SCRIPT, 1, key.getBytes()));
+        } finally {
+            jedis.close();
+        }
+    }
+
     @Override
     public void remove(String key) {
         Jedis jedis = pool.getResource();
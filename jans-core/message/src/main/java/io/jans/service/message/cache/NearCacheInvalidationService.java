@@ -0,0 +1,142 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.message.cache;
+
+import java.util.UUID;
+
+import org.slf4j.Logger;
+
+import io.jans.service.MessageService;
+import io.jans.service.NearCacheService;
+import io.jans.service.cache.CacheConfiguration;
+import io.jans.service.cache.NearCacheConfiguration;
+import io.jans.service.cache.NearCacheInvalidationPublisher;
+import io.jans.service.message.model.config.MessageProviderType;
+import io.jans.service.message.provider.MessageProvider;
+import io.jans.service.message.pubsub.PubSubInterface;
+import io.jans.util.StringHelper;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Distributes near cache invalidations between nodes via message provider.
+ * Message format: {nodeId}:{expiration of distributed cache entry in ms}:{key}
+ *
+ * Near cache is enabled only after subscription via real message provider
+ */
+@ApplicationScoped
+public class NearCacheInvalidationService implements NearCacheInvalidationPublisher, PubSubInterface {
+
+	private static final char SEPARATOR = ':';
+
+	@Inject
+	private Logger log;
+
+	@Inject
+	private CacheConfiguration cacheConfiguration;
+
+	@Inject
+	private MessageService messageService;
+
+	@Inject
+	private MessageProvider messageProvider;
+
+	@Inject
+	private NearCacheService nearCacheService;
+
+	private final String nodeId = UUID.randomUUID().toString();
+
+	private volatile boolean subscribed;
+
+	public void subscribe() {
+		NearCacheConfiguration nearCacheConfiguration = cacheConfiguration.getNearCacheConfiguration();
+		if ((nearCacheConfiguration == null) || !nearCacheConfiguration.isEnabled() || !nearCacheService.isNearCacheConfigured()) {
+			return;
+		}
+
+		MessageProviderType messageProviderType = messageProvider.getProviderType();
+		if ((messageProviderType == null) || (MessageProviderType.DISABLED == messageProviderType)) {
+			log.warn("Near cache is disabled because message provider is disabled");
+			return;
+		}
+
+		try {
+			messageService.subscribe(this, nearCacheConfiguration.getInvalidationChannel());
+		} catch (Exception ex) {
+			log.error("Failed to subscribe to near cache invalidation channel '{}', near cache is disabled", nearCacheConfiguration.getInvalidationChannel(), ex);
+			return;
+		}
+
+		subscribed = true;
+		nearCacheService.setInvalidationPublisher(this);
+		log.info("Subscribed to near cache invalidation channel '{}'", nearCacheConfiguration.getInvalidationChannel());
+	}
+
+	@PreDestroy
+	public void unsubscribe() {
+		if (subscribed) {
+			nearCacheService.setInvalidationPublisher(null);
+			messageService.unsubscribe(this);
+			subscribed = false;
+		}
+	}
+
+	@Override
+	public void publishInvalidation(String key, long remoteExpiresAt) {
+		NearCacheConfiguration nearCacheConfiguration = cacheConfiguration.getNearCacheConfiguration();
+		if (!subscribed || (nearCacheConfiguration == null)) {
+			return;
+		}
+
+		boolean result = messageService.publish(nearCacheConfiguration.getInvalidationChannel(),
+				nodeId + SEPARATOR + remoteExpiresAt + SEPARATOR + key);
+		if (!result) {
+			log.warn("Failed to publish near cache invalidation, key: '{}'", key);
+		}
+	}
+
+	@Override
+	public void onMessage(String channel, String message) {
+		if (StringHelper.isEmpty(message)) {
+			return;
+		}
+
+		int idx = message.indexOf(SEPARATOR);
+		int keyIdx = idx == -1 ? -1 : message.indexOf(SEPARATOR, idx + 1);
+		if (keyIdx == -1) {
+			log.warn("Get near cache invalidation message with invalid format: '{}'", message);
+			return;
+		}
+
+		if (nodeId.equals(message.substring(0, idx))) {
+			// Skip own message
+			return;
+		}
+
+		long remoteExpiresAt;
+		try {
+			remoteExpiresAt = Long.parseLong(message.substring(idx + 1, keyIdx));
+		} catch (NumberFormatException ex) {
+			log.warn("Get near cache invalidation message with invalid expiration: '{}'", message);
+			remoteExpiresAt = 0;
+		}
+
+		nearCacheService.invalidateLocal(message.substring(keyIdx + 1), remoteExpiresAt);
+	}
+
+	@Override
+	public void onSubscribe(String channel, int subscribedChannels) {
+		log.debug("onSubscribe: {}, subscribedChannels: {}", channel, subscribedChannels);
+	}
+
+	@Override
+	public void onUnsubscribe(String channel, int subscribedChannels) {
+		log.debug("onUnsubscribe: {}, subscribedChannels: {}", channel, subscribedChannels);
+	}
+
+}
@@ -41,7 +41,37 @@ public enum MetricType implements AttributeEnum {
 	TOKEN_REFRESH_TOKEN_COUNT("tkn_refresh_token_count",
             "Count successfull issued refresh tokens", CounterMetricData.class, CounterMetricEntry.class),
 	TOKEN_LONG_LIVED_ACCESS_TOKEN_COUNT("tkn_long_lived_access_token_count",
-            "Count successfull issued long lived access tokens", CounterMetricData.class, CounterMetricEntry.class);
+            "Count successfull issued long lived access tokens", CounterMetricData.class, CounterMetricEntry.class),
+
+	CACHE_IN_MEMORY_HIT_COUNT("cache_in_memory_hit_count",
+            "Count in-memory cache hits", CounterMetricData.class, CounterMetricEntry.class),
+	CACHE_IN_MEMORY_MISS_COUNT("cache_in_memory_miss_count",
+            "Count in-memory cache misses", CounterMetricData.class, CounterMetricEntry.class),
+	CACHE_IN_MEMORY_EVICTION_COUNT("cache_in_memory_eviction_count",
+            "Count in-memory cache entries evicted because of size limit", CounterMetricData.class, CounterMetricEntry.class),
+
+	SESSION_LAST_USED_AT_QUEUE_SIZE("session_last_used_at_queue_size",
+            "Number of session last used time updates waiting to be written", CounterMetricData.class, CounterMetricEntry.class),
+	SESSION_LAST_USED_AT_FLUSH_RATE("session_last_used_at_flush_rate",
+            "Session last used time updates flush rate", TimerMetricData.class, TimerMetricEntry.class),
+
+	SCRIPT_INVOCATION_COUNT("script_invocation_count",
+            "Count custom script method invocations", CounterMetricData.class, CounterMetricEntry.class),
+	SCRIPT_INVOCATION_ERROR_COUNT("script_invocation_error_count",
+            "Count failed custom script method invocations", CounterMetricData.class, CounterMetricEntry.class),
+	SCRIPT_INVOCATION_TIMEOUT_COUNT("script_invocation_timeout_count",
+            "Count custom script method invocations which exceeded deadline", CounterMetricData.class, CounterMetricEntry.class),
+	SCRIPT_INVOCATION_SLOW_COUNT("script_invocation_slow_count",
+            "Count custom script method invocations longer than slow threshold", CounterMetricData.class, CounterMetricEntry.class),
+
+	AUDIT_LOG_SENT_COUNT("audit_log_sent_count",
+            "Count sent audit log messages", CounterMetricData.class, CounterMetricEntry.class),
+	AUDIT_LOG_DROPPED_COUNT("audit_log_dropped_count",
+            "Count dropped audit log messages", CounterMetricData.class, CounterMetricEntry.class),
+	AUDIT_LOG_SPILLED_COUNT("audit_log_spilled_count",
+            "Count audit log messages written to journal", CounterMetricData.class, CounterMetricEntry.class),
+	AUDIT_LOG_QUEUE_SIZE("audit_log_queue_size",
+            "Number of audit log messages waiting to be sent", CounterMetricData.class, CounterMetricEntry.class);
 
     private String value;
     private String displayName;
@@ -0,0 +1,21 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.exception;
+
+/**
+ * Custom script method didn't finish before configured deadline. Script thread
+ * can't be stopped and still may use objects passed to it, so request which
+ * called script should fail.
+ */
+public class ScriptInvocationTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 2317049352862911456L;
+
+    public ScriptInvocationTimeoutException(String message) {
+        super(message);
+    }
+}
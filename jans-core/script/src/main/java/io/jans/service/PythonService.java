@@ -15,8 +15,11 @@ import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.util.Properties;
 
+import org.python.core.BytecodeLoader;
+import org.python.core.PyCode;
 import org.python.core.PyException;
 import org.python.core.PyObject;
+import org.python.core.imp;
 import org.python.util.PythonInterpreter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -190,6 +193,54 @@ public class PythonService implements Serializable {
         return loadPythonScript(scriptPythonType, scriptJavaType, constructorArgs, currentPythonInterpreter);
     }
 
+    /**
+     * Compiles script into bytecode of Jython module class ($py.class) without executing it
+     *
+     * @param moduleName name of generated module class. It should be valid Java identifier
+     * @return bytecode or null if interpreter is not initialized
+     */
+    public byte[] compilePythonScript(InputStream scriptFile, String moduleName, String scriptName) throws PythonException {
+        if (!interpereterReady || (scriptFile == null)) {
+            return null;
+        }
+
+        try {
+            return imp.compileSource(moduleName, scriptFile, scriptName);
+        } catch (Exception ex) {
+            log.error("Failed to compile python file" + ex.getMessage(), ex);
+            throw new PythonException(String.format("Failed to compile python file '%s'", scriptName), ex);
+        }
+    }
+
+    /**
+     * Loads script compiled by {@link #compilePythonScript(InputStream, String, String)}
+     */
+    public <T> T loadPythonScript(byte[] compiledScript, String moduleName, String scriptName, String scriptPythonType,
+            Class<T> scriptJavaType, PyObject[] constructorArgs) throws PythonException {
+        if (!interpereterReady || (compiledScript == null)) {
+            return null;
+        }
+
+        PyCode code;
+        try {
+            code = BytecodeLoader.makeCode(moduleName + "$py", compiledScript, scriptName);
+        } catch (Exception ex) {
+            throw new PythonException(String.format("Failed to load compiled python file '%s'", scriptName), ex);
+        }
+
+        PythonInterpreter currentPythonInterpreter = PythonInterpreter.threadLocalStateInterpreter(null);
+        initPythonInterpreter(currentPythonInterpreter);
+
+        try {
+            currentPythonInterpreter.exec(code);
+        } catch (Exception ex) {
+            log.error("Failed to load python file" + ex.getMessage(), ex);
+            throw new PythonException(String.format("Failed to load python file '%s'", scriptName), ex);
+        }
+
+        return loadPythonScript(scriptPythonType, scriptJavaType, constructorArgs, currentPythonInterpreter);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T loadPythonScript(String scriptPythonType, Class<T> scriptJavaType, PyObject[] constructorArgs, PythonInterpreter interpreter)
             throws PythonException {
@@ -0,0 +1,405 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.custom.script;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.CodeSource;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.python.core.PyObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.jans.model.ProgrammingLanguage;
+import io.jans.service.custom.script.jit.SimpleJavaCompiler;
+
+/**
+ * Keeps compiled bytecode of custom scripts in memory and on disk. Key is hash of
+ * script source and fingerprint of compiler classpath, so any change of script or
+ * of classes used to compile it produces new entry.
+ *
+ * Directory is defined by "jans.script.cache.dir" system property. Default is
+ * "${jans.base}/script-cache". Disk cache is not used if directory is not defined,
+ * if it's writable by group or others or if it's owned by other user. Disk cache
+ * can be turned off with "jans.script.cache.enabled=false".
+ *
+ * Each file on disk starts with HMAC-SHA256 of entry key and bytecode. HMAC key is
+ * generated on first use and stored in cache directory with owner only permissions.
+ * Entries with wrong HMAC are removed.
+ */
+public class CompiledScriptCache {
+
+	public static final String CACHE_DIR_PROPERTY = "jans.script.cache.dir";
+	public static final String CACHE_ENABLED_PROPERTY = "jans.script.cache.enabled";
+
+	private static final int MAX_MEMORY_ENTRIES = 500;
+	private static final String FILE_EXTENSION = ".class";
+	private static final String HMAC_KEY_FILE_NAME = "hmac.key";
+	private static final String HMAC_ALGORITHM = "HmacSHA256";
+	private static final int HMAC_LENGTH = 32;
+
+	private static final Set<PosixFilePermission> OWNER_ONLY_DIR_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+	private static final Set<PosixFilePermission> OWNER_ONLY_FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+	private final Logger log = LoggerFactory.getLogger(CompiledScriptCache.class);
+
+	private final Cache<String, byte[]> memoryCache = CacheBuilder.newBuilder().maximumSize(MAX_MEMORY_ENTRIES).build();
+	private final Map<ProgrammingLanguage, String> fingerprints = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	private final File configuredCacheDir;
+
+	private volatile File cacheDir;
+	private volatile byte[] hmacKey;
+	private volatile boolean cacheDirChecked;
+
+	public CompiledScriptCache() {
+		this(null);
+	}
+
+	/*
+	 * Uses specified directory instead of directory defined by system properties
+	 */
+	public CompiledScriptCache(File cacheDir) {
+		this.configuredCacheDir = cacheDir;
+	}
+
+	public String getKey(ProgrammingLanguage programmingLanguage, String source) {
+		return DigestUtils.sha256Hex(programmingLanguage.getValue() + '\n' + getFingerprint(programmingLanguage) + '\n' + source);
+	}
+
+	/*
+	 * Returns null if there is no compiled script in cache
+	 */
+	public byte[] get(String key) {
+		byte[] bytecode = memoryCache.getIfPresent(key);
+		if (bytecode == null) {
+			bytecode = readFromDisk(key);
+			if (bytecode != null) {
+				memoryCache.put(key, bytecode);
+			}
+		}
+
+		if (bytecode == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+
+		return bytecode;
+	}
+
+	public boolean contains(String key) {
+		if (memoryCache.getIfPresent(key) != null) {
+			return true;
+		}
+
+		File dir = getCacheDir();
+		return (dir != null) && new File(dir, key + FILE_EXTENSION).isFile();
+	}
+
+	public void put(String key, byte[] bytecode) {
+		memoryCache.put(key, bytecode);
+		writeToDisk(key, bytecode);
+	}
+
+	public void remove(String key) {
+		memoryCache.invalidate(key);
+
+		File dir = getCacheDir();
+		if (dir != null) {
+			try {
+				Files.deleteIfExists(new File(dir, key + FILE_EXTENSION).toPath());
+			} catch (IOException ex) {
+				log.warn("Failed to remove compiled script '{}' from cache", key, ex);
+			}
+		}
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	private byte[] readFromDisk(String key) {
+		File dir = getCacheDir();
+		if (dir == null) {
+			return null;
+		}
+
+		File file = new File(dir, key + FILE_EXTENSION);
+		if (!file.isFile()) {
+			return null;
+		}
+
+		byte[] data;
+		try {
+			data = Files.readAllBytes(file.toPath());
+		} catch (IOException ex) {
+			log.warn("Failed to read compiled script from '{}'", file, ex);
+			return null;
+		}
+
+		byte[] bytecode = (data.length > HMAC_LENGTH) ? Arrays.copyOfRange(data, HMAC_LENGTH, data.length) : null;
+		if ((bytecode == null) || !MessageDigest.isEqual(Arrays.copyOf(data, HMAC_LENGTH), hmac(key, bytecode))) {
+			log.warn("Compiled script '{}' has invalid signature, removing it from cache", file);
+			remove(key);
+			return null;
+		}
+
+		return bytecode;
+	}
+
+	private void writeToDisk(String key, byte[] bytecode) {
+		File dir = getCacheDir();
+		if (dir == null) {
+			return;
+		}
+
+		File file = new File(dir, key + FILE_EXTENSION);
+		try {
+			// Write to temporary file first to not expose partially written entry to other nodes
+			File tmpFile = File.createTempFile(key, ".tmp", dir);
+			Files.write(tmpFile.toPath(), hmac(key, bytecode));
+			Files.write(tmpFile.toPath(), bytecode, StandardOpenOption.APPEND);
+			Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException ex) {
+			log.warn("Failed to write compiled script to '{}'", file, ex);
+		}
+	}
+
+	private byte[] hmac(String key, byte[] bytecode) {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(hmacKey, HMAC_ALGORITHM));
+			mac.update(key.getBytes(StandardCharsets.UTF_8));
+			return mac.doFinal(bytecode);
+		} catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Failed to calculate compiled script signature", ex);
+		}
+	}
+
+	private File getCacheDir() {
+		if (cacheDirChecked) {
+			return cacheDir;
+		}
+
+		synchronized (this) {
+			if (!cacheDirChecked) {
+				cacheDir = prepareCacheDir();
+				cacheDirChecked = true;
+			}
+		}
+
+		return cacheDir;
+	}
+
+	private File prepareCacheDir() {
+		if (!Boolean.parseBoolean(System.getProperty(CACHE_ENABLED_PROPERTY, "true"))) {
+			log.info("Compiled scripts disk cache is disabled");
+			return null;
+		}
+
+		File dir = configuredCacheDir;
+		if (dir == null) {
+			String dirName = System.getProperty(CACHE_DIR_PROPERTY);
+			if (StringUtils.isBlank(dirName)) {
+				String baseDir = System.getProperty("jans.base");
+				if (StringUtils.isBlank(baseDir)) {
+					log.info("Neither '{}' nor 'jans.base' is defined, compiled scripts disk cache is disabled", CACHE_DIR_PROPERTY);
+					return null;
+				}
+				dirName = baseDir + File.separator + "script-cache";
+			}
+			dir = new File(dirName);
+		}
+
+		try {
+			if (!dir.isDirectory()) {
+				if (isPosix(dir.getAbsoluteFile().getParentFile())) {
+					Files.createDirectories(dir.toPath(), PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIR_PERMISSIONS));
+				} else {
+					Files.createDirectories(dir.toPath());
+				}
+			}
+
+			if (!isSecure(dir.toPath())) {
+				log.warn("Compiled scripts cache directory '{}' is writable by other users, disk cache is disabled", dir);
+				return null;
+			}
+
+			this.hmacKey = loadHmacKey(dir);
+			if (this.hmacKey == null) {
+				return null;
+			}
+		} catch (IOException ex) {
+			log.warn("Failed to prepare compiled scripts cache directory '{}', disk cache is disabled", dir, ex);
+			return null;
+		}
+
+		log.info("Using compiled scripts cache directory '{}'", dir);
+		return dir;
+	}
+
+	private byte[] loadHmacKey(File dir) throws IOException {
+		Path keyFile = new File(dir, HMAC_KEY_FILE_NAME).toPath();
+		if (Files.isRegularFile(keyFile)) {
+			if (!isOwnerOnly(keyFile)) {
+				log.warn("Compiled scripts cache key '{}' is accessible by other users, disk cache is disabled", keyFile);
+				return null;
+			}
+
+			return Files.readAllBytes(keyFile);
+		}
+
+		byte[] key = new byte[HMAC_LENGTH];
+		new SecureRandom().nextBytes(key);
+
+		Path tmpFile = Files.createTempFile(dir.toPath(), HMAC_KEY_FILE_NAME, ".tmp");
+		if (isPosix(dir)) {
+			Files.setPosixFilePermissions(tmpFile, OWNER_ONLY_FILE_PERMISSIONS);
+		}
+		Files.write(tmpFile, key);
+		try {
+			Files.move(tmpFile, keyFile, StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException ex) {
+			// Other node created key concurrently
+			Files.deleteIfExists(tmpFile);
+			return loadHmacKey(dir);
+		}
+
+		return key;
+	}
+
+	/*
+	 * Directory should be owned by current user and should not be writable by group or others
+	 */
+	private static boolean isSecure(Path dir) throws IOException {
+		if (!isPosix(dir.toFile())) {
+			return true;
+		}
+
+		if (!StringUtils.equals(Files.getOwner(dir).getName(), System.getProperty("user.name"))) {
+			return false;
+		}
+
+		Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(dir);
+		return !permissions.contains(PosixFilePermission.GROUP_WRITE) && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+	}
+
+	private static boolean isOwnerOnly(Path file) throws IOException {
+		if (!isPosix(file.toFile())) {
+			return true;
+		}
+
+		Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(file);
+		return OWNER_ONLY_FILE_PERMISSIONS.containsAll(permissions);
+	}
+
+	private static boolean isPosix(File file) {
+		return (file != null) && Files.getFileAttributeView(file.toPath(), PosixFileAttributeView.class) != null;
+	}
+
+	private String getFingerprint(ProgrammingLanguage programmingLanguage) {
+		return fingerprints.computeIfAbsent(programmingLanguage, this::computeFingerprint);
+	}
+
+	private String computeFingerprint(ProgrammingLanguage programmingLanguage) {
+		String classpath;
+		if (ProgrammingLanguage.JAVA == programmingLanguage) {
+			classpath = SimpleJavaCompiler.getClasspath();
+		} else {
+			CodeSource codeSource = PyObject.class.getProtectionDomain().getCodeSource();
+			classpath = (codeSource == null) ? "" : codeSource.getLocation().getPath();
+		}
+
+		return computeClasspathFingerprint(classpath);
+	}
+
+	/*
+	 * Path, size and modification time of each jar. Directories are fingerprinted by all files in them
+	 */
+	static String computeClasspathFingerprint(String classpath) {
+		MessageDigest digest = DigestUtils.getSha256Digest();
+		update(digest, System.getProperty("java.version"));
+
+		for (String entry : StringUtils.split(classpath, File.pathSeparator)) {
+			update(digest, entry);
+
+			File file = toFile(entry);
+			if (file.isFile()) {
+				update(digest, file.length() + ":" + file.lastModified());
+			} else if (file.isDirectory()) {
+				try (Stream<Path> paths = Files.walk(file.toPath())) {
+					paths.filter(Files::isRegularFile).sorted().forEach(path -> {
+						File pathFile = path.toFile();
+						update(digest, path.toString() + ':' + pathFile.length() + ':' + pathFile.lastModified());
+					});
+				} catch (IOException | RuntimeException ex) {
+					// Fingerprint which can't be reproduced prevents use of stale entries
+					update(digest, String.valueOf(System.nanoTime()));
+				}
+			}
+		}
+
+		return Hex.encodeHexString(digest.digest());
+	}
+
+	/*
+	 * Class loader URLs are added to classpath as "file:" URLs
+	 */
+	private static File toFile(String entry) {
+		if (entry.startsWith("file:")) {
+			try {
+				return new File(URI.create(entry));
+			} catch (IllegalArgumentException ex) {
+				return new File(entry.substring("file:".length()));
+			}
+		}
+
+		return new File(entry);
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) '\n');
+	}
+
+}
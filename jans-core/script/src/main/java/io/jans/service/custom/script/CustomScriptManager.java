@@ -10,13 +10,17 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.io.FileUtils;
@@ -55,6 +59,8 @@ public class CustomScriptManager {
 	public static final String CUSTOM_SCRIPT_MODIFIED_EVENT_TYPE = "customScriptModifiedEvent";
 	public static final int DEFAULT_INTERVAL = 30; // 30 seconds
 
+	private static final int SLOWEST_SCRIPTS_LOG_COUNT = 5;
+
 	protected static final String[] CUSTOM_SCRIPT_CHECK_ATTRIBUTES = { "dn", "inum", "jansRevision", "jansScrTyp",
 			"jansModuleProperty", "jansEnabled" };
 
@@ -84,6 +90,8 @@ public class CustomScriptManager {
 	private long lastFinishedTime;
 
 	private Map<CustomScriptType, List<CustomScriptConfiguration>> customScriptConfigurationsByScriptType;
+
+	private final Set<String> scriptsToReload = ConcurrentHashMap.newKeySet();
 	
     private boolean initialized = false;
 
@@ -218,6 +226,7 @@ public class CustomScriptManager {
 		}
 
 		List<String> newSupportedCustomScriptInums = new ArrayList<>();
+		Map<String, PendingScript> pendingScripts = new LinkedHashMap<>();
 		for (CustomScript newCustomScript : newCustomScripts) {
 			if (!newCustomScript.isEnabled()) {
 				continue;
@@ -236,7 +245,8 @@ public class CustomScriptManager {
 
 			CustomScriptConfiguration prevCustomScriptConfiguration = newCustomScriptConfigurations
 					.get(newSupportedCustomScriptInum);
-			if (prevCustomScriptConfiguration == null || prevCustomScriptConfiguration.getCustomScript()
+			boolean forceReload = scriptsToReload.remove(newSupportedCustomScriptInum);
+			if (forceReload || prevCustomScriptConfiguration == null || prevCustomScriptConfiguration.getCustomScript()
                     .getRevision() != newCustomScript.getRevision()) {
 				// Destroy old version properly before creating new one
 				if (prevCustomScriptConfiguration != null) {
@@ -276,18 +286,36 @@ public class CustomScriptManager {
 					}
 				}
 				
+				pendingScripts.put(newSupportedCustomScriptInum, new PendingScript(loadedCustomScript, newConfigurationAttributes));
+			}
+		}
+
+		if (!pendingScripts.isEmpty()) {
+			long startTime = System.currentTimeMillis();
+
+			// Compile scripts in parallel. Init methods are called sequentially below
+			List<CustomScript> pendingCustomScripts = new ArrayList<>(pendingScripts.size());
+			for (PendingScript pendingScript : pendingScripts.values()) {
+				pendingCustomScripts.add(pendingScript.customScript);
+			}
+			externalTypeCreator.precompile(pendingCustomScripts);
+
+			for (Entry<String, PendingScript> pendingScriptEntry : pendingScripts.entrySet()) {
+				PendingScript pendingScript = pendingScriptEntry.getValue();
+
 				// Load script
-				BaseExternalType newCustomScriptExternalType = externalTypeCreator.createExternalType(loadedCustomScript,
-						newConfigurationAttributes);
+				BaseExternalType newCustomScriptExternalType = externalTypeCreator.createExternalType(pendingScript.customScript,
+						pendingScript.configurationAttributes);
 
 				CustomScriptConfiguration newCustomScriptConfiguration = new CustomScriptConfiguration(
-						loadedCustomScript, newCustomScriptExternalType, newConfigurationAttributes);
+						pendingScript.customScript, newCustomScriptExternalType, pendingScript.configurationAttributes);
 
 				// Store configuration and script
-				newCustomScriptConfigurations.put(newSupportedCustomScriptInum, newCustomScriptConfiguration);
-
-				modified = true;
+				newCustomScriptConfigurations.put(pendingScriptEntry.getKey(), newCustomScriptConfiguration);
 			}
+
+			modified = true;
+			logLoadTimes(pendingScripts, System.currentTimeMillis() - startTime);
 		}
 
 		// Remove old external scripts configurations
@@ -309,6 +337,37 @@ public class CustomScriptManager {
 		return new ReloadResult(newCustomScriptConfigurations, modified);
 	}
 
+	private void logLoadTimes(Map<String, PendingScript> pendingScripts, long duration) {
+		Map<String, Long> scriptLoadTimes = externalTypeCreator.getScriptLoadTimes();
+
+		List<CustomScript> slowestScripts = new ArrayList<>();
+		for (PendingScript pendingScript : pendingScripts.values()) {
+			slowestScripts.add(pendingScript.customScript);
+		}
+		slowestScripts.sort(Comparator.comparingLong(
+				(CustomScript customScript) -> scriptLoadTimes.getOrDefault(customScript.getInum(), 0L)).reversed());
+
+		StringBuilder sb = new StringBuilder();
+		for (CustomScript customScript : slowestScripts.subList(0, Math.min(SLOWEST_SCRIPTS_LOG_COUNT, slowestScripts.size()))) {
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+			sb.append(customScript.getName()).append(": ").append(scriptLoadTimes.get(customScript.getInum())).append(" ms");
+		}
+
+		log.info("Loaded {} custom scripts in {} ms, slowest: {}", pendingScripts.size(), duration, sb);
+	}
+
+	private static class PendingScript {
+		private final CustomScript customScript;
+		private final Map<String, SimpleCustomProperty> configurationAttributes;
+
+		PendingScript(CustomScript customScript, Map<String, SimpleCustomProperty> configurationAttributes) {
+			this.customScript = customScript;
+			this.configurationAttributes = configurationAttributes;
+		}
+	}
+
 	private String loadFromFile(String locationPath) {
 		try {
 			String scriptFromFile = FileUtils.readFileToString(new File(locationPath), StandardCharsets.UTF_8);
@@ -407,6 +466,16 @@ public class CustomScriptManager {
 		return supportedCustomScriptTypes.contains(customScriptType);
 	}
 
+	/*
+	 * Script class failed to link at call time. Compiled script is removed from cache and script is
+	 * recompiled on next reload
+	 */
+	public void reloadScript(CustomScriptConfiguration customScriptConfiguration) {
+		CustomScript customScript = customScriptConfiguration.getCustomScript();
+		externalTypeCreator.evictCompiledScript(customScript);
+		scriptsToReload.add(StringHelper.toLowerCase(customScript.getInum()));
+	}
+
     public void saveScriptError(CustomScript customScript, Exception exception) {
         externalTypeCreator.saveScriptError(customScript, exception);
     }
@@ -7,20 +7,35 @@
 package io.jans.service.custom.script;
 
 import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
+import io.jans.exception.ScriptInvocationTimeoutException;
 import io.jans.service.custom.inject.ReloadScript;
+import io.jans.service.custom.script.ScriptInvocationMetrics.InvocationStats;
+import io.jans.service.custom.script.ScriptInvocationMetrics.SlowInvocation;
+import io.jans.model.SimpleCustomProperty;
 import io.jans.model.custom.script.CustomScriptType;
 import io.jans.model.custom.script.conf.CustomScriptConfiguration;
 import io.jans.model.custom.script.model.CustomScript;
 import io.jans.model.custom.script.type.BaseExternalType;
 import io.jans.util.StringHelper;
+import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +50,31 @@ public abstract class ExternalScriptService implements Serializable {
 
     private static final long serialVersionUID = -1070021905117441202L;
 
+    /**
+     * Script configuration property with deadline in milliseconds of all script methods.
+     * Deadline of single method can be set with "invocation_timeout.&lt;method&gt;" property.
+     * Method with deadline is executed in separate thread. Request scoped beans are not
+     * available to script in this case. Script thread can't be stopped after deadline, so
+     * {@link ScriptInvocationTimeoutException} is thrown and request should fail.
+     */
+    public static final String INVOCATION_TIMEOUT_PROPERTY = "invocation_timeout";
+
+    /**
+     * Script configuration property with slow invocation threshold in milliseconds
+     */
+    public static final String SLOW_INVOCATION_THRESHOLD_PROPERTY = "slow_invocation_threshold";
+
+    private static final long DEFAULT_SLOW_INVOCATION_THRESHOLD = 1000;
+    private static final long SLOW_INVOCATION_SAMPLE_INTERVAL = 10000;
+    private static final int MAX_INVOCATION_THREADS = 64;
+
+    private static final ExecutorService INVOCATION_EXECUTOR = new ThreadPoolExecutor(0, MAX_INVOCATION_THREADS, 60L,
+            TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "custom-script-invoker");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     @Inject
     protected Logger log;
 
@@ -172,6 +212,157 @@ public abstract class ExternalScriptService implements Serializable {
         return scripts;
     }
 
+    /**
+     * Executes script method and records its latency, errors and timeouts into {@link ScriptInvocationMetrics}.
+     * If deadline is configured for method and call doesn't finish in time, {@link ScriptInvocationTimeoutException}
+     * is thrown. Callers should pass it up to fail request because script still may change objects passed to it.
+     *
+     * @param arguments method arguments. Only their types and sizes are logged for slow invocations
+     */
+    protected <T> T invoke(CustomScriptConfiguration customScriptConfiguration, String methodName, ScriptCall<T> call,
+            Object... arguments) throws Exception {
+        ScriptInvocationMetrics metrics = ScriptInvocationMetrics.getInstance();
+        InvocationStats invocationStats = metrics.getInvocationStats(customScriptConfiguration.getInum(), methodName);
+        long timeout = getLongProperty(customScriptConfiguration, INVOCATION_TIMEOUT_PROPERTY + "." + methodName,
+                getLongProperty(customScriptConfiguration, INVOCATION_TIMEOUT_PROPERTY, 0));
+
+        boolean error = false;
+        boolean timedOut = false;
+        long startTime = System.nanoTime();
+        try {
+            if (timeout <= 0) {
+                return call.call();
+            }
+
+            Future<T> future;
+            try {
+                ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+                future = INVOCATION_EXECUTOR.submit(() -> {
+                    Thread.currentThread().setContextClassLoader(classLoader);
+                    return call.call();
+                });
+            } catch (RejectedExecutionException ex) {
+                log.debug("There is no free thread to execute script '{}' method '{}' with deadline", customScriptConfiguration.getName(), methodName);
+                return call.call();
+            }
+
+            try {
+                return future.get(timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                future.cancel(true);
+                timedOut = true;
+                throw new ScriptInvocationTimeoutException(String.format("Script '%s' method '%s' didn't finish in %d ms",
+                        customScriptConfiguration.getName(), methodName, timeout));
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw ex;
+            }
+        } catch (LinkageError ex) {
+            // Class loaded from compiled scripts cache doesn't match current classpath
+            error = true;
+            log.error("Script '{}' method '{}' failed to link, script will be recompiled", customScriptConfiguration.getName(), methodName, ex);
+            if (customScriptManager != null) {
+                customScriptManager.reloadScript(customScriptConfiguration);
+            }
+            throw ex;
+        } catch (Exception | Error ex) {
+            // Timeout is counted separately
+            error = !timedOut;
+            throw ex;
+        } finally {
+            long duration = System.nanoTime() - startTime;
+            metrics.record(invocationStats, duration, error, timedOut);
+
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(duration);
+            if (timedOut || durationMs >= getLongProperty(customScriptConfiguration, SLOW_INVOCATION_THRESHOLD_PROPERTY, DEFAULT_SLOW_INVOCATION_THRESHOLD)) {
+                addSlowInvocation(customScriptConfiguration, invocationStats, durationMs, timedOut, arguments);
+            }
+        }
+    }
+
+    private void addSlowInvocation(CustomScriptConfiguration customScriptConfiguration, InvocationStats invocationStats, long durationMs,
+            boolean timedOut, Object[] arguments) {
+        // Arguments are sampled to limit log volume. Values are not logged because they can contain secrets
+        String sampledArguments = null;
+        if (invocationStats.trySample(SLOW_INVOCATION_SAMPLE_INTERVAL)) {
+            sampledArguments = sampleArguments(arguments);
+            log.warn("Slow script '{}' method '{}' invocation: {} ms, arguments: {}", customScriptConfiguration.getName(),
+                    invocationStats.getMethod(), durationMs, sampledArguments);
+        }
+
+        ScriptInvocationMetrics.getInstance().addSlowInvocation(new SlowInvocation(customScriptConfiguration.getInum(),
+                customScriptConfiguration.getName(), invocationStats.getMethod(), durationMs, timedOut, sampledArguments));
+    }
+
+    /*
+     * Describes arguments by type and size, e.g. [HashMap(3), String(12), Integer]
+     */
+    private static String sampleArguments(Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            Object argument = arguments[i];
+            if (argument == null) {
+                sb.append("null");
+                continue;
+            }
+
+            sb.append(argument.getClass().getSimpleName());
+            int size = getSize(argument);
+            if (size >= 0) {
+                sb.append('(').append(size).append(')');
+            }
+        }
+
+        return sb.append(']').toString();
+    }
+
+    private static int getSize(Object argument) {
+        if (argument instanceof Map) {
+            return ((Map<?, ?>) argument).size();
+        } else if (argument instanceof Collection) {
+            return ((Collection<?>) argument).size();
+        } else if (argument instanceof CharSequence) {
+            return ((CharSequence) argument).length();
+        } else if (argument.getClass().isArray()) {
+            return Array.getLength(argument);
+        }
+
+        return -1;
+    }
+
+    private static long getLongProperty(CustomScriptConfiguration customScriptConfiguration, String name, long defaultValue) {
+        Map<String, SimpleCustomProperty> configurationAttributes = customScriptConfiguration.getConfigurationAttributes();
+        SimpleCustomProperty property = configurationAttributes == null ? null : configurationAttributes.get(name);
+        if (property == null || StringUtils.isBlank(property.getValue2())) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(property.getValue2().trim());
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ScriptCall<T> {
+        T call() throws Exception;
+    }
+
 	public CustomScriptType getCustomScriptType() {
 		return customScriptType;
 	}
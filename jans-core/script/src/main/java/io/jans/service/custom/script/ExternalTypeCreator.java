@@ -23,8 +23,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * @author Yuriy Zabrovarnyy
@@ -41,12 +49,133 @@ public class ExternalTypeCreator {
     @Inject
     protected AbstractCustomScriptService customScriptService;
 
+    protected CompiledScriptCache compiledScriptCache = new CompiledScriptCache();
+
+    private final Map<String, Long> scriptLoadTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles scripts which are not in compiled scripts cache yet on bounded thread pool.
+     * Scripts are instantiated and initialized later in caller thread.
+     */
+    public void precompile(List<CustomScript> customScripts) {
+        List<CustomScript> notCompiledScripts = new ArrayList<>();
+        for (CustomScript customScript : customScripts) {
+            if (isCompilable(customScript) && !compiledScriptCache.contains(getCacheKey(customScript))) {
+                notCompiledScripts.add(customScript);
+            }
+        }
+
+        if (notCompiledScripts.size() < 2) {
+            // There is no benefit to compile single script in separate thread
+            return;
+        }
+
+        int threadCount = Math.min(notCompiledScripts.size(), Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        log.info("Compiling {} custom scripts using {} threads", notCompiledScripts.size(), threadCount);
+
+        long startTime = System.currentTimeMillis();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "custom-script-compiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (CustomScript customScript : notCompiledScripts) {
+                futures.add(executorService.submit(() -> compileToCache(customScript)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            log.error("Failed to compile custom scripts", ex);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        log.info("Compiled {} custom scripts in {} ms", notCompiledScripts.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /*
+     * Compilation errors are reported on script load
+     */
+    private void compileToCache(CustomScript customScript) {
+        try {
+            long startTime = System.currentTimeMillis();
+            String key = getCacheKey(customScript);
+            byte[] bytecode = compile(customScript, key);
+            if (bytecode != null) {
+                compiledScriptCache.put(key, bytecode);
+            }
+            log.debug("Compiled script '{}' in {} ms", customScript.getName(), System.currentTimeMillis() - startTime);
+        } catch (Exception ex) {
+            log.debug("Failed to compile script '{}'", customScript.getName(), ex);
+        }
+    }
+
+    private boolean isCompilable(CustomScript customScript) {
+        if (StringUtils.isEmpty(customScript.getScript())) {
+            return false;
+        }
+
+        return customScript.getProgrammingLanguage() == ProgrammingLanguage.JAVA || pythonService != null;
+    }
+
+    private String getCacheKey(CustomScript customScript) {
+        ProgrammingLanguage programmingLanguage = customScript.getProgrammingLanguage() == ProgrammingLanguage.JAVA ? ProgrammingLanguage.JAVA : ProgrammingLanguage.PYTHON;
+        return compiledScriptCache.getKey(programmingLanguage, customScript.getScript());
+    }
+
+    private byte[] compile(CustomScript customScript, String key) throws PythonException, IOException {
+        if (customScript.getProgrammingLanguage() == ProgrammingLanguage.JAVA) {
+            return SimpleJavaCompiler.compileToBytecode(customScript.getScript());
+        }
+
+        try (InputStream bis = new ByteArrayInputStream(customScript.getScript().getBytes(StandardCharsets.UTF_8))) {
+            return pythonService.compilePythonScript(bis, getPythonModuleName(key), getPythonScriptName(customScript));
+        }
+    }
+
+    /*
+     * Returns compiled script from cache or compiles it and puts into cache
+     */
+    private byte[] getCompiledScript(CustomScript customScript, String key) throws PythonException, IOException {
+        byte[] bytecode = compiledScriptCache.get(key);
+        if (bytecode == null) {
+            bytecode = compile(customScript, key);
+            if (bytecode != null) {
+                compiledScriptCache.put(key, bytecode);
+            }
+        }
+
+        return bytecode;
+    }
+
+    /**
+     * Removes compiled script from cache. It's compiled again on next load
+     */
+    public void evictCompiledScript(CustomScript customScript) {
+        if (isCompilable(customScript)) {
+            compiledScriptCache.remove(getCacheKey(customScript));
+        }
+    }
+
+    /**
+     * Time in milliseconds of last load of each script (by inum)
+     */
+    public Map<String, Long> getScriptLoadTimes() {
+        return Collections.unmodifiableMap(scriptLoadTimes);
+    }
+
     public BaseExternalType createExternalType(CustomScript customScript,
                                                Map<String, SimpleCustomProperty> configurationAttributes) {
         String customScriptInum = customScript.getInum();
 
         BaseExternalType externalType = null;
         Throwable loadException = null; 
+        long startTime = System.currentTimeMillis();
         try {
             if (customScript.getProgrammingLanguage() == ProgrammingLanguage.JAVA) {
                 externalType = createExternalTypeWithJava(customScript);
@@ -60,8 +189,15 @@ public class ExternalTypeCreator {
             log.error("Classpath '{}'", SimpleJavaCompiler.getClasspath());
         }
 
+        long compileTime = System.currentTimeMillis() - startTime;
+
         externalType = initExternalType(externalType, customScript, configurationAttributes);
 
+        long loadTime = System.currentTimeMillis() - startTime;
+        scriptLoadTimes.put(customScriptInum, loadTime);
+        log.info("Loaded script '{}' ({}) in {} ms, compile and load class: {} ms, init: {} ms", customScript.getName(),
+                customScript.getProgrammingLanguage(), loadTime, compileTime, loadTime - compileTime);
+
         if (externalType == null) {
         	if (loadException == null) {
         		loadException = new Exception("Using default external type class");
@@ -109,26 +245,62 @@ public class ExternalTypeCreator {
         return null;
     }
 
-    private BaseExternalType createExternalTypeWithJava(CustomScript customScript) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException {
-        Class<?> aClass = SimpleJavaCompiler.compile(BaseExternalType.class, customScript.getScript());
+    private BaseExternalType createExternalTypeWithJava(CustomScript customScript) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, InstantiationException, PythonException, IOException {
+        String key = getCacheKey(customScript);
+        byte[] bytecode = getCompiledScript(customScript, key);
+
+        Class<?> aClass;
+        try {
+            aClass = SimpleJavaCompiler.loadClass(BaseExternalType.class, bytecode);
+        } catch (LinkageError ex) {
+            // Cached class is not compatible with current classpath
+            log.warn("Failed to load compiled script '{}' from cache, recompiling", customScript.getName(), ex);
+            compiledScriptCache.remove(key);
+            aClass = SimpleJavaCompiler.loadClass(BaseExternalType.class, getCompiledScript(customScript, key));
+        }
+
         return (BaseExternalType) aClass.getDeclaredConstructor().newInstance();
     }
 
     public BaseExternalType createExternalTypeFromStringWithPythonException(CustomScript customScript) throws PythonException, IOException {
         String script = customScript.getScript();
-        String scriptName = StringHelper.toLowerCase(customScript.getName()) + ".py";
+        String scriptName = getPythonScriptName(customScript);
         if (script == null) {
             return null;
         }
 
         CustomScriptType customScriptType = customScript.getScriptType();
 
+        String key = getCacheKey(customScript);
+        byte[] bytecode = getCompiledScript(customScript, key);
+        if (bytecode == null) {
+            // Python interpreter is not initialized
+            return null;
+        }
+
+        try {
+            return pythonService.loadPythonScript(bytecode, getPythonModuleName(key), scriptName, customScriptType.getClassName(),
+                    customScriptType.getCustomScriptType(), new PyObject[]{new PyLong(System.currentTimeMillis())});
+        } catch (PythonException ex) {
+            // Cached module might be not compatible with current Jython. Recompile to report actual script error
+            log.debug("Failed to load compiled script '{}', recompiling", customScript.getName(), ex);
+            compiledScriptCache.remove(key);
+        }
+
         try (InputStream bis = new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8))) {
             return pythonService.loadPythonScript(bis, scriptName, customScriptType.getClassName(),
                     customScriptType.getCustomScriptType(), new PyObject[]{new PyLong(System.currentTimeMillis())});
         }
     }
 
+    private static String getPythonScriptName(CustomScript customScript) {
+        return StringHelper.toLowerCase(customScript.getName()) + ".py";
+    }
+
+    private static String getPythonModuleName(String key) {
+        return "jans_script_" + key;
+    }
+
     public void saveScriptError(CustomScript customScript, Throwable exception) {
         saveScriptError(customScript, exception, false);
     }
@@ -0,0 +1,249 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.custom.script;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms, error and timeout counters of custom script method
+ * invocations per script inum and method. Keeps log of last slow invocations.
+ */
+public class ScriptInvocationMetrics {
+
+	public static final long[] BUCKET_BOUNDS_MS = { 1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+	private static final int SLOW_INVOCATIONS_LOG_SIZE = 100;
+
+	private static final ScriptInvocationMetrics INSTANCE = new ScriptInvocationMetrics();
+
+	private final Map<String, InvocationStats> stats = new ConcurrentHashMap<>();
+	private final Deque<SlowInvocation> slowInvocations = new ArrayDeque<>(SLOW_INVOCATIONS_LOG_SIZE);
+
+	private final LongAdder invocationCount = new LongAdder();
+	private final LongAdder errorCount = new LongAdder();
+	private final LongAdder timeoutCount = new LongAdder();
+	private final LongAdder slowInvocationCount = new LongAdder();
+
+	public static ScriptInvocationMetrics getInstance() {
+		return INSTANCE;
+	}
+
+	public InvocationStats getInvocationStats(String inum, String method) {
+		return stats.computeIfAbsent(inum + '#' + method, key -> new InvocationStats(inum, method));
+	}
+
+	public void record(InvocationStats invocationStats, long durationNanos, boolean error, boolean timeout) {
+		invocationStats.record(durationNanos, error, timeout);
+
+		invocationCount.increment();
+		if (error) {
+			errorCount.increment();
+		}
+		if (timeout) {
+			timeoutCount.increment();
+		}
+	}
+
+	public void addSlowInvocation(SlowInvocation slowInvocation) {
+		slowInvocationCount.increment();
+		synchronized (slowInvocations) {
+			if (slowInvocations.size() == SLOW_INVOCATIONS_LOG_SIZE) {
+				slowInvocations.removeFirst();
+			}
+			slowInvocations.addLast(slowInvocation);
+		}
+	}
+
+	/*
+	 * Last slow invocations, oldest first
+	 */
+	public List<SlowInvocation> getSlowInvocations() {
+		synchronized (slowInvocations) {
+			return new ArrayList<>(slowInvocations);
+		}
+	}
+
+	public Map<String, InvocationStats> getStats() {
+		return Collections.unmodifiableMap(stats);
+	}
+
+	public long getInvocationCount() {
+		return invocationCount.sum();
+	}
+
+	public long getErrorCount() {
+		return errorCount.sum();
+	}
+
+	public long getTimeoutCount() {
+		return timeoutCount.sum();
+	}
+
+	public long getSlowInvocationCount() {
+		return slowInvocationCount.sum();
+	}
+
+	public static class InvocationStats {
+
+		private final String inum;
+		private final String method;
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+		private final LongAdder timeouts = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final AtomicLong maxNanos = new AtomicLong();
+		// Last bucket counts invocations longer than last bound
+		private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+
+		private final AtomicLong lastSampleTime = new AtomicLong();
+
+		private InvocationStats(String inum, String method) {
+			this.inum = inum;
+			this.method = method;
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		private void record(long durationNanos, boolean error, boolean timeout) {
+			count.increment();
+			if (error) {
+				errors.increment();
+			}
+			if (timeout) {
+				timeouts.increment();
+			}
+			totalNanos.add(durationNanos);
+			maxNanos.accumulateAndGet(durationNanos, Math::max);
+
+			long durationMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+			int bucket = 0;
+			while (bucket < BUCKET_BOUNDS_MS.length && durationMs >= BUCKET_BOUNDS_MS[bucket]) {
+				bucket++;
+			}
+			buckets[bucket].increment();
+		}
+
+		/*
+		 * Allows one sample per interval to limit slow invocation log volume
+		 */
+		boolean trySample(long intervalMs) {
+			long now = System.currentTimeMillis();
+			long last = lastSampleTime.get();
+			return (now - last >= intervalMs) && lastSampleTime.compareAndSet(last, now);
+		}
+
+		public String getInum() {
+			return inum;
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public long getCount() {
+			return count.sum();
+		}
+
+		public long getErrors() {
+			return errors.sum();
+		}
+
+		public long getTimeouts() {
+			return timeouts.sum();
+		}
+
+		public long getAverageMs() {
+			long currentCount = count.sum();
+			return currentCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / currentCount);
+		}
+
+		public long getMaxMs() {
+			return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+		}
+
+		public long[] getBucketCounts() {
+			long[] result = new long[buckets.length];
+			for (int i = 0; i < buckets.length; i++) {
+				result[i] = buckets[i].sum();
+			}
+			return result;
+		}
+
+	}
+
+	public static class SlowInvocation {
+
+		private final Date time;
+		private final String inum;
+		private final String scriptName;
+		private final String method;
+		private final long durationMs;
+		private final boolean timeout;
+		private final String arguments;
+
+		public SlowInvocation(String inum, String scriptName, String method, long durationMs, boolean timeout, String arguments) {
+			this.time = new Date();
+			this.inum = inum;
+			this.scriptName = scriptName;
+			this.method = method;
+			this.durationMs = durationMs;
+			this.timeout = timeout;
+			this.arguments = arguments;
+		}
+
+		public Date getTime() {
+			return time;
+		}
+
+		public String getInum() {
+			return inum;
+		}
+
+		public String getScriptName() {
+			return scriptName;
+		}
+
+		public String getMethod() {
+			return method;
+		}
+
+		public long getDurationMs() {
+			return durationMs;
+		}
+
+		public boolean isTimeout() {
+			return timeout;
+		}
+
+		/*
+		 * Null if arguments were not sampled
+		 */
+		public String getArguments() {
+			return arguments;
+		}
+
+		@Override
+		public String toString() {
+			return "SlowInvocation [time=" + time + ", inum=" + inum + ", scriptName=" + scriptName + ", method=" + method
+					+ ", durationMs=" + durationMs + ", timeout=" + timeout + ", arguments=" + arguments + "]";
+		}
+
+	}
+
+}
@@ -59,7 +59,27 @@ public class SimpleJavaCompiler {
      * @return the compiled and class-loaded class
      */
     public static <T> Class<? extends T> compile(Class<T> superClass, String source) {
-        return BY_THREAD.get().compile0(superClass, source);
+        return loadClass(superClass, compileToBytecode(source));
+    }
+
+    /**
+     * Compiles a single class from the specified Java source code without loading it.
+     *
+     * @param source a String containing Java source code to generate the class
+     * @return the class file bytes
+     */
+    public static byte[] compileToBytecode(String source) {
+        return BY_THREAD.get().compile0(source);
+    }
+
+    /**
+     * Class-loads a single class compiled with {@link #compileToBytecode(String)}.
+     *
+     * @param bytecode the class file bytes
+     * @return the class-loaded class
+     */
+    public static <T> Class<? extends T> loadClass(Class<T> superClass, byte[] bytecode) {
+        return DiscardableClassLoader.classFromBytes(superClass, null, bytecode);
     }
 
 
@@ -121,12 +141,12 @@ public class SimpleJavaCompiler {
     }
 
     /**
-     * Compiles and class-loads a single class from the specified Java source code.
+     * Compiles a single class from the specified Java source code.
      *
      * @param source a String containing Java source code to generate the class
-     * @return the compiled and class-loaded class
+     * @return the class file bytes
      */
-    private <T> Class<? extends T> compile0(Class<T> superClass, String source) {
+    private byte[] compile0(String source) {
         final List<JavaFileObject> compilationUnits = Collections.singletonList(new SourceFile(toUri("Generated"), source));
         final FileManager fileManager = new FileManager(standardJavaFileManager);
         final StringWriter output = new StringWriter();
@@ -140,7 +160,7 @@ public class SimpleJavaCompiler {
         // 2nd condition to work around the case where additional "GuardedBy" generated in TA Spark tagging
         if (classCount == 1 || (classCount > 0 && "CompiledStage"
                 .equals(fileManager.output.get(0).getName()))) {
-            return DiscardableClassLoader.classFromBytes(superClass, null, fileManager.output.get(0).outputStream.toByteArray());
+            return fileManager.output.get(0).outputStream.toByteArray();
         }
         throw new IllegalArgumentException("Compilation yielded an unexpected number of classes: " + classCount);
     }
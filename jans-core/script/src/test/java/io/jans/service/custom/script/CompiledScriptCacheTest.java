@@ -0,0 +1,110 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.custom.script;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import io.jans.model.ProgrammingLanguage;
+
+public class CompiledScriptCacheTest {
+
+    private static final byte[] BYTECODE = "bytecode".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void getKey_whenSourceChanged_shouldReturnNewKey() throws IOException {
+        CompiledScriptCache cache = new CompiledScriptCache(newCacheDir());
+
+        String key = cache.getKey(ProgrammingLanguage.PYTHON, "print 'a'");
+        assertEquals(cache.getKey(ProgrammingLanguage.PYTHON, "print 'a'"), key);
+        assertNotEquals(cache.getKey(ProgrammingLanguage.PYTHON, "print 'b'"), key);
+    }
+
+    @Test
+    public void computeClasspathFingerprint_whenClassInDirectoryChanged_shouldReturnNewFingerprint() throws IOException {
+        Path classesDir = Files.createTempDirectory("classes");
+        Path classFile = Files.createDirectories(classesDir.resolve("io/jans")).resolve("Sample.class");
+        Files.write(classFile, BYTECODE);
+
+        String fingerprint = CompiledScriptCache.computeClasspathFingerprint(classesDir.toString());
+        assertEquals(CompiledScriptCache.computeClasspathFingerprint(classesDir.toString()), fingerprint);
+
+        Files.write(classFile, "changed bytecode".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(CompiledScriptCache.computeClasspathFingerprint(classesDir.toString()), fingerprint);
+    }
+
+    @Test
+    public void get_whenEntryPutByOtherInstance_shouldReadItFromDisk() throws IOException {
+        File cacheDir = newCacheDir();
+        new CompiledScriptCache(cacheDir).put("key", BYTECODE);
+
+        CompiledScriptCache cache = new CompiledScriptCache(cacheDir);
+        assertTrue(cache.contains("key"));
+        assertEquals(cache.get("key"), BYTECODE);
+        assertEquals(cache.getHits(), 1);
+    }
+
+    @Test
+    public void remove_shouldEvictEntryFromMemoryAndDisk() throws IOException {
+        File cacheDir = newCacheDir();
+        CompiledScriptCache cache = new CompiledScriptCache(cacheDir);
+        cache.put("key", BYTECODE);
+
+        cache.remove("key");
+
+        assertFalse(cache.contains("key"));
+        assertNull(cache.get("key"));
+        assertNull(new CompiledScriptCache(cacheDir).get("key"));
+        assertEquals(cache.getMisses(), 1);
+    }
+
+    @Test
+    public void get_whenEntryOnDiskModified_shouldEvictIt() throws IOException {
+        File cacheDir = newCacheDir();
+        new CompiledScriptCache(cacheDir).put("key", BYTECODE);
+
+        File entryFile = new File(cacheDir, "key.class");
+        byte[] data = Files.readAllBytes(entryFile.toPath());
+        data[data.length - 1] ^= 1;
+        Files.write(entryFile.toPath(), data);
+
+        assertNull(new CompiledScriptCache(cacheDir).get("key"));
+        assertFalse(entryFile.exists());
+    }
+
+    @Test
+    public void put_whenDirectoryWritableByOthers_shouldNotWriteToDisk() throws IOException {
+        File cacheDir = newCacheDir();
+        if (Files.getFileAttributeView(cacheDir.toPath(), PosixFileAttributeView.class) == null) {
+            throw new SkipException("File system doesn't support POSIX permissions");
+        }
+        Files.setPosixFilePermissions(cacheDir.toPath(), PosixFilePermissions.fromString("rwxrwxrwx"));
+
+        new CompiledScriptCache(cacheDir).put("key", BYTECODE);
+
+        assertFalse(new File(cacheDir, "key.class").exists());
+    }
+
+    private static File newCacheDir() throws IOException {
+        return new File(Files.createTempDirectory("script-cache").toFile(), "cache");
+    }
+
+}
@@ -137,10 +137,11 @@ public final class LdapEntryReporter extends ScheduledReporter {
     @Override
     public void report(SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters, SortedMap<String, Histogram> histograms,
             SortedMap<String, Meter> meters, SortedMap<String, Timer> timers) {
-        reportImpl(counters, timers);
+        reportImpl(gauges, counters, timers);
     }
 
-    private void reportImpl(SortedMap<String, Counter> counters, SortedMap<String, Timer> timers) {
+    @SuppressWarnings("rawtypes")
+    private void reportImpl(SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters, SortedMap<String, Timer> timers) {
         if (!metricService.isMetricReporterEnabled()) {
             return;
         }
@@ -153,6 +154,11 @@ public final class LdapEntryReporter extends ScheduledReporter {
             metricEntries.addAll(result);
         }
 
+        if (gauges != null && !gauges.isEmpty()) {
+            List<MetricEntry> result = builGaugeEntries(gauges, metricService.getRegisteredMetricTypes());
+            metricEntries.addAll(result);
+        }
+
         if (timers != null && !timers.isEmpty()) {
             List<MetricEntry> result = builTimerEntries(timers, metricService.getRegisteredMetricTypes());
             metricEntries.addAll(result);
@@ -199,6 +205,27 @@ public final class LdapEntryReporter extends ScheduledReporter {
         return result;
     }
 
+    @SuppressWarnings("rawtypes")
+    private List<MetricEntry> builGaugeEntries(SortedMap<String, Gauge> gauges, Set<MetricType> registeredMetricTypes) {
+        List<MetricEntry> result = new ArrayList<MetricEntry>();
+
+        Set<MetricType> currentRegisteredMetricTypes = new HashSet<MetricType>(registeredMetricTypes);
+        for (MetricType metricType : currentRegisteredMetricTypes) {
+            Gauge gauge = gauges.get(metricType.getValue());
+            if (gauge != null && gauge.getValue() instanceof Number) {
+                // Gauge value is stored as current count
+                CounterMetricData counterMetricData = new CounterMetricData(((Number) gauge.getValue()).longValue());
+                CounterMetricEntry counterMetricEntry = new CounterMetricEntry();
+                counterMetricEntry.setMetricData(counterMetricData);
+                counterMetricEntry.setMetricType(metricType);
+
+                result.add(counterMetricEntry);
+            }
+        }
+
+        return result;
+    }
+
     private List<MetricEntry> builTimerEntries(SortedMap<String, Timer> timers, Set<MetricType> registeredMetricTypes) {
         List<MetricEntry> result = new ArrayList<MetricEntry>();
 
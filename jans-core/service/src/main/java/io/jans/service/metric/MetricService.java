@@ -7,6 +7,7 @@
 package io.jans.service.metric;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 
@@ -17,6 +18,7 @@ import io.jans.model.metric.ldap.MetricReport;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.model.DefaultBatchOperation;
+import io.jans.orm.model.DefaultKeysetBatchOperation;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.base.SimpleBranch;
 import io.jans.orm.search.filter.Filter;
@@ -32,6 +34,7 @@ import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * Metric service
@@ -253,9 +256,9 @@ public abstract class MetricService implements Serializable {
         createApplicationBaseBranch(applicationType);
 
         final Set<String> keepBaseDnForPeriod = getBaseDnForPeriod(applicationType, expirationDate, new Date());
-        // Remove expired entries
+        // Remove expired entries. Keyset paging is not affected by entries removed in previous chunks
         for (final String baseDnForPeriod : keepBaseDnForPeriod) {
-            DefaultBatchOperation<MetricEntry> metricEntryBatchOperation = new DefaultBatchOperation<MetricEntry>() {
+            DefaultBatchOperation<MetricEntry> metricEntryBatchOperation = new DefaultKeysetBatchOperation<MetricEntry>() {
                 @Override
                 public boolean collectSearchResult(int size) {
                     return false;
@@ -364,6 +367,34 @@ public abstract class MetricService implements Serializable {
         counter.inc();
     }
 
+    /*
+     * Register counter which value is maintained outside of metric registry
+     */
+    public Counter registerCounter(MetricType metricType, LongSupplier countSupplier) {
+        if (!registeredMetricTypes.contains(metricType)) {
+            registeredMetricTypes.add(metricType);
+        }
+
+        return metricRegistry.counter(metricType.getMetricName(), () -> new Counter() {
+            @Override
+            public long getCount() {
+                return countSupplier.getAsLong();
+            }
+        });
+    }
+
+    /*
+     * Register gauge which reports current value, e.g. queue size. It's stored as counter metric entry
+     */
+    public Gauge<Long> registerGauge(MetricType metricType, LongSupplier valueSupplier) {
+        if (!registeredMetricTypes.contains(metricType)) {
+            registeredMetricTypes.add(metricType);
+        }
+
+        final Gauge<Long> gauge = valueSupplier::getAsLong;
+        return metricRegistry.gauge(metricType.getMetricName(), () -> gauge);
+    }
+
     /*
      * Should return similar to this pattern DN:
      * uniqueIdentifier=id,ou=YYYY-MM,ou=application_type,ou=metric,ou=organization_name,o=jans
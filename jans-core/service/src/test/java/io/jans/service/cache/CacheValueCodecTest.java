@@ -0,0 +1,125 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.testng.annotations.Test;
+
+public class CacheValueCodecTest {
+
+    @Test
+    public void kryoRoundTrip() {
+        CacheValueCodec codec = kryoCodec();
+        SampleValue value = sampleValue();
+
+        byte[] data = codec.encode(value);
+        assertEquals(data[0], AbstractCacheValueCodec.HEADER_MAGIC);
+
+        SampleValue decoded = (SampleValue) codec.decode(data);
+        assertEquals(decoded.id, value.id);
+        assertEquals(decoded.creationDate, value.creationDate);
+        assertEquals(decoded.attributes, value.attributes);
+        assertEquals(decoded.scopes, value.scopes);
+    }
+
+    @Test
+    public void kryoIsSmallerThanJava() {
+        SampleValue value = sampleValue();
+
+        byte[] javaData = CacheValueCodecFactory.getCodec(CacheValueCodecType.JAVA).encode(value);
+        byte[] kryoData = kryoCodec().encode(value);
+        assertTrue(kryoData.length < javaData.length);
+    }
+
+    @Test
+    public void readsDataOfOtherCodecs() {
+        SampleValue value = sampleValue();
+
+        byte[] legacyData = SerializationUtils.serialize(value);
+        CacheValueCodec kryoCodec = kryoCodec();
+        byte[] kryoData = kryoCodec.encode(value);
+
+        assertEquals(((SampleValue) kryoCodec.decode(legacyData)).id, value.id);
+        assertEquals(((SampleValue) kryoCodec.decode(kryoData)).id, value.id);
+    }
+
+    @Test
+    public void kryoWritesNotRegisteredClassWithJava() {
+        SampleValue value = sampleValue();
+
+        byte[] data = CacheValueCodecFactory.getCodec(CacheValueCodecType.KRYO).encode(value);
+        assertEquals(data, SerializationUtils.serialize(value));
+    }
+
+    @Test
+    public void kryoIgnoresNotRegisteredClass() {
+        byte[] kryoData = kryoCodec().encode(sampleValue());
+
+        // Codec without registered classes should not instantiate unknown class
+        assertNull(CacheValueCodecFactory.getCodec(CacheValueCodecType.KRYO).decode(kryoData));
+    }
+
+    @Test
+    public void corruptedDataIsIgnoredByAllCodecs() {
+        byte[] javaData = SerializationUtils.serialize(sampleValue());
+        byte[] kryoData = kryoCodec().encode(sampleValue());
+
+        assertNull(kryoCodec().decode(Arrays.copyOf(javaData, javaData.length / 2)));
+        assertNull(kryoCodec().decode(Arrays.copyOf(kryoData, kryoData.length / 2)));
+        assertNull(CacheValueCodecFactory.getCodec(CacheValueCodecType.JAVA).decode(Arrays.copyOf(javaData, javaData.length / 2)));
+    }
+
+    @Test
+    public void ignoresNewerFormatVersion() {
+        byte[] data = CacheValueCodecFactory.getCodec(CacheValueCodecType.KRYO).encode("value");
+        data[1] = (byte) (AbstractCacheValueCodec.HEADER_VERSION + 1);
+
+        assertNull(CacheValueCodecFactory.getCodec(CacheValueCodecType.KRYO).decode(data));
+    }
+
+    private CacheValueCodec kryoCodec() {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.setValueCodecType(CacheValueCodecType.KRYO);
+        cacheConfiguration.setKryoRegisteredClasses(Arrays.asList(SampleValue.class.getName()));
+
+        return CacheValueCodecFactory.getCodec(cacheConfiguration);
+    }
+
+    private SampleValue sampleValue() {
+        SampleValue value = new SampleValue();
+        value.id = "3c6a1fd0-7bb8-4c1c-9d10-3a1c4f1d2e6b";
+        value.creationDate = new Date();
+        value.attributes = new HashMap<>();
+        value.attributes.put("client_id", "1800.b9a8ed23");
+        value.attributes.put("redirect_uri", "https://rp.example.org/callback");
+        value.scopes = new ArrayList<>(Arrays.asList("openid", "profile"));
+
+        return value;
+    }
+
+    public static class SampleValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String id;
+        private Date creationDate;
+        private Map<String, String> attributes;
+        private List<String> scopes;
+    }
+}
@@ -6,11 +6,15 @@
 
 package io.jans.service.cache;
 
+import java.util.Date;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author yuriyz
@@ -43,4 +47,58 @@ public class InMemoryCacheProviderTest {
         Thread.sleep(2000);
         assertNull(cache.get("myKey")); // value must be expired;
     }
+
+    @Test
+    public void maxEntriesTest() {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.getInMemoryConfiguration().setMaxEntries(100);
+
+        InMemoryCacheProvider boundedCache = new InMemoryCacheProvider();
+        boundedCache.configure(cacheConfiguration);
+        boundedCache.create();
+
+        for (int i = 0; i < 1000; i++) {
+            boundedCache.put(60, "key" + i, i);
+        }
+
+        assertTrue(boundedCache.getDelegate().size() <= 100); // cache must be bounded
+        assertEquals(boundedCache.get("key999"), 999); // most recent entry must be there
+        assertNull(boundedCache.get("key0")); // oldest entry must be evicted
+
+        assertEquals(boundedCache.getDelegate().getEvictionCount(), 1000 - boundedCache.getDelegate().size());
+        assertEquals(boundedCache.getDelegate().getHitCount(), 1);
+        assertEquals(boundedCache.getDelegate().getMissCount(), 1);
+    }
+
+    @Test
+    public void putIfAbsentAndGetAndRemoveTest() {
+        assertTrue(cache.putIfAbsent(60, "onceKey", "first")); // key is absent
+        assertFalse(cache.putIfAbsent(60, "onceKey", "second")); // key exists
+        assertEquals(cache.get("onceKey"), "first"); // value must be not overridden
+
+        assertEquals(cache.getAndRemove("onceKey"), "first");
+        assertNull(cache.getAndRemove("onceKey")); // value must be removed by first call
+        assertNull(cache.get("onceKey"));
+
+        assertTrue(cache.putIfAbsent(60, "onceKey", "third")); // key can be reused after removal
+    }
+
+    @Test
+    public void cleanupTest() throws InterruptedException {
+        InMemoryCacheProvider cleanupCache = new InMemoryCacheProvider();
+        cleanupCache.configure(new CacheConfiguration());
+        cleanupCache.create();
+
+        cleanupCache.put(1, "shortKey", "short");
+        cleanupCache.put(600, "longKey", "long");
+        cleanupCache.put(100000, "veryLongKey", "veryLong");
+
+        Thread.sleep(2100);
+        cleanupCache.cleanup(new Date());
+
+        assertEquals(cleanupCache.getDelegate().size(), 2); // expired entry must be purged without access
+        assertEquals(cleanupCache.getDelegate().getExpirationCount(), 1);
+        assertEquals(cleanupCache.get("longKey"), "long");
+        assertEquals(cleanupCache.get("veryLongKey"), "veryLong");
+    }
 }
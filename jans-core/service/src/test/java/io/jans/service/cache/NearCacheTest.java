@@ -0,0 +1,96 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.service.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+import java.util.HashMap;
+
+import org.testng.annotations.Test;
+
+public class NearCacheTest {
+
+    private NearCache newNearCache() {
+        return new NearCache(100, 30, CacheValueCodecFactory.getCodec(CacheValueCodecType.JAVA));
+    }
+
+    @Test
+    public void getReturnsCopy() {
+        NearCache nearCache = newNearCache();
+
+        HashMap<String, String> value = new HashMap<>();
+        value.put("state", "authenticated");
+        nearCache.put(60, "key", value);
+
+        @SuppressWarnings("unchecked")
+        HashMap<String, String> first = (HashMap<String, String>) nearCache.get("key");
+        first.put("state", "changed");
+
+        HashMap<?, ?> second = (HashMap<?, ?>) nearCache.get("key");
+        assertNotSame(second, first);
+        assertEquals(second.get("state"), "authenticated");
+    }
+
+    @Test
+    public void loadedValueWithoutKnownExpirationIsNotKept() {
+        NearCache nearCache = newNearCache();
+
+        nearCache.putLoaded("key", "value", nearCache.getLoadStamp("key"));
+        assertNull(nearCache.get("key"));
+    }
+
+    @Test
+    public void loadedValueIsKeptUntilRemoteExpiration() throws InterruptedException {
+        NearCache nearCache = newNearCache();
+
+        nearCache.invalidate("key", System.currentTimeMillis() + 200);
+        nearCache.putLoaded("key", "value", nearCache.getLoadStamp("key"));
+        assertEquals(nearCache.get("key"), "value");
+
+        Thread.sleep(300);
+        assertNull(nearCache.get("key"));
+    }
+
+    @Test
+    public void invalidateDropsValue() {
+        NearCache nearCache = newNearCache();
+
+        nearCache.put(60, "key", "value");
+        nearCache.invalidate("key", 0);
+        assertNull(nearCache.get("key"));
+
+        nearCache.putLoaded("key", "value", nearCache.getLoadStamp("key"));
+        assertNull(nearCache.get("key"));
+    }
+
+    @Test
+    public void valueLoadedBeforeInvalidationIsDropped() {
+        NearCache nearCache = newNearCache();
+
+        nearCache.invalidate("key", System.currentTimeMillis() + 60000);
+        long loadStamp = nearCache.getLoadStamp("key");
+
+        // Invalidation message arrives while old value is loaded from distributed cache
+        nearCache.invalidate("key", System.currentTimeMillis() + 60000);
+        nearCache.putLoaded("key", "old", loadStamp);
+        assertNull(nearCache.get("key"));
+
+        nearCache.putLoaded("key", "new", nearCache.getLoadStamp("key"));
+        assertEquals(nearCache.get("key"), "new");
+    }
+
+    @Test
+    public void putWithoutExpirationIsIgnored() {
+        NearCache nearCache = newNearCache();
+
+        nearCache.put(0, "key", "value");
+        assertNull(nearCache.get("key"));
+    }
+
+}
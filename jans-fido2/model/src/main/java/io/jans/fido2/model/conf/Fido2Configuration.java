@@ -51,6 +51,8 @@ public class Fido2Configuration {
     private boolean skipValidateMdsInAttestationEnabled = false;
     @DocProperty(description = "Boolean value indicating whether the assertion custom endpoint (used especially in passkey) is enabled.")
     private boolean assertionOptionsGenerateEndpointEnabled = false;
+    @DocProperty(description = "Boolean value indicating whether pending enrollment/authentication requests should be stored in cache instead of DB")
+    private boolean challengeCacheEnabled = false;
 
     public String getAuthenticatorCertsFolder() {
         return authenticatorCertsFolder;
@@ -171,4 +173,12 @@ public class Fido2Configuration {
     public void setAssertionOptionsGenerateEndpointEnabled(boolean assertionOptionsGenerateEndpointEnabled) {
         this.assertionOptionsGenerateEndpointEnabled = assertionOptionsGenerateEndpointEnabled;
     }
+
+    public boolean isChallengeCacheEnabled() {
+        return challengeCacheEnabled;
+    }
+
+    public void setChallengeCacheEnabled(boolean challengeCacheEnabled) {
+        this.challengeCacheEnabled = challengeCacheEnabled;
+    }
 }
@@ -221,7 +221,7 @@ public class AssertionService {
 		int unfinishedRequestExpiration = appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
 		authenticationEntity.setExpiration(unfinishedRequestExpiration);
 
-		authenticationPersistenceService.save(authenticationEntity);
+		authenticationPersistenceService.savePending(authenticationEntity);
 
 		externalFido2InterceptionContext.addToContext(null, authenticationEntity);
 		externalFido2InterceptionService.authenticateAssertionFinish(params, externalFido2InterceptionContext);
@@ -284,7 +284,7 @@ public class AssertionService {
 		int unfinishedRequestExpiration = appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
 		authenticationEntity.setExpiration(unfinishedRequestExpiration);
 
-		authenticationPersistenceService.save(authenticationEntity);
+		authenticationPersistenceService.savePending(authenticationEntity);
 
 		return optionsResponseNode;
 	}
@@ -326,9 +326,18 @@ public class AssertionService {
 		String challenge = commonVerifiers.getChallenge(clientDataJSONNode);
 
 		// Find authentication entry
-		Fido2AuthenticationEntry authenticationEntity = authenticationPersistenceService.findByChallenge(challenge, oneStep).parallelStream()
+		Fido2AuthenticationEntry authenticationEntity;
+		boolean pendingInCache = authenticationPersistenceService.isPendingInCache();
+		if (pendingInCache) {
+			authenticationEntity = authenticationPersistenceService.consumePending(challenge);
+			if (authenticationEntity == null) {
+				throw new Fido2RuntimeException(String.format("Assertion request by challenge '%s' is already used or expired", challenge));
+			}
+		} else {
+			authenticationEntity = authenticationPersistenceService.findByChallenge(challenge, oneStep).parallelStream()
 				.findFirst().orElseThrow(() -> new Fido2RuntimeException(
 						String.format("Can't find associated assertion request by challenge '%s'", challenge)));
+		}
 		Fido2AuthenticationData authenticationData = authenticationEntity.getAuthenticationData();
 
 		// Verify domain
@@ -383,7 +392,11 @@ public class AssertionService {
 		int unfinishedRequestExpiration = appConfiguration.getFido2Configuration().getAuthenticationHistoryExpiration();
 		authenticationEntity.setExpiration(unfinishedRequestExpiration);
 
-		authenticationPersistenceService.update(authenticationEntity);
+		if (pendingInCache) {
+			authenticationPersistenceService.saveFinished(authenticationEntity);
+		} else {
+			authenticationPersistenceService.update(authenticationEntity);
+		}
 
 		// Store actual counter value in separate attribute. Note: Fido2 not update
 		// initial value in Fido2RegistrationData to minimize DB updates
@@ -205,9 +205,9 @@ public class AttestationService {
 		int unfinishedRequestExpiration = appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
         registrationEntry.setExpiration(unfinishedRequestExpiration);
 
-		registrationPersistenceService.save(registrationEntry);
+		registrationPersistenceService.savePending(registrationEntry);
 
-		log.debug("Saved in DB");
+		log.debug("Saved pending registration entry");
 
 		externalFido2InterceptionContext.addToContext(registrationEntry, null);
 		externalFido2InterceptionService.registerAttestationFinish(params, externalFido2InterceptionContext);
@@ -243,9 +243,19 @@ public class AttestationService {
 		String challenge = commonVerifiers.getChallenge(clientDataJSONNode);
 
 		// Find registration entry
-		Fido2RegistrationEntry registrationEntry = registrationPersistenceService.findByChallenge(challenge, oneStep)
+		Fido2RegistrationEntry registrationEntry;
+		boolean pendingInCache = registrationPersistenceService.isPendingInCache();
+		if (pendingInCache) {
+			registrationEntry = registrationPersistenceService.consumePending(challenge);
+			if (registrationEntry == null) {
+				throw errorResponseFactory.badRequestException(AttestationErrorResponseType.INVALID_CHALLENGE,
+						String.format("Attestation request by challenge '%s' is already used or expired", challenge));
+			}
+		} else {
+			registrationEntry = registrationPersistenceService.findByChallenge(challenge, oneStep)
 				.parallelStream().findAny().orElseThrow(() ->
 					errorResponseFactory.badRequestException(AttestationErrorResponseType.INVALID_CHALLENGE, String.format("Can't find associated attestation request by challenge '%s'", challenge)));
+		}
 		Fido2RegistrationData registrationData = registrationEntry.getRegistrationData();
 
 		// Verify domain
@@ -308,7 +318,11 @@ public class AttestationService {
         	registrationEntry.clearExpiration();
         }
 
-		registrationPersistenceService.update(registrationEntry);
+        if (pendingInCache) {
+        	registrationPersistenceService.saveFinished(registrationEntry);
+        } else {
+        	registrationPersistenceService.update(registrationEntry);
+        }
 
 		// If sessionStateId is not empty update session
         if (StringHelper.isNotEmpty(sessionStateId)) {
@@ -63,6 +63,9 @@ public class AuthenticationPersistenceService {
     @Inject
     private ErrorResponseFactory errorResponseFactory;
 
+    @Inject
+    private ChallengeCacheService challengeCacheService;
+
     public void save(Fido2AuthenticationData authenticationData) {
         Fido2AuthenticationEntry authenticationEntity = buildFido2AuthenticationEntry(authenticationData, false);
 
@@ -75,6 +78,34 @@ public class AuthenticationPersistenceService {
         persistenceEntryManager.persist(authenticationEntity);
     }
 
+    public void savePending(Fido2AuthenticationEntry authenticationEntity) {
+        if (challengeCacheService.isEnabled()) {
+            challengeCacheService.putAuthenticationEntry(authenticationEntity.getAuthenticationData().getChallenge(), authenticationEntity);
+        } else {
+            save(authenticationEntity);
+        }
+    }
+
+    public boolean isPendingInCache() {
+        return challengeCacheService.isEnabled();
+    }
+
+    /*
+     * Pending entry is removed from cache in same operation, so challenge can be used only once
+     */
+    public Fido2AuthenticationEntry consumePending(String challenge) {
+        return challengeCacheService.consumeAuthenticationEntry(challenge);
+    }
+
+    /*
+     * Persist entry which was kept in cache until ceremony end
+     */
+    public void saveFinished(Fido2AuthenticationEntry authenticationEntity) {
+        markUpdated(authenticationEntity);
+
+        save(authenticationEntity);
+    }
+
     public Fido2AuthenticationEntry buildFido2AuthenticationEntry(Fido2AuthenticationData authenticationData, boolean oneStep) {
 		String userName = authenticationData.getUsername();
         
@@ -110,6 +141,12 @@ public class AuthenticationPersistenceService {
 	}
 
     public void update(Fido2AuthenticationEntry authenticationEntity) {
+        markUpdated(authenticationEntity);
+
+        persistenceEntryManager.merge(authenticationEntity);
+    }
+
+    private void markUpdated(Fido2AuthenticationEntry authenticationEntity) {
         Date now = new GregorianCalendar(TimeZone.getTimeZone("UTC")).getTime();
 
         Fido2AuthenticationData authenticationData = authenticationEntity.getAuthenticationData();
@@ -117,8 +154,6 @@ public class AuthenticationPersistenceService {
         authenticationData.setUpdatedBy(authenticationData.getUsername());
 
         authenticationEntity.setAuthenticationStatus(authenticationData.getStatus());
-
-        persistenceEntryManager.merge(authenticationEntity);
     }
 
     public void addBranch(final String baseDn) {
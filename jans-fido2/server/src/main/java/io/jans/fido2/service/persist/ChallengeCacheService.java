@@ -0,0 +1,81 @@
+/*
+ * Janssen Project software is available under the MIT License (2008). See http://opensource.org/licenses/MIT for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.fido2.service.persist;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.conf.Fido2Configuration;
+import io.jans.orm.model.fido2.Fido2AuthenticationEntry;
+import io.jans.orm.model.fido2.Fido2RegistrationEntry;
+import io.jans.service.CacheService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Store pending enrollment/authentication requests in cache until ceremony end.
+ * Entry is persisted only when credential is finalized
+ */
+@ApplicationScoped
+public class ChallengeCacheService {
+
+	private static final String REGISTRATION_KEY_PREFIX = "fido2_reg_";
+	private static final String AUTHENTICATION_KEY_PREFIX = "fido2_auth_";
+
+    @Inject
+    private Logger log;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
+    @Inject
+    private CacheService cacheService;
+
+	public boolean isEnabled() {
+		Fido2Configuration fido2Configuration = appConfiguration.getFido2Configuration();
+
+		return (fido2Configuration != null) && fido2Configuration.isChallengeCacheEnabled();
+	}
+
+	public void putRegistrationEntry(String challenge, Fido2RegistrationEntry registrationEntry) {
+		cacheService.put(getExpiration(), buildKey(REGISTRATION_KEY_PREFIX, challenge), registrationEntry);
+		log.debug("Put registration entry into cache");
+	}
+
+	public Fido2RegistrationEntry consumeRegistrationEntry(String challenge) {
+		Object entry = cacheService.getAndRemove(buildKey(REGISTRATION_KEY_PREFIX, challenge));
+		if (entry instanceof Fido2RegistrationEntry) {
+			return (Fido2RegistrationEntry) entry;
+		}
+
+		return null;
+	}
+
+	public void putAuthenticationEntry(String challenge, Fido2AuthenticationEntry authenticationEntry) {
+		cacheService.put(getExpiration(), buildKey(AUTHENTICATION_KEY_PREFIX, challenge), authenticationEntry);
+		log.debug("Put authentication entry into cache");
+	}
+
+	public Fido2AuthenticationEntry consumeAuthenticationEntry(String challenge) {
+		Object entry = cacheService.getAndRemove(buildKey(AUTHENTICATION_KEY_PREFIX, challenge));
+		if (entry instanceof Fido2AuthenticationEntry) {
+			return (Fido2AuthenticationEntry) entry;
+		}
+
+		return null;
+	}
+
+	private int getExpiration() {
+		return appConfiguration.getFido2Configuration().getUnfinishedRequestExpiration();
+	}
+
+	private String buildKey(String prefix, String challenge) {
+		return prefix + DigestUtils.sha256Hex(challenge);
+	}
+
+}
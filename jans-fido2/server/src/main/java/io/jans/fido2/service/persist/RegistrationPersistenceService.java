@@ -59,12 +59,43 @@ public class RegistrationPersistenceService extends io.jans.as.common.service.co
     @Inject
     private ErrorResponseFactory errorResponseFactory;
 
+    @Inject
+    private ChallengeCacheService challengeCacheService;
+
     public void save(Fido2RegistrationData registrationData) {
         Fido2RegistrationEntry registrationEntry = buildFido2RegistrationEntry(registrationData, false);
 
         save(registrationEntry);
     }
 
+    public void savePending(Fido2RegistrationEntry registrationEntry) {
+        if (challengeCacheService.isEnabled()) {
+            challengeCacheService.putRegistrationEntry(registrationEntry.getRegistrationData().getChallenge(), registrationEntry);
+        } else {
+            save(registrationEntry);
+        }
+    }
+
+    public boolean isPendingInCache() {
+        return challengeCacheService.isEnabled();
+    }
+
+    /*
+     * Pending entry is removed from cache in same operation, so challenge can be used only once
+     */
+    public Fido2RegistrationEntry consumePending(String challenge) {
+        return challengeCacheService.consumeRegistrationEntry(challenge);
+    }
+
+    /*
+     * Persist entry which was kept in cache until ceremony end
+     */
+    public void saveFinished(Fido2RegistrationEntry registrationEntry) {
+        markUpdated(registrationEntry);
+
+        save(registrationEntry);
+    }
+
     public Fido2RegistrationEntry buildFido2RegistrationEntry(Fido2RegistrationData registrationData, boolean oneStep) {
 		String userName = registrationData.getUsername();
 
@@ -0,0 +1,79 @@
+package io.jans.fido2.service.persist;
+
+import io.jans.fido2.model.conf.AppConfiguration;
+import io.jans.fido2.model.conf.Fido2Configuration;
+import io.jans.orm.model.fido2.Fido2AuthenticationEntry;
+import io.jans.orm.model.fido2.Fido2RegistrationEntry;
+import io.jans.service.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChallengeCacheServiceTest {
+
+    private static final String CHALLENGE = "challenge";
+
+    @InjectMocks
+    private ChallengeCacheService challengeCacheService;
+
+    @Mock
+    private Logger log;
+
+    @Mock
+    private AppConfiguration appConfiguration;
+
+    @Mock
+    private CacheService cacheService;
+
+    private final ConcurrentMap<String, Object> cache = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        Fido2Configuration fido2Configuration = new Fido2Configuration();
+        fido2Configuration.setUnfinishedRequestExpiration(120);
+        when(appConfiguration.getFido2Configuration()).thenReturn(fido2Configuration);
+
+        doAnswer(invocation -> cache.put(invocation.getArgument(1), invocation.getArgument(2)))
+                .when(cacheService).put(anyInt(), anyString(), any());
+        lenient().when(cacheService.getAndRemove(anyString())).thenAnswer(invocation -> cache.remove(invocation.<String>getArgument(0)));
+    }
+
+    @Test
+    void consumeRegistrationEntry_challengeUsedTwice_secondCallReturnsNull() {
+        Fido2RegistrationEntry registrationEntry = new Fido2RegistrationEntry();
+        challengeCacheService.putRegistrationEntry(CHALLENGE, registrationEntry);
+
+        assertSame(registrationEntry, challengeCacheService.consumeRegistrationEntry(CHALLENGE));
+        assertNull(challengeCacheService.consumeRegistrationEntry(CHALLENGE));
+        verify(cacheService, never()).get(anyString());
+    }
+
+    @Test
+    void consumeAuthenticationEntry_challengeUsedTwice_secondCallReturnsNull() {
+        Fido2AuthenticationEntry authenticationEntry = new Fido2AuthenticationEntry();
+        challengeCacheService.putAuthenticationEntry(CHALLENGE, authenticationEntry);
+
+        assertSame(authenticationEntry, challengeCacheService.consumeAuthenticationEntry(CHALLENGE));
+        assertNull(challengeCacheService.consumeAuthenticationEntry(CHALLENGE));
+        verify(cacheService, never()).get(anyString());
+    }
+
+    @Test
+    void consumeAuthenticationEntry_registrationChallenge_returnsNull() {
+        challengeCacheService.putRegistrationEntry(CHALLENGE, new Fido2RegistrationEntry());
+
+        assertNull(challengeCacheService.consumeAuthenticationEntry(CHALLENGE));
+    }
+}
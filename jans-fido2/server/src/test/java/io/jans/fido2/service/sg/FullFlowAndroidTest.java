@@ -53,6 +53,7 @@ import io.jans.fido2.service.ChallengeGenerator;
 import io.jans.fido2.service.operation.AssertionService;
 import io.jans.fido2.service.operation.AttestationService;
 import io.jans.fido2.service.persist.AuthenticationPersistenceService;
+import io.jans.fido2.service.persist.ChallengeCacheService;
 import io.jans.fido2.service.persist.RegistrationPersistenceService;
 import io.jans.fido2.service.persist.UserSessionIdService;
 import io.jans.fido2.service.processor.assertion.U2FSuperGluuAssertionFormatProcessor;
@@ -144,6 +145,9 @@ public class FullFlowAndroidTest {
 	@Mock
 	ChallengeGenerator challengeGenerator = Mockito.mock(ChallengeGenerator.class);
 
+	@Mock
+	ChallengeCacheService challengeCacheService = Mockito.mock(ChallengeCacheService.class);
+
 	@InjectMocks
 	RegistrationPersistenceService registrationPersistenceService = Mockito.mock(RegistrationPersistenceService.class);
 
@@ -194,6 +198,7 @@ public class FullFlowAndroidTest {
 	RegistrationPersistenceService produceRegistrationPersistenceService() {
 		Mockito.when(registrationPersistenceService.buildFido2RegistrationEntry(any(), anyBoolean())).thenCallRealMethod();
 		Mockito.doCallRealMethod().when(registrationPersistenceService).update(any(Fido2RegistrationEntry.class));
+		Mockito.doCallRealMethod().when(registrationPersistenceService).savePending(any(Fido2RegistrationEntry.class));
 		if (registrationEntry != null) {
 			Mockito.when(registrationPersistenceService.findByChallenge(eq(registrationEntry.getChallange()), anyBoolean())).thenReturn(Arrays.asList(registrationEntry));
 			Mockito.when(registrationPersistenceService.findByPublicKeyId(eq(registrationEntry.getPublicKeyId()), eq(registrationEntry.getRpId()))).thenReturn(Optional.of(registrationEntry));
@@ -211,6 +216,7 @@ public class FullFlowAndroidTest {
 	AuthenticationPersistenceService produceAuthenticationPersistenceService() {
 		Mockito.when(authenticationPersistenceService.buildFido2AuthenticationEntry(any(), anyBoolean())).thenCallRealMethod();
 		Mockito.doCallRealMethod().when(authenticationPersistenceService).update(any(Fido2AuthenticationEntry.class));
+		Mockito.doCallRealMethod().when(authenticationPersistenceService).savePending(any(Fido2AuthenticationEntry.class));
 		if (authenticationEntry != null) {
 			Mockito.when(authenticationPersistenceService.findByChallenge(eq(authenticationEntry.getChallange()), anyBoolean())).thenReturn(Arrays.asList(authenticationEntry));
 		}
@@ -54,6 +54,7 @@ public class AppConfiguration extends CacheRefreshConfiguration {
     private Date lastUpdate;
     private String lastUpdateCount;
     private String problemCount;
+    private List<SyncStageStatistic> lastUpdateStatistics;
 
     private Boolean useLocalCache = false;
 
@@ -105,6 +106,14 @@ public class AppConfiguration extends CacheRefreshConfiguration {
         this.problemCount = problemCount;
     }
 
+    public List<SyncStageStatistic> getLastUpdateStatistics() {
+        return lastUpdateStatistics;
+    }
+
+    public void setLastUpdateStatistics(List<SyncStageStatistic> lastUpdateStatistics) {
+        this.lastUpdateStatistics = lastUpdateStatistics;
+    }
+
     public String getBaseDN() {
         return baseDN;
     }
@@ -0,0 +1,79 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.link.model.config;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import jakarta.enterprise.inject.Vetoed;
+
+/**
+ * Processed entries count, duration and throughput of synchronization stage
+ */
+@Vetoed
+@JsonPropertyOrder({ "stage", "count", "duration", "throughput" })
+public class SyncStageStatistic implements Serializable {
+
+    private static final long serialVersionUID = -3650207483941650316L;
+
+    private String stage;
+    private long count;
+    // In milliseconds
+    private long duration;
+    // Entries per second
+    private long throughput;
+
+    public SyncStageStatistic() {
+    }
+
+    public SyncStageStatistic(String stage, long count, long duration, long throughput) {
+        this.stage = stage;
+        this.count = count;
+        this.duration = duration;
+        this.throughput = throughput;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public void setDuration(long duration) {
+        this.duration = duration;
+    }
+
+    public long getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(long throughput) {
+        this.throughput = throughput;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncStageStatistic [stage=" + stage + ", count=" + count + ", duration=" + duration + ", throughput="
+                + throughput + "]";
+    }
+
+}
@@ -44,6 +44,9 @@ public class CacheRefreshConfiguration implements Configuration {
     private String snapshotFolder;
     private int snapshotMaxCount;
 
+    private int sourceLoadThreadsCount;
+    private int targetUpdateThreadsCount;
+
     public List<GluuLdapConfiguration> getSourceConfigs() {
         return sourceConfigs;
     }
@@ -164,4 +167,20 @@ public class CacheRefreshConfiguration implements Configuration {
         this.snapshotMaxCount = snapshotMaxCount;
     }
 
+    public int getSourceLoadThreadsCount() {
+        return sourceLoadThreadsCount;
+    }
+
+    public void setSourceLoadThreadsCount(int sourceLoadThreadsCount) {
+        this.sourceLoadThreadsCount = sourceLoadThreadsCount;
+    }
+
+    public int getTargetUpdateThreadsCount() {
+        return targetUpdateThreadsCount;
+    }
+
+    public void setTargetUpdateThreadsCount(int targetUpdateThreadsCount) {
+        this.targetUpdateThreadsCount = targetUpdateThreadsCount;
+    }
+
 }
@@ -49,7 +49,13 @@ import java.net.NetworkInterface;
 import java.net.SocketException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Check periodically if source servers contains updates and trigger target
@@ -65,6 +71,8 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 
 	private static final int DEFAULT_INTERVAL = 60;
 
+	private static final int TARGET_UPDATE_BATCH_SIZE = 100;
+
 	@Inject
 	private Logger log;
 
@@ -163,7 +171,7 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 			this.lastFinishedTime = System.currentTimeMillis();
 		} catch (Throwable ex) {
 			ex.printStackTrace();
-			log.info("Exception happened while executing cache refresh synchronization"+ ex);
+			log.info("Exception happened while executing cache refresh synchronization", ex);
 		}
 	}
 
@@ -206,7 +214,7 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 				}
 			}
 		} catch (SocketException ex) {
-			log.error("Failed to enumerate server IP addresses"+ ex);
+			log.error("Failed to enumerate server IP addresses", ex);
 		}
 
 		if (!cacheRefreshServer) {
@@ -300,24 +308,10 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 										 LdapServerConnection inumDbServerConnection, LdapServerConnection targetServerConnection,
 										 CacheRefreshUpdateMethod updateMethod) throws SearchException {
 		boolean isVDSMode = CacheRefreshUpdateMethod.VDS.equals(updateMethod);
-
-		// Load all entries from Source servers
-		log.info("Attempting to load entries from source server");
-		List<GluuSimplePerson> sourcePersons;
-
-		if (currentConfiguration.isUseSearchLimit()) {
-			sourcePersons = loadSourceServerEntries(currentConfiguration, sourceServerConnections);
-		} else {
-			sourcePersons = loadSourceServerEntriesWithoutLimits(currentConfiguration, sourceServerConnections);
-		}
-
-		log.info("Found '{}' entries in source server"+ sourcePersons.size());
-
-		Map<CacheCompoundKey, GluuSimplePerson> sourcePersonCacheCompoundKeyMap = getSourcePersonCompoundKeyMap(
-				currentConfiguration, sourcePersons);
-		log.info("Found '{}' unique entries in source server"+ sourcePersonCacheCompoundKeyMap.size());
+		SyncStageMetrics metrics = new SyncStageMetrics(log);
 
 		// Load all inum entries
+		metrics.start("load inum entries");
 		List<JansInumMap> inumMaps = null;
 
 		// Load all inum entries from local disk cache
@@ -326,9 +320,9 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 		if (loadedObject != null) {
 			try {
 				inumMaps = (List<JansInumMap>) loadedObject;
-				log.info("Found '{}' entries in inum objects disk cache"+ inumMaps.size());
+				log.info("Found '{}' entries in inum objects disk cache", inumMaps.size());
 			} catch (Exception ex) {
-				log.error("Failed to convert to GluuInumMap list"+ ex);
+				log.error("Failed to convert to GluuInumMap list", ex);
 				objectSerializationService.cleanup(inumCachePath);
 			}
 		}
@@ -336,59 +330,129 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 		if (inumMaps == null) {
 			// Load all inum entries from LDAP
 			inumMaps = loadInumServerEntries(currentConfiguration, inumDbServerConnection);
-			log.info("Found '{}' entries in inum server"+ inumMaps.size());
+			log.info("Found '{}' entries in inum server", inumMaps.size());
 		}
+		metrics.finish(inumMaps.size());
 
 		HashMap<CacheCompoundKey, JansInumMap> primaryKeyAttrValueInumMap = getPrimaryKeyAttrValueInumMap(inumMaps);
 
-		// Go through Source entries and create new InumMap entries if needed
-		HashMap<CacheCompoundKey, JansInumMap> addedPrimaryKeyAttrValueInumMap = addNewInumServerEntries(
-				currentConfiguration, inumDbServerConnection, sourcePersonCacheCompoundKeyMap,
-				primaryKeyAttrValueInumMap);
-
-		HashMap<CacheCompoundKey, JansInumMap> allPrimaryKeyAttrValueInumMap = getAllInumServerEntries(
-				primaryKeyAttrValueInumMap, addedPrimaryKeyAttrValueInumMap);
-		log.info("Count actual inum entries '{}' after updating inum server"+ allPrimaryKeyAttrValueInumMap.size());
-
-		HashMap<String, Integer> currInumWithEntryHashCodeMap = getSourcePersonsHashCodesMap(inumDbServerConnection,
-				sourcePersonCacheCompoundKeyMap, allPrimaryKeyAttrValueInumMap);
-		log.info("Count actual source entries '{}' after calculating hash code"+ currInumWithEntryHashCodeMap.size());
-
 		// Create snapshots cache folder if needed
 		boolean result = cacheRefreshSnapshotFileService.prepareSnapshotsFolder(currentConfiguration);
 		if (!result) {
 			return false;
 		}
 
-		// Load last snapshot into memory
-		Map<String, Integer> prevInumWithEntryHashCodeMap = cacheRefreshSnapshotFileService
-				.readLastSnapshot(currentConfiguration);
+		// Load problem list from disk. Source entries from it should be updated even if they weren't changed
+		List<String> problemInums = cacheRefreshSnapshotFileService.readProblemList(currentConfiguration);
+		Set<String> problemInumsSet = problemInums == null ? Collections.<String>emptySet() : new HashSet<String>(problemInums);
 
-		// Compare 2 snapshot and invoke update if needed
-		Set<String> changedInums = getChangedInums(currInumWithEntryHashCodeMap, prevInumWithEntryHashCodeMap,
-				isVDSMode);
-		log.info("Found '{}' changed entries"+ changedInums.size());
+		// Stream entries from Source servers. Only hash codes are kept for entries which
+		// didn't change since last snapshot, full entries are kept only for changed and new ones
+		log.info("Attempting to load entries from source server");
+		metrics.start("load source entries");
+		InumSnapshotLookup lastSnapshot = cacheRefreshSnapshotFileService.openLastSnapshot(currentConfiguration);
+		PersistenceEntryManager inumDbPersistenceEntryManager = inumDbServerConnection.getPersistenceEntryManager();
+		String[] keyAttributesWithoutValues = getCompoundKeyAttributesWithoutValues(currentConfiguration);
+
+		Map<String, Integer> currInumWithEntryHashCodeMap = new ConcurrentHashMap<String, Integer>();
+		Map<CacheCompoundKey, GluuSimplePerson> changedSourcePersons = new ConcurrentHashMap<CacheCompoundKey, GluuSimplePerson>();
+		Map<CacheCompoundKey, GluuSimplePerson> newSourcePersons = new ConcurrentHashMap<CacheCompoundKey, GluuSimplePerson>();
+		Set<CacheCompoundKey> duplicateKeys = ConcurrentHashMap.newKeySet();
+		AtomicInteger sourcePersonsCount = new AtomicInteger();
+
+		processSourceServerEntries(currentConfiguration, sourceServerConnections, currentConfiguration.isUseSearchLimit(),
+				getThreadsCount(currentConfiguration.getSourceLoadThreadsCount()), sourcePerson -> {
+			sourcePersonsCount.incrementAndGet();
+
+			CacheCompoundKey cacheCompoundKey = new CacheCompoundKey(getKeyAttributesValues(keyAttributesWithoutValues, sourcePerson));
+			JansInumMap currentInumMap = primaryKeyAttrValueInumMap.get(cacheCompoundKey);
+			if (currentInumMap == null) {
+				if (newSourcePersons.putIfAbsent(cacheCompoundKey, sourcePerson) != null) {
+					duplicateKeys.add(cacheCompoundKey);
+				}
+				return;
+			}
+
+			String inum = currentInumMap.getInum();
+			Integer hashCode = inumDbPersistenceEntryManager.getHashCode(sourcePerson);
+			if (currInumWithEntryHashCodeMap.putIfAbsent(inum, hashCode) != null) {
+				duplicateKeys.add(cacheCompoundKey);
+				return;
+			}
+
+			// VDS updates entries by inum only
+			if (!isVDSMode && ((lastSnapshot == null) || !hashCode.equals(lastSnapshot.getHashCode(inum))
+					|| problemInumsSet.contains(inum))) {
+				changedSourcePersons.put(cacheCompoundKey, sourcePerson);
+			}
+		});
+
+		for (CacheCompoundKey duplicateKey : duplicateKeys) {
+			log.error("Non-deterministic primary key. Skipping user with key: {}", duplicateKey);
+			newSourcePersons.remove(duplicateKey);
+			changedSourcePersons.remove(duplicateKey);
+
+			JansInumMap duplicateInumMap = primaryKeyAttrValueInumMap.get(duplicateKey);
+			if (duplicateInumMap != null) {
+				currInumWithEntryHashCodeMap.remove(duplicateInumMap.getInum());
+			}
+		}
+		metrics.finish(sourcePersonsCount.get());
+		log.info("Found '{}' entries in source server", sourcePersonsCount.get());
+		log.info("Found '{}' unique entries in source server", currInumWithEntryHashCodeMap.size() + newSourcePersons.size());
+
+		// Create new InumMap entries for new Source entries
+		metrics.start("add inum entries");
+		HashMap<CacheCompoundKey, JansInumMap> addedPrimaryKeyAttrValueInumMap = addNewInumServerEntries(
+				currentConfiguration, inumDbServerConnection, newSourcePersons, primaryKeyAttrValueInumMap);
+		for (Entry<CacheCompoundKey, JansInumMap> addedPrimaryKeyAttrValueInumMapEntry : addedPrimaryKeyAttrValueInumMap.entrySet()) {
+			GluuSimplePerson sourcePerson = newSourcePersons.get(addedPrimaryKeyAttrValueInumMapEntry.getKey());
+			currInumWithEntryHashCodeMap.put(addedPrimaryKeyAttrValueInumMapEntry.getValue().getInum(),
+					inumDbPersistenceEntryManager.getHashCode(sourcePerson));
+			if (!isVDSMode) {
+				changedSourcePersons.put(addedPrimaryKeyAttrValueInumMapEntry.getKey(), sourcePerson);
+			}
+		}
+		newSourcePersons.clear();
+		metrics.finish(addedPrimaryKeyAttrValueInumMap.size());
+
+		HashMap<CacheCompoundKey, JansInumMap> allPrimaryKeyAttrValueInumMap = getAllInumServerEntries(
+				primaryKeyAttrValueInumMap, addedPrimaryKeyAttrValueInumMap);
+		log.info("Count actual inum entries '{}' after updating inum server", allPrimaryKeyAttrValueInumMap.size());
+		log.info("Count actual source entries '{}' after calculating hash code", currInumWithEntryHashCodeMap.size());
+
+		// Compare with last snapshot and invoke update if needed
+		metrics.start("compare snapshots");
+		InumSnapshotDiff snapshotDiff = cacheRefreshSnapshotFileService.compareWithLastSnapshot(currentConfiguration,
+				currInumWithEntryHashCodeMap);
+		Set<String> changedInums = snapshotDiff.getChangedInums();
+		if (isVDSMode) {
+			// Add all inums which not exist in new snapshot
+			changedInums.addAll(snapshotDiff.getRemovedInums());
+		}
+		metrics.finish(changedInums.size());
+		log.info("Found '{}' changed entries", changedInums.size());
 
-		// Load problem list from disk and add to changedInums
-		List<String> problemInums = cacheRefreshSnapshotFileService.readProblemList(currentConfiguration);
 		if (problemInums != null) {
-			log.info("Loaded '{}' problem entries from problem file"+ problemInums.size());
+			log.info("Loaded '{}' problem entries from problem file", problemInums.size());
 			// Process inums from problem list too
 			changedInums.addAll(problemInums);
 		}
 
+		metrics.start("update target entries");
 		List<String> updatedInums = null;
 		if (isVDSMode) {
 			// Update request to VDS to update entries on target server
 			updatedInums = updateTargetEntriesViaVDS(currentConfiguration, targetServerConnection, changedInums);
 		} else {
-			updatedInums = updateTargetEntriesViaCopy(currentConfiguration, sourcePersonCacheCompoundKeyMap,
+			updatedInums = updateTargetEntriesViaCopy(currentConfiguration, changedSourcePersons,
 					allPrimaryKeyAttrValueInumMap, changedInums);
 		}
 
-		log.info("Updated '{}' entries"+ updatedInums.size());
+		metrics.finish(updatedInums.size());
+		log.info("Updated '{}' entries", updatedInums.size());
 		changedInums.removeAll(updatedInums);
-		log.info("Failed to update '{}' entries"+ changedInums.size());
+		log.info("Failed to update '{}' entries", changedInums.size());
 
 		// Persist snapshot to cache folder
 		result = cacheRefreshSnapshotFileService.createSnapshot(currentConfiguration,
@@ -406,24 +470,25 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 		cacheRefreshSnapshotFileService.writeProblemList(currentConfiguration, changedInums);
 
 		// Prepare list of persons for removal
+		metrics.start("remove target entries");
 		List<GluuSimplePerson> personsForRemoval = null;
 
 		boolean keepExternalPerson = currentConfiguration.isKeepExternalPerson();
-		log.info("Keep external persons: '{}'"+ keepExternalPerson);
+		log.info("Keep external persons: '{}'", keepExternalPerson);
 		if (keepExternalPerson) {
 			// Determine entries which need to remove
-			personsForRemoval = getRemovedPersons(currInumWithEntryHashCodeMap, prevInumWithEntryHashCodeMap);
+			personsForRemoval = getRemovedPersons(snapshotDiff.getRemovedInums());
 		} else {
 			// Process entries which don't exist in source server
 
 			// Load all entries from Target server
 			List<TypedGluuSimplePerson> targetPersons = loadTargetServerEntries(currentConfiguration, getLdapEntryManager());
-			log.info("Found '{}' entries in target server"+ targetPersons.size());
+			log.info("Found '{}' entries in target server", targetPersons.size());
 
 			// Detect entries which need to remove
 			personsForRemoval = processTargetPersons(targetPersons, currInumWithEntryHashCodeMap);
 		}
-		log.info("Count entries '{}' for removal from target server"+ personsForRemoval.size());
+		log.info("Count entries '{}' for removal from target server", personsForRemoval.size());
 
 		// Remove entries from target server
 		HashMap<String, JansInumMap> inumInumMap = getInumInumMap(inumMaps);
@@ -431,7 +496,8 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 				getLdapEntryManager(), personsForRemoval, inumInumMap);
 		List<String> removedPersonInums = removeTargetEntriesResult.getFirst();
 		List<String> removedGluuInumMaps = removeTargetEntriesResult.getSecond();
-		log.info("Removed '{}' persons from target server"+ removedPersonInums.size());
+		metrics.finish(removedPersonInums.size());
+		log.info("Removed '{}' persons from target server", removedPersonInums.size());
 
 		// Prepare list of inum for serialization
 		ArrayList<JansInumMap> currentInumMaps = applyChangesToInumMap(inumInumMap, addedPrimaryKeyAttrValueInumMap,
@@ -442,6 +508,8 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 
 		currentConfiguration
 				.setLastUpdateCount(String.valueOf(updatedInums.size() + removedPersonInums.size()));
+		currentConfiguration.setLastUpdateStatistics(metrics.getStatistics());
+		metrics.logSummary();
 
 		return true;
 	}
@@ -481,14 +549,14 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 			if (clonedLdapDecryptedProperties.getProperty(bindPasswordPropertyKey) != null) {
 				clonedLdapDecryptedProperties.setProperty(bindPasswordPropertyKey, "REDACTED");
 			}
-			log.trace("Attempting to create PersistenceEntryManager with properties: {}"+ clonedLdapDecryptedProperties);
+			log.trace("Attempting to create PersistenceEntryManager with properties: {}", clonedLdapDecryptedProperties);
 		}
 		PersistenceEntryManager customPersistenceEntryManager = entryManagerFactory
 				.createEntryManager(ldapDecryptedProperties);
-		log.info("Created Cache Refresh PersistenceEntryManager: {}"+ customPersistenceEntryManager);
+		log.info("Created Cache Refresh PersistenceEntryManager: {}", customPersistenceEntryManager);
 
 		if (!customPersistenceEntryManager.getOperationService().isConnected()) {
-			log.error("Failed to connect to LDAP server using configuration {}"+ ldapConfig);
+			log.error("Failed to connect to LDAP server using configuration {}", ldapConfig);
 			return null;
 		}
 
@@ -511,7 +579,7 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 			// Update GluuInumMap if it exist
 			JansInumMap currentInumMap = inumInumMap.get(inum);
 			if (currentInumMap == null) {
-				log.warn("Can't find inum entry of person with DN: {}"+ removedPerson.getDn());
+				log.warn("Can't find inum entry of person with DN: {}", removedPerson.getDn());
 			} else {
 				JansInumMap removedInumMap = getMarkInumMapEntryAsRemoved(currentInumMap,
 						getLdapEntryManager().encodeTime(removedPerson.getDn(), runDate));
@@ -519,7 +587,7 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 					inumDbPersistenceEntryManager.merge(removedInumMap);
 					result2.add(removedInumMap.getInum());
 				} catch (BasePersistenceException ex) {
-					log.error("Failed to update entry with inum '{}' and DN: {}"+ currentInumMap.getInum(),
+					log.error("Failed to update entry with inum '{}' and DN: {}", currentInumMap.getInum(),
 							currentInumMap.getDn(), ex);
 					continue;
 				}
@@ -546,11 +614,11 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 				}
 				result1.add(inum);
 			} catch (BasePersistenceException ex) {
-				log.error("Failed to remove person entry with inum '{}' and DN: {}"+ inum, removedPerson.getDn(), ex);
+				log.error("Failed to remove person entry with inum '{}' and DN: {}", inum, removedPerson.getDn(), ex);
 				continue;
 			}
 
-			log.info("Person with DN: '{}' removed from target server"+ removedPerson.getDn());
+			log.info("Person with DN: '{}' removed from target server", removedPerson.getDn());
 		}
 
 		return new Pair<List<String>, List<String>>(result1, result2);
@@ -561,7 +629,7 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 		try {
 			clonedInumMap = (JansInumMap) BeanUtilsBean2.getInstance().cloneBean(currentInumMap);
 		} catch (Exception ex) {
-			log.error("Failed to prepare GluuInumMap for removal"+ ex);
+			log.error("Failed to prepare GluuInumMap for removal", ex);
 			return null;
 		}
 
@@ -614,7 +682,7 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 			GluuSimplePerson sourcePerson = sourcePersonCacheCompoundKeyEntry.getValue();
 
 			if (log.isTraceEnabled()) {
-				log.trace("Checking source entry with key: '{}', and DN: {}"+ cacheCompoundKey, sourcePerson.getDn());
+				log.trace("Checking source entry with key: '{}', and DN: {}", cacheCompoundKey, sourcePerson.getDn());
 			}
 
 			JansInumMap currentInumMap = primaryKeyAttrValueInumMap.get(cacheCompoundKey);
@@ -623,35 +691,10 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 				currentInumMap = addGluuInumMap(inumbaseDn, inumDbPersistenceEntryManager, keyAttributesWithoutValues,
 						keyAttributesValues);
 				result.put(cacheCompoundKey, currentInumMap);
-				log.info("Added new inum entry for DN: {}"+ sourcePerson.getDn());
+				log.info("Added new inum entry for DN: {}", sourcePerson.getDn());
 			} else {
-				log.trace("Inum entry for DN: '{}' exist"+ sourcePerson.getDn());
-			}
-		}
-
-		return result;
-	}
-
-	private Map<CacheCompoundKey, GluuSimplePerson> getSourcePersonCompoundKeyMap(
-			CacheRefreshConfiguration cacheRefreshConfiguration, List<GluuSimplePerson> sourcePersons) {
-		Map<CacheCompoundKey, GluuSimplePerson> result = new HashMap<CacheCompoundKey, GluuSimplePerson>();
-		Set<CacheCompoundKey> duplicateKeys = new HashSet<CacheCompoundKey>();
-
-		String[] keyAttributesWithoutValues = getCompoundKeyAttributesWithoutValues(cacheRefreshConfiguration);
-		for (GluuSimplePerson sourcePerson : sourcePersons) {
-			String[][] keyAttributesValues = getKeyAttributesValues(keyAttributesWithoutValues, sourcePerson);
-			CacheCompoundKey cacheCompoundKey = new CacheCompoundKey(keyAttributesValues);
-
-			if (result.containsKey(cacheCompoundKey)) {
-				duplicateKeys.add(cacheCompoundKey);
+				log.trace("Inum entry for DN: '{}' exist", sourcePerson.getDn());
 			}
-
-			result.put(cacheCompoundKey, sourcePerson);
-		}
-
-		for (CacheCompoundKey duplicateKey : duplicateKeys) {
-			log.error("Non-deterministic primary key. Skipping user with key: {}"+ duplicateKey);
-			result.remove(duplicateKey);
 		}
 
 		return result;
@@ -702,15 +745,15 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 
 	public ArrayList<JansInumMap> applyChangesToInumMap(HashMap<String, JansInumMap> inumInumMap,
                                                          HashMap<CacheCompoundKey, JansInumMap> addedPrimaryKeyAttrValueInumMap, List<String> removedGluuInumMaps) {
-        log.info("There are '{}' entries before updating inum list"+ inumInumMap.size());
+        log.info("There are '{}' entries before updating inum list", inumInumMap.size());
         for (String removedGluuInumMap : removedGluuInumMaps) {
             inumInumMap.remove(removedGluuInumMap);
         }
-        log.info("There are '{}' entries after removal '{}' entries" + inumInumMap.size() +" : " +removedGluuInumMaps.size());
+        log.info("There are '{}' entries after removal '{}' entries", inumInumMap.size(), removedGluuInumMaps.size());
 
         ArrayList<JansInumMap> currentInumMaps = new ArrayList<JansInumMap>(inumInumMap.values());
         currentInumMaps.addAll(addedPrimaryKeyAttrValueInumMap.values());
-        log.info("There are '{}' entries after adding '{}' entries"+ currentInumMaps.size()+" : " +
+        log.info("There are '{}' entries after adding '{}' entries", currentInumMaps.size(),
                 addedPrimaryKeyAttrValueInumMap.size());
 
         return currentInumMaps;
@@ -724,33 +767,94 @@ public class JansLinkTimer extends BaseJansLinkTimer {
 			Map<String, String> targetServerAttributesMapping = getTargetServerAttributesMapping(cacheRefreshConfiguration);
 			String[] customObjectClasses = appConfiguration.getPersonObjectClassTypes();
 
-			List<String> result = new ArrayList<String>();
+			List<String> result = Collections.synchronizedList(new ArrayList<String>());
 
 			if (!validateTargetServerSchema(cacheRefreshConfiguration, targetServerAttributesMapping,
 					customObjectClasses)) {
 				return result;
 			}
 
+			// Split changed entries into batches and apply them in parallel
+			List<List<String>> batches = new ArrayList<List<String>>();
+			List<String> batch = null;
 			for (String targetInum : changedInums) {
-				CacheCompoundKey compoundKey = inumCacheCompoundKeyMap.get(targetInum);
-				if (compoundKey == null) {
-					continue;
+				if ((batch == null) || (batch.size() == TARGET_UPDATE_BATCH_SIZE)) {
+					batch = new ArrayList<String>(TARGET_UPDATE_BATCH_SIZE);
+					batches.add(batch);
 				}
+				batch.add(targetInum);
+			}
 
-				GluuSimplePerson sourcePerson = sourcePersonCacheCompoundKeyMap.get(compoundKey);
-				if (sourcePerson == null) {
-					continue;
+			int threadsCount = Math.min(getThreadsCount(cacheRefreshConfiguration.getTargetUpdateThreadsCount()), batches.size());
+			if (threadsCount <= 1) {
+				for (List<String> targetInums : batches) {
+					updateTargetEntriesBatchViaCopy(targetInums, sourcePersonCacheCompoundKeyMap, inumCacheCompoundKeyMap,
+							customObjectClasses, targetServerAttributesMapping, result);
 				}
 
-				if (updateTargetEntryViaCopy(sourcePerson, targetInum, customObjectClasses,
-						targetServerAttributesMapping)) {
-					result.add(targetInum);
+				return result;
+			}
+
+			log.info("Updating '{}' entries in '{}' batches using '{}' threads", changedInums.size(), batches.size(), threadsCount);
+			AtomicInteger threadNumber = new AtomicInteger();
+			ExecutorService executorService = Executors.newFixedThreadPool(threadsCount, runnable -> {
+				Thread thread = new Thread(runnable, "jans-link-update-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			try {
+				List<Future<?>> futures = new ArrayList<Future<?>>(batches.size());
+				for (List<String> targetInums : batches) {
+					futures.add(executorService.submit(() -> updateTargetEntriesBatchViaCopy(targetInums,
+							sourcePersonCacheCompoundKeyMap, inumCacheCompoundKeyMap, customObjectClasses,
+							targetServerAttributesMapping, result)));
 				}
+
+				for (Future<?> future : futures) {
+					try {
+						future.get();
+					} catch (ExecutionException ex) {
+						// Entries of this batch will be added to problem list
+						log.error("Failed to update batch of target entries", ex.getCause());
+					}
+				}
+			} catch (InterruptedException ex) {
+				log.error("Update of target entries was interrupted", ex);
+				Thread.currentThread().interrupt();
+			} finally {
+				executorService.shutdownNow();
 			}
 
-			return result;
+			return new ArrayList<String>(result);
 		}
 
+	private void updateTargetEntriesBatchViaCopy(List<String> targetInums,
+			Map<CacheCompoundKey, GluuSimplePerson> sourcePersonCacheCompoundKeyMap,
+			Map<String, CacheCompoundKey> inumCacheCompoundKeyMap, String[] customObjectClasses,
+			Map<String, String> targetServerAttributesMapping, List<String> result) {
+		for (String targetInum : targetInums) {
+			CacheCompoundKey compoundKey = inumCacheCompoundKeyMap.get(targetInum);
+			if (compoundKey == null) {
+				continue;
+			}
+
+			GluuSimplePerson sourcePerson = sourcePersonCacheCompoundKeyMap.get(compoundKey);
+			if (sourcePerson == null) {
+				continue;
+			}
+
+			if (updateTargetEntryViaCopy(sourcePerson, targetInum, customObjectClasses,
+					targetServerAttributesMapping)) {
+				result.add(targetInum);
+			}
+		}
+	}
+
+	// Synchronization is serial unless threads count is configured
+	private int getThreadsCount(int configuredThreadsCount) {
+		return configuredThreadsCount > 0 ? configuredThreadsCount : 1;
+	}
+
 	public HashMap<String, CacheCompoundKey> getInumCacheCompoundKeyMap(
 				HashMap<CacheCompoundKey, JansInumMap> primaryKeyAttrValueInumMap) {
 			HashMap<String, CacheCompoundKey> result = new HashMap<String, CacheCompoundKey>();
@@ -21,6 +21,8 @@ import io.jans.orm.exception.BasePersistenceException;
 import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.exception.operation.SearchException;
 import io.jans.orm.ldap.operation.LdapOperationService;
+import io.jans.orm.model.BatchOperation;
+import io.jans.orm.model.ProcessBatchOperation;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.base.DummyEntry;
 import io.jans.orm.operation.PersistenceOperationService;
@@ -36,7 +38,14 @@ import org.apache.commons.io.FilenameUtils;
 import org.slf4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 
 public abstract class BaseJansLinkTimer {
@@ -82,15 +91,15 @@ public abstract class BaseJansLinkTimer {
 
     /*public ArrayList<JansInumMap> applyChangesToInumMap(HashMap<String, JansInumMap> inumInumMap,
                                                          HashMap<CacheCompoundKey, JansInumMap> addedPrimaryKeyAttrValueInumMap, List<String> removedGluuInumMaps) {
-        log.info("There are '{}' entries before updating inum list"+ inumInumMap.size());
+        log.info("There are '{}' entries before updating inum list", inumInumMap.size());
         for (String removedGluuInumMap : removedGluuInumMaps) {
             inumInumMap.remove(removedGluuInumMap);
         }
-        log.info("There are '{}' entries after removal '{}' entries" + inumInumMap.size() +" : " +removedGluuInumMaps.size());
+        log.info("There are '{}' entries after removal '{}' entries", inumInumMap.size(), removedGluuInumMaps.size());
 
         ArrayList<JansInumMap> currentInumMaps = new ArrayList<JansInumMap>(inumInumMap.values());
         currentInumMaps.addAll(addedPrimaryKeyAttrValueInumMap.values());
-        log.info("There are '{}' entries after adding '{}' entries"+ currentInumMaps.size()+" : " +
+        log.info("There are '{}' entries after adding '{}' entries", currentInumMaps.size(),
                 addedPrimaryKeyAttrValueInumMap.size());
 
         return currentInumMaps;
@@ -143,6 +152,10 @@ public abstract class BaseJansLinkTimer {
             }
         }
 
+        return getRemovedPersons(deletedInums);
+    }
+
+    public List<GluuSimplePerson> getRemovedPersons(Collection<String> deletedInums) {
         List<GluuSimplePerson> deletedPersons = new ArrayList<GluuSimplePerson>(deletedInums.size());
         for (String deletedInum : deletedInums) {
             GluuSimplePerson person = new GluuSimplePerson();
@@ -171,9 +184,9 @@ public abstract class BaseJansLinkTimer {
                 targetPersistenceEntryManager.findEntries(baseDn, DummyEntry.class, filter, SearchScope.SUB, null,
                         null, 0, 0, cacheRefreshConfiguration.getLdapSearchSizeLimit());
                 result.add(changedInum);
-                log.info("Updated entry with inum {}"+ changedInum);
+                log.info("Updated entry with inum {}", changedInum);
             } catch (BasePersistenceException ex) {
-                log.error("Failed to update entry with inum '{}' using baseDN {}"+ changedInum, baseDn, ex);
+                log.error("Failed to update entry with inum '{}' using baseDN {}", changedInum, baseDn, ex);
             }
         }
 
@@ -243,7 +256,7 @@ public abstract class BaseJansLinkTimer {
         externalCacheRefreshService.executeExternalUpdateUserMethods(targetPerson);
         boolean executionResult = externalCacheRefreshService.executeExternalUpdateUserMethods(targetPerson);
         if (!executionResult) {
-            log.error("Failed to execute Cache Refresh scripts for person '{}'"+ targetInum);
+            log.error("Failed to execute Cache Refresh scripts for person '{}'", targetInum);
             return false;
         }
 
@@ -282,8 +295,7 @@ public abstract class BaseJansLinkTimer {
             return true;
         }
 
-        log.error("Skipping target entries update. Destination server schema doesn't has next attributes: '{}', target OC: '{}', target OC attributes: '{}'"+
-                targetAttributesSet, targetObjectClasses.toArray(new String[0]), objectClassesAttributesSet);
+        log.error("Skipping target entries update. Destination server schema doesn't has next attributes: '{}', target OC: '{}', target OC attributes: '{}'", targetAttributesSet, targetObjectClasses.toArray(new String[0]), objectClassesAttributesSet);
 
         return false;
     }
@@ -296,9 +308,9 @@ public abstract class BaseJansLinkTimer {
         if (personService.contains(targetPersonDn)) {
             try {
                 targetPerson = personService.findPersonByDn(targetPersonDn);
-                log.info("Found person by inum '{}'"+ targetInum);
+                log.info("Found person by inum '{}'", targetInum);
             } catch (EntryPersistenceException ex) {
-                log.error("Failed to find person '{}'"+ targetInum, ex);
+                log.error("Failed to find person '{}'", targetInum, ex);
                 return false;
             }
             updatePerson = true;
@@ -324,22 +336,22 @@ public abstract class BaseJansLinkTimer {
         // Execute interceptor script
         boolean executionResult = externalCacheRefreshService.executeExternalUpdateUserMethods(targetPerson);
         if (!executionResult) {
-            log.error("Failed to execute Cache Refresh scripts for person '{}'"+ targetInum);
+            log.error("Failed to execute Cache Refresh scripts for person '{}'", targetInum);
             return false;
         }
 
         try {
             if (updatePerson) {
                 personService.updatePersonWithoutCheck(targetPerson);
-                log.info("Updated person '{}'"+ targetInum);
+                log.info("Updated person '{}'", targetInum);
             } else {
                 personService.addPersonWithoutCheck(targetPerson);
-                log.info("Added new person '{}'"+ targetInum);
+                log.info("Added new person '{}'", targetInum);
             }
         } catch (Exception ex) {
             ex.printStackTrace();
             String test = updatePerson ? "update" : "add";
-            log.error("Failed to '{}' person '{}'" + test + targetInum + ex);
+            log.error("Failed to '{}' person '{}'", test, targetInum, ex);
             return false;
         }
 
@@ -376,98 +388,119 @@ public abstract class BaseJansLinkTimer {
     public List<GluuSimplePerson> loadSourceServerEntriesWithoutLimits(
             CacheRefreshConfiguration cacheRefreshConfiguration, LdapServerConnection[] sourceServerConnections)
             throws SearchException {
-        Filter customFilter = cacheRefreshService.createFilter(cacheRefreshConfiguration.getCustomLdapFilter());
-        String[] keyAttributes = getCompoundKeyAttributes(cacheRefreshConfiguration);
-        String[] keyAttributesWithoutValues = getCompoundKeyAttributesWithoutValues(cacheRefreshConfiguration);
-        String[] keyObjectClasses = getCompoundKeyObjectClasses(cacheRefreshConfiguration);
-        String[] sourceAttributes = getSourceAttributes(cacheRefreshConfiguration);
-
-        String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes);
-
-        Set<String> addedDns = new HashSet<String>();
-
         List<GluuSimplePerson> sourcePersons = new ArrayList<GluuSimplePerson>();
-        for (LdapServerConnection sourceServerConnection : sourceServerConnections) {
-            String sourceServerName = sourceServerConnection.getSourceServerName();
-
-            PersistenceEntryManager sourcePersistenceEntryManager = sourceServerConnection.getPersistenceEntryManager();
-            String[] baseDns = sourceServerConnection.getBaseDns();
-            Filter filter = cacheRefreshService.createFilter(keyAttributes, keyObjectClasses, "", customFilter);
-            if (log.isTraceEnabled()) {
-                log.trace("Using next filter to load entris from source server: {}"+ filter);
-            }
-
-            for (String baseDn : baseDns) {
-                List<GluuSimplePerson> currentSourcePersons = sourcePersistenceEntryManager.findEntries(baseDn,
-                        GluuSimplePerson.class, filter, SearchScope.SUB, returnAttributes, null, 0, 0,
-                        cacheRefreshConfiguration.getLdapSearchSizeLimit());
-
-                // Add to result and ignore root entry if needed
-                for (GluuSimplePerson currentSourcePerson : currentSourcePersons) {
-                    currentSourcePerson.setSourceServerName(sourceServerName);
-                    // if (!StringHelper.equalsIgnoreCase(baseDn,
-                    // currentSourcePerson.getDn())) {
-                    String currentSourcePersonDn = currentSourcePerson.getDn().toLowerCase();
-                    if (!addedDns.contains(currentSourcePersonDn)) {
-                        sourcePersons.add(currentSourcePerson);
-                        addedDns.add(currentSourcePersonDn);
-                    }
-                    // }
-                }
-            }
-        }
+        processSourceServerEntries(cacheRefreshConfiguration, sourceServerConnections, false, 1, sourcePersons::add);
 
         return sourcePersons;
     }
 
     public List<GluuSimplePerson> loadSourceServerEntries(CacheRefreshConfiguration cacheRefreshConfiguration,
                                                            LdapServerConnection[] sourceServerConnections) throws SearchException {
+        List<GluuSimplePerson> sourcePersons = new ArrayList<GluuSimplePerson>();
+        processSourceServerEntries(cacheRefreshConfiguration, sourceServerConnections, true, 1, sourcePersons::add);
+
+        return sourcePersons;
+    }
+
+    /*
+     * Pages through source entries and passes each of them to processor without keeping them in memory.
+     * With search limit key space is split into partitions by first two letters of key attribute value.
+     * Partitions are loaded by threadsCount threads, so processor should be thread safe if threadsCount > 1
+     */
+    public void processSourceServerEntries(CacheRefreshConfiguration cacheRefreshConfiguration,
+            LdapServerConnection[] sourceServerConnections, boolean useSearchLimit, int threadsCount,
+            Consumer<GluuSimplePerson> sourcePersonProcessor) throws SearchException {
         Filter customFilter = cacheRefreshService.createFilter(cacheRefreshConfiguration.getCustomLdapFilter());
         String[] keyAttributes = getCompoundKeyAttributes(cacheRefreshConfiguration);
         String[] keyAttributesWithoutValues = getCompoundKeyAttributesWithoutValues(cacheRefreshConfiguration);
         String[] keyObjectClasses = getCompoundKeyObjectClasses(cacheRefreshConfiguration);
         String[] sourceAttributes = getSourceAttributes(cacheRefreshConfiguration);
 
-        String[] twoLettersArray = createTwoLettersArray();
+        String[] keyAttributeStarts = useSearchLimit ? createTwoLettersArray() : new String[] { "" };
         String[] returnAttributes = ArrayHelper.arrayMerge(keyAttributesWithoutValues, sourceAttributes);
+        int searchSizeLimit = cacheRefreshConfiguration.getLdapSearchSizeLimit();
 
-        Set<String> addedDns = new HashSet<String>();
+        // Same entry can be returned for few base DNs
+        Set<String> addedDns = ConcurrentHashMap.newKeySet();
 
-        List<GluuSimplePerson> sourcePersons = new ArrayList<GluuSimplePerson>();
+        List<Runnable> partitions = new ArrayList<Runnable>();
         for (LdapServerConnection sourceServerConnection : sourceServerConnections) {
             String sourceServerName = sourceServerConnection.getSourceServerName();
 
             PersistenceEntryManager sourcePersistenceEntryManager = sourceServerConnection.getPersistenceEntryManager();
             String[] baseDns = sourceServerConnection.getBaseDns();
-            for (String keyAttributeStart : twoLettersArray) {
+            for (String keyAttributeStart : keyAttributeStarts) {
                 Filter filter = cacheRefreshService.createFilter(keyAttributes, keyObjectClasses, keyAttributeStart,
                         customFilter);
-                if (log.isDebugEnabled()) {
-                    log.trace("Using next filter to load entris from source server: {}"+ filter);
+                if (log.isTraceEnabled()) {
+                    log.trace("Using next filter to load entris from source server: {}", filter);
                 }
 
                 for (String baseDn : baseDns) {
-                    List<GluuSimplePerson> currentSourcePersons = sourcePersistenceEntryManager.findEntries(baseDn,
-                            GluuSimplePerson.class, filter, SearchScope.SUB, returnAttributes, null, 0, 0,
-                            cacheRefreshConfiguration.getLdapSearchSizeLimit());
-
-                    // Add to result and ignore root entry if needed
-                    for (GluuSimplePerson currentSourcePerson : currentSourcePersons) {
-                        currentSourcePerson.setSourceServerName(sourceServerName);
-                        // if (!StringHelper.equalsIgnoreCase(baseDn,
-                        // currentSourcePerson.getDn())) {
-                        String currentSourcePersonDn = currentSourcePerson.getDn().toLowerCase();
-                        if (!addedDns.contains(currentSourcePersonDn)) {
-                            sourcePersons.add(currentSourcePerson);
-                            addedDns.add(currentSourcePersonDn);
-                        }
-                        // }
-                    }
+                    partitions.add(() -> sourcePersistenceEntryManager.findEntries(baseDn, GluuSimplePerson.class,
+                            filter, SearchScope.SUB, returnAttributes,
+                            createSourcePersonsBatchOperation(sourceServerName, addedDns, sourcePersonProcessor), 0, 0,
+                            searchSizeLimit));
                 }
             }
         }
 
-        return sourcePersons;
+        loadSourcePartitions(partitions, threadsCount);
+    }
+
+    // Failure of any partition fails whole load. Otherwise not loaded entries will be removed from target server
+    private void loadSourcePartitions(List<Runnable> partitions, int threadsCount) throws SearchException {
+        int partitionsThreadsCount = Math.min(threadsCount, partitions.size());
+        if (partitionsThreadsCount <= 1) {
+            for (Runnable partition : partitions) {
+                partition.run();
+            }
+
+            return;
+        }
+
+        log.info("Loading '{}' source partitions using '{}' threads", partitions.size(), partitionsThreadsCount);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(partitionsThreadsCount, runnable -> {
+            Thread thread = new Thread(runnable, "jans-link-source-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<Future<?>>(partitions.size());
+            for (Runnable partition : partitions) {
+                futures.add(executorService.submit(partition));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new SearchException("Failed to load entries from source server", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SearchException("Load of entries from source server was interrupted", ex);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    // Process source entries page by page to avoid keeping full search result and copy of it in memory
+    private BatchOperation<GluuSimplePerson> createSourcePersonsBatchOperation(String sourceServerName,
+            Set<String> addedDns, Consumer<GluuSimplePerson> sourcePersonProcessor) {
+        return new ProcessBatchOperation<GluuSimplePerson>() {
+            @Override
+            public void performAction(List<GluuSimplePerson> currentSourcePersons) {
+                // Ignore root entry if needed
+                for (GluuSimplePerson currentSourcePerson : currentSourcePersons) {
+                    currentSourcePerson.setSourceServerName(sourceServerName);
+                    String currentSourcePersonDn = currentSourcePerson.getDn().toLowerCase();
+                    if (addedDns.add(currentSourcePersonDn)) {
+                        sourcePersonProcessor.accept(currentSourcePerson);
+                    }
+                }
+            }
+        };
     }
 
     public List<TypedGluuSimplePerson> loadTargetServerEntries(CacheRefreshConfiguration cacheRefreshConfiguration,
@@ -535,13 +568,13 @@ public abstract class BaseJansLinkTimer {
     }*/
 
     public List<GluuSimplePerson> processTargetPersons(List<TypedGluuSimplePerson> targetPersons,
-                                                        HashMap<String, Integer> currInumWithEntryHashCodeMap) {
+                                                        Map<String, Integer> currInumWithEntryHashCodeMap) {
         List<GluuSimplePerson> result = new ArrayList<GluuSimplePerson>();
 
         for (GluuSimplePerson targetPerson : targetPersons) {
             String personInum = targetPerson.getStringAttribute(JansConstants.inum);
             if (!currInumWithEntryHashCodeMap.containsKey(personInum)) {
-                log.info("Person with such DN: '{}' isn't present on source server"+ targetPerson.getDn());
+                log.info("Person with such DN: '{}' isn't present on source server", targetPerson.getDn());
                 result.add(targetPerson);
             }
         }
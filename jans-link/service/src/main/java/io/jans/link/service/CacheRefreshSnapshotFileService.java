@@ -6,18 +6,28 @@
 
 package io.jans.link.service;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -30,10 +40,16 @@ import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.apache.commons.io.filefilter.OrFileFilter;
 import org.slf4j.Logger;
 
 /**
  * Helper service to work with snapshots
+ *
+ * Snapshot is binary file with entries sorted by inum hash:
+ * header (magic, count), fixed size records (inum hash, entry hash code, inum offset)
+ * and table of inums. It's mapped into memory and compared with current entries
+ * by sequential merge-join. Text snapshots created by previous versions are still supported
  * 
  * @author Yuriy Movchan Date: 06.09.2011
  */
@@ -44,10 +60,18 @@ public class CacheRefreshSnapshotFileService {
 	@Inject
 	private Logger log;
 
-	private static final String SNAPSHOT_FILE_NAME_PATTERN = "inum-snapshot-%s.txt";
+	private static final String SNAPSHOT_FILE_NAME_PATTERN = "inum-snapshot-%s.bin";
+	private static final String TEXT_SNAPSHOT_FILE_NAME_PATTERN = "inum-snapshot-%s.txt";
 	private static final String PROBLEM_LIST_FILE_NAME = "problem-inum-list.txt";
 	private static final String SNAPSHOT_FILE_NAME_DATE_PATTERN = "yyyy-MM-dd-HH-mm";
 
+	private static final int SNAPSHOT_MAGIC = 0x4A4C5331; // JLS1
+	private static final int SNAPSHOT_HEADER_SIZE = 8;
+	private static final int SNAPSHOT_RECORD_SIZE = 16;
+
+	private static final Comparator<SnapshotEntry> SNAPSHOT_ENTRY_COMPARATOR = Comparator
+			.comparingLong((SnapshotEntry entry) -> entry.inumHash).thenComparing(entry -> entry.inum);
+
 	public boolean prepareSnapshotsFolder(CacheRefreshConfiguration cacheRefreshConfiguration) {
 		String snapshotFolder = cacheRefreshConfiguration.getSnapshotFolder();
 
@@ -71,11 +95,27 @@ public class CacheRefreshSnapshotFileService {
 		DateFormat fileNameDateFormat = new SimpleDateFormat(SNAPSHOT_FILE_NAME_DATE_PATTERN);
 		String snapshotFileName = String.format(SNAPSHOT_FILE_NAME_PATTERN, fileNameDateFormat.format(new Date()));
 		File file = new File(cacheRefreshConfiguration.getSnapshotFolder() + File.separator + snapshotFileName);
-		try(BufferedWriter bos = new BufferedWriter(new FileWriter(file))) {
-			for (Entry<String, Integer> entry : inumWithEntryHashCodeMap.entrySet()) {
-				bos.write(String.format("%s:%d\n", entry.getKey(), entry.getValue()));
+		SnapshotEntry[] entries = toSortedEntries(inumWithEntryHashCodeMap);
+		try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024))) {
+			dos.writeInt(SNAPSHOT_MAGIC);
+			dos.writeInt(entries.length);
+
+			// Records. Inum offsets are relative to start of inums table
+			int inumOffset = 0;
+			for (SnapshotEntry entry : entries) {
+				dos.writeLong(entry.inumHash);
+				dos.writeInt(entry.hashCode);
+				dos.writeInt(inumOffset);
+				inumOffset += 2 + entry.inum.getBytes(StandardCharsets.UTF_8).length;
 			}
-			bos.flush();
+
+			// Inums table
+			for (SnapshotEntry entry : entries) {
+				byte[] inum = entry.inum.getBytes(StandardCharsets.UTF_8);
+				dos.writeShort(inum.length);
+				dos.write(inum);
+			}
+			dos.flush();
 		} catch (IOException ex) {
 			log.error("Failed to create snapshot file '{}'", file.getAbsolutePath(), ex);
 			return false;
@@ -92,6 +132,20 @@ public class CacheRefreshSnapshotFileService {
 		if (!file.exists()) {
 			return null;
 		}
+
+		if (!isTextSnapshot(snapshotFileName)) {
+			MappedSnapshot snapshot = mapSnapshot(file);
+			if (snapshot == null) {
+				return null;
+			}
+
+			Map<String, Integer> result = new HashMap<String, Integer>(snapshot.size() * 4 / 3 + 1);
+			for (int i = 0; i < snapshot.size(); i++) {
+				result.put(snapshot.getInum(i), snapshot.getHashCode(i));
+			}
+			return result;
+		}
+
 		Map<String, Integer> result = new HashMap<String, Integer>();
 		try(BufferedReader bis = new BufferedReader(new FileReader(file))) {
 			String line;
@@ -129,14 +183,152 @@ public class CacheRefreshSnapshotFileService {
 		return readSnapshot(cacheRefreshConfiguration, snapshots[snapshots.length - 1]);
 	}
 
+	/*
+	 * Compares current entries with last snapshot. Last snapshot is not loaded into heap,
+	 * it's mapped into memory and iterated along with sorted current entries
+	 */
+	public InumSnapshotDiff compareWithLastSnapshot(CacheRefreshConfiguration cacheRefreshConfiguration,
+			Map<String, Integer> currInumWithEntryHashCodeMap) {
+		Set<String> changedInums = new HashSet<String>();
+		List<String> removedInums = new ArrayList<String>();
+
+		SnapshotEntries prevEntries = readLastSnapshotEntries(cacheRefreshConfiguration);
+
+		// First time run
+		if (prevEntries == null) {
+			changedInums.addAll(currInumWithEntryHashCodeMap.keySet());
+			return new InumSnapshotDiff(true, changedInums, removedInums);
+		}
+
+		SnapshotEntry[] currEntries = toSortedEntries(currInumWithEntryHashCodeMap);
+		int prevSize = prevEntries.size();
+		int i = 0, j = 0;
+		while ((i < currEntries.length) || (j < prevSize)) {
+			int cmp;
+			if (i == currEntries.length) {
+				cmp = 1;
+			} else if (j == prevSize) {
+				cmp = -1;
+			} else {
+				cmp = Long.compare(currEntries[i].inumHash, prevEntries.getInumHash(j));
+				if (cmp == 0) {
+					cmp = currEntries[i].inum.compareTo(prevEntries.getInum(j));
+				}
+			}
+
+			if (cmp < 0) {
+				// New entry
+				changedInums.add(currEntries[i++].inum);
+			} else if (cmp > 0) {
+				// Entry not exists in new snapshot
+				removedInums.add(prevEntries.getInum(j++));
+			} else {
+				if (currEntries[i].hashCode != prevEntries.getHashCode(j)) {
+					changedInums.add(currEntries[i].inum);
+				}
+				i++;
+				j++;
+			}
+		}
+
+		return new InumSnapshotDiff(false, changedInums, removedInums);
+	}
+
+	/*
+	 * Returns lookup of entry hash codes in last snapshot or null if there is no snapshot yet.
+	 * Binary snapshot stays mapped into memory, inums are searched by inum hash
+	 */
+	public InumSnapshotLookup openLastSnapshot(CacheRefreshConfiguration cacheRefreshConfiguration) {
+		SnapshotEntries prevEntries = readLastSnapshotEntries(cacheRefreshConfiguration);
+		if (prevEntries == null) {
+			return null;
+		}
+
+		return new SnapshotEntriesLookup(prevEntries);
+	}
+
+	private SnapshotEntries readLastSnapshotEntries(CacheRefreshConfiguration cacheRefreshConfiguration) {
+		String[] snapshots = prepareSnapshotsFolder(cacheRefreshConfiguration) ? getSnapshotsList(cacheRefreshConfiguration) : null;
+		if (ArrayHelper.isEmpty(snapshots)) {
+			return null;
+		}
+
+		String lastSnapshot = snapshots[snapshots.length - 1];
+		if (isTextSnapshot(lastSnapshot)) {
+			Map<String, Integer> prevInumWithEntryHashCodeMap = readSnapshot(cacheRefreshConfiguration, lastSnapshot);
+			if (prevInumWithEntryHashCodeMap == null) {
+				return null;
+			}
+
+			return new SnapshotEntryArray(toSortedEntries(prevInumWithEntryHashCodeMap));
+		}
+
+		return mapSnapshot(new File(cacheRefreshConfiguration.getSnapshotFolder() + File.separator + lastSnapshot));
+	}
+
 	private String[] getSnapshotsList(CacheRefreshConfiguration cacheRefreshConfiguration) {
 		File file = new File(cacheRefreshConfiguration.getSnapshotFolder());
-		String[] files = file.list(new WildcardFileFilter(String.format(SNAPSHOT_FILE_NAME_PATTERN, "*")));
+		String[] files = file.list(new OrFileFilter(new WildcardFileFilter(String.format(SNAPSHOT_FILE_NAME_PATTERN, "*")),
+				new WildcardFileFilter(String.format(TEXT_SNAPSHOT_FILE_NAME_PATTERN, "*"))));
 		Arrays.sort(files);
 
 		return files;
 	}
 
+	private boolean isTextSnapshot(String snapshotFileName) {
+		return snapshotFileName.endsWith(".txt");
+	}
+
+	private MappedSnapshot mapSnapshot(File file) {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if ((size < SNAPSHOT_HEADER_SIZE) || (size > Integer.MAX_VALUE)) {
+				log.error("Snapshot file '{}' has invalid size '{}'", file.getAbsolutePath(), size);
+				return null;
+			}
+
+			// Mapping stays valid after channel close
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (buffer.getInt(0) != SNAPSHOT_MAGIC) {
+				log.error("Snapshot file '{}' has invalid format", file.getAbsolutePath());
+				return null;
+			}
+
+			int count = buffer.getInt(4);
+			if ((count < 0) || (SNAPSHOT_HEADER_SIZE + (long) count * SNAPSHOT_RECORD_SIZE > size)) {
+				log.error("Snapshot file '{}' is corrupted", file.getAbsolutePath());
+				return null;
+			}
+
+			return new MappedSnapshot(buffer, count);
+		} catch (IOException ex) {
+			log.error("Failed to load snapshot file '{}'", file.getAbsolutePath(), ex);
+			return null;
+		}
+	}
+
+	private static SnapshotEntry[] toSortedEntries(Map<String, Integer> inumWithEntryHashCodeMap) {
+		SnapshotEntry[] entries = new SnapshotEntry[inumWithEntryHashCodeMap.size()];
+		int i = 0;
+		for (Entry<String, Integer> entry : inumWithEntryHashCodeMap.entrySet()) {
+			entries[i++] = new SnapshotEntry(entry.getKey(), entry.getValue());
+		}
+		Arrays.sort(entries, SNAPSHOT_ENTRY_COMPARATOR);
+
+		return entries;
+	}
+
+	// FNV-1a 64 bit. It should be stable between JVM runs
+	private static long inumHash(String inum) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : inum.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= (b & 0xff);
+			hash *= 0x100000001b3L;
+		}
+
+		return hash;
+	}
+
 	public boolean retainSnapshots(CacheRefreshConfiguration cacheRefreshConfiguration, int count) {
 		if (!prepareSnapshotsFolder(cacheRefreshConfiguration)) {
 			return false;
@@ -195,4 +387,133 @@ public class CacheRefreshSnapshotFileService {
 		return true;
 	}
 
+	private interface SnapshotEntries {
+
+		int size();
+
+		long getInumHash(int index);
+
+		int getHashCode(int index);
+
+		String getInum(int index);
+
+	}
+
+	private static class SnapshotEntry {
+
+		private final String inum;
+		private final long inumHash;
+		private final int hashCode;
+
+		SnapshotEntry(String inum, int hashCode) {
+			this.inum = inum;
+			this.inumHash = inumHash(inum);
+			this.hashCode = hashCode;
+		}
+
+	}
+
+	private static class SnapshotEntriesLookup implements InumSnapshotLookup {
+
+		private final SnapshotEntries entries;
+
+		SnapshotEntriesLookup(SnapshotEntries entries) {
+			this.entries = entries;
+		}
+
+		public Integer getHashCode(String inum) {
+			long inumHash = inumHash(inum);
+
+			// Entries are sorted by inum hash and inum
+			int low = 0;
+			int high = entries.size() - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				int cmp = Long.compare(entries.getInumHash(mid), inumHash);
+				if (cmp == 0) {
+					cmp = entries.getInum(mid).compareTo(inum);
+				}
+
+				if (cmp < 0) {
+					low = mid + 1;
+				} else if (cmp > 0) {
+					high = mid - 1;
+				} else {
+					return entries.getHashCode(mid);
+				}
+			}
+
+			return null;
+		}
+
+	}
+
+	private static class SnapshotEntryArray implements SnapshotEntries {
+
+		private final SnapshotEntry[] entries;
+
+		SnapshotEntryArray(SnapshotEntry[] entries) {
+			this.entries = entries;
+		}
+
+		public int size() {
+			return entries.length;
+		}
+
+		public long getInumHash(int index) {
+			return entries[index].inumHash;
+		}
+
+		public int getHashCode(int index) {
+			return entries[index].hashCode;
+		}
+
+		public String getInum(int index) {
+			return entries[index].inum;
+		}
+
+	}
+
+	private static class MappedSnapshot implements SnapshotEntries {
+
+		private final ByteBuffer buffer;
+		private final int count;
+		private final int inumsOffset;
+
+		MappedSnapshot(ByteBuffer buffer, int count) {
+			this.buffer = buffer;
+			this.count = count;
+			this.inumsOffset = SNAPSHOT_HEADER_SIZE + count * SNAPSHOT_RECORD_SIZE;
+		}
+
+		public int size() {
+			return count;
+		}
+
+		public long getInumHash(int index) {
+			return buffer.getLong(recordOffset(index));
+		}
+
+		public int getHashCode(int index) {
+			return buffer.getInt(recordOffset(index) + 8);
+		}
+
+		public String getInum(int index) {
+			int offset = inumsOffset + buffer.getInt(recordOffset(index) + 12);
+			int length = buffer.getShort(offset) & 0xffff;
+
+			byte[] inum = new byte[length];
+			ByteBuffer view = buffer.duplicate();
+			view.position(offset + 2);
+			view.get(inum);
+
+			return new String(inum, StandardCharsets.UTF_8);
+		}
+
+		private int recordOffset(int index) {
+			return SNAPSHOT_HEADER_SIZE + index * SNAPSHOT_RECORD_SIZE;
+		}
+
+	}
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.link.service;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Result of comparison of current entries with last snapshot
+ */
+public class InumSnapshotDiff {
+
+	private final boolean firstRun;
+	private final Set<String> changedInums;
+	private final List<String> removedInums;
+
+	public InumSnapshotDiff(boolean firstRun, Set<String> changedInums, List<String> removedInums) {
+		this.firstRun = firstRun;
+		this.changedInums = changedInums;
+		this.removedInums = removedInums;
+	}
+
+	/*
+	 * There was no previous snapshot
+	 */
+	public boolean isFirstRun() {
+		return firstRun;
+	}
+
+	/*
+	 * New entries and entries with changed hash code
+	 */
+	public Set<String> getChangedInums() {
+		return changedInums;
+	}
+
+	/*
+	 * Entries which exist in previous snapshot only
+	 */
+	public List<String> getRemovedInums() {
+		return removedInums;
+	}
+
+}
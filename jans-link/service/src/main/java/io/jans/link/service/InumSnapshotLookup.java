@@ -0,0 +1,19 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.link.service;
+
+/**
+ * Read only access to entry hash codes stored in last snapshot
+ */
+public interface InumSnapshotLookup {
+
+	/*
+	 * Returns entry hash code or null if there is no such inum in snapshot
+	 */
+	Integer getHashCode(String inum);
+
+}
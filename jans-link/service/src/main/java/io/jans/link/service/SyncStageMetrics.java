@@ -0,0 +1,70 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.link.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import io.jans.link.model.config.SyncStageStatistic;
+
+/**
+ * Collects duration and processed entries count of each synchronization stage.
+ * Collected statistics are stored in configuration along with last update status
+ */
+public class SyncStageMetrics {
+
+	private final Logger log;
+
+	private final List<SyncStageStatistic> statistics = new ArrayList<SyncStageStatistic>();
+
+	private String currentStage;
+	private long currentStageStart;
+
+	public SyncStageMetrics(Logger log) {
+		this.log = log;
+	}
+
+	public void start(String stage) {
+		this.currentStage = stage;
+		this.currentStageStart = System.currentTimeMillis();
+	}
+
+	public void finish(int count) {
+		if (currentStage == null) {
+			return;
+		}
+
+		long duration = System.currentTimeMillis() - currentStageStart;
+		SyncStageStatistic statistic = new SyncStageStatistic(currentStage, count, duration, throughput(count, duration));
+		statistics.add(statistic);
+		log.info("Stage '{}' processed '{}' entries in '{}' ms ({} entries/s)", currentStage, count, duration,
+				statistic.getThroughput());
+
+		currentStage = null;
+	}
+
+	public List<SyncStageStatistic> getStatistics() {
+		return new ArrayList<SyncStageStatistic>(statistics);
+	}
+
+	public void logSummary() {
+		long total = 0;
+		for (SyncStageStatistic statistic : statistics) {
+			total += statistic.getDuration();
+			log.info("Stage '{}': '{}' entries, '{}' ms, {} entries/s", statistic.getStage(), statistic.getCount(),
+					statistic.getDuration(), statistic.getThroughput());
+		}
+		log.info("Synchronization took '{}' ms", total);
+	}
+
+	private static long throughput(long count, long duration) {
+		return duration == 0 ? count * 1000 : count * 1000 / duration;
+	}
+
+}
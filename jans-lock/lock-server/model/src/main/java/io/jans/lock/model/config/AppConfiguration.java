@@ -135,6 +135,14 @@ public class AppConfiguration implements Configuration {
     @Schema(description = "List of Zip Uris with policies")
     private List<String> policiesZipUris;
 
+    @DocProperty(description = "Maximum number of audit entries waiting to be sent to config-api", defaultValue = "10000")
+    @Schema(description = "Maximum number of audit entries waiting to be sent to config-api")
+    private int auditQueueSize = 10000;
+
+    @DocProperty(description = "Maximum number of audit entries sent to config-api in one bulk request", defaultValue = "100")
+    @Schema(description = "Maximum number of audit entries sent to config-api in one bulk request")
+    private int auditBatchSize = 100;
+
     public String getBaseDN() {
         return baseDN;
     }
@@ -335,6 +343,22 @@ public class AppConfiguration implements Configuration {
         this.policiesZipUris = policiesZipUris;
     }
 
+    public int getAuditQueueSize() {
+        return auditQueueSize;
+    }
+
+    public void setAuditQueueSize(int auditQueueSize) {
+        this.auditQueueSize = auditQueueSize;
+    }
+
+    public int getAuditBatchSize() {
+        return auditBatchSize;
+    }
+
+    public void setAuditBatchSize(int auditBatchSize) {
+        this.auditBatchSize = auditBatchSize;
+    }
+
     @Override
     public String toString() {
         return "AppConfiguration [baseDN=" + baseDN + ", baseEndpoint=" + baseEndpoint + ", openIdIssuer="
@@ -18,6 +18,7 @@ package io.jans.lock.service;
 
 import org.slf4j.Logger;
 
+import io.jans.lock.service.audit.AuditService;
 import io.jans.lock.service.config.ConfigurationFactory;
 import io.jans.lock.service.message.TokenSubService;
 import io.jans.lock.service.policy.PolicyDownloadService;
@@ -51,6 +52,9 @@ public class ServiceInitializer {
     @Inject
     private LockSseBroadcaster lockSseBroadcaster;
 
+    @Inject
+    private AuditService auditService;
+
 	public void applicationInitialized(@Observes ApplicationInitializedEvent applicationInitializedEvent) {
 		log.info("Initializing Lock service module services");
 
@@ -58,6 +62,7 @@ public class ServiceInitializer {
 		tokenSubService.subscribe();
 		policyDownloadService.initTimer();
 		lockSseBroadcaster.initTimer();
+		auditService.initTimer();
 
 		log.debug("Initializing Lock service module services complete");
 	}
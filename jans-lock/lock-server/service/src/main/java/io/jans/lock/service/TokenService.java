@@ -16,11 +16,16 @@
 
 package io.jans.lock.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import org.slf4j.Logger;
 
 import io.jans.lock.model.config.StaticConfiguration;
 import io.jans.model.token.TokenEntity;
 import io.jans.orm.PersistenceEntryManager;
+import io.jans.orm.search.filter.Filter;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
@@ -33,6 +38,8 @@ import jakarta.inject.Inject;
 @ApplicationScoped
 public class TokenService {
 
+    private static final int FIND_TOKENS_CHUNK_SIZE = 100;
+
     @Inject
     private Logger log;
 
@@ -55,4 +62,31 @@ public class TokenService {
         return persistenceEntryManager.find(TokenEntity.class, tokenDn);
     }
 
+    /*
+     * Load tokens with one search request per chunk of token codes
+     */
+    public List<TokenEntity> findTokens(Collection<String> tokenCodes) {
+        List<TokenEntity> result = new ArrayList<>(tokenCodes.size());
+
+        List<Filter> filters = new ArrayList<>(FIND_TOKENS_CHUNK_SIZE);
+        for (String tokenCode : tokenCodes) {
+            filters.add(Filter.createEqualityFilter("tknCde", tokenCode));
+            if (filters.size() == FIND_TOKENS_CHUNK_SIZE) {
+                result.addAll(findTokens(filters));
+                filters.clear();
+            }
+        }
+
+        if (!filters.isEmpty()) {
+            result.addAll(findTokens(filters));
+        }
+
+        return result;
+    }
+
+    private List<TokenEntity> findTokens(List<Filter> filters) {
+        Filter filter = Filter.createORFilter(filters.toArray(new Filter[0])).multiValued(false);
+        return persistenceEntryManager.findEntries(tokenBaseDn(), TokenEntity.class, filter);
+    }
+
 }
\ No newline at end of file
@@ -1,54 +1,283 @@
 package io.jans.lock.service.audit;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.entity.ContentType;
 import org.slf4j.Logger;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import io.jans.as.model.uma.wrapper.Token;
+import io.jans.lock.model.config.AppConfiguration;
 import io.jans.lock.service.DataMapperService;
 import io.jans.lock.service.TokenEndpointService;
+import io.jans.lock.service.event.AuditSenderEvent;
+import io.jans.service.cdi.async.Asynchronous;
+import io.jans.service.cdi.event.Scheduled;
+import io.jans.service.timer.event.TimerEvent;
+import io.jans.service.timer.schedule.TimerSchedule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.Response.Status.Family;
 
+/**
+ * Audit entries are put into bounded queues (one per entry type) and sent to
+ * config-api in bulk requests by timer
+ */
 @ApplicationScoped
 public class AuditService {
 
+    public static final String BULK_SUFFIX = "/bulk";
+
+    private static final int SENDER_INTERVAL = 1;
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int MULTI_STATUS = 207;
+
     @Inject
     private Logger log;
 
+    @Inject
+    private Event<TimerEvent> timerEvent;
+
+    @Inject
+    private AppConfiguration appConfiguration;
+
     @Inject
     private TokenEndpointService tokenEndpointService;
-    
+
     @Inject
     private DataMapperService dataMapperService;
 
-    private Map<String, Date> tokenDetails = new HashMap<>();
+    private final Map<String, TokenDetails> tokenDetails = new ConcurrentHashMap<>();
 
-    public Response post(String endpoint, String postData, ContentType contentType) {
-        log.info("postData - endpoint:{}, postData:{}, contentType:{}", endpoint, postData, contentType);
-
-        Date tokenExpiryDate = this.getTokenExpiryDate();
-        log.debug("postData - tokenExpiryDate:{}", tokenExpiryDate);
-        boolean isTokenValid = this.tokenEndpointService.isTokenValid(tokenExpiryDate);
-        log.debug(" postData - tokenDetails:{}, tokenExpiryDate:{}, isTokenValid:{}", tokenDetails, tokenExpiryDate,
-                isTokenValid);
-        String accessToken = null;
-        if (tokenDetails != null && !tokenDetails.isEmpty() && isTokenValid) {
-            log.info("Reusing token as still valid!");
-            accessToken = this.getToken();
+    private final Map<String, BlockingQueue<JsonNode>> auditQueues = new ConcurrentHashMap<>();
+
+    private final AtomicLong droppedEntriesCount = new AtomicLong();
+
+    private AtomicBoolean isActive;
+
+    @PostConstruct
+    public void init() {
+        this.isActive = new AtomicBoolean(false);
+    }
+
+    public void initTimer() {
+        log.debug("Initializing Audit Sender Timer");
+
+        timerEvent.fire(new TimerEvent(new TimerSchedule(SENDER_INTERVAL, SENDER_INTERVAL), new AuditSenderEvent(),
+                Scheduled.Literal.INSTANCE));
+    }
+
+    /**
+     * Put audit entry or array of entries into send queue
+     *
+     * @return false if queue has not enough free space. Entries are not added in this case
+     */
+    public boolean enqueue(String requestType, JsonNode json) {
+        String entryType = StringUtils.removeEnd(requestType, BULK_SUFFIX);
+        BlockingQueue<JsonNode> queue = auditQueues.computeIfAbsent(entryType,
+                key -> new LinkedBlockingQueue<>(getQueueSize()));
+
+        int count = json.isArray() ? json.size() : 1;
+        if (queue.remainingCapacity() < count) {
+            log.warn("Audit queue '{}' is full, rejecting {} entries", entryType, count);
+            return false;
+        }
+
+        int dropped = 0;
+        if (json.isArray()) {
+            for (JsonNode entry : json) {
+                if (!queue.offer(entry)) {
+                    dropped++;
+                }
+            }
+        } else if (!queue.offer(json)) {
+            dropped++;
+        }
+
+        if (dropped > 0) {
+            droppedEntriesCount.addAndGet(dropped);
+            log.warn("Audit queue '{}' is full, dropped {} entries", entryType, dropped);
+        }
+
+        return true;
+    }
+
+    @Asynchronous
+    public void sendAuditEntriesTimerEvent(@Observes @Scheduled AuditSenderEvent auditSenderEvent) {
+        if (this.isActive.get()) {
+            return;
+        }
+
+        if (!this.isActive.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            sendAuditEntries();
+        } catch (Throwable ex) {
+            log.error("Exception happened while sending audit entries", ex);
+        } finally {
+            this.isActive.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        try {
+            sendAuditEntries();
+        } catch (Exception ex) {
+            log.error("Failed to send audit entries on shutdown", ex);
+        }
+    }
+
+    private void sendAuditEntries() {
+        int batchSize = getBatchSize();
+        for (Map.Entry<String, BlockingQueue<JsonNode>> auditQueue : auditQueues.entrySet()) {
+            String entryType = auditQueue.getKey();
+            BlockingQueue<JsonNode> queue = auditQueue.getValue();
+
+            List<JsonNode> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                List<JsonNode> notSentEntries = sendBatch(entryType, batch);
+                if (!notSentEntries.isEmpty()) {
+                    // Retry on next timer event
+                    requeue(entryType, queue, notSentEntries);
+                    break;
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void requeue(String entryType, BlockingQueue<JsonNode> queue, List<JsonNode> entries) {
+        int dropped = 0;
+        for (JsonNode entry : entries) {
+            if (!queue.offer(entry)) {
+                dropped++;
+            }
+        }
+
+        if (dropped > 0) {
+            droppedEntriesCount.addAndGet(dropped);
+            log.warn("Audit queue '{}' is full, dropped {} of {} entries which should be resent", entryType, dropped,
+                    entries.size());
         } else {
-            log.info("Generating new token !");
-            accessToken = this.getAccessTokenForAudit(endpoint);
+            log.debug("Requeued {} '{}' audit entries", entries.size(), entryType);
+        }
+    }
+
+    /*
+     * Returns entries which should be resent later
+     */
+    private List<JsonNode> sendBatch(String entryType, List<JsonNode> batch) {
+        ArrayNode data = dataMapperService.createArrayNode();
+        data.addAll(batch);
+
+        String endpoint = entryType + BULK_SUFFIX;
+        Response response = null;
+        try {
+            response = post(endpoint, data.toString(), ContentType.APPLICATION_JSON);
+            if (response == null) {
+                return batch;
+            }
+
+            Family family = response.getStatusInfo().getFamily();
+            if (response.getStatus() == MULTI_STATUS) {
+                List<JsonNode> notSavedEntries = getNotSavedEntries(batch, response.readEntity(String.class));
+                log.warn("Config-api didn't save {} of {} '{}' audit entries", notSavedEntries.size(), batch.size(), entryType);
+                return notSavedEntries;
+            }
+
+            if (family == Family.SUCCESSFUL) {
+                log.debug("Sent {} '{}' audit entries", batch.size(), entryType);
+                return Collections.emptyList();
+            }
+
+            String entity = response.readEntity(String.class);
+            log.error("Error while saving audit data - status:{}, entity:{}", response.getStatusInfo(), entity);
+            if (response.getStatus() == Status.UNAUTHORIZED.getStatusCode()) {
+                tokenDetails.remove(endpoint);
+                return batch;
+            }
+
+            if (family == Family.CLIENT_ERROR) {
+                // Data is invalid, sending it again won't help
+                droppedEntriesCount.addAndGet(batch.size());
+                log.warn("Dropped {} '{}' audit entries rejected by config-api", batch.size(), entryType);
+                return Collections.emptyList();
+            }
+
+            return batch;
+        } catch (Exception ex) {
+            log.error("Failed to send {} '{}' audit entries", batch.size(), entryType, ex);
+            return batch;
+        } finally {
+            if (response != null) {
+                response.close();
+            }
+        }
+    }
+
+    /*
+     * On partial failure bulk endpoint returns indexes of entries which weren't saved in 'failed' field.
+     * Whole batch should be resent if response can't be parsed
+     */
+    private List<JsonNode> getNotSavedEntries(List<JsonNode> batch, String entity) {
+        JsonNode failedIndexes;
+        try {
+            JsonNode result = StringUtils.isBlank(entity) ? null : dataMapperService.readTree(entity);
+            failedIndexes = result == null ? null : result.get("failed");
+        } catch (IOException ex) {
+            return batch;
+        }
+
+        if ((failedIndexes == null) || !failedIndexes.isArray() || failedIndexes.isEmpty()) {
+            return batch;
+        }
+
+        List<JsonNode> result = new ArrayList<>(failedIndexes.size());
+        for (JsonNode failedIndex : failedIndexes) {
+            if (!failedIndex.canConvertToInt() || (failedIndex.asInt() < 0) || (failedIndex.asInt() >= batch.size())) {
+                return batch;
+            }
+            result.add(batch.get(failedIndex.asInt()));
         }
+
+        return result;
+    }
+
+    /**
+     * Number of audit entries which were dropped because queue was full or config-api rejected them
+     */
+    public long getDroppedEntriesCount() {
+        return droppedEntriesCount.get();
+    }
+
+    public Response post(String endpoint, String postData, ContentType contentType) {
+        log.debug("postData - endpoint:{}, contentType:{}", endpoint, contentType);
+
+        String accessToken = getAccessToken(endpoint);
         return this.tokenEndpointService.post(endpoint, postData, contentType, accessToken);
     }
 
@@ -62,55 +291,56 @@ public class AuditService {
         	jsonBody = dataMapperService.readTree(request.getInputStream());
             log.debug(" jsonBody:{}", jsonBody);
         } catch (Exception ex) {
-            ex.printStackTrace();
             log.error("Exception while retriving json from request is - ", ex);
         }
 
         return jsonBody;
     }
 
-    private String getAccessTokenForAudit(String endpoint) {
-        log.info("Get Access Token For Audit endpoint:{}", endpoint);
-        String accessToken = null;
-        Token token = this.tokenEndpointService.getAccessToken(endpoint, true);
-        log.debug("Get Access Token For Audit endpoint:{}, token:{}", endpoint, token);
+    private String getAccessToken(String endpoint) {
+        TokenDetails currentTokenDetails = tokenDetails.get(endpoint);
+        if ((currentTokenDetails != null) && this.tokenEndpointService.isTokenValid(currentTokenDetails.expiryDate)) {
+            log.trace("Reusing token as still valid!");
+            return currentTokenDetails.accessToken;
+        }
 
-        if (token != null) {
-            accessToken = token.getAccessToken();
-            Integer expiresIn = token.getExpiresIn();
-            log.debug("Get Access Token For Audit endpoint:{}, accessToken:{}, expiresIn", endpoint, accessToken);
+        log.info("Generating new token for endpoint:{}", endpoint);
+        Token token = this.tokenEndpointService.getAccessToken(endpoint, true);
+        if (token == null) {
+            return null;
+        }
 
-            tokenDetails.put(accessToken, this.tokenEndpointService.computeTokenExpiryTime(expiresIn));
+        String accessToken = token.getAccessToken();
+        Integer expiresIn = token.getExpiresIn();
+        log.debug("Get Access Token For Audit endpoint:{}, expiresIn:{}", endpoint, expiresIn);
+        if (expiresIn != null) {
+            tokenDetails.put(endpoint,
+                    new TokenDetails(accessToken, this.tokenEndpointService.computeTokenExpiryTime(expiresIn)));
         }
+
         return accessToken;
     }
 
-    private Date getTokenExpiryDate() {
-        Date tokenExpiryDate = null;
-        if (tokenDetails != null && !tokenDetails.isEmpty() && tokenDetails.values() != null
-                && !tokenDetails.values().isEmpty()) {
-            Optional<Date> expiryDate = tokenDetails.values().stream().findFirst();
+    private int getQueueSize() {
+        int queueSize = appConfiguration.getAuditQueueSize();
+        return queueSize > 0 ? queueSize : DEFAULT_QUEUE_SIZE;
+    }
 
-            if (expiryDate.isPresent()) {
-                tokenExpiryDate = expiryDate.get();
-            }
-            log.debug("tokenExpiryDate:{}", tokenExpiryDate);
-        }
-        return tokenExpiryDate;
+    private int getBatchSize() {
+        int batchSize = appConfiguration.getAuditBatchSize();
+        return batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
     }
 
-    private String getToken() {
-        log.debug("tokenDetails:{}", tokenDetails);
-        String accessToken = null;
-        if (tokenDetails != null && !tokenDetails.isEmpty() && tokenDetails.keySet() != null
-                && !tokenDetails.keySet().isEmpty()) {
-            Optional<String> token = tokenDetails.keySet().stream().findFirst();
+    private static class TokenDetails {
+
+        private final String accessToken;
+        private final Date expiryDate;
 
-            if (token.isPresent() && StringUtils.isNotBlank(token.get())) {
-                accessToken = token.get();
-            }            
+        private TokenDetails(String accessToken, Date expiryDate) {
+            this.accessToken = accessToken;
+            this.expiryDate = expiryDate;
         }
-        log.debug("accessToken:{}", accessToken);
-        return accessToken;
+
     }
+
 }
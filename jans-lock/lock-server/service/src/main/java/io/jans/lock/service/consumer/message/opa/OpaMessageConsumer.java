@@ -20,22 +20,32 @@ import static java.time.format.DateTimeFormatter.ISO_INSTANT;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpDelete;
+import org.apache.http.client.methods.HttpPatch;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 
 import com.fasterxml.jackson.core.JacksonException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.jans.lock.model.config.AppConfiguration;
@@ -58,7 +68,8 @@ import net.jodah.expiringmap.ExpirationPolicy;
 import net.jodah.expiringmap.ExpiringMap;
 
 /**
- * OPA message consumer
+ * OPA message consumer. Token operations are coalesced per token and sent to OPA
+ * in one JSON Patch request per flush interval
  *
  * @author Yuriy Movchan Date: 12/25/2023
  */
@@ -68,6 +79,11 @@ public class OpaMessageConsumer extends MessageConsumer {
 
 	public static String MESSAGE_CONSUMER_TYPE = "OPA";
 
+	private static final long FLUSH_INTERVAL_MILLIS = 1000;
+	private static final int MAX_BATCH_SIZE = 500;
+
+	private static final String JSON_PATCH_CONTENT_TYPE = "application/json-patch+json";
+
 	@Inject
 	private Logger log;
 
@@ -91,11 +107,26 @@ public class OpaMessageConsumer extends MessageConsumer {
     private ExpiringMap<String, String> loadedTokens;
 	private OpaExpirationListener expirationListener;
 
+	private Map<String, PendingOperation> pendingOperations;
+	private int coalescedOperations;
+
+	private ScheduledExecutorService flushExecutor;
+
 	@PostConstruct
 	public void init() {
         this.objectMapper = new ObjectMapper();
         this.expirationListener = new OpaExpirationListener();
         this.loadedTokens = ExpiringMap.builder().expirationPolicy(ExpirationPolicy.CREATED).variableExpiration().expirationListener(expirationListener).build();
+        this.pendingOperations = new LinkedHashMap<>();
+
+        // Bean is recreated on configuration update, so it owns flush thread instead of application timer
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        	Thread thread = new Thread(runnable, "opa-data-sync");
+        	thread.setDaemon(true);
+        	return thread;
+        });
+        this.flushExecutor.scheduleWithFixedDelay(this::flushPendingOperationsSafe, FLUSH_INTERVAL_MILLIS,
+        		FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
 	}
 
 	/*
@@ -116,9 +147,9 @@ public class OpaMessageConsumer extends MessageConsumer {
 
 			String tknOp = messageNode.get("tknOp").asText();
 			if (StringHelper.equalsIgnoreCase(tknOp, "add")) {
-				putData(message, messageNode);
+				enqueue(new PendingOperation(message, messageNode, true));
 			} else if (StringHelper.equalsIgnoreCase(tknOp, "del")) {
-				removeData(messageNode);
+				enqueue(new PendingOperation(message, messageNode, false));
 			} else {
 				log.error("Message has unsupported operation: '{}'", message);
 			}
@@ -127,6 +158,188 @@ public class OpaMessageConsumer extends MessageConsumer {
 		}
 	}
 
+	/*
+	 * Keep only last operation per token. Add followed by delete of token which was not sent
+	 * to OPA yet cancels both operations
+	 */
+	protected void enqueue(PendingOperation operation) {
+		enqueue(operation, loadedTokens.containsKey(operation.tknId));
+	}
+
+	private void enqueue(PendingOperation operation, boolean loaded) {
+		synchronized (pendingOperations) {
+			PendingOperation previous = pendingOperations.remove(operation.key);
+			if (previous == null) {
+				pendingOperations.put(operation.key, operation);
+				return;
+			}
+
+			if (previous.add && !operation.add && !loaded) {
+				coalescedOperations += 2;
+				return;
+			}
+
+			// Lag is measured from the first operation of this token
+			operation.enqueueTime = previous.enqueueTime;
+			pendingOperations.put(operation.key, operation);
+			coalescedOperations++;
+		}
+	}
+
+	private void flushPendingOperationsSafe() {
+		try {
+			flushPendingOperations();
+		} catch (Throwable ex) {
+			log.error("Exception happened while sending data to OPA", ex);
+		}
+	}
+
+	protected void flushPendingOperations() {
+		List<PendingOperation> operations;
+		int coalesced;
+		synchronized (pendingOperations) {
+			if (pendingOperations.isEmpty()) {
+				return;
+			}
+
+			operations = new ArrayList<>(pendingOperations.values());
+			coalesced = coalescedOperations;
+			pendingOperations.clear();
+			coalescedOperations = 0;
+		}
+
+		long start = System.currentTimeMillis();
+		long oldestEnqueueTime = start;
+		for (PendingOperation operation : operations) {
+			oldestEnqueueTime = Math.min(oldestEnqueueTime, operation.enqueueTime);
+		}
+
+		int sent = 0;
+		for (int i = 0; i < operations.size(); i += MAX_BATCH_SIZE) {
+			sent += sendBatch(operations.subList(i, Math.min(i + MAX_BATCH_SIZE, operations.size())));
+		}
+
+		log.info("Sent '{}' of '{}' token operations to OPA ('{}' coalesced), lag '{}' ms, took '{}' ms", sent,
+				operations.size(), coalesced, start - oldestEnqueueTime, System.currentTimeMillis() - start);
+	}
+
+	/*
+	 * Returns count of operations applied in OPA
+	 */
+	private int sendBatch(List<PendingOperation> operations) {
+		List<String> tknIds = new ArrayList<>();
+		for (PendingOperation operation : operations) {
+			if (operation.add) {
+				tknIds.add(operation.tknId);
+			}
+		}
+
+		Map<String, TokenEntity> tokenEntities = new HashMap<>();
+		if (!tknIds.isEmpty()) {
+			for (TokenEntity tokenEntity : tokenService.findTokens(tknIds)) {
+				tokenEntities.put(tokenEntity.getTokenCode(), tokenEntity);
+			}
+		}
+
+		List<PendingOperation> prepared = new ArrayList<>(operations.size());
+		ArrayNode patchNode = objectMapper.createArrayNode();
+		for (PendingOperation operation : operations) {
+			if (operation.add) {
+				TokenEntity tokenEntity = tokenEntities.get(operation.tknId);
+				if (tokenEntity == null) {
+					log.warn("Token '{}' not found", operation.tknId);
+					continue;
+				}
+
+				operation.tokenEntity = tokenEntity;
+				operation.dataNode = prepareData(operation.messageNode, tokenEntity);
+				if (operation.dataNode == null) {
+					continue;
+				}
+
+				ObjectNode patchOperation = patchNode.addObject();
+				patchOperation.put("op", "add");
+				patchOperation.put("path", String.format("/%s/%s", operation.tknTyp, operation.tknId));
+				patchOperation.set("value", operation.dataNode);
+			} else {
+				if (!prepareRemoval(operation.messageNode)) {
+					continue;
+				}
+
+				ObjectNode patchOperation = patchNode.addObject();
+				patchOperation.put("op", "remove");
+				patchOperation.put("path", String.format("/%s/%s", operation.tknTyp, operation.tknId));
+			}
+			prepared.add(operation);
+		}
+
+		if (prepared.isEmpty()) {
+			return 0;
+		}
+
+		if (patchData(patchNode, prepared.size())) {
+			for (PendingOperation operation : prepared) {
+				onOperationApplied(operation);
+			}
+			return prepared.size();
+		}
+
+		// Patch is atomic. It fails if any parent document doesn't exist or removed token is not in OPA
+		log.debug("Falling back to per token requests for '{}' operations", prepared.size());
+		int sent = 0;
+		for (PendingOperation operation : prepared) {
+			boolean result;
+			if (operation.add) {
+				result = sendPutData(operation.tknTyp, operation.tknId, operation.dataNode);
+			} else {
+				result = sendRemoveData(operation.tknTyp, operation.tknId);
+			}
+
+			if (result) {
+				onOperationApplied(operation);
+				sent++;
+			}
+		}
+
+		return sent;
+	}
+
+	private void onOperationApplied(PendingOperation operation) {
+		if (operation.add) {
+			loadedTokens.put(operation.tknId, operation.message, ExpirationPolicy.CREATED,
+					getExpirationInSeconds(operation.tokenEntity), TimeUnit.SECONDS);
+		} else {
+			loadedTokens.remove(operation.tknId);
+		}
+	}
+
+	private boolean patchData(ArrayNode patchNode, int count) {
+		OpaConfiguration opaConfiguration = appConfiguration.getOpaConfiguration();
+		String baseUrl = opaConfiguration.getBaseUrl();
+
+		HttpPatch request = new HttpPatch(String.format("%s/data", baseUrl));
+		addAccessTokenHeader(request, opaConfiguration);
+
+		request.addHeader("Content-Type", JSON_PATCH_CONTENT_TYPE);
+		request.setEntity(new StringEntity(patchNode.toString(), ContentType.create(JSON_PATCH_CONTENT_TYPE)));
+
+		boolean result = false;
+		try {
+			CloseableHttpClient httpClient = httpService.getHttpsClient();
+			HttpResponse httpResponse = httpClient.execute(request);
+			EntityUtils.consumeQuietly(httpResponse.getEntity());
+
+			int statusCode = httpResponse.getStatusLine().getStatusCode();
+			log.debug("Get OPA patch data for '{}' operations response with status code '{}'", count, statusCode);
+
+			result = statusCode == HttpStatus.SC_NO_CONTENT;
+		} catch (IOException ex) {
+	    	log.error("Failed to execute patch data request", ex);
+		}
+
+		return result;
+	}
+
 	@Override
 	public void onSubscribe(String channel, int subscribedChannels) {
 		log.debug("onSubscribe {} : {}", channel, subscribedChannels);
@@ -144,13 +357,30 @@ public class OpaMessageConsumer extends MessageConsumer {
 
 	@Override
 	public boolean putData(String message, JsonNode messageNode) {
-		ExternalLockContext lockContext = new ExternalLockContext();
-
 		String tknTyp = messageNode.get("tknTyp").asText();
 		String tknId = messageNode.get("tknId").asText();
 		
 		TokenEntity tokenEntity = tokenService.findToken(tknId);
 		log.debug("Token {} loaded successfully", tokenEntity);
+
+		ObjectNode dataNode = prepareData(messageNode, tokenEntity);
+		if (dataNode == null) {
+			return true;
+		}
+
+		boolean result = sendPutData(tknTyp, tknId, dataNode);
+		if (result) {
+			loadedTokens.put(tknId, message, ExpirationPolicy.CREATED, getExpirationInSeconds(tokenEntity), TimeUnit.SECONDS);
+		}
+		
+		return result;
+	}
+
+	/*
+	 * Returns null if operation was canceled by script
+	 */
+	private ObjectNode prepareData(JsonNode messageNode, TokenEntity tokenEntity) {
+		ExternalLockContext lockContext = new ExternalLockContext();
 		lockContext.setTokenEntity(tokenEntity);
 
 		ObjectNode dataNode = objectMapper.createObjectNode();
@@ -160,9 +390,13 @@ public class OpaMessageConsumer extends MessageConsumer {
 		
 		if (lockContext.isCancelPdpOperation()) {
 			log.debug("DataPut was canceled by script");
-			return true;
+			return null;
 		}
 
+		return dataNode;
+	}
+
+	private boolean sendPutData(String tknTyp, String tknId, ObjectNode dataNode) {
 		// Send rest request to OPA
 		OpaConfiguration opaConfiguration = appConfiguration.getOpaConfiguration();
 		String baseUrl = opaConfiguration.getBaseUrl();
@@ -180,6 +414,7 @@ public class OpaMessageConsumer extends MessageConsumer {
 		try {
 			CloseableHttpClient httpClient = httpService.getHttpsClient();
 			HttpResponse httpResponse = httpClient.execute(request);
+			EntityUtils.consumeQuietly(httpResponse.getEntity());
 			
 			int statusCode = httpResponse.getStatusLine().getStatusCode();
 			log.debug("Get OPA add data for token '{}' response with status code '{}'", tknId, statusCode);
@@ -189,10 +424,6 @@ public class OpaMessageConsumer extends MessageConsumer {
 	    	log.error("Failed to execute put data request", ex);
 		}
 
-		if (result) {
-			loadedTokens.put(tknId, message, ExpirationPolicy.CREATED, getExpirationInSeconds(tokenEntity), TimeUnit.SECONDS);
-		}
-		
 		return result;
 	}
 
@@ -205,19 +436,34 @@ public class OpaMessageConsumer extends MessageConsumer {
 	}
 
 	protected boolean removeData(JsonNode messageNode) {
+		if (!prepareRemoval(messageNode)) {
+			return true;
+		}
+
+		String tknTyp = messageNode.get("tknTyp").asText();
+		String tknId = messageNode.get("tknId").asText();
+
+		return sendRemoveData(tknTyp, tknId);
+	}
+
+	/*
+	 * Returns false if operation was canceled by script
+	 */
+	private boolean prepareRemoval(JsonNode messageNode) {
 		ExternalLockContext lockContext = new ExternalLockContext();
 
 		externalLockService.beforeDataRemoval(messageNode, lockContext);
 		
 		if (lockContext.isCancelPdpOperation()) {
 			log.debug("DataRemoval was canceled by script");
-			return true;
+			return false;
 		}
 
-		// Send rest request to OPA
-		String tknTyp = messageNode.get("tknTyp").asText();
-		String tknId = messageNode.get("tknId").asText();
+		return true;
+	}
 
+	private boolean sendRemoveData(String tknTyp, String tknId) {
+		// Send rest request to OPA
 		OpaConfiguration opaConfiguration = appConfiguration.getOpaConfiguration();
 		String baseUrl = opaConfiguration.getBaseUrl();
 
@@ -228,6 +474,7 @@ public class OpaMessageConsumer extends MessageConsumer {
 		try {
 			CloseableHttpClient httpClient = httpService.getHttpsClient();
 			HttpResponse httpResponse = httpClient.execute(request);
+			EntityUtils.consumeQuietly(httpResponse.getEntity());
 
 			int statusCode = httpResponse.getStatusLine().getStatusCode();
 			log.debug("Get OPA remove data for token '{}' response with status code '{}'", tknId, statusCode);
@@ -260,7 +507,8 @@ public class OpaMessageConsumer extends MessageConsumer {
 			JsonNode messageNode;
 			try {
 				messageNode = objectMapper.readTree(message);
-				removeData(messageNode);
+				// Token data is still in OPA
+				enqueue(new PendingOperation(message, messageNode, false), true);
 			} catch (JacksonException ex) {
 				log.error("Failed to parse messge: '{}'", message, ex);
 			}
@@ -270,6 +518,36 @@ public class OpaMessageConsumer extends MessageConsumer {
 	@Override
 	public void destroy() {
 		log.debug("Destroy Messages");
+		if (flushExecutor != null) {
+			flushExecutor.shutdown();
+			flushPendingOperationsSafe();
+		}
+	}
+
+	protected static class PendingOperation {
+
+		private final String message;
+		private final JsonNode messageNode;
+		private final boolean add;
+
+		private final String tknTyp;
+		private final String tknId;
+		private final String key;
+
+		private long enqueueTime;
+
+		private TokenEntity tokenEntity;
+		private ObjectNode dataNode;
+
+		protected PendingOperation(String message, JsonNode messageNode, boolean add) {
+			this.message = message;
+			this.messageNode = messageNode;
+			this.add = add;
+			this.tknTyp = messageNode.get("tknTyp").asText();
+			this.tknId = messageNode.get("tknId").asText();
+			this.key = tknTyp + "/" + tknId;
+			this.enqueueTime = System.currentTimeMillis();
+		}
 	}
 
 }
@@ -16,7 +16,6 @@
 
 package io.jans.lock.service.ws.rs.audit;
 
-import org.apache.http.entity.ContentType;
 import org.slf4j.Logger;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -28,6 +27,7 @@ import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.core.SecurityContext;
@@ -41,6 +41,8 @@ import jakarta.ws.rs.core.SecurityContext;
 @Path("/audit")
 public class AuditRestWebServiceImpl implements AuditRestWebService {
 
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     @Inject
     private Logger log;
 
@@ -95,24 +97,16 @@ public class AuditRestWebServiceImpl implements AuditRestWebService {
         builder.header(ServerUtil.PRAGMA, ServerUtil.NO_CACHE);
 
         JsonNode json = this.auditService.getJsonNode(request);
-        Response response = this.auditService.post(requestType, json.toString(), ContentType.APPLICATION_JSON);
-        log.debug("response:{}", response);
-
-        if (response != null) {
-            log.debug(
-                    "Response for Access Token -  response.getStatus():{}, response.getStatusInfo():{}, response.getEntity().getClass():{}",
-                    response.getStatus(), response.getStatusInfo(), response.getEntity().getClass());
-            String entity = response.readEntity(String.class);
-            log.debug(" entity:{}", entity);
-            builder.entity(entity);
-
-            if (response.getStatusInfo().equals(Status.OK)) {
-                log.debug(" Status.CREATED:{}, entity:{}", Status.OK, entity);
-            } else {
-                log.error("Error while saving audit data - response.getStatusInfo():{}, entity:{}",
-                        response.getStatusInfo(), entity);
-                builder.status(response.getStatusInfo());
-            }
+        if (json == null) {
+            return builder.status(Status.BAD_REQUEST).build();
+        }
+
+        // Entries are sent to config-api in batches in background
+        if (this.auditService.enqueue(requestType, json)) {
+            builder.status(Status.ACCEPTED);
+        } else {
+            builder.status(Status.SERVICE_UNAVAILABLE);
+            builder.header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
         }
 
         return builder.build();
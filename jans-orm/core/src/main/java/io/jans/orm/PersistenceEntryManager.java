@@ -55,8 +55,34 @@ public interface PersistenceEntryManager extends EntityManager {
 
 	void persist(Object entry);
 
+	/**
+	 * Persist list of entries. Backends which support it write all entries in one batch:
+	 * <ul>
+	 * <li>SQL - one transaction, consecutive entries of the same table are sent in one JDBC batch. Either all entries are added or none</li>
+	 * <li>Spanner - one write request, all mutations are applied atomically. Spanner limits number of mutations per commit,
+	 * hence caller should split big lists</li>
+	 * <li>LDAP, Couchbase - entries are persisted one by one. Entries added before failed one are not removed</li>
+	 * <li>Hybrid - entries are grouped by backend and each group is persisted as described above</li>
+	 * </ul>
+	 *
+	 * @param entries Entries to persist
+	 */
+	<T> void persist(List<T> entries);
+
 	Void merge(Object entry);
 
+	/**
+	 * Merge list of entries. Backends which support it write all changes in one batch:
+	 * <ul>
+	 * <li>SQL - one transaction with update statement per entry. Either all entries are updated or none</li>
+	 * <li>Spanner, LDAP, Couchbase - entries are merged one by one. Entries updated before failed one are not reverted</li>
+	 * <li>Hybrid - entries are grouped by backend and each group is merged as described above</li>
+	 * </ul>
+	 *
+	 * @param entries Entries to merge
+	 */
+	<T> Void merge(List<T> entries);
+
 	@Deprecated
 	boolean contains(Object entity);
 
@@ -56,6 +56,8 @@ import io.jans.orm.model.AttributeData;
 import io.jans.orm.model.AttributeDataModification;
 import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
+import io.jans.orm.model.EntryMergeData;
+import io.jans.orm.model.EntryPersistData;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.base.LocalizedString;
 import io.jans.orm.operation.PersistenceOperationService;
@@ -120,6 +122,39 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 	@Override
 	public void persist(Object entry) {
+		EntryPersistData entryPersistData = preparePersist(entry);
+
+		persist(entryPersistData.getDn(), entryPersistData.getObjectClasses(), entryPersistData.getAttributes(), entryPersistData.getExpiration());
+	}
+
+	@Override
+	public <T> void persist(List<T> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to persist is null");
+		}
+
+		if (entries.isEmpty()) {
+			return;
+		}
+
+		List<EntryPersistData> entriesPersistData = new ArrayList<EntryPersistData>(entries.size());
+		for (T entry : entries) {
+			entriesPersistData.add(preparePersist(entry));
+		}
+
+		persistBatch(entriesPersistData);
+	}
+
+	/*
+	 * Default implementation persists entries one by one. Backends with native batch support should override it
+	 */
+	protected void persistBatch(List<EntryPersistData> entriesPersistData) {
+		for (EntryPersistData entryPersistData : entriesPersistData) {
+			persist(entryPersistData.getDn(), entryPersistData.getObjectClasses(), entryPersistData.getAttributes(), entryPersistData.getExpiration());
+		}
+	}
+
+	protected EntryPersistData preparePersist(Object entry) {
 		if (entry == null) {
 			throw new MappingException("Entry to persist is null");
 		}
@@ -143,7 +178,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 			LOG.debug(String.format("LDAP attributes for persist: %s", maskSensetiveData(attributes)));
 		}
 
-		persist(dnValue.toString(), objectClasses, attributes, expirationValue);
+		return new EntryPersistData(dnValue.toString(), objectClasses, attributes, expirationValue);
 	}
 
 	protected abstract void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration);
@@ -220,8 +255,30 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 		return countEntries(dnValue.toString(), entryClass, searchFilter);
 	}
 
-	@SuppressWarnings("unchecked")
 	protected Void merge(Object entry, boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
+		EntryMergeData entryMergeData = prepareMerge(entry, isSchemaUpdate, isConfigurationUpdate, schemaModificationType);
+
+		merge(entryMergeData.getDn(), entryMergeData.getObjectClasses(), entryMergeData.getAttributeDataModifications(), entryMergeData.getExpiration());
+
+		return null;
+	}
+
+	@Override
+	public <T> Void merge(List<T> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries to merge is null");
+		}
+
+		// Default implementation merges entries one by one. Backends with native batch support should override it
+		for (T entry : entries) {
+			merge(entry);
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected EntryMergeData prepareMerge(Object entry, boolean isSchemaUpdate, boolean isConfigurationUpdate, AttributeModificationType schemaModificationType) {
 		if (entry == null) {
 			throw new MappingException("Entry for check if exists is null");
 		}
@@ -285,9 +342,7 @@ public abstract class BaseEntryManager<O extends PersistenceOperationService> im
 
 		LOG.debug(String.format("LDAP attributes for merge: %s", attributeDataModifications));
 
-		merge(dnValue.toString(), objectClasses, attributeDataModifications, expirationValue);
-
-		return null;
+		return new EntryMergeData(dnValue.toString(), objectClasses, attributeDataModifications, expirationValue);
 	}
 
 	protected List<String> buildAttributesListForUpdate(Object entry, String[] objectClasses, List<PropertyAnnotation> propertiesAnnotations) {
@@ -0,0 +1,17 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+/**
+ * Batch operation which collects search result and requests keyset pagination.
+ * Entries are iterated in ascending order of {@link #getKeysetAttribute()} (or primary key
+ * if it's not defined) with primary key as tie breaker. Keyset attribute values should not
+ * change during iteration, otherwise entries can be skipped or returned twice.
+ */
+public abstract class DefaultKeysetBatchOperation<T> extends DefaultBatchOperation<T> implements KeysetBatchOperation<T> {
+
+}
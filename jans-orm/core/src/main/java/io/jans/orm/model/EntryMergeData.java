@@ -0,0 +1,51 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry prepared for merge operation
+ */
+public class EntryMergeData {
+
+	private final String dn;
+	private final String[] objectClasses;
+	private final List<AttributeDataModification> attributeDataModifications;
+	private final Integer expiration;
+
+	public EntryMergeData(String dn, String[] objectClasses, List<AttributeDataModification> attributeDataModifications, Integer expiration) {
+		this.dn = dn;
+		this.objectClasses = objectClasses;
+		this.attributeDataModifications = attributeDataModifications;
+		this.expiration = expiration;
+	}
+
+	public String getDn() {
+		return dn;
+	}
+
+	public String[] getObjectClasses() {
+		return objectClasses;
+	}
+
+	public List<AttributeDataModification> getAttributeDataModifications() {
+		return attributeDataModifications;
+	}
+
+	public Integer getExpiration() {
+		return expiration;
+	}
+
+	@Override
+	public String toString() {
+		return "EntryMergeData [dn=" + dn + ", objectClasses=" + Arrays.toString(objectClasses) + ", attributeDataModifications="
+				+ attributeDataModifications + ", expiration=" + expiration + "]";
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry prepared for persist operation
+ */
+public class EntryPersistData {
+
+	private final String dn;
+	private final String[] objectClasses;
+	private final List<AttributeData> attributes;
+	private final Integer expiration;
+
+	public EntryPersistData(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
+		this.dn = dn;
+		this.objectClasses = objectClasses;
+		this.attributes = attributes;
+		this.expiration = expiration;
+	}
+
+	public String getDn() {
+		return dn;
+	}
+
+	public String[] getObjectClasses() {
+		return objectClasses;
+	}
+
+	public List<AttributeData> getAttributes() {
+		return attributes;
+	}
+
+	public Integer getExpiration() {
+		return expiration;
+	}
+
+	@Override
+	public String toString() {
+		return "EntryPersistData [dn=" + dn + ", objectClasses=" + Arrays.toString(objectClasses) + ", attributes=" + attributes
+				+ ", expiration=" + expiration + "]";
+	}
+
+}
@@ -0,0 +1,28 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+/**
+ * Batch operation which requests keyset (seek) pagination instead of offset pagination.
+ * Each chunk continues after the key of the last entry from previous chunk, so deep
+ * chunks cost the same as the first one. Backends without keyset support fall back to
+ * their default paging.
+ *
+ * Entries are returned in ascending order of keyset attribute with primary key as tie breaker.
+ * Sort order requested by caller or declared in entry is ignored in this mode.
+ */
+public interface KeysetBatchOperation<T> extends BatchOperation<T> {
+
+	/**
+	 * Attribute which defines entries order. It should be single valued and not null.
+	 * Return null to iterate in primary key order
+	 */
+	default String getKeysetAttribute() {
+		return null;
+	}
+
+}
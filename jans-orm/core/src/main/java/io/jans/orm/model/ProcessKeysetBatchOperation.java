@@ -0,0 +1,15 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.model;
+
+/**
+ * Batch operation which only processes entries and requests keyset pagination.
+ * Ordering contract is the same as in {@link DefaultKeysetBatchOperation}.
+ */
+public abstract class ProcessKeysetBatchOperation<T> extends ProcessBatchOperation<T> implements KeysetBatchOperation<T> {
+
+}
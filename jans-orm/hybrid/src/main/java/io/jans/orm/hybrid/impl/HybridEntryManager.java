@@ -7,8 +7,10 @@
 package io.jans.orm.hybrid.impl;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -372,6 +374,40 @@ public class HybridEntryManager extends BaseEntryManager<HybridPersistenceOperat
     	persistenceEntryManager.persist(entry);
 	}
 
+	@Override
+	public <T> void persist(List<T> entries) {
+		Map<PersistenceEntryManager, List<T>> entriesByEntryManager = groupByEntryManager(entries);
+		for (Entry<PersistenceEntryManager, List<T>> entriesEntry : entriesByEntryManager.entrySet()) {
+			entriesEntry.getKey().persist(entriesEntry.getValue());
+		}
+	}
+
+	@Override
+	public <T> Void merge(List<T> entries) {
+		Map<PersistenceEntryManager, List<T>> entriesByEntryManager = groupByEntryManager(entries);
+		for (Entry<PersistenceEntryManager, List<T>> entriesEntry : entriesByEntryManager.entrySet()) {
+			entriesEntry.getKey().merge(entriesEntry.getValue());
+		}
+
+		return null;
+	}
+
+	private <T> Map<PersistenceEntryManager, List<T>> groupByEntryManager(List<T> entries) {
+		if (entries == null) {
+			throw new MappingException("Entries is null");
+		}
+
+		Map<PersistenceEntryManager, List<T>> entriesByEntryManager = new LinkedHashMap<PersistenceEntryManager, List<T>>();
+		for (T entry : entries) {
+			Object dnValue = getDNValue(entry, entry.getClass());
+
+			PersistenceEntryManager persistenceEntryManager = getEntryManagerForDn(dnValue);
+			entriesByEntryManager.computeIfAbsent(persistenceEntryManager, k -> new ArrayList<T>()).add(entry);
+		}
+
+		return entriesByEntryManager;
+	}
+
 	@Override
     public void remove(Object entry) {
         Class<?> entryClass = entry.getClass();
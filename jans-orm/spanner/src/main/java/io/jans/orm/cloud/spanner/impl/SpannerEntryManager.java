@@ -26,6 +26,7 @@ import com.google.cloud.spanner.Type.StructField;
 import io.jans.orm.PersistenceEntryManager;
 import io.jans.orm.cloud.spanner.model.ConvertedExpression;
 import io.jans.orm.cloud.spanner.model.SearchReturnDataType;
+import io.jans.orm.cloud.spanner.model.SpannerBatchEntryData;
 import io.jans.orm.cloud.spanner.model.TableMapping;
 import io.jans.orm.cloud.spanner.operation.SpannerOperationService;
 import io.jans.orm.cloud.spanner.operation.impl.SpannerConnectionProvider;
@@ -44,6 +45,7 @@ import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryPersistData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.Sort;
@@ -179,7 +181,44 @@ public class SpannerEntryManager extends BaseEntryManager<SpannerOperationServic
 
     @Override
     protected void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
-    	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 1);
+        // Persist entry
+        try {
+        	ParsedKey parsedKey = toSQLKey(dn);
+        	List<AttributeData> resultAttributes = prepareAttributesForPersist(dn, parsedKey.getKey(), attributes);
+
+            boolean result = getOperationService().addEntry(parsedKey.getKey(), getBaseObjectClass(objectClasses), resultAttributes);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
+        }
+    }
+
+    @Override
+    protected void persistBatch(List<EntryPersistData> entriesPersistData) {
+    	List<SpannerBatchEntryData> batchEntries = new ArrayList<SpannerBatchEntryData>(entriesPersistData.size());
+        try {
+        	for (EntryPersistData entryPersistData : entriesPersistData) {
+        		String dn = entryPersistData.getDn();
+
+            	ParsedKey parsedKey = toSQLKey(dn);
+            	List<AttributeData> resultAttributes = prepareAttributesForPersist(dn, parsedKey.getKey(), entryPersistData.getAttributes());
+
+            	batchEntries.add(new SpannerBatchEntryData(parsedKey.getKey(), getBaseObjectClass(entryPersistData.getObjectClasses()), resultAttributes));
+        	}
+
+            boolean result = getOperationService().addEntries(batchEntries);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist batch of '%d' entries", batchEntries.size()));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist batch of '%d' entries", entriesPersistData.size()), ex);
+        }
+    }
+
+    private List<AttributeData> prepareAttributesForPersist(String dn, String key, List<AttributeData> attributes) {
+    	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 2);
         for (AttributeData attribute : attributes) {
             String attributeName = attribute.getName();
             Object[] attributeValues = attribute.getValues();
@@ -214,19 +253,10 @@ public class SpannerEntryManager extends BaseEntryManager<SpannerOperationServic
             }
         }
 
-        // Persist entry
-        try {
-        	ParsedKey parsedKey = toSQLKey(dn);
-            resultAttributes.add(new AttributeData(SpannerOperationService.DN, dn));
-            resultAttributes.add(new AttributeData(SpannerOperationService.DOC_ID, parsedKey.getKey()));
+        resultAttributes.add(new AttributeData(SpannerOperationService.DN, dn));
+        resultAttributes.add(new AttributeData(SpannerOperationService.DOC_ID, key));
 
-            boolean result = getOperationService().addEntry(parsedKey.getKey(), getBaseObjectClass(objectClasses), resultAttributes);
-            if (!result) {
-                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
-            }
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
-        }
+        return resultAttributes;
     }
 
     @Override
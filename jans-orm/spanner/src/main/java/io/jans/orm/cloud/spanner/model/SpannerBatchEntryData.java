@@ -0,0 +1,45 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.cloud.spanner.model;
+
+import java.util.Collection;
+
+import io.jans.orm.model.AttributeData;
+
+/**
+ * Entry data for batch add DB operation
+ */
+public class SpannerBatchEntryData {
+
+    private final String key;
+    private final String objectClass;
+    private final Collection<AttributeData> attributes;
+
+    public SpannerBatchEntryData(String key, String objectClass, Collection<AttributeData> attributes) {
+        this.key = key;
+        this.objectClass = objectClass;
+        this.attributes = attributes;
+    }
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getObjectClass() {
+		return objectClass;
+	}
+
+	public Collection<AttributeData> getAttributes() {
+		return attributes;
+	}
+
+	@Override
+	public String toString() {
+		return "SpannerBatchEntryData [key=" + key + ", objectClass=" + objectClass + ", attributes=" + attributes + "]";
+	}
+
+}
@@ -17,6 +17,7 @@ import com.google.cloud.spanner.Type.StructField;
 import io.jans.orm.cloud.spanner.impl.SpannerBatchOperationWraper;
 import io.jans.orm.cloud.spanner.model.ConvertedExpression;
 import io.jans.orm.cloud.spanner.model.SearchReturnDataType;
+import io.jans.orm.cloud.spanner.model.SpannerBatchEntryData;
 import io.jans.orm.cloud.spanner.model.TableMapping;
 import io.jans.orm.cloud.spanner.operation.impl.SpannerConnectionProvider;
 import io.jans.orm.exception.operation.DeleteException;
@@ -57,6 +58,11 @@ public interface SpannerOperationService extends PersistenceOperationService {
 
     boolean addEntry(String key, String objectClass, Collection<AttributeData> attributes) throws DuplicateEntryException, PersistenceException;
 
+    /**
+     * Insert entries using one write request
+     */
+    boolean addEntries(List<SpannerBatchEntryData> entries) throws DuplicateEntryException, PersistenceException;
+
     boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException;
 
     boolean delete(String key, String objectClass) throws EntryNotFoundException;
@@ -30,6 +30,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
@@ -47,6 +48,7 @@ import com.google.cloud.spanner.Type.StructField;
 import io.jans.orm.cloud.spanner.impl.SpannerBatchOperationWraper;
 import io.jans.orm.cloud.spanner.model.ConvertedExpression;
 import io.jans.orm.cloud.spanner.model.SearchReturnDataType;
+import io.jans.orm.cloud.spanner.model.SpannerBatchEntryData;
 import io.jans.orm.cloud.spanner.model.TableMapping;
 import io.jans.orm.cloud.spanner.model.ValueWithStructField;
 import io.jans.orm.cloud.spanner.operation.SpannerOperationService;
@@ -200,55 +202,103 @@ public class SpannerOperationServiceImpl implements SpannerOperationService {
 	private boolean addEntryImpl(TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws PersistenceException {
 		try {
 			MessageDigest messageDigest = getMessageDigestInstance();
-			Map<String, StructField> columTypes = tableMapping.getColumTypes();
+			List<Mutation> mutations = buildInsertMutations(messageDigest, tableMapping, key, attributes);
 
-			WriteBuilder mutationBuilder = Mutation.newInsertOrUpdateBuilder(tableMapping.getTableName());
-			List<Mutation> mutations = new LinkedList<>();
-			for (AttributeData attribute : attributes) {
-				String attributeName = attribute.getName();
-				StructField attributeType = columTypes.get(attributeName.toLowerCase());
+			databaseClient.write(mutations);
 
-				// If column not inside table we should check if there is child table
-				if (attributeType == null) {
-					TableMapping childTableMapping = connectionProvider.getChildTableMappingByKey(key, tableMapping, attributeName);
-					if (childTableMapping == null) {
-			            throw new PersistenceException(String.format("Failed to add entry. Column '%s' is undefined", attributeName));
-					}
+			return true;
+        } catch (SpannerException ex) {
+        	if (ErrorCode.ALREADY_EXISTS == ex.getErrorCode()) {
+        		throw new DuplicateEntryException();
+        	}
+            throw new PersistenceException("Failed to add entry", ex);
+        } catch (IllegalStateException ex) {
+            throw new PersistenceException("Failed to add entry", ex);
+        }
+	}
 
-					Map<String, StructField> childColumTypes = childTableMapping.getColumTypes();
-					if (childColumTypes == null) {
-			            throw new PersistenceException(String.format("Failed to add entry. Column '%s' is undefined", attributeName));
-					}
-					StructField childAttributeType = childColumTypes.get(attributeName.toLowerCase());
-					
-					// Build Mutation for child table
-					for (Object value : attribute.getValues()) {
-						// Build Mutation for child table
-						String dictDocId = getStringUniqueKey(messageDigest, value);
+    @Override
+    public boolean addEntries(List<SpannerBatchEntryData> entries) throws DuplicateEntryException, PersistenceException {
+        Instant startTime = OperationDurationUtil.instance().now();
 
-						WriteBuilder childMutationBuilder = Mutation.newInsertOrUpdateBuilder(childTableMapping.getTableName());
-						childMutationBuilder.
-							set(SpannerOperationService.DOC_ID).to(key).
-							set(SpannerOperationService.DICT_DOC_ID).to(dictDocId);
-						
-						setMutationBuilderValue(childMutationBuilder, childAttributeType, value);
+        boolean result = addEntriesImpl(entries);
 
-						mutations.add(childMutationBuilder.build());
-					}
-				} else {
-					setMutationBuilderValue(mutationBuilder, attributeType, attribute.getValues());
-				}
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: add batch, duration: {}, entries: {}", duration, entries.size());
+
+        return result;
+    }
+
+	private boolean addEntriesImpl(List<SpannerBatchEntryData> entries) throws PersistenceException {
+		try {
+			MessageDigest messageDigest = getMessageDigestInstance();
+
+			// Spanner applies all mutations of one write request atomically
+			List<Mutation> mutations = new LinkedList<>();
+			for (SpannerBatchEntryData entry : entries) {
+		        TableMapping tableMapping = connectionProvider.getTableMappingByKey(entry.getKey(), entry.getObjectClass());
+				mutations.addAll(buildInsertMutations(messageDigest, tableMapping, entry.getKey(), entry.getAttributes()));
 			}
-			mutations.add(0, mutationBuilder.build());
 
 			databaseClient.write(mutations);
 
 			return true;
-        } catch (SpannerException | IllegalStateException ex) {
-            throw new PersistenceException("Failed to add entry", ex);
+        } catch (SpannerException ex) {
+        	if (ErrorCode.ALREADY_EXISTS == ex.getErrorCode()) {
+        		throw new DuplicateEntryException();
+        	}
+            throw new PersistenceException("Failed to add entries", ex);
+        } catch (IllegalStateException ex) {
+            throw new PersistenceException("Failed to add entries", ex);
         }
 	}
 
+	private List<Mutation> buildInsertMutations(MessageDigest messageDigest, TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws PersistenceException {
+		Map<String, StructField> columTypes = tableMapping.getColumTypes();
+
+		// Insert of existing entry fails like in other backends. Child rows are written only together with it
+		WriteBuilder mutationBuilder = Mutation.newInsertBuilder(tableMapping.getTableName());
+		List<Mutation> mutations = new LinkedList<>();
+		for (AttributeData attribute : attributes) {
+			String attributeName = attribute.getName();
+			StructField attributeType = columTypes.get(attributeName.toLowerCase());
+
+			// If column not inside table we should check if there is child table
+			if (attributeType == null) {
+				TableMapping childTableMapping = connectionProvider.getChildTableMappingByKey(key, tableMapping, attributeName);
+				if (childTableMapping == null) {
+		            throw new PersistenceException(String.format("Failed to add entry. Column '%s' is undefined", attributeName));
+				}
+
+				Map<String, StructField> childColumTypes = childTableMapping.getColumTypes();
+				if (childColumTypes == null) {
+		            throw new PersistenceException(String.format("Failed to add entry. Column '%s' is undefined", attributeName));
+				}
+				StructField childAttributeType = childColumTypes.get(attributeName.toLowerCase());
+				
+				// Build Mutation for child table
+				for (Object value : attribute.getValues()) {
+					// Build Mutation for child table
+					String dictDocId = getStringUniqueKey(messageDigest, value);
+
+					WriteBuilder childMutationBuilder = Mutation.newInsertOrUpdateBuilder(childTableMapping.getTableName());
+					childMutationBuilder.
+						set(SpannerOperationService.DOC_ID).to(key).
+						set(SpannerOperationService.DICT_DOC_ID).to(dictDocId);
+					
+					setMutationBuilderValue(childMutationBuilder, childAttributeType, value);
+
+					mutations.add(childMutationBuilder.build());
+				}
+			} else {
+				setMutationBuilderValue(mutationBuilder, attributeType, attribute.getValues());
+			}
+		}
+		mutations.add(0, mutationBuilder.build());
+
+		return mutations;
+	}
+
 	@Override
     public boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException {
         Instant startTime = OperationDurationUtil.instance().now();
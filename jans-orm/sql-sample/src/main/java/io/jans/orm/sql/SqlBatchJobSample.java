@@ -19,6 +19,7 @@ import io.jans.orm.exception.EntryPersistenceException;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.DefaultBatchOperation;
 import io.jans.orm.model.ProcessBatchOperation;
+import io.jans.orm.model.ProcessKeysetBatchOperation;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.base.CustomAttribute;
 import io.jans.orm.search.filter.Filter;
@@ -49,7 +50,7 @@ public final class SqlBatchJobSample {
         // Create SQL entry manager
         final SqlEntryManager sqlEntryManager = sqlEntryManagerSample.createSqlEntryManager();
 
-        BatchOperation<SimpleToken> tokenSQLBatchOperation = new ProcessBatchOperation<SimpleToken>() {
+        BatchOperation<SimpleToken> tokenSQLBatchOperation = new ProcessKeysetBatchOperation<SimpleToken>() {
             private int processedCount = 0;
 
             @Override
@@ -74,7 +75,7 @@ public final class SqlBatchJobSample {
         sqlEntryManager.findEntries("o=jans", SimpleToken.class, filter1, SearchScope.SUB, new String[] {"exp"},
                 tokenSQLBatchOperation, 0, 0, 100);
 
-        BatchOperation<SimpleSession> sessionBatchOperation = new ProcessBatchOperation<SimpleSession>() {
+        BatchOperation<SimpleSession> sessionBatchOperation = new ProcessKeysetBatchOperation<SimpleSession>() {
             private int processedCount = 0;
 
             @Override
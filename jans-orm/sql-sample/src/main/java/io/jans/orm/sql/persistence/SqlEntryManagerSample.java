@@ -64,9 +64,14 @@ public class SqlEntryManagerSample {
     }
 
     public SqlEntryManager createSqlEntryManager() {
+        return createSqlEntryManager(new Properties());
+    }
+
+    public SqlEntryManager createSqlEntryManager(Properties additionalProperties) {
         SqlEntryManagerFactory sqlEntryManagerFactory = new SqlEntryManagerFactory();
         sqlEntryManagerFactory.create();
         Properties connectionProperties = getSampleConnectionProperties();
+        connectionProperties.putAll(additionalProperties);
 
         SqlEntryManager sqlEntryManager = sqlEntryManagerFactory.createEntryManager(connectionProperties);
         LOG.debug("Created SqlEntryManager: " + sqlEntryManager);
@@ -9,16 +9,22 @@ package io.jans.orm.sql.test;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
 
 import org.testng.annotations.AfterClass;
@@ -26,6 +32,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import io.jans.orm.exception.EntryPersistenceException;
+import io.jans.orm.model.DefaultKeysetBatchOperation;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.ProcessBatchOperation;
 import io.jans.orm.model.SearchScope;
@@ -303,6 +310,64 @@ public class ManualSqlEntryManagerTest {
         assertEquals(totalProcessedCount, 200);
     }
 
+    @Test(dependsOnMethods = "deleteSessionId", enabled = false)
+    public void testKeysetBatchJobAcrossPageBoundary() {
+		String outsideSid = UUID.randomUUID().toString();
+		Map<String, Date> expirationDates = new HashMap<String, Date>();
+
+		// Groups of 7 entries with same expiration date span boundaries of 10 entries pages
+		long baseTime = (System.currentTimeMillis() / 1000 + 120) * 1000;
+		for (int i = 0; i < 100; i++) {
+			SessionId sessionId = buildSessionId();
+			sessionId.setOutsideSid(outsideSid);
+			sessionId.setExpirationDate(new Date(baseTime + (i / 7) * 1000L));
+			sessionId.setTtl(120);
+
+			manager.persist(sessionId);
+			expirationDates.put(sessionId.getId(), sessionId.getExpirationDate());
+		}
+
+		List<SessionId> processed = new ArrayList<SessionId>();
+		DefaultKeysetBatchOperation<SessionId> sessionBatchOperation = new DefaultKeysetBatchOperation<SessionId>() {
+
+			@Override
+			public String getKeysetAttribute() {
+				return "exp";
+			}
+
+			@Override
+			public boolean collectSearchResult(int size) {
+				return false;
+			}
+
+			@Override
+			public void performAction(List<SessionId> objects) {
+				processed.addAll(objects);
+			}
+		};
+
+        Filter filter = Filter.createEqualityFilter("sid", outsideSid);
+        manager.findEntries("o=jans", SessionId.class, filter, SearchScope.SUB, new String[] {"sid", "jansId"},
+        		sessionBatchOperation, 0, 0, 10);
+
+        assertEquals(processed.size(), 100);
+
+        Set<String> processedIds = new HashSet<String>();
+        SessionId previous = null;
+        for (SessionId sessionId : processed) {
+        	assertTrue(processedIds.add(sessionId.getId()), "Duplicate entry: " + sessionId.getId());
+        	// Keyset attribute was not requested by caller
+        	assertNull(sessionId.getExpirationDate());
+
+        	if (previous != null) {
+        		int compare = expirationDates.get(previous.getId()).compareTo(expirationDates.get(sessionId.getId()));
+        		assertTrue(compare < 0 || (compare == 0 && previous.getId().compareTo(sessionId.getId()) < 0));
+        	}
+        	previous = sessionId;
+        }
+        assertEquals(processedIds, expirationDates.keySet());
+    }
+
     private SessionId buildSessionId() {
         SessionId sessionId = new SessionId();
         sessionId.setId(UUID.randomUUID().toString());
@@ -0,0 +1,93 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.test;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.jans.orm.sql.impl.SqlEntryManager;
+import io.jans.orm.sql.model.SimpleClient;
+import io.jans.orm.sql.persistence.SqlEntryManagerSample;
+
+/**
+ * Measures lookup by DN via SqlEntryManager against DB configured in SqlEntryManagerSample.
+ * Template cache size 0 renders lookup query on each call, prepared statements cache size 0
+ * disables connection pool statements cache.
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.jans.orm.sql.test.SqlLookupBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SqlLookupBenchmark {
+
+	private static final String CLIENT_DN = "inum=benchmark_lookup,ou=client,o=jans";
+
+	@Param({ "0", "1000" })
+	private String templateCacheSize;
+
+	@Param({ "0", "100" })
+	private String preparedStatementsCacheSize;
+
+	private SqlEntryManager sqlEntryManager;
+
+	@Setup
+	public void setup() {
+		Properties properties = new Properties();
+		properties.put("sql#query.template-cache-size", templateCacheSize);
+		properties.put("sql#connection.pool.prepared-statements-cache-size", preparedStatementsCacheSize);
+
+		sqlEntryManager = new SqlEntryManagerSample().createSqlEntryManager(properties);
+
+		SimpleClient client = new SimpleClient();
+		client.setDn(CLIENT_DN);
+		client.setClientName("benchmark_lookup");
+		client.setDefaultAcrValues(new String[] { "benchmark_lookup" });
+
+		if (sqlEntryManager.contains(CLIENT_DN, SimpleClient.class)) {
+			sqlEntryManager.merge(client);
+		} else {
+			sqlEntryManager.persist(client);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		sqlEntryManager.remove(CLIENT_DN, SimpleClient.class);
+		sqlEntryManager.destroy();
+	}
+
+	@Benchmark
+	public SimpleClient find() {
+		return sqlEntryManager.find(SimpleClient.class, CLIENT_DN);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SqlLookupBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -42,6 +42,8 @@ import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.EntryMergeData;
+import io.jans.orm.model.EntryPersistData;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.model.SortOrder;
@@ -52,6 +54,7 @@ import io.jans.orm.search.filter.Filter;
 import io.jans.orm.search.filter.FilterProcessor;
 import io.jans.orm.sql.model.ConvertedExpression;
 import io.jans.orm.sql.model.SearchReturnDataType;
+import io.jans.orm.sql.model.SqlBatchEntryData;
 import io.jans.orm.sql.model.TableMapping;
 import io.jans.orm.sql.operation.SqlOperationService;
 import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
@@ -171,7 +174,45 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
     protected void persist(String dn, String[] objectClasses, List<AttributeData> attributes, Integer expiration) {
     	String baseObjectClass = getBaseObjectClassForDataOperation(objectClasses);
 
-    	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 1);
+        // Persist entry
+        try {
+        	ParsedKey parsedKey = toSQLKey(dn);
+        	List<AttributeData> resultAttributes = prepareAttributesForPersist(dn, parsedKey.getKey(), baseObjectClass, attributes);
+
+            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
+        }
+    }
+
+    @Override
+    protected void persistBatch(List<EntryPersistData> entriesPersistData) {
+    	List<SqlBatchEntryData> batchEntries = new ArrayList<SqlBatchEntryData>(entriesPersistData.size());
+        try {
+        	for (EntryPersistData entryPersistData : entriesPersistData) {
+        		String dn = entryPersistData.getDn();
+            	String baseObjectClass = getBaseObjectClassForDataOperation(entryPersistData.getObjectClasses());
+
+            	ParsedKey parsedKey = toSQLKey(dn);
+            	List<AttributeData> resultAttributes = prepareAttributesForPersist(dn, parsedKey.getKey(), baseObjectClass, entryPersistData.getAttributes());
+
+            	batchEntries.add(new SqlBatchEntryData(parsedKey.getKey(), baseObjectClass, resultAttributes, null));
+        	}
+
+            boolean result = getOperationService().addEntries(batchEntries);
+            if (!result) {
+                throw new EntryPersistenceException(String.format("Failed to persist batch of '%d' entries", batchEntries.size()));
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to persist batch of '%d' entries", entriesPersistData.size()), ex);
+        }
+    }
+
+    private List<AttributeData> prepareAttributesForPersist(String dn, String key, String baseObjectClass, List<AttributeData> attributes) {
+    	ArrayList<AttributeData> resultAttributes = new ArrayList<>(attributes.size() + 2);
         for (AttributeData attribute : attributes) {
             String attributeName = attribute.getName();
             Object[] attributeValues = attribute.getValues();
@@ -207,19 +248,10 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
             }
         }
 
-        // Persist entry
-        try {
-        	ParsedKey parsedKey = toSQLKey(dn);
-            resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
-            resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, parsedKey.getKey()));
+        resultAttributes.add(new AttributeData(SqlOperationService.DN, dn));
+        resultAttributes.add(new AttributeData(SqlOperationService.DOC_ID, key));
 
-            boolean result = getOperationService().addEntry(parsedKey.getKey(), baseObjectClass, resultAttributes);
-            if (!result) {
-                throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn));
-            }
-        } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to persist entry: '%s'", dn), ex);
-        }
+        return resultAttributes;
     }
 
     @Override
@@ -228,60 +260,114 @@ public class SqlEntryManager extends BaseEntryManager<SqlOperationService> imple
 
         // Update entry
         try {
-            List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
-            for (AttributeDataModification attributeDataModification : attributeDataModifications) {
-                AttributeData attribute = attributeDataModification.getAttribute();
-                AttributeData oldAttribute = attributeDataModification.getOldAttribute();
-
-                String attributeName = null;
-                Object[] attributeValues = null;
-                Boolean multiValued = null;
-                Boolean jsonValue = null;
-                if (attribute != null) {
-                    attributeName = attribute.getName();
-                    attributeValues = attribute.getValues();
-                    multiValued = attribute.getMultiValued();
-                    jsonValue = attribute.getJsonValue();
+            List<AttributeDataModification> modifications = prepareModificationsForMerge(baseObjectClass, attributeDataModifications);
+            if (modifications.size() > 0) {
+                boolean result = getOperationService().updateEntry(toSQLKey(dn).getKey(), baseObjectClass, modifications);
+                if (!result) {
+                    throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn));
                 }
+            }
+        } catch (Exception ex) {
+            throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn), ex);
+        }
+    }
 
-                String oldAttributeName = null;
-                Object[] oldAttributeValues = null;
-                if (oldAttribute != null) {
-                    oldAttributeName = oldAttribute.getName();
-                    oldAttributeValues = oldAttribute.getValues();
-                }
-                
-                AttributeDataModification modification = null;
-                AttributeModificationType modificationType = attributeDataModification.getModificationType();
-				if ((AttributeModificationType.ADD == modificationType) ||
-                	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
-                    modification = createModification(modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                } else {
-                    if ((AttributeModificationType.REMOVE == modificationType)) {
-                		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
-							// It's RDBS case. We don't need to set null to already empty table cell
-                			continue;
-                		}
-                        modification = createModification(AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
-                    } else if ((AttributeModificationType.REPLACE == modificationType)) {
-                        modification = createModification(AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
-                    }
-                }
+    @Override
+    public <T> Void merge(List<T> entries) {
+        if (entries == null) {
+            throw new MappingException("Entries to merge is null");
+        }
 
-                if (modification != null) {
-                    modifications.add(modification);
-                }
+        if (entries.isEmpty()) {
+            return null;
+        }
+
+        List<EntryMergeData> entriesMergeData = new ArrayList<EntryMergeData>(entries.size());
+        for (T entry : entries) {
+            Class<?> entryClass = entry.getClass();
+            checkEntryClass(entryClass, true);
+            if (isSchemaEntry(entryClass)) {
+                throw new UnsupportedOperationException("Server doesn't support dynamic schema modifications");
             }
 
-            if (modifications.size() > 0) {
-                boolean result = getOperationService().updateEntry(toSQLKey(dn).getKey(), baseObjectClass, modifications);
+            entriesMergeData.add(prepareMerge(entry, false, false, null));
+        }
+
+        mergeBatch(entriesMergeData);
+
+        return null;
+    }
+
+    private void mergeBatch(List<EntryMergeData> entriesMergeData) {
+    	List<SqlBatchEntryData> batchEntries = new ArrayList<SqlBatchEntryData>(entriesMergeData.size());
+        try {
+        	for (EntryMergeData entryMergeData : entriesMergeData) {
+            	String baseObjectClass = getBaseObjectClassForDataOperation(entryMergeData.getObjectClasses());
+
+            	List<AttributeDataModification> modifications = prepareModificationsForMerge(baseObjectClass, entryMergeData.getAttributeDataModifications());
+                if (modifications.size() > 0) {
+                	batchEntries.add(new SqlBatchEntryData(toSQLKey(entryMergeData.getDn()).getKey(), baseObjectClass, null, modifications));
+                }
+        	}
+
+            if (batchEntries.size() > 0) {
+                boolean result = getOperationService().updateEntries(batchEntries);
                 if (!result) {
-                    throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn));
+                    throw new EntryPersistenceException(String.format("Failed to update batch of '%d' entries", batchEntries.size()));
                 }
             }
         } catch (Exception ex) {
-            throw new EntryPersistenceException(String.format("Failed to update entry: '%s'", dn), ex);
+            throw new EntryPersistenceException(String.format("Failed to update batch of '%d' entries", entriesMergeData.size()), ex);
+        }
+    }
+
+    private List<AttributeDataModification> prepareModificationsForMerge(String baseObjectClass, List<AttributeDataModification> attributeDataModifications) {
+        List<AttributeDataModification> modifications = new ArrayList<AttributeDataModification>(attributeDataModifications.size());
+        for (AttributeDataModification attributeDataModification : attributeDataModifications) {
+            AttributeData attribute = attributeDataModification.getAttribute();
+            AttributeData oldAttribute = attributeDataModification.getOldAttribute();
+
+            String attributeName = null;
+            Object[] attributeValues = null;
+            Boolean multiValued = null;
+            Boolean jsonValue = null;
+            if (attribute != null) {
+                attributeName = attribute.getName();
+                attributeValues = attribute.getValues();
+                multiValued = attribute.getMultiValued();
+                jsonValue = attribute.getJsonValue();
+            }
+
+            String oldAttributeName = null;
+            Object[] oldAttributeValues = null;
+            if (oldAttribute != null) {
+                oldAttributeName = oldAttribute.getName();
+                oldAttributeValues = oldAttribute.getValues();
+            }
+            
+            AttributeDataModification modification = null;
+            AttributeModificationType modificationType = attributeDataModification.getModificationType();
+				if ((AttributeModificationType.ADD == modificationType) ||
+            	(AttributeModificationType.FORCE_UPDATE == modificationType)) {
+                modification = createModification(modificationType, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
+            } else {
+                if ((AttributeModificationType.REMOVE == modificationType)) {
+            		if ((attribute == null) && isEmptyAttributeValues(oldAttribute)) {
+							// It's RDBS case. We don't need to set null to already empty table cell
+            			continue;
+            		}
+                    modification = createModification(AttributeModificationType.REMOVE, toInternalAttribute(baseObjectClass, oldAttributeName), multiValued, jsonValue, oldAttributeValues);
+                } else if ((AttributeModificationType.REPLACE == modificationType)) {
+                    modification = createModification(AttributeModificationType.REPLACE, toInternalAttribute(baseObjectClass, attributeName), multiValued, jsonValue, attributeValues);
+                }
+            }
+
+            if (modification != null) {
+                modifications.add(modification);
+            }
         }
+
+        return modifications;
     }
 
     @Override
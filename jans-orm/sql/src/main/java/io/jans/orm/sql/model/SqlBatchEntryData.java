@@ -0,0 +1,54 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.model;
+
+import java.util.Collection;
+import java.util.List;
+
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.model.AttributeDataModification;
+
+/**
+ * Entry data for batch add/update DB operation
+ */
+public class SqlBatchEntryData {
+
+    private final String key;
+    private final String objectClass;
+    private final Collection<AttributeData> attributes;
+    private final List<AttributeDataModification> modifications;
+
+    public SqlBatchEntryData(String key, String objectClass, Collection<AttributeData> attributes, List<AttributeDataModification> modifications) {
+        this.key = key;
+        this.objectClass = objectClass;
+        this.attributes = attributes;
+        this.modifications = modifications;
+    }
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getObjectClass() {
+		return objectClass;
+	}
+
+	public Collection<AttributeData> getAttributes() {
+		return attributes;
+	}
+
+	public List<AttributeDataModification> getModifications() {
+		return modifications;
+	}
+
+	@Override
+	public String toString() {
+		return "SqlBatchEntryData [key=" + key + ", objectClass=" + objectClass + ", attributes=" + attributes + ", modifications="
+				+ modifications + "]";
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.model;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.querydsl.sql.Configuration;
+
+/**
+ * Rendered SQL statement with bind values. Values equal to key placeholder are
+ * replaced with entry key at execution time. Values are bound via QueryDSL
+ * configuration, the same way as in statements rendered on each call
+ */
+public class SqlQueryTemplate {
+
+    private final String sql;
+    private final Object[] bindings;
+    private final Object keyPlaceholder;
+
+    public SqlQueryTemplate(String sql, List<Object> bindings, Object keyPlaceholder) {
+        this.sql = sql;
+        this.bindings = bindings.toArray();
+        this.keyPlaceholder = keyPlaceholder;
+    }
+
+	public String getSql() {
+		return sql;
+	}
+
+	public PreparedStatement prepareStatement(Connection connection, Configuration configuration, String key) throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(sql);
+		try {
+			for (int i = 0; i < bindings.length; i++) {
+				Object value = keyPlaceholder.equals(bindings[i]) ? key : bindings[i];
+				configuration.set(statement, null, i + 1, value);
+			}
+		} catch (SQLException ex) {
+			statement.close();
+			throw ex;
+		}
+
+		return statement;
+	}
+
+	@Override
+	public String toString() {
+		return "SqlQueryTemplate [sql=" + sql + "]";
+	}
+
+}
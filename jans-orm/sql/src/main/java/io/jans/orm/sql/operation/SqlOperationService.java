@@ -29,6 +29,7 @@ import io.jans.orm.operation.PersistenceOperationService;
 import io.jans.orm.sql.impl.SqlBatchOperationWraper;
 import io.jans.orm.sql.model.ConvertedExpression;
 import io.jans.orm.sql.model.SearchReturnDataType;
+import io.jans.orm.sql.model.SqlBatchEntryData;
 import io.jans.orm.sql.model.TableMapping;
 import io.jans.orm.sql.operation.impl.SqlConnectionProvider;
 
@@ -64,6 +65,16 @@ public interface SqlOperationService extends PersistenceOperationService {
 
     boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException;
 
+    /**
+     * Insert entries using JDBC batches in one transaction
+     */
+    boolean addEntries(List<SqlBatchEntryData> entries) throws DuplicateEntryException, PersistenceException;
+
+    /**
+     * Update entries using JDBC batches in one transaction
+     */
+    boolean updateEntries(List<SqlBatchEntryData> entries) throws UnsupportedOperationException, PersistenceException;
+
     boolean delete(String key, String objectClass) throws EntryNotFoundException;
 	long delete(String key, String objectClass, ConvertedExpression expression, int count) throws DeleteException;
 
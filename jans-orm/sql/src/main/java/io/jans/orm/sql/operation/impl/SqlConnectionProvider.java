@@ -67,6 +67,8 @@ public class SqlConnectionProvider {
 
 	private static final String DRIVER_PROPERTIES_PREFIX = "connection.driver-property";
 
+	private static final int DEFAULT_PREPARED_STATEMENTS_CACHE_SIZE = 100;
+
 	private Properties props;
 
 	private String connectionUri;
@@ -98,6 +100,9 @@ public class SqlConnectionProvider {
 	
 	private boolean simpleJson = false;
 
+	private int preparedStatementsCacheSize = DEFAULT_PREPARED_STATEMENTS_CACHE_SIZE;
+	private int queryTemplateCacheSize = SqlQueryTemplateCache.DEFAULT_MAX_SIZE;
+
 	protected SqlConnectionProvider() {
 	}
 
@@ -192,6 +197,12 @@ public class SqlConnectionProvider {
 			objectPoolConfig.setTestOnReturn(testOnReturn);
 		}
 
+		// Per connection cache of prepared statements. 0 disables it
+		this.preparedStatementsCacheSize = StringHelper.toInteger(props.getProperty("connection.pool.prepared-statements-cache-size"),
+				DEFAULT_PREPARED_STATEMENTS_CACHE_SIZE);
+		this.queryTemplateCacheSize = StringHelper.toInteger(props.getProperty("query.template-cache-size"),
+				SqlQueryTemplateCache.DEFAULT_MAX_SIZE);
+
 		openWithWaitImpl();
 		LOG.info("Created connection pool");
 
@@ -397,6 +408,11 @@ public class SqlConnectionProvider {
 	private void open() {
 		ConnectionFactory connectionFactory = new DriverManagerConnectionFactory(connectionUri, connectionProperties);
 		PoolableConnectionFactory poolableConnectionFactory = new PoolableConnectionFactory(connectionFactory, null);
+		if (preparedStatementsCacheSize > 0) {
+			poolableConnectionFactory.setPoolStatements(true);
+			poolableConnectionFactory.setMaxOpenPreparedStatements(preparedStatementsCacheSize);
+		}
+
 		ObjectPool<PoolableConnection> objectPool = new GenericObjectPool<>(poolableConnectionFactory,
 				objectPoolConfig);
 
@@ -533,6 +549,10 @@ public class SqlConnectionProvider {
 		return disableTimeZone;
 	}
 
+	public int getQueryTemplateCacheSize() {
+		return queryTemplateCacheSize;
+	}
+
 	public boolean isSimpleJson() {
 		return simpleJson;
 	}
@@ -8,6 +8,7 @@ package io.jans.orm.sql.operation.impl;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -19,13 +20,16 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +38,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.querydsl.core.QueryException;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Order;
 import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.Path;
 import com.querydsl.core.types.Predicate;
@@ -61,6 +67,7 @@ import io.jans.orm.model.AttributeDataModification.AttributeModificationType;
 import io.jans.orm.model.AttributeType;
 import io.jans.orm.model.BatchOperation;
 import io.jans.orm.model.EntryData;
+import io.jans.orm.model.KeysetBatchOperation;
 import io.jans.orm.model.PagedResult;
 import io.jans.orm.model.SearchScope;
 import io.jans.orm.operation.auth.PasswordEncryptionHelper;
@@ -68,6 +75,8 @@ import io.jans.orm.sql.impl.SqlBatchOperationWraper;
 import io.jans.orm.sql.model.ConvertedExpression;
 import io.jans.orm.sql.model.JsonString;
 import io.jans.orm.sql.model.SearchReturnDataType;
+import io.jans.orm.sql.model.SqlBatchEntryData;
+import io.jans.orm.sql.model.SqlQueryTemplate;
 import io.jans.orm.sql.model.TableMapping;
 import io.jans.orm.sql.operation.SqlOperationService;
 import io.jans.orm.sql.operation.SupportedDbType;
@@ -102,6 +111,9 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	private Path<String> docAlias = ExpressionUtils.path(String.class, DOC_ALIAS);
 	private Path<String> docInnerAlias = ExpressionUtils.path(String.class, DOC_INNER_ALIAS);
 
+	private SqlQueryTemplateCache queryTemplateCache;
+	private ConcurrentHashMap<String, RelationalPathBase<Object>> tableRelationalPaths;
+
     @SuppressWarnings("unused")
     private SqlOperationServiceImpl() {
     }
@@ -116,6 +128,9 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 		this.sqlQueryFactory = connectionProvider.getSqlQueryFactory();
 		this.schemaName = connectionProvider.getSchemaName();
 		this.dbType = connectionProvider.getDbType();
+
+		this.queryTemplateCache = new SqlQueryTemplateCache(connectionProvider.getQueryTemplateCacheSize());
+		this.tableRelationalPaths = new ConcurrentHashMap<>();
 	}
 
     @Override
@@ -182,38 +197,131 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         return result;
     }
 
-	private boolean addEntryImpl(TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws PersistenceException {
+	private boolean addEntryImpl(TableMapping tableMapping, String key, Collection<AttributeData> attributes) throws DuplicateEntryException, PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
-
 			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 			SQLInsertClause sqlInsertQuery = this.sqlQueryFactory.insert(tableRelationalPath);
 
-			for (AttributeData attribute : attributes) {
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
-				}
-
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+			bindInsertValues(sqlInsertQuery, tableMapping, attributes);
 
-				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-					sqlInsertQuery.columns(Expressions.path(Object.class, attribute.getName()));
-					sqlInsertQuery.values(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-				} else {
-					sqlInsertQuery.columns(Expressions.stringPath(attribute.getName()));
-					sqlInsertQuery.values(attribute.getValue());
-				}
-			}
-			
 			long rowInserted = sqlInsertQuery.execute();
 
 			return rowInserted == 1;
         } catch (QueryException ex) {
+        	if (isDuplicateKeyError(ex)) {
+        		throw new DuplicateEntryException(key);
+        	}
             throw new PersistenceException("Failed to add entry", ex);
         }
 	}
 
+	/*
+	 * Unique constraint violation: SQLState 23505 (PostgreSQL, standard) or error code 1062 (MySQL)
+	 */
+	private boolean isDuplicateKeyError(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException) {
+				SQLException sqlException = (SQLException) cause;
+				if (StringHelper.equals("23505", sqlException.getSQLState()) || (sqlException.getErrorCode() == 1062)) {
+					return true;
+				}
+			}
+
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+
+		return false;
+	}
+
+	private void bindInsertValues(SQLInsertClause sqlInsertQuery, TableMapping tableMapping, Collection<AttributeData> attributes) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
+
+		for (AttributeData attribute : attributes) {
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
+			}
+
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+
+			if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+				sqlInsertQuery.columns(Expressions.path(Object.class, attribute.getName()));
+				sqlInsertQuery.values(convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+			} else {
+				sqlInsertQuery.columns(Expressions.stringPath(attribute.getName()));
+				sqlInsertQuery.values(attribute.getValue());
+			}
+		}
+	}
+
+    @Override
+    public boolean addEntries(List<SqlBatchEntryData> entries) throws DuplicateEntryException, PersistenceException {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        boolean result = addEntriesImpl(entries);
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: add batch, duration: {}, entries: {}", duration, entries.size());
+
+        return result;
+    }
+
+	private boolean addEntriesImpl(List<SqlBatchEntryData> entries) throws DuplicateEntryException, PersistenceException {
+		try (Connection connection = connectionProvider.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				// Consecutive entries of the same table are sent to DB in one JDBC batch
+				SQLInsertClause sqlInsertQuery = null;
+				TableMapping batchTableMapping = null;
+				for (SqlBatchEntryData entry : entries) {
+					TableMapping tableMapping = connectionProvider.getTableMappingByKey(entry.getKey(), entry.getObjectClass());
+					if ((batchTableMapping == null) || !StringHelper.equals(batchTableMapping.getTableName(), tableMapping.getTableName())) {
+						if (sqlInsertQuery != null) {
+							sqlInsertQuery.execute();
+						}
+
+						RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+						sqlInsertQuery = new SQLInsertClause(connection, this.sqlQueryFactory.getConfiguration(), tableRelationalPath);
+						batchTableMapping = tableMapping;
+					}
+
+					bindInsertValues(sqlInsertQuery, tableMapping, entry.getAttributes());
+					sqlInsertQuery.addBatch();
+				}
+
+				if (sqlInsertQuery != null) {
+					sqlInsertQuery.execute();
+				}
+
+				connection.commit();
+			} catch (Throwable ex) {
+				// Connection goes back to pool, it should not keep uncommitted changes
+				rollback(connection, ex);
+				throw ex;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+
+			return true;
+        } catch (SQLException | QueryException ex) {
+        	if (isDuplicateKeyError(ex)) {
+        		throw new DuplicateEntryException();
+        	}
+            throw new PersistenceException("Failed to add entries", ex);
+        }
+	}
+
+	private void rollback(Connection connection, Throwable cause) {
+		try {
+			connection.rollback();
+		} catch (SQLException ex) {
+			cause.addSuppressed(ex);
+		}
+	}
+
     @Override
     public boolean updateEntry(String key, String objectClass, List<AttributeDataModification> mods) throws UnsupportedOperationException, PersistenceException {
         Instant startTime = OperationDurationUtil.instance().now();
@@ -229,50 +337,103 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 
 	private boolean updateEntryImpl(TableMapping tableMapping, String key, List<AttributeDataModification> mods) throws PersistenceException {
 		try {
-			Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
-
 			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 			SQLUpdateClause sqlUpdateQuery = this.sqlQueryFactory.update(tableRelationalPath);
 
-			for (AttributeDataModification attributeMod : mods) {
-				AttributeData attribute = attributeMod.getAttribute();
-				Path path = Expressions.stringPath(attribute.getName());
+			bindUpdateValues(sqlUpdateQuery, tableMapping, key, mods);
 
-				AttributeType attributeType = getAttributeType(columTypes, attribute);
-				if (attributeType == null) {
-		            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
-				}
+			long rowInserted = sqlUpdateQuery.execute();
 
-				boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
-				
-				AttributeModificationType type = attributeMod.getModificationType();
-                if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type)) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REPLACE == type) {
-					if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
-    					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
-    				} else {
-    					sqlUpdateQuery.set(path, attribute.getValue());
-    				}
-                } else if (AttributeModificationType.REMOVE == type) {
-    				sqlUpdateQuery.setNull(path);
-                } else {
-                    throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
-                }
+			return rowInserted == 1;
+        } catch (QueryException ex) {
+            throw new PersistenceException("Failed to update entry", ex);
+        }
+	}
+
+	private void bindUpdateValues(SQLUpdateClause sqlUpdateQuery, TableMapping tableMapping, String key, List<AttributeDataModification> mods) throws PersistenceException {
+		Map<String, AttributeType> columTypes = tableMapping.getColumTypes();
+
+		for (AttributeDataModification attributeMod : mods) {
+			AttributeData attribute = attributeMod.getAttribute();
+			Path path = Expressions.stringPath(attribute.getName());
+
+			AttributeType attributeType = getAttributeType(columTypes, attribute);
+			if (attributeType == null) {
+	            throw new PersistenceException(String.format("Failed to find attribute type for '%s'", attribute.getName()));
 			}
 
-			Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
-					Expressions.constant(key));
+			boolean multiValued = (attributeType != null) && isJsonColumn(tableMapping.getTableName(), attributeType.getType());
+			
+			AttributeModificationType type = attributeMod.getModificationType();
+            if ((AttributeModificationType.ADD == type) || (AttributeModificationType.FORCE_UPDATE == type)) {
+				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+				} else {
+					sqlUpdateQuery.set(path, attribute.getValue());
+				}
+            } else if (AttributeModificationType.REPLACE == type) {
+				if (multiValued || Boolean.TRUE.equals(attribute.getMultiValued())) {
+					sqlUpdateQuery.set(path, convertValueToDbJson(attribute.getValues(), attribute.getJsonValue()));
+				} else {
+					sqlUpdateQuery.set(path, attribute.getValue());
+				}
+            } else if (AttributeModificationType.REMOVE == type) {
+				sqlUpdateQuery.setNull(path);
+            } else {
+                throw new UnsupportedOperationException("Operation type '" + type + "' is not implemented");
+            }
+		}
 
-			long rowInserted = sqlUpdateQuery.where(whereExp).execute();
+		Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
+				Expressions.constant(key));
 
-			return rowInserted == 1;
-        } catch (QueryException ex) {
-            throw new PersistenceException("Failed to update entry", ex);
+		sqlUpdateQuery.where(whereExp);
+	}
+
+    @Override
+    public boolean updateEntries(List<SqlBatchEntryData> entries) throws UnsupportedOperationException, PersistenceException {
+        Instant startTime = OperationDurationUtil.instance().now();
+
+        boolean result = updateEntriesImpl(entries);
+
+        Duration duration = OperationDurationUtil.instance().duration(startTime);
+        OperationDurationUtil.instance().logDebug("SQL operation: modify batch, duration: {}, entries: {}", duration, entries.size());
+
+        return result;
+    }
+
+	private boolean updateEntriesImpl(List<SqlBatchEntryData> entries) throws PersistenceException {
+		try (Connection connection = connectionProvider.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				// Each entry has own set of modified columns. Hence each update is separate batch statement
+				for (SqlBatchEntryData entry : entries) {
+					TableMapping tableMapping = connectionProvider.getTableMappingByKey(entry.getKey(), entry.getObjectClass());
+
+					RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
+					SQLUpdateClause sqlUpdateQuery = new SQLUpdateClause(connection, this.sqlQueryFactory.getConfiguration(), tableRelationalPath);
+
+					bindUpdateValues(sqlUpdateQuery, tableMapping, entry.getKey(), entry.getModifications());
+
+					long rowUpdated = sqlUpdateQuery.execute();
+					if (rowUpdated != 1) {
+						throw new PersistenceException(String.format("Failed to update entry: '%s'", entry.getKey()));
+					}
+				}
+
+				connection.commit();
+			} catch (Throwable ex) {
+				// Connection goes back to pool, it should not keep uncommitted changes
+				rollback(connection, ex);
+				throw ex;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+
+			return true;
+        } catch (SQLException | QueryException ex) {
+            throw new PersistenceException("Failed to update entries", ex);
         }
 	}
 
@@ -383,21 +544,24 @@ public class SqlOperationServiceImpl implements SqlOperationService {
     }
 
 	private List<AttributeData> lookupImpl(TableMapping tableMapping, String key, String... attributes) throws SearchException, EntryConvertationException {
-		try {
+		// Lookup by key has the same shape for given table and attributes. Render it once and reuse
+		SqlQueryTemplate lookupTemplate = queryTemplateCache.getTemplate(tableMapping.getTableName(), "lookup", attributes, () -> {
 			RelationalPathBase<Object> tableRelationalPath = buildTableRelationalPath(tableMapping);
 
 			Predicate whereExp = ExpressionUtils.eq(Expressions.stringPath(SqlOperationService.DOC_ID),
-					Expressions.constant(key));
+					Expressions.constant(SqlQueryTemplateCache.KEY_PLACEHOLDER));
 			Expression<?> attributesExp = buildSelectAttributes(attributes);
 
-			SQLQuery<?> sqlSelectQuery = sqlQueryFactory.select(attributesExp).from(tableRelationalPath)
-					.where(whereExp).limit(1);
-			
-			try (ResultSet resultSet = sqlSelectQuery.getResults();) {
-				List<AttributeData> result = getAttributeDataList(tableMapping, resultSet, true);
-				if (result != null) {
-					return result;
-				}
+			return sqlQueryFactory.select(attributesExp).from(tableRelationalPath)
+					.where(whereExp).limit(1).getSQL();
+		});
+
+		try (Connection connection = connectionProvider.getConnection();
+				PreparedStatement statement = lookupTemplate.prepareStatement(connection, sqlQueryFactory.getConfiguration(), key);
+				ResultSet resultSet = statement.executeQuery()) {
+			List<AttributeData> result = getAttributeDataList(tableMapping, resultSet, true);
+			if (result != null) {
+				return result;
 			}
 		} catch (SQLException | QueryException ex) {
 			throw new SearchException(String.format("Failed to lookup query by key: '%s'", key), ex);
@@ -451,7 +615,9 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         String queryStr = null;
         if ((SearchReturnDataType.SEARCH == returnDataType) || (SearchReturnDataType.SEARCH_COUNT == returnDataType)) {
         	List<EntryData> lastResult = null;
-	        if (pageSize > 0) {
+	        if ((pageSize > 0) && (batchOperation instanceof KeysetBatchOperation)) {
+	        	searchResultList = searchKeysetImpl(tableMapping, key, expression, tableRelationalPath, attributes, batchOperationWraper, start, count, pageSize);
+	        } else if (pageSize > 0) {
 	            boolean collectSearchResult;
 	
 	            SQLQuery<?> query;
@@ -573,6 +739,144 @@ public class SqlOperationServiceImpl implements SqlOperationService {
         return result;
     }
 
+	private <O> List<EntryData> searchKeysetImpl(TableMapping tableMapping, String key, ConvertedExpression expression, RelationalPathBase<Object> tableRelationalPath,
+			String[] attributes, SqlBatchOperationWraper<O> batchOperationWraper, int start, int count, int pageSize) throws SearchException {
+		KeysetBatchOperation<O> batchOperation = (KeysetBatchOperation<O>) batchOperationWraper.getBatchOperation();
+
+		String keysetColumn = null;
+		if (StringHelper.isNotEmpty(batchOperation.getKeysetAttribute())) {
+			keysetColumn = toInternalAttribute(tableMapping.getObjectClass(), batchOperation.getKeysetAttribute());
+			if (SqlOperationService.DOC_ID.equalsIgnoreCase(keysetColumn)) {
+				keysetColumn = null;
+			}
+		}
+
+		// Keyset column should be in result set to build condition for next chunk.
+		// If caller didn't request it, it's removed from returned entries
+		String[] selectAttributes = attributes;
+		String addedKeysetAttribute = null;
+		if ((keysetColumn != null) && ArrayHelper.isNotEmpty(attributes)) {
+			if ((attributes.length == 1) && StringHelper.isEmpty(attributes[0])) {
+				selectAttributes = new String[] { DN, keysetColumn };
+			} else if (!Arrays.asList(attributes).contains(keysetColumn)) {
+				selectAttributes = ArrayHelper.addItemToStringArray(attributes, keysetColumn);
+			}
+			if (selectAttributes != attributes) {
+				addedKeysetAttribute = fromInternalAttribute(tableMapping.getTableName(), keysetColumn);
+			}
+		}
+		Expression<?> attributesExp = buildSelectAttributes(selectAttributes);
+
+		OrderSpecifier<?>[] keysetOrderBy;
+		if (keysetColumn == null) {
+			keysetOrderBy = new OrderSpecifier[] { new OrderSpecifier(Order.ASC, Expressions.stringPath(DOC_ID)) };
+		} else {
+			keysetOrderBy = new OrderSpecifier[] { new OrderSpecifier(Order.ASC, Expressions.path(Comparable.class, keysetColumn)),
+					new OrderSpecifier(Order.ASC, Expressions.stringPath(DOC_ID)) };
+		}
+
+		List<EntryData> searchResultList = new LinkedList<EntryData>();
+
+		String queryStr = null;
+		try {
+			Object lastDocId = null;
+			Object lastKeysetValue = null;
+
+			int resultCount = 0;
+			int lastCountRows = 0;
+			do {
+				int currentLimit = pageSize;
+				if (count > 0) {
+					currentLimit = Math.min(pageSize, count - resultCount);
+				}
+
+				Predicate whereExp = (expression == null) ? null : (Predicate) expression.expression();
+				if (lastDocId != null) {
+					whereExp = ExpressionUtils.and(whereExp, buildKeysetPredicate(keysetColumn, lastKeysetValue, lastDocId));
+				}
+
+				SQLQuery<?> query = sqlQueryFactory.select(attributesExp).from(tableRelationalPath);
+				if (whereExp != null) {
+					query = query.where(whereExp);
+				}
+				query = query.orderBy(keysetOrderBy).limit(currentLimit);
+				if ((lastDocId == null) && (start > 0)) {
+					// Only first chunk needs offset
+					query = query.offset(start);
+				}
+
+				queryStr = query.getSQL().getSQL();
+				LOG.debug("Executing keyset query: '" + queryStr + "'");
+
+				List<EntryData> lastResult = new LinkedList<EntryData>();
+				try (ResultSet resultSet = query.getResults()) {
+					while (!resultSet.isLast()) {
+						List<AttributeData> attributeDataList = getAttributeDataList(tableMapping, resultSet, false);
+						if (attributeDataList == null) {
+							break;
+						}
+
+						if (addedKeysetAttribute != null) {
+							removeAttributeData(attributeDataList, addedKeysetAttribute);
+						}
+						lastResult.add(new EntryData(attributeDataList));
+
+						lastDocId = resultSet.getObject(DOC_ID);
+						if (keysetColumn != null) {
+							lastKeysetValue = resultSet.getObject(keysetColumn);
+							if (lastKeysetValue == null) {
+								throw new SearchException(String.format("Keyset attribute '%s' has null value in entry '%s'", keysetColumn, lastDocId));
+							}
+						}
+					}
+				}
+
+				lastCountRows = lastResult.size();
+
+				if (batchOperation.collectSearchResult(lastCountRows)) {
+					searchResultList.addAll(lastResult);
+				}
+
+				List<O> entries = batchOperationWraper.createEntities(lastResult);
+				batchOperation.performAction(entries);
+
+				resultCount += lastCountRows;
+
+				if (((count > 0) && (resultCount >= count)) || (lastCountRows < currentLimit)) {
+					break;
+				}
+			} while (lastCountRows > 0);
+		} catch (QueryException ex) {
+			throw new SearchException(String.format("Failed to build keyset search entries query. Key: '%s', expression: '%s'", key, expression), ex);
+		} catch (SQLException | EntryConvertationException ex) {
+			throw new SearchException(String.format("Failed to execute keyset query '%s'  with key: '%s'", queryStr, key), ex);
+		}
+
+		return searchResultList;
+	}
+
+	static void removeAttributeData(List<AttributeData> attributeDataList, String attributeName) {
+		for (Iterator<AttributeData> it = attributeDataList.iterator(); it.hasNext();) {
+			if (attributeName.equalsIgnoreCase(it.next().getName())) {
+				it.remove();
+			}
+		}
+	}
+
+	static Predicate buildKeysetPredicate(String keysetColumn, Object lastKeysetValue, Object lastDocId) {
+		Predicate docIdExp = ExpressionUtils.predicate(Ops.GT, Expressions.stringPath(DOC_ID), Expressions.constant(lastDocId));
+		if (keysetColumn == null) {
+			return docIdExp;
+		}
+
+		Path<Object> keysetPath = Expressions.path(Object.class, keysetColumn);
+		Expression<Object> keysetValue = Expressions.constant(lastKeysetValue);
+
+		// (column > value) OR (column = value AND doc_id > id)
+		return ExpressionUtils.or(ExpressionUtils.predicate(Ops.GT, keysetPath, keysetValue),
+				ExpressionUtils.and(ExpressionUtils.eq(keysetPath, keysetValue), docIdExp));
+	}
+
 	public String[] createStoragePassword(String[] passwords) {
         if (ArrayHelper.isEmpty(passwords)) {
             return passwords;
@@ -788,7 +1092,8 @@ public class SqlOperationServiceImpl implements SqlOperationService {
 	}
 
 	private RelationalPathBase<Object> buildTableRelationalPath(TableMapping tableMapping) {
-		RelationalPathBase<Object> tableRelationalPath = new RelationalPathBase<>(Object.class, DOC_ALIAS, this.schemaName, tableMapping.getTableName());
+		RelationalPathBase<Object> tableRelationalPath = tableRelationalPaths.computeIfAbsent(tableMapping.getTableName(),
+				tableName -> new RelationalPathBase<>(Object.class, DOC_ALIAS, this.schemaName, tableName));
 
 		return tableRelationalPath;
 	}
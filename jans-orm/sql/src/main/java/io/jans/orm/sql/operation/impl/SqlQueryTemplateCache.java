@@ -0,0 +1,86 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.operation.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.querydsl.sql.SQLBindings;
+
+import io.jans.orm.sql.model.SqlQueryTemplate;
+import io.jans.orm.util.ArrayHelper;
+
+/**
+ * Cache of rendered SQL statements by table and query shape.
+ *
+ * Only lookup by key uses it now. Search statements depend on filter structure and
+ * add/update statements on changed attributes list, so their shape keys are not cheap
+ * to build. These statements are still rendered by QueryDSL on each call and reuse
+ * prepared statements from connection pool statements cache
+ */
+public class SqlQueryTemplateCache {
+
+	public static final String KEY_PLACEHOLDER = "\u0000jans_key\u0000";
+
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	private final int maxSize;
+	private final ConcurrentHashMap<String, SqlQueryTemplate> templates;
+
+	public SqlQueryTemplateCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public SqlQueryTemplateCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.templates = new ConcurrentHashMap<>();
+	}
+
+	public SqlQueryTemplate getTemplate(String tableName, String operation, String[] attributes, Supplier<SQLBindings> renderer) {
+		String shapeKey = buildShapeKey(tableName, operation, attributes);
+
+		SqlQueryTemplate template = templates.get(shapeKey);
+		if (template != null) {
+			return template;
+		}
+
+		SQLBindings sqlBindings = renderer.get();
+		template = new SqlQueryTemplate(sqlBindings.getSQL(), sqlBindings.getNullFriendlyBindings(), KEY_PLACEHOLDER);
+
+		// Applications can request arbitrary attributes lists. Stop caching new shapes when cache is full
+		if (templates.size() < maxSize) {
+			SqlQueryTemplate existing = templates.putIfAbsent(shapeKey, template);
+			if (existing != null) {
+				return existing;
+			}
+		}
+
+		return template;
+	}
+
+	public int size() {
+		return templates.size();
+	}
+
+	public void clear() {
+		templates.clear();
+	}
+
+	private String buildShapeKey(String tableName, String operation, String[] attributes) {
+		StringBuilder sb = new StringBuilder(64).append(tableName).append('|').append(operation).append('|');
+		if (ArrayHelper.isEmpty(attributes)) {
+			sb.append('*');
+		} else {
+			for (String attribute : attributes) {
+				sb.append(attribute).append(',');
+			}
+		}
+
+		return sb.toString();
+	}
+
+}
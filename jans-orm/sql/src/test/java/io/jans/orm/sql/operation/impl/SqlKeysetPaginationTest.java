@@ -0,0 +1,84 @@
+/*
+ * Janssen Project software is available under the Apache License (2004). See http://www.apache.org/licenses/ for full text.
+ *
+ * Copyright (c) 2020, Janssen Project
+ */
+
+package io.jans.orm.sql.operation.impl;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.SQLQuery;
+
+import io.jans.orm.model.AttributeData;
+import io.jans.orm.sql.dsl.template.MySQLJsonTemplates;
+
+@SuppressWarnings({ "rawtypes", "unchecked"})
+public class SqlKeysetPaginationTest {
+
+	private Configuration configuration;
+	private Path<Object> tablePath;
+
+	@BeforeClass
+	public void init() {
+		this.configuration = new Configuration(MySQLJsonTemplates.builder().printSchema().build());
+		this.tablePath = ExpressionUtils.path(Object.class, "jansToken");
+	}
+
+	@Test
+	public void primaryKeyPredicate() {
+		String where = toWhereSQL(SqlOperationServiceImpl.buildKeysetPredicate(null, null, "b"));
+
+		assertEquals(where, "doc_id > 'b'");
+	}
+
+	@Test
+	public void keysetAttributePredicate() {
+		// Entries with the same keyset value as the last one of previous chunk are continued by doc_id
+		String where = toWhereSQL(SqlOperationServiceImpl.buildKeysetPredicate("exp", 5, "b"));
+
+		assertTrue(where.contains("exp > 5"), where);
+		assertTrue(where.contains("exp = 5 and doc_id > 'b'"), where);
+		assertTrue(where.contains(" or "), where);
+	}
+
+	@Test
+	public void removeAddedKeysetAttribute() {
+		List<AttributeData> attributeDataList = new ArrayList<AttributeData>(Arrays.asList(
+				new AttributeData("dn", "tknCde=1,ou=tokens,o=jans"),
+				new AttributeData("EXP", "20240101000000Z"),
+				new AttributeData("tknCde", "1")));
+
+		SqlOperationServiceImpl.removeAttributeData(attributeDataList, "exp");
+
+		assertEquals(attributeDataList.size(), 2);
+		for (AttributeData attributeData : attributeDataList) {
+			assertFalse("exp".equalsIgnoreCase(attributeData.getName()));
+		}
+	}
+
+	private String toWhereSQL(Predicate predicate) {
+		SQLQuery sqlQuery = (SQLQuery) new SQLQuery(configuration).select(Expressions.stringPath("doc_id")).from(tablePath)
+				.where(predicate);
+		sqlQuery.setUseLiterals(true);
+
+		String queryStr = sqlQuery.getSQL().getSQL().replace("\n", " ");
+
+		return queryStr.substring(queryStr.indexOf(" where ") + " where ".length());
+	}
+
+}